@@ -0,0 +1,43 @@
+package de.labystudio.spotifyapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A call to the Spotify application, e.g. a dbus-send or osascript execution.
+ *
+ * @author LabyStudio
+ */
+@Name("de.labystudio.spotifyapi.BackendCall")
+@Label("Backend Call")
+@Category("Spotify API")
+@Description("A call to the Spotify application, e.g. a dbus-send or osascript execution")
+final class BackendCallEvent extends Event implements TraceSpan {
+
+    @Label("Backend")
+    String backend;
+
+    @Label("Command")
+    String command;
+
+    @Label("Success")
+    boolean success;
+
+    BackendCallEvent(String backend, String command) {
+        this.backend = backend;
+        this.command = command;
+    }
+
+    @Override
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    @Override
+    public void close() {
+        this.commit();
+    }
+}
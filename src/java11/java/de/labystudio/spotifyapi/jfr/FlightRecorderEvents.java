@@ -0,0 +1,89 @@
+package de.labystudio.spotifyapi.jfr;
+
+import jdk.jfr.EventType;
+
+/**
+ * Custom Java Flight Recorder events of the api.
+ * <p>
+ * This is the Java 11 version of the multi-release jar. The events are only created while a recording
+ * has them enabled, otherwise the shared {@link TraceSpan#NOOP} span is returned.
+ *
+ * @author LabyStudio
+ */
+public final class FlightRecorderEvents {
+
+    /**
+     * Runtimes can be built without the jdk.jfr module, the event classes must not be loaded then.
+     */
+    private static final boolean AVAILABLE = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+    private FlightRecorderEvents() {
+    }
+
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    public static TraceSpan beginTick(String api) {
+        return AVAILABLE ? Recorder.beginTick(api) : TraceSpan.NOOP;
+    }
+
+    public static TraceSpan beginBackendCall(String backend, String command) {
+        return AVAILABLE ? Recorder.beginBackendCall(backend, command) : TraceSpan.NOOP;
+    }
+
+    public static TraceSpan beginMemoryScan(long minAddress, long maxAddress, int patternLength) {
+        return AVAILABLE ? Recorder.beginMemoryScan(minAddress, maxAddress, patternLength) : TraceSpan.NOOP;
+    }
+
+    public static TraceSpan beginHttpRequest(String method, String url) {
+        return AVAILABLE ? Recorder.beginHttpRequest(method, url) : TraceSpan.NOOP;
+    }
+
+    /**
+     * Creates the events, it is only loaded if the jdk.jfr module is available.
+     */
+    private static final class Recorder {
+
+        private static final EventType TICK = EventType.getEventType(TickEvent.class);
+        private static final EventType BACKEND_CALL = EventType.getEventType(BackendCallEvent.class);
+        private static final EventType MEMORY_SCAN = EventType.getEventType(MemoryScanEvent.class);
+        private static final EventType HTTP_REQUEST = EventType.getEventType(HttpRequestEvent.class);
+
+        static TraceSpan beginTick(String api) {
+            if (!TICK.isEnabled()) {
+                return TraceSpan.NOOP;
+            }
+            TickEvent event = new TickEvent(api);
+            event.start();
+            return event;
+        }
+
+        static TraceSpan beginBackendCall(String backend, String command) {
+            if (!BACKEND_CALL.isEnabled()) {
+                return TraceSpan.NOOP;
+            }
+            BackendCallEvent event = new BackendCallEvent(backend, command);
+            event.begin();
+            return event;
+        }
+
+        static TraceSpan beginMemoryScan(long minAddress, long maxAddress, int patternLength) {
+            if (!MEMORY_SCAN.isEnabled()) {
+                return TraceSpan.NOOP;
+            }
+            MemoryScanEvent event = new MemoryScanEvent(minAddress, maxAddress, patternLength);
+            event.begin();
+            return event;
+        }
+
+        static TraceSpan beginHttpRequest(String method, String url) {
+            if (!HTTP_REQUEST.isEnabled()) {
+                return TraceSpan.NOOP;
+            }
+            HttpRequestEvent event = new HttpRequestEvent(method, url);
+            event.begin();
+            return event;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package de.labystudio.spotifyapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A http request of the open spotify api.
+ *
+ * @author LabyStudio
+ */
+@Name("de.labystudio.spotifyapi.HttpRequest")
+@Label("HTTP Request")
+@Category("Spotify API")
+@Description("A http request of the open spotify api")
+final class HttpRequestEvent extends Event implements TraceSpan {
+
+    @Label("Method")
+    String method;
+
+    @Label("URL")
+    String url;
+
+    @Label("Status")
+    int status = -1;
+
+    @Label("Response Size")
+    @DataAmount
+    long bytes = -1;
+
+    HttpRequestEvent(String method, String url) {
+        this.method = method;
+        this.url = url;
+    }
+
+    @Override
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    @Override
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+
+    @Override
+    public void close() {
+        this.commit();
+    }
+}
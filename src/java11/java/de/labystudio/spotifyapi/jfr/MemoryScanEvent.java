@@ -0,0 +1,58 @@
+package de.labystudio.spotifyapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A scan of the memory of the Spotify process.
+ *
+ * @author LabyStudio
+ */
+@Name("de.labystudio.spotifyapi.MemoryScan")
+@Label("Memory Scan")
+@Category("Spotify API")
+@Description("A scan of the memory of the Spotify process")
+final class MemoryScanEvent extends Event implements TraceSpan {
+
+    @Label("Start Address")
+    long startAddress;
+
+    @Label("End Address")
+    long endAddress;
+
+    @Label("Pattern Length")
+    @DataAmount
+    int patternLength;
+
+    @Label("Bytes Scanned")
+    @DataAmount
+    long bytesScanned;
+
+    @Label("Found")
+    boolean found;
+
+    MemoryScanEvent(long startAddress, long endAddress, int patternLength) {
+        this.startAddress = startAddress;
+        this.endAddress = endAddress;
+        this.patternLength = patternLength;
+    }
+
+    @Override
+    public void setBytes(long bytes) {
+        this.bytesScanned = bytes;
+    }
+
+    @Override
+    public void setSuccess(boolean success) {
+        this.found = success;
+    }
+
+    @Override
+    public void close() {
+        this.commit();
+    }
+}
@@ -0,0 +1,68 @@
+package de.labystudio.spotifyapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A tick of the api that reads the state from Spotify.
+ *
+ * @author LabyStudio
+ */
+@Name("de.labystudio.spotifyapi.Tick")
+@Label("Tick")
+@Category("Spotify API")
+@Description("A tick of the api that reads the state from Spotify")
+@StackTrace(false)
+final class TickEvent extends Event implements TraceSpan {
+
+    @Label("API")
+    String api;
+
+    @Label("Phases")
+    @Description("Duration of each phase of the tick in milliseconds")
+    String phases;
+
+    @Label("Success")
+    boolean success;
+
+    private transient long timePhaseStart;
+    private transient StringBuilder phaseBuilder;
+
+    TickEvent(String api) {
+        this.api = api;
+    }
+
+    void start() {
+        this.begin();
+        this.timePhaseStart = System.nanoTime();
+    }
+
+    @Override
+    public void phase(String name) {
+        long now = System.nanoTime();
+        if (this.phaseBuilder == null) {
+            this.phaseBuilder = new StringBuilder();
+        } else {
+            this.phaseBuilder.append(", ");
+        }
+        this.phaseBuilder.append(name).append('=').append(Math.round((now - this.timePhaseStart) / 1_000D) / 1_000D);
+        this.timePhaseStart = now;
+    }
+
+    @Override
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    @Override
+    public void close() {
+        if (this.phaseBuilder != null) {
+            this.phases = this.phaseBuilder.toString();
+        }
+        this.commit();
+    }
+}
@@ -0,0 +1,58 @@
+package de.labystudio.spotifyapi.benchmark;
+
+import de.labystudio.spotifyapi.open.Cache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Lookups and evictions of the cache used for open.spotify.com responses.
+ *
+ * @author LabyStudio
+ */
+@State(Scope.Benchmark)
+public class CacheBenchmark {
+
+    @Param({"10", "1000"})
+    public int cacheSize;
+
+    private Cache<String> cache;
+    private Cache<String> evictingCache;
+    private String[] keys;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        this.cache = new Cache<>(this.cacheSize);
+        this.evictingCache = new Cache<>(this.cacheSize);
+
+        // Twice as many track ids as the cache can hold, so pushing always evicts
+        this.keys = new String[this.cacheSize * 2];
+        for (int i = 0; i < this.keys.length; i++) {
+            this.keys[i] = String.format("%022d", i);
+        }
+        for (int i = 0; i < this.cacheSize; i++) {
+            this.cache.push(this.keys[i], this.keys[i]);
+            this.evictingCache.push(this.keys[i], this.keys[i]);
+        }
+    }
+
+    @Benchmark
+    public String getHit() {
+        return this.cache.get(this.keys[0]);
+    }
+
+    @Benchmark
+    public String getMiss() {
+        return this.cache.get(this.keys[this.keys.length - 1]);
+    }
+
+    @Benchmark
+    public void pushWithEviction() {
+        String key = this.keys[this.cursor];
+        this.cursor = (this.cursor + 1) % this.keys.length;
+        this.evictingCache.push(key, key);
+    }
+}
@@ -0,0 +1,35 @@
+package de.labystudio.spotifyapi.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Loads the captured responses the benchmarks run against.
+ *
+ * @author LabyStudio
+ */
+public final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    public static String read(String path) {
+        try (InputStream stream = Fixtures.class.getResourceAsStream(path)) {
+            if (stream == null) {
+                throw new IllegalStateException("Fixture not found: " + path);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int length;
+            while ((length = stream.read(buffer)) != -1) {
+                out.write(buffer, 0, length);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
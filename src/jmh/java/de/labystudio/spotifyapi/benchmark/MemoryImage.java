@@ -0,0 +1,106 @@
+package de.labystudio.spotifyapi.benchmark;
+
+import de.labystudio.spotifyapi.platform.windows.api.MemoryRegion;
+import de.labystudio.spotifyapi.platform.windows.api.WinProcess;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic memory of the Spotify process.
+ * It is filled with printable noise, contains incomplete track markers and one real track marker with its state json.
+ * Reads outside the image return zeros, like unreadable pages of a real process.
+ * The image is the only readable region.
+ *
+ * @author LabyStudio
+ */
+public class MemoryImage extends WinProcess {
+
+    public static final long BASE_ADDRESS = 0x10000000L;
+    public static final String TRACK_ID = "0r1kH7SIkkPP9W7mUknObF";
+    public static final String TRACK_MARKER = "spotify:track:";
+
+    private static final String STATE_JSON = "{\"uri\":\"spotify:track:" + TRACK_ID + "\",\"metadata\":"
+            + "{\"title\":\"Easy\",\"artist_name\":\"CRO\",\"album_title\":\"Raop\",\"duration\":\"172000\","
+            + "\"images\":[{\"url\":\"spotify:image:ab67616d0000b27397c097afa44e5cdb38a03d4f\",\"size\":640}]},"
+            + "\"is_playing\":true,\"position_as_of_timestamp\":42000}";
+
+    private final byte[] image;
+    private final long markerAddress;
+    private final long jsonAddress;
+
+    /**
+     * Creates a memory image with the real track marker at the given fraction of the image.
+     *
+     * @param size     The size of the image in bytes
+     * @param position The position of the real marker between 0.0 and 1.0
+     */
+    public MemoryImage(int size, double position) {
+        super(-1, null, null);
+        this.image = new byte[size];
+
+        // Printable noise with a fixed seed, so every run scans the same bytes
+        Random random = new Random(42);
+        for (int i = 0; i < size; i++) {
+            this.image[i] = (byte) (' ' + random.nextInt(95));
+        }
+
+        // Incomplete markers cause partial matches like the many "spotify:" strings of the real process
+        byte[] partial = "spotify:tr".getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < size / 4096; i++) {
+            int offset = random.nextInt(size - partial.length);
+            System.arraycopy(partial, 0, this.image, offset, partial.length);
+        }
+
+        // The real marker followed by the state json of the player
+        byte[] json = STATE_JSON.getBytes(StandardCharsets.US_ASCII);
+        int jsonOffset = Math.min((int) (size * position), size - json.length - 1);
+        System.arraycopy(json, 0, this.image, jsonOffset, json.length);
+        this.jsonAddress = BASE_ADDRESS + jsonOffset;
+        this.markerAddress = this.jsonAddress + STATE_JSON.indexOf(TRACK_MARKER);
+    }
+
+    @Override
+    public byte[] readBytes(long address, int length) {
+        byte[] bytes = new byte[length];
+        this.readBytes(address, bytes, length);
+        return bytes;
+    }
+
+    @Override
+    public void readBytes(long address, byte[] target, int length) {
+        Arrays.fill(target, 0, length, (byte) 0);
+
+        long offset = address - BASE_ADDRESS;
+        if (offset >= this.image.length || offset + length <= 0) {
+            return;
+        }
+        int from = (int) Math.max(offset, 0);
+        int to = (int) Math.min(offset + length, this.image.length);
+        System.arraycopy(this.image, from, target, (int) (from - offset), to - from);
+    }
+
+    @Override
+    public List<MemoryRegion> getReadableRegions(long minAddress, long maxAddress) {
+        return Collections.singletonList(new MemoryRegion(BASE_ADDRESS, BASE_ADDRESS + this.image.length));
+    }
+
+    public long getStartAddress() {
+        return BASE_ADDRESS;
+    }
+
+    public long getEndAddress() {
+        return BASE_ADDRESS + this.image.length;
+    }
+
+    public long getMarkerAddress() {
+        return this.markerAddress;
+    }
+
+    public long getJsonAddress() {
+        return this.jsonAddress;
+    }
+}
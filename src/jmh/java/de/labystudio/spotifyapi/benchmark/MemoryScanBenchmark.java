@@ -0,0 +1,84 @@
+package de.labystudio.spotifyapi.benchmark;
+
+import com.google.gson.JsonObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Scanning a synthetic memory image of the Spotify process for the track marker
+ * and extracting the state json next to it.
+ *
+ * @author LabyStudio
+ */
+@State(Scope.Benchmark)
+public class MemoryScanBenchmark {
+
+    private static final String[] MISSING_TEXTS = {"spotify:episode:", "spotify:show:", "spotify:ad:", "spotify:local:"};
+
+    @Param({"1048576", "16777216"})
+    public int imageSize;
+
+    private MemoryImage image;
+    private byte[] marker;
+
+    @Setup
+    public void setup() {
+        // The marker is placed near the end, so most of the image is scanned
+        this.image = new MemoryImage(this.imageSize, 0.9D);
+        this.marker = (MemoryImage.TRACK_MARKER + MemoryImage.TRACK_ID).getBytes(StandardCharsets.US_ASCII);
+
+        long address = this.findMarker();
+        if (address != this.image.getMarkerAddress()) {
+            throw new IllegalStateException("Marker found at " + address + " instead of " + this.image.getMarkerAddress());
+        }
+    }
+
+    @Benchmark
+    public long findMarker() {
+        return this.image.findInMemory(this.image.getStartAddress(), this.image.getEndAddress(), this.marker);
+    }
+
+    @Benchmark
+    public long findMissing() {
+        // Worst case, the whole image is scanned without a match
+        return this.image.findAddressOfText(this.image.getStartAddress(), this.image.getEndAddress(),
+                "spotify:episode:", (address, index) -> true);
+    }
+
+    @Benchmark
+    public long findRejected() {
+        // Every incomplete marker is a candidate that is rejected, the scan continues behind it
+        return this.image.findAddressOfText(this.image.getStartAddress(), this.image.getEndAddress(),
+                "spotify:", (address, index) -> false);
+    }
+
+    @Benchmark
+    public long findTextsMissing() {
+        // All texts in a single pass
+        return this.image.findAddressOfTexts(this.image.getStartAddress(), this.image.getEndAddress(),
+                (address, index) -> true, MISSING_TEXTS);
+    }
+
+    @Benchmark
+    public long findTextsMissingSequential() {
+        // Baseline, one pass per text
+        for (String text : MISSING_TEXTS) {
+            long address = this.image.findAddressOfText(this.image.getStartAddress(), this.image.getEndAddress(),
+                    text, (candidate, index) -> true);
+            if (address != -1) {
+                return address;
+            }
+        }
+        return -1;
+    }
+
+    @Benchmark
+    public JsonObject readJsonObject() {
+        return this.image.readJsonObject(this.image.getJsonAddress());
+    }
+}
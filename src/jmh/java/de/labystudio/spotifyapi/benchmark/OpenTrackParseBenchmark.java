@@ -0,0 +1,34 @@
+package de.labystudio.spotifyapi.benchmark;
+
+import de.labystudio.spotifyapi.open.OpenSpotifyAPI;
+import de.labystudio.spotifyapi.open.model.track.TrackResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Parsing of a captured GraphQL track response of open.spotify.com.
+ *
+ * @author LabyStudio
+ */
+@State(Scope.Benchmark)
+public class OpenTrackParseBenchmark {
+
+    private String response;
+
+    @Setup
+    public void setup() {
+        this.response = Fixtures.read("/open/track.json");
+    }
+
+    @Benchmark
+    public TrackResponse parseTrack() {
+        return OpenSpotifyAPI.GSON.fromJson(this.response, TrackResponse.class);
+    }
+
+    @Benchmark
+    public String parseTrackArtists() {
+        return this.parseTrack().data.trackUnion.getArtistsString();
+    }
+}
@@ -0,0 +1,36 @@
+package de.labystudio.spotifyapi.benchmark;
+
+import de.labystudio.spotifyapi.open.totp.TOTP;
+import de.labystudio.spotifyapi.open.totp.model.Secret;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Generation of the TOTP that is sent with each access token request to open.spotify.com.
+ *
+ * @author LabyStudio
+ */
+@State(Scope.Benchmark)
+public class TotpBenchmark {
+
+    private Secret secret;
+    private byte[] secretBytes;
+
+    @Setup
+    public void setup() {
+        this.secret = Secret.fromString(",7/*F(\"rLJ2oxaKL^f+E1xvP@N", 61);
+        this.secretBytes = this.secret.getSecretAsBytes();
+    }
+
+    @Benchmark
+    public byte[] secretAsBytes() {
+        return this.secret.getSecretAsBytes();
+    }
+
+    @Benchmark
+    public String generateOtp() {
+        return TOTP.generateOtp(this.secretBytes, 1_700_000_000_000L, 30, 6);
+    }
+}
@@ -0,0 +1,28 @@
+package de.labystudio.spotifyapi.benchmark;
+
+import de.labystudio.spotifyapi.model.Track;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Validation of track ids, it runs for every candidate found in the memory of the Spotify process.
+ *
+ * @author LabyStudio
+ */
+@State(Scope.Benchmark)
+public class TrackIdBenchmark {
+
+    private final String validTrackId = "0r1kH7SIkkPP9W7mUknObF";
+    private final String invalidTrackId = "0r1kH7SIkkPP9W7mUknOb\u0000";
+
+    @Benchmark
+    public boolean validTrackId() {
+        return Track.isTrackIdValid(this.validTrackId);
+    }
+
+    @Benchmark
+    public boolean invalidTrackId() {
+        return Track.isTrackIdValid(this.invalidTrackId);
+    }
+}
@@ -0,0 +1,49 @@
+package de.labystudio.spotifyapi.benchmark;
+
+import de.labystudio.spotifyapi.platform.linux.api.model.PlayerProperties;
+import de.labystudio.spotifyapi.platform.linux.api.model.Variant;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Parsing of captured dbus-send replies, the Linux backend parses a GetAll reply on every tick.
+ *
+ * @author LabyStudio
+ */
+@State(Scope.Benchmark)
+public class VariantParseBenchmark {
+
+    private String getAllReply;
+    private String metadataReply;
+    private String playingReply;
+
+    @Setup
+    public void setup() {
+        this.getAllReply = Fixtures.read("/dbus/getall.variant");
+        this.metadataReply = Fixtures.read("/dbus/metadata.variant");
+        this.playingReply = Fixtures.read("/dbus/playing.variant");
+    }
+
+    @Benchmark
+    public Variant parseGetAll() {
+        return Variant.parse(this.getAllReply);
+    }
+
+    @Benchmark
+    public Variant parseMetadata() {
+        return Variant.parse(this.metadataReply);
+    }
+
+    @Benchmark
+    public Variant parsePlaying() {
+        return Variant.parse(this.playingReply);
+    }
+
+    @Benchmark
+    public String readTrackPath() {
+        // What a steady-state tick does with the reply
+        return new PlayerProperties(Variant.parse(this.getAllReply).getValue()).getTrackPath();
+    }
+}
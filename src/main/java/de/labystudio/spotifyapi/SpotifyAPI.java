@@ -1,23 +1,38 @@
 package de.labystudio.spotifyapi;
 
 import de.labystudio.spotifyapi.config.SpotifyConfiguration;
+import de.labystudio.spotifyapi.config.SpotifyExecutors;
+import de.labystudio.spotifyapi.cue.Cue;
+import de.labystudio.spotifyapi.event.EventSubscription;
+import de.labystudio.spotifyapi.event.PlaybackEvent;
+import de.labystudio.spotifyapi.event.stream.PlaybackEventPublisher;
+import de.labystudio.spotifyapi.model.ConnectionState;
 import de.labystudio.spotifyapi.model.MediaKey;
+import de.labystudio.spotifyapi.model.PlaybackOptions;
+import de.labystudio.spotifyapi.model.PlaybackState;
+import de.labystudio.spotifyapi.model.ReadinessStage;
+import de.labystudio.spotifyapi.model.RepeatMode;
 import de.labystudio.spotifyapi.model.Track;
+import de.labystudio.spotifyapi.model.TransportControl;
 
+import java.util.Collections;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * This is the main interface for the SpotifyAPI.
  * It is used to get the current track and the current position of a song.
  * There is a method called {@link #registerListener(SpotifyListener)} to register a listener to be notified about changes.
+ * To only receive specific events, use {@link #subscribe(Class, Consumer)}.
  *
  * @author LabyStudio
  */
 public interface SpotifyAPI {
 
     /**
-     * Initialize the SpotifyAPI and connect to the Spotify process.
-     * Initializing the api will block the current thread until the connection is established.
+     * Initialize the SpotifyAPI and connect to the Spotify process in the background.
+     * It returns immediately, use {@link #whenReady(ReadinessStage)} to wait for the connection or the first state.
      * It will use a default configuration.
      *
      * @return the initialized SpotifyAPI
@@ -27,14 +42,28 @@ public interface SpotifyAPI {
     }
 
     /**
-     * Initialize the SpotifyAPI and connect to the Spotify process.
-     * Initializing the api will block the current thread until the connection is established.
+     * Initialize the SpotifyAPI and connect to the Spotify process in the background.
+     * It returns immediately, use {@link #whenReady(ReadinessStage)} to wait for the connection or the first state.
      *
      * @param configuration the configuration for the api
      * @return the initialized SpotifyAPI
      */
     SpotifyAPI initialize(SpotifyConfiguration configuration);
 
+    /**
+     * Returns a future that completes once the given initialization stage has been reached.
+     * Dependent actions run on the background thread of the api unless an async variant is used.
+     *
+     * @param stage the stage to wait for
+     * @return a future that completes with this api, it fails if the api is shut down before
+     * or with an {@link UnsupportedOperationException} if the implementation doesn't report its stages
+     */
+    default CompletableFuture<SpotifyAPI> whenReady(ReadinessStage stage) {
+        CompletableFuture<SpotifyAPI> future = new CompletableFuture<>();
+        future.completeExceptionally(new UnsupportedOperationException("Readiness stages are not supported by this implementation"));
+        return future;
+    }
+
     /**
      * Initialize the SpotifyAPI and connect to the Spotify process asynchronously.
      *
@@ -42,7 +71,7 @@ public interface SpotifyAPI {
      * @return a future that will contain the initialized SpotifyAPI
      */
     default CompletableFuture<SpotifyAPI> initializeAsync(SpotifyConfiguration configuration) {
-        return CompletableFuture.supplyAsync(() -> this.initialize(configuration));
+        return CompletableFuture.supplyAsync(() -> this.initialize(configuration), configuration.getIoExecutor());
     }
 
     /**
@@ -52,7 +81,7 @@ public interface SpotifyAPI {
      * @return a future that will contain the initialized SpotifyAPI
      */
     default CompletableFuture<SpotifyAPI> initializeAsync() {
-        return CompletableFuture.supplyAsync(this::initialize);
+        return CompletableFuture.supplyAsync(this::initialize, SpotifyExecutors.io());
     }
 
     /**
@@ -96,6 +125,123 @@ public interface SpotifyAPI {
      */
     boolean isPlaying();
 
+    /**
+     * Returns true if the volume, shuffle and repeat options of the player are known.
+     *
+     * @return true if the playback options are known
+     */
+    default boolean hasPlaybackOptions() {
+        return false;
+    }
+
+    /**
+     * Returns the volume, shuffle and repeat options of the player.
+     * They are read together with the position, changes are published as
+     * {@link de.labystudio.spotifyapi.event.type.PlaybackOptionsChangedEvent}.
+     *
+     * @return the playback options
+     * @throws IllegalStateException if the playback options are not known
+     */
+    default PlaybackOptions getPlaybackOptions() {
+        throw new IllegalStateException("Playback options are not known");
+    }
+
+    /**
+     * Returns the transport controls that are supported on this platform.
+     * The methods of the other controls throw an {@link UnsupportedOperationException}.
+     *
+     * @return the supported controls, empty if the player can only be controlled with media keys
+     */
+    default Set<TransportControl> getSupportedControls() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * Returns true if the given transport control is supported on this platform.
+     *
+     * @param control the control to check
+     * @return true if the control is supported
+     */
+    default boolean supportsControl(TransportControl control) {
+        return this.getSupportedControls().contains(control);
+    }
+
+    /**
+     * Seek to the given position of the current track.
+     * The command is sent in the background.
+     *
+     * @param position the position in milliseconds
+     * @return a future that completes once the command has been sent
+     * @throws UnsupportedOperationException if the platform doesn't support {@link TransportControl#SEEK}
+     */
+    default CompletableFuture<Void> seek(int position) {
+        throw new UnsupportedOperationException("Seeking is not supported on this platform");
+    }
+
+    /**
+     * Set the volume of the player.
+     * The command is sent in the background.
+     *
+     * @param volume the volume between 0.0 and 1.0
+     * @return a future that completes once the command has been sent
+     * @throws UnsupportedOperationException if the platform doesn't support {@link TransportControl#VOLUME}
+     */
+    default CompletableFuture<Void> setVolume(float volume) {
+        throw new UnsupportedOperationException("Changing the volume is not supported on this platform");
+    }
+
+    /**
+     * Enable or disable shuffle.
+     * The command is sent in the background.
+     *
+     * @param shuffle true to enable shuffle
+     * @return a future that completes once the command has been sent
+     * @throws UnsupportedOperationException if the platform doesn't support {@link TransportControl#SHUFFLE}
+     */
+    default CompletableFuture<Void> setShuffle(boolean shuffle) {
+        throw new UnsupportedOperationException("Shuffle is not supported on this platform");
+    }
+
+    /**
+     * Set the repeat mode of the player.
+     * The command is sent in the background.
+     *
+     * @param repeatMode the repeat mode
+     * @return a future that completes once the command has been sent
+     * @throws UnsupportedOperationException if the platform doesn't support the {@link TransportControl} of the mode
+     */
+    default CompletableFuture<Void> setRepeat(RepeatMode repeatMode) {
+        throw new UnsupportedOperationException("Repeat is not supported on this platform");
+    }
+
+    /**
+     * Schedule a callback that fires every time the playback reaches the given track position.
+     * The cue is re-armed automatically on seek, pause and track change.
+     * All cues share a single timer thread, the callback should return quickly.
+     *
+     * @param position the track position in milliseconds
+     * @param callback the callback to call when the position is reached
+     * @return the cue handle to cancel the cue
+     * @throws UnsupportedOperationException if the implementation doesn't support cues
+     */
+    default Cue schedule(int position, Runnable callback) {
+        throw new UnsupportedOperationException("Cues are not supported by this implementation");
+    }
+
+    /**
+     * Schedule a callback that fires at the given track position and then every interval until the end of the track.
+     * The cue is re-armed automatically on seek, pause and track change.
+     *
+     * @param position the track position of the first fire in milliseconds
+     * @param interval the interval between two fires in milliseconds
+     * @param callback the callback to call when a position is reached
+     * @return the cue handle to cancel the cue
+     * @throws UnsupportedOperationException if the implementation doesn't support cues
+     */
+    default Cue scheduleRepeating(int position, int interval, Runnable callback) {
+        throw new UnsupportedOperationException("Cues are not supported by this implementation");
+    }
+
     /**
      * Send a key pres of a media key to the system.<br>
      * The key can be one of the following:
@@ -104,8 +250,15 @@ public interface SpotifyAPI {
      *     <li>{@link MediaKey#NEXT}</li>
      *     <li>{@link MediaKey#PREV}</li>
      * </ul>
+     * The key is queued and sent in the background, so this method doesn't block.
+     * Keys pressed in a short burst are sent together, two {@link MediaKey#PLAY_PAUSE} presses cancel each other out.
+     * The expected playing state of {@link MediaKey#PLAY_PAUSE} is applied immediately
+     * and rolled back if Spotify doesn't confirm it.
+     * <p>
+     * Keys are dropped without an error if Spotify is not connected when they are sent.
      *
      * @param mediaKey the key to send
+     * @throws IllegalStateException if the api is not initialized
      */
     void pressMediaKey(MediaKey mediaKey);
 
@@ -116,6 +269,31 @@ public interface SpotifyAPI {
      */
     boolean isConnected();
 
+    /**
+     * Returns the connection state of the backend.
+     * Changes are published as {@link de.labystudio.spotifyapi.event.type.ConnectionStateChangedEvent}.
+     *
+     * @return the connection state
+     */
+    default ConnectionState getConnectionState() {
+        if (!this.isInitialized()) {
+            return ConnectionState.STOPPED;
+        }
+        return this.isConnected() ? ConnectionState.CONNECTED : ConnectionState.BACKING_OFF;
+    }
+
+    /**
+     * Returns true if the current state was read from Spotify.
+     * If a state file is configured, the api restores the last known state on initialization.
+     * The restored track is provisional until the first state was read from Spotify,
+     * the restored position until Spotify reported a position or another track.
+     *
+     * @return true if the state was confirmed by Spotify
+     */
+    default boolean isStateConfirmed() {
+        return true;
+    }
+
     /**
      * Returns true if the background process is running.
      *
@@ -137,6 +315,63 @@ public interface SpotifyAPI {
      */
     void unregisterListener(SpotifyListener listener);
 
+    /**
+     * Subscribe to all events of the given type.
+     * Use {@link PlaybackEvent} as type to receive all events.
+     *
+     * @param type    the type of events to receive
+     * @param handler the handler to call for each event
+     * @param <E>     the event type
+     * @return the subscription handle to cancel the subscription
+     */
+    default <E extends PlaybackEvent> EventSubscription subscribe(Class<E> type, Consumer<? super E> handler) {
+        return this.subscribe(type, handler, false);
+    }
+
+    /**
+     * Subscribe to all events of the given type.
+     * Use {@link PlaybackEvent} as type to receive all events.
+     * <p>
+     * A coalescing subscription only receives the latest event of each type per update cycle.
+     *
+     * @param type     the type of events to receive
+     * @param handler  the handler to call for each event
+     * @param coalesce true to only receive the latest event of each type per update cycle
+     * @param <E>      the event type
+     * @return the subscription handle to cancel the subscription
+     * @throws UnsupportedOperationException if the implementation doesn't support subscriptions
+     */
+    default <E extends PlaybackEvent> EventSubscription subscribe(Class<E> type, Consumer<? super E> handler, boolean coalesce) {
+        throw new UnsupportedOperationException("Subscriptions are not supported by this implementation");
+    }
+
+    /**
+     * Returns the publisher to consume all events as a stream with backpressure.
+     * Slow subscribers receive conflated or dropped events depending on their buffer policy
+     * instead of building up a backlog or stalling the api.
+     *
+     * @return the event publisher of this api
+     * @throws UnsupportedOperationException if the implementation doesn't support event streams
+     */
+    default PlaybackEventPublisher getEventPublisher() {
+        throw new UnsupportedOperationException("Event streams are not supported by this implementation");
+    }
+
+    /**
+     * Returns a snapshot of the current playback state.
+     *
+     * @return the current playback state
+     */
+    default PlaybackState getState() {
+        return new PlaybackState(
+                this.getTrack(),
+                this.hasPosition() ? this.getPosition() : -1,
+                this.isPlaying(),
+                this.isConnected(),
+                this.isStateConfirmed()
+        );
+    }
+
     /**
      * Returns the current set configuration of the api.
      *
@@ -1,8 +1,13 @@
 package de.labystudio.spotifyapi;
 
 import de.labystudio.spotifyapi.config.SpotifyConfiguration;
+import de.labystudio.spotifyapi.config.SpotifyExecutors;
+import de.labystudio.spotifyapi.model.ReadinessStage;
+import de.labystudio.spotifyapi.platform.AbstractTickSpotifyAPI;
 import de.labystudio.spotifyapi.platform.linux.LinuxSpotifyApi;
 import de.labystudio.spotifyapi.platform.osx.OSXSpotifyApi;
+import de.labystudio.spotifyapi.platform.shared.SharedBackend;
+import de.labystudio.spotifyapi.platform.shared.SharedSpotifyAPI;
 import de.labystudio.spotifyapi.platform.windows.WinSpotifyAPI;
 
 import java.util.Locale;
@@ -15,6 +20,8 @@ import java.util.concurrent.CompletableFuture;
  */
 public class SpotifyAPIFactory {
 
+    private static final SharedBackend SHARED_BACKEND = new SharedBackend(SpotifyAPIFactory::createBackend);
+
     /**
      * Creates a new SpotifyAPI instance for the current platform.
      * Currently, only Windows, OSX and Linux are supported.
@@ -23,6 +30,46 @@ public class SpotifyAPIFactory {
      * @throws IllegalStateException if the current platform is not supported.
      */
     public static SpotifyAPI create() {
+        return createBackend();
+    }
+
+    /**
+     * Creates a new view on the SpotifyAPI backend that is shared by all views of this JVM.
+     * All views share a single background thread and a single set of reads from the Spotify application.
+     * Each view has its own listeners, but they are called on the thread of the backend.
+     * The backend runs on its own thread with the settings of the first view,
+     * a view with different backend settings like another tick interval is rejected on initialization.
+     * <p>
+     * The backend is started when the first view is initialized
+     * and stopped when the last view is stopped or shut down.
+     *
+     * @return A new view on the shared SpotifyAPI backend.
+     */
+    public static SpotifyAPI createShared() {
+        return new SharedSpotifyAPI(SHARED_BACKEND);
+    }
+
+    /**
+     * Create an initialized view on the shared SpotifyAPI backend.
+     * It will use a default configuration.
+     *
+     * @return A new view on the shared SpotifyAPI backend.
+     */
+    public static SpotifyAPI createSharedInitialized() {
+        return createShared().initialize();
+    }
+
+    /**
+     * Create an initialized view on the shared SpotifyAPI backend.
+     *
+     * @param configuration The configuration for the view. The backend uses the settings of the first view.
+     * @return A new view on the shared SpotifyAPI backend.
+     */
+    public static SpotifyAPI createSharedInitialized(SpotifyConfiguration configuration) {
+        return createShared().initialize(configuration);
+    }
+
+    private static AbstractTickSpotifyAPI createBackend() {
         String os = System.getProperty("os.name").toLowerCase(Locale.ENGLISH);
 
         if (os.contains("win")) {
@@ -40,7 +87,7 @@ public class SpotifyAPIFactory {
 
     /**
      * Create an initialized SpotifyAPI instance.
-     * Initializing will block the current thread until the SpotifyAPI instance is ready.
+     * The connection is established in the background, see {@link SpotifyAPI#whenReady(ReadinessStage)}.
      * It will use a default configuration.
      *
      * @return A new SpotifyAPI instance.
@@ -51,7 +98,7 @@ public class SpotifyAPIFactory {
 
     /**
      * Create an initialized SpotifyAPI instance.
-     * Initializing will block the current thread until the SpotifyAPI instance is ready.
+     * The connection is established in the background, see {@link SpotifyAPI#whenReady(ReadinessStage)}.
      *
      * @param configuration The configuration for the SpotifyAPI instance.
      * @return A new SpotifyAPI instance.
@@ -67,7 +114,7 @@ public class SpotifyAPIFactory {
      * @return A future that will contain the SpotifyAPI instance.
      */
     public static CompletableFuture<SpotifyAPI> createInitializedAsync() {
-        return CompletableFuture.supplyAsync(SpotifyAPIFactory::createInitialized);
+        return CompletableFuture.supplyAsync(SpotifyAPIFactory::createInitialized, SpotifyExecutors.io());
     }
 
     /**
@@ -79,6 +126,6 @@ public class SpotifyAPIFactory {
      * @return A future that will contain the SpotifyAPI instance.
      */
     public static CompletableFuture<SpotifyAPI> createInitializedAsync(SpotifyConfiguration configuration) {
-        return CompletableFuture.supplyAsync(() -> createInitialized(configuration));
+        return CompletableFuture.supplyAsync(() -> createInitialized(configuration), configuration.getIoExecutor());
     }
 }
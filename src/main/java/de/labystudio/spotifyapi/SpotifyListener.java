@@ -4,6 +4,8 @@ import de.labystudio.spotifyapi.model.Track;
 
 /**
  * Interface to receive playback updates from Spotify.
+ * A listener receives every event of the api, see {@link SpotifyAPI#subscribe(Class, java.util.function.Consumer)}
+ * to only receive specific events.
  *
  * @author LabyStudio
  */
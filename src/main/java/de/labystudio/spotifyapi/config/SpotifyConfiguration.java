@@ -1,7 +1,14 @@
 package de.labystudio.spotifyapi.config;
 
+import de.labystudio.spotifyapi.metrics.SpotifyMetrics;
+import de.labystudio.spotifyapi.record.SampleRecorder;
+import de.labystudio.spotifyapi.time.TimeSource;
+
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
 
 /**
  * A configuration for the spotify api
@@ -10,18 +17,64 @@ import java.nio.file.Paths;
  */
 public class SpotifyConfiguration {
 
+    private final long tickInterval;
     private final long exceptionReconnectDelay;
     private final boolean autoReconnect;
+    private final long maxReconnectDelay;
+    private final int circuitBreakerThreshold;
+    private final long dormantRetryInterval;
+    private final Random reconnectJitter;
     private final Path nativesDirectory;
+    private final ScheduledExecutorService scheduler;
+    private final Executor ioExecutor;
+    private final Executor dispatchExecutor;
+    private final boolean daemonThreads;
+    private final Path stateFile;
+    private final Path offsetDatabase;
+    private final SpotifyMetrics metrics;
+    private final TimeSource timeSource;
+    private final SampleRecorder sampleRecorder;
 
     private SpotifyConfiguration(
+            long tickInterval,
             long exceptionReconnectDelay,
             boolean autoReconnect,
-            Path nativesDirectory
+            long maxReconnectDelay,
+            int circuitBreakerThreshold,
+            long dormantRetryInterval,
+            Random reconnectJitter,
+            Path nativesDirectory,
+            ScheduledExecutorService scheduler,
+            Executor ioExecutor,
+            Executor dispatchExecutor,
+            boolean daemonThreads,
+            Path stateFile,
+            Path offsetDatabase,
+            SpotifyMetrics metrics,
+            TimeSource timeSource,
+            SampleRecorder sampleRecorder
     ) {
+        this.tickInterval = tickInterval;
         this.exceptionReconnectDelay = exceptionReconnectDelay;
         this.autoReconnect = autoReconnect;
+        this.maxReconnectDelay = maxReconnectDelay;
+        this.circuitBreakerThreshold = circuitBreakerThreshold;
+        this.dormantRetryInterval = dormantRetryInterval;
+        this.reconnectJitter = reconnectJitter;
         this.nativesDirectory = nativesDirectory;
+        this.scheduler = scheduler;
+        this.ioExecutor = ioExecutor;
+        this.dispatchExecutor = dispatchExecutor;
+        this.daemonThreads = daemonThreads;
+        this.stateFile = stateFile;
+        this.offsetDatabase = offsetDatabase;
+        this.metrics = metrics;
+        this.timeSource = timeSource;
+        this.sampleRecorder = sampleRecorder;
+    }
+
+    public long getTickInterval() {
+        return this.tickInterval;
     }
 
     public long getExceptionReconnectDelay() {
@@ -32,21 +85,179 @@ public class SpotifyConfiguration {
         return this.autoReconnect;
     }
 
+    public long getMaxReconnectDelay() {
+        return this.maxReconnectDelay;
+    }
+
+    public int getCircuitBreakerThreshold() {
+        return this.circuitBreakerThreshold;
+    }
+
+    public long getDormantRetryInterval() {
+        return this.dormantRetryInterval;
+    }
+
+    /**
+     * Returns the random source of the reconnect jitter.
+     *
+     * @return the custom random source or null if the random source of the current thread is used
+     */
+    public Random getReconnectJitter() {
+        return this.reconnectJitter;
+    }
+
     public Path getNativesDirectory() {
         return this.nativesDirectory;
     }
 
+    /**
+     * Returns the scheduler that runs the ticks of the api.
+     *
+     * @return the custom scheduler or null if the api creates and manages its own scheduler
+     */
+    public ScheduledExecutorService getScheduler() {
+        return this.scheduler;
+    }
+
+    /**
+     * Returns the executor for blocking I/O like the asynchronous initialization.
+     *
+     * @return the custom executor or the shared {@link SpotifyExecutors#io()} executor
+     */
+    public Executor getIoExecutor() {
+        return this.ioExecutor == null ? SpotifyExecutors.io() : this.ioExecutor;
+    }
+
+    /**
+     * Returns the executor that delivers events to stream subscribers.
+     *
+     * @return the custom executor or null if the api creates and manages its own dispatch thread
+     */
+    public Executor getDispatchExecutor() {
+        return this.dispatchExecutor;
+    }
+
+    public boolean isDaemonThreads() {
+        return this.daemonThreads;
+    }
+
+    /**
+     * Returns the file that keeps the last known playback state across restarts.
+     *
+     * @return the state file or null if the state is not persisted
+     */
+    public Path getStateFile() {
+        return this.stateFile;
+    }
+
+    /**
+     * Returns the file that keeps the memory offsets of each Spotify build across restarts.
+     *
+     * @return the offset database or null if the discovered offsets are only kept in memory
+     */
+    public Path getOffsetDatabase() {
+        return this.offsetDatabase;
+    }
+
+    /**
+     * Returns the metrics that instrument the api.
+     *
+     * @return the metrics, no-op by default
+     */
+    public SpotifyMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Returns the time source for position interpolation, event timestamps and reconnect delays.
+     *
+     * @return the custom time source, the scheduler if it is a time source or the system clock
+     */
+    public TimeSource getTimeSource() {
+        return this.timeSource;
+    }
+
+    /**
+     * Returns the recorder of the raw backend samples.
+     *
+     * @return the recorder or null if the samples are not recorded
+     */
+    public SampleRecorder getSampleRecorder() {
+        return this.sampleRecorder;
+    }
+
     /**
      * Builder to create a new spotify configuration
      */
     public static class Builder {
 
+        private long tickInterval = 1000L;
         private long exceptionReconnectDelay = 1000 * 10L;
         private boolean autoReconnect = true;
+        private long maxReconnectDelay = 1000 * 60L;
+        private int circuitBreakerThreshold = 6;
+        private long dormantRetryInterval = 1000 * 60 * 2L;
+        private Random reconnectJitter;
         private Path nativesDirectory = Paths.get(System.getProperty("java.io.tmpdir"), "spotify-api-natives");
+        private ScheduledExecutorService scheduler;
+        private Executor ioExecutor;
+        private Executor dispatchExecutor;
+        private boolean daemonThreads = false;
+        private Path stateFile;
+        private Path offsetDatabase;
+        private SpotifyMetrics metrics = SpotifyMetrics.noop();
+        private TimeSource timeSource;
+        private SampleRecorder sampleRecorder;
+
+        /**
+         * Create a builder with the default configuration.
+         */
+        public Builder() {
+        }
+
+        /**
+         * Create a builder with all settings of the given configuration.
+         *
+         * @param configuration The configuration to copy
+         */
+        public Builder(SpotifyConfiguration configuration) {
+            this.tickInterval = configuration.tickInterval;
+            this.exceptionReconnectDelay = configuration.exceptionReconnectDelay;
+            this.autoReconnect = configuration.autoReconnect;
+            this.maxReconnectDelay = configuration.maxReconnectDelay;
+            this.circuitBreakerThreshold = configuration.circuitBreakerThreshold;
+            this.dormantRetryInterval = configuration.dormantRetryInterval;
+            this.reconnectJitter = configuration.reconnectJitter;
+            this.nativesDirectory = configuration.nativesDirectory;
+            this.scheduler = configuration.scheduler;
+            this.ioExecutor = configuration.ioExecutor;
+            this.dispatchExecutor = configuration.dispatchExecutor;
+            this.daemonThreads = configuration.daemonThreads;
+            this.stateFile = configuration.stateFile;
+            this.offsetDatabase = configuration.offsetDatabase;
+            this.metrics = configuration.metrics;
+            this.timeSource = configuration.timeSource;
+            this.sampleRecorder = configuration.sampleRecorder;
+        }
 
         /**
-         * Set the delay between reconnects when an exception occurs
+         * Set the interval in which the api reads the state of Spotify.
+         * A shorter interval detects changes earlier, but costs more CPU time.
+         *
+         * @param tickInterval The interval in milliseconds
+         * @return The builder instance
+         */
+        public Builder tickInterval(long tickInterval) {
+            if (tickInterval <= 0) {
+                throw new IllegalArgumentException("Tick interval must be positive: " + tickInterval);
+            }
+            this.tickInterval = tickInterval;
+            return this;
+        }
+
+        /**
+         * Set the delay between reconnects when an exception occurs.
+         * It is the initial delay of the exponential backoff.
          *
          * @param exceptionReconnectDelay The delay in milliseconds
          * @return The builder instance
@@ -67,6 +278,52 @@ public class SpotifyConfiguration {
             return this;
         }
 
+        /**
+         * Set the maximal delay between reconnects of the exponential backoff
+         *
+         * @param maxReconnectDelay The maximal delay in milliseconds
+         * @return The builder instance
+         */
+        public Builder maxReconnectDelay(long maxReconnectDelay) {
+            this.maxReconnectDelay = maxReconnectDelay;
+            return this;
+        }
+
+        /**
+         * Set the amount of failed reconnects in a row after which the api only probes Spotify rarely
+         *
+         * @param circuitBreakerThreshold The amount of failed reconnects
+         * @return The builder instance
+         */
+        public Builder circuitBreakerThreshold(int circuitBreakerThreshold) {
+            this.circuitBreakerThreshold = circuitBreakerThreshold;
+            return this;
+        }
+
+        /**
+         * Set the delay between reconnects once the circuit breaker is open
+         *
+         * @param dormantRetryInterval The delay in milliseconds
+         * @return The builder instance
+         */
+        public Builder dormantRetryInterval(long dormantRetryInterval) {
+            this.dormantRetryInterval = dormantRetryInterval;
+            return this;
+        }
+
+        /**
+         * Draw the jitter of the reconnect backoff from the given random source.
+         * Pass a seeded source to make a simulation on a virtual scheduler reproducible.
+         * Each api should get its own source, so multiple instances don't retry at the same time.
+         *
+         * @param reconnectJitter The random source or null to use the random source of the current thread
+         * @return The builder instance
+         */
+        public Builder reconnectJitter(Random reconnectJitter) {
+            this.reconnectJitter = reconnectJitter;
+            return this;
+        }
+
         /**
          * All libraries that are required to run the spotify api will be extracted to this directory.
          *
@@ -79,11 +336,141 @@ public class SpotifyConfiguration {
             return this;
         }
 
+        /**
+         * Run the ticks of the api on the given scheduler instead of a dedicated thread.
+         * The api won't shut down a custom scheduler.
+         * If the scheduler is also a {@link TimeSource} like the {@link de.labystudio.spotifyapi.time.VirtualScheduler},
+         * it is used as time source unless a different one is set.
+         *
+         * @param scheduler The scheduler to run the ticks on or null to use a dedicated thread
+         * @return The builder instance
+         */
+        public Builder scheduler(ScheduledExecutorService scheduler) {
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        /**
+         * Run blocking I/O like the asynchronous initialization on the given executor.
+         *
+         * @param ioExecutor The executor for blocking I/O or null to use {@link SpotifyExecutors#io()}
+         * @return The builder instance
+         */
+        public Builder ioExecutor(Executor ioExecutor) {
+            this.ioExecutor = ioExecutor;
+            return this;
+        }
+
+        /**
+         * Deliver events to stream subscribers on the given executor instead of a dedicated thread.
+         * The api won't shut down a custom executor.
+         *
+         * @param dispatchExecutor The executor to deliver events on or null to use a dedicated thread
+         * @return The builder instance
+         */
+        public Builder dispatchExecutor(Executor dispatchExecutor) {
+            this.dispatchExecutor = dispatchExecutor;
+            return this;
+        }
+
+        /**
+         * Set if the threads created by the api should be daemon threads.
+         * Daemon threads don't prevent the JVM from exiting while the api is running.
+         *
+         * @param daemonThreads true to create daemon threads
+         * @return The builder instance
+         */
+        public Builder daemonThreads(boolean daemonThreads) {
+            this.daemonThreads = daemonThreads;
+            return this;
+        }
+
+        /**
+         * Keep the last known playback state in the given file across restarts.
+         * The api restores it on initialization as a provisional state until Spotify confirms it.
+         *
+         * @param stateFile The file to store the state in or null to disable the persistence
+         * @return The builder instance
+         */
+        public Builder stateFile(Path stateFile) {
+            this.stateFile = stateFile;
+            return this;
+        }
+
+        /**
+         * Keep the memory offsets that were found for each Spotify build in the given file across restarts.
+         * A reconnect to a known build validates the stored offset instead of scanning the memory.
+         * It is only used on Windows.
+         *
+         * @param offsetDatabase The file to store the offsets in or null to keep them in memory only
+         * @return The builder instance
+         */
+        public Builder offsetDatabase(Path offsetDatabase) {
+            this.offsetDatabase = offsetDatabase;
+            return this;
+        }
+
+        /**
+         * Record tick durations, failed calls, reconnects and more in the given metrics.
+         * Use a {@link de.labystudio.spotifyapi.metrics.MetricRegistry} to export them via JMX or Prometheus.
+         *
+         * @param metrics The metrics to record to or null to disable the instrumentation
+         * @return The builder instance
+         */
+        public Builder metrics(SpotifyMetrics metrics) {
+            this.metrics = metrics == null ? SpotifyMetrics.noop() : metrics;
+            return this;
+        }
+
+        /**
+         * Read the time from the given source instead of the system clock.
+         * It has to tick in sync with the scheduler, otherwise positions are interpolated wrong.
+         *
+         * @param timeSource The time source or null to use the scheduler or the system clock
+         * @return The builder instance
+         */
+        public Builder timeSource(TimeSource timeSource) {
+            this.timeSource = timeSource;
+            return this;
+        }
+
+        /**
+         * Append each raw sample of the backend to the given recorder, so it can be replayed later.
+         * The api won't close a custom recorder.
+         *
+         * @param sampleRecorder The recorder or null to disable the recording
+         * @return The builder instance
+         */
+        public Builder sampleRecorder(SampleRecorder sampleRecorder) {
+            this.sampleRecorder = sampleRecorder;
+            return this;
+        }
+
         public SpotifyConfiguration build() {
+            // A virtual scheduler brings its own time
+            TimeSource timeSource = this.timeSource;
+            if (timeSource == null) {
+                timeSource = this.scheduler instanceof TimeSource ? (TimeSource) this.scheduler : TimeSource.system();
+            }
+
             return new SpotifyConfiguration(
+                    this.tickInterval,
                     this.exceptionReconnectDelay,
                     this.autoReconnect,
-                    this.nativesDirectory
+                    this.maxReconnectDelay,
+                    this.circuitBreakerThreshold,
+                    this.dormantRetryInterval,
+                    this.reconnectJitter,
+                    this.nativesDirectory,
+                    this.scheduler,
+                    this.ioExecutor,
+                    this.dispatchExecutor,
+                    this.daemonThreads,
+                    this.stateFile,
+                    this.offsetDatabase,
+                    this.metrics,
+                    timeSource,
+                    this.sampleRecorder
             );
         }
     }
@@ -0,0 +1,73 @@
+package de.labystudio.spotifyapi.config;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Default executors of the SpotifyAPI.
+ * <p>
+ * Blocking I/O like backend processes and HTTP requests runs on a shared I/O executor.
+ * On Java 21 and newer it uses a virtual thread per task, so many concurrent calls don't grow a platform thread pool.
+ * On older versions it falls back to a cached pool of daemon threads.
+ *
+ * @author LabyStudio
+ */
+public final class SpotifyExecutors {
+
+    // Set while the I/O executor is created, so it must be declared without an initializer before it
+    private static boolean virtualThreads;
+    private static final ExecutorService IO = createIoExecutor();
+
+    private SpotifyExecutors() {
+    }
+
+    /**
+     * Returns the I/O executor that is shared by all SpotifyAPI instances of this JVM.
+     *
+     * @return the shared I/O executor
+     */
+    public static ExecutorService io() {
+        return IO;
+    }
+
+    /**
+     * Returns true if the shared I/O executor uses virtual threads.
+     *
+     * @return true if virtual threads are used
+     */
+    public static boolean isUsingVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Create a thread factory for named threads.
+     *
+     * @param name   the name of the threads, a counter is appended if more than one thread is created
+     * @param daemon true if the threads should not prevent the JVM from exiting
+     * @return the thread factory
+     */
+    public static ThreadFactory threadFactory(String name, boolean daemon) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            int index = counter.incrementAndGet();
+            Thread thread = new Thread(runnable, index == 1 ? name : name + " #" + index);
+            thread.setDaemon(daemon);
+            return thread;
+        };
+    }
+
+    private static ExecutorService createIoExecutor() {
+        try {
+            // Java 21+, looked up reflectively to keep the library compatible with Java 8
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            ExecutorService executor = (ExecutorService) method.invoke(null);
+            virtualThreads = true;
+            return executor;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return Executors.newCachedThreadPool(threadFactory("SpotifyAPI I/O", true));
+        }
+    }
+}
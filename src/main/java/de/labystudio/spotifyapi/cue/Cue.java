@@ -0,0 +1,95 @@
+package de.labystudio.spotifyapi.cue;
+
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * A callback that fires when the playback reaches a specific position of the track.
+ * <p>
+ * A cue fires every time the playback passes its position, it is re-armed automatically on seek, pause and track change.
+ * A repeating cue fires at its position and then every interval after it until the end of the track.
+ *
+ * @author LabyStudio
+ */
+public class Cue {
+
+    private final CueScheduler scheduler;
+    private final int position;
+    private final int interval;
+    private final Runnable callback;
+
+    // State of the cue, guarded by the scheduler
+    int target = -1;
+    int lastFired = -1;
+    HashedTimingWheel.Timeout timeout;
+    ScheduledFuture<?> future;
+
+    private volatile boolean cancelled;
+
+    Cue(CueScheduler scheduler, int position, int interval, Runnable callback) {
+        this.scheduler = scheduler;
+        this.position = position;
+        this.interval = interval;
+        this.callback = callback;
+    }
+
+    /**
+     * Returns the next target position of this cue that is not before the given position.
+     *
+     * @param current the current position in milliseconds
+     * @return the next target position or -1 if the cue already passed
+     */
+    int nextTarget(int current) {
+        if (current <= this.position && this.position != this.lastFired) {
+            return this.position;
+        }
+        if (this.interval <= 0) {
+            return -1;
+        }
+
+        // Round up to the next repetition, a cue that fired exactly at its position continues with the next one
+        int repetitions = Math.max(0, (current - this.position + this.interval - 1) / this.interval);
+        int target = this.position + repetitions * this.interval;
+        if (target == this.lastFired) {
+            target += this.interval;
+        }
+        return target;
+    }
+
+    Runnable getCallback() {
+        return this.callback;
+    }
+
+    /**
+     * Returns the track position of the first fire.
+     *
+     * @return the position in milliseconds
+     */
+    public int getPosition() {
+        return this.position;
+    }
+
+    /**
+     * Returns the interval of a repeating cue.
+     *
+     * @return the interval in milliseconds or 0 if the cue is not repeating
+     */
+    public int getInterval() {
+        return this.interval;
+    }
+
+    public boolean isRepeating() {
+        return this.interval > 0;
+    }
+
+    /**
+     * Cancel the cue, it won't fire anymore.
+     */
+    public void cancel() {
+        this.cancelled = true;
+        this.scheduler.cancel(this);
+    }
+
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+}
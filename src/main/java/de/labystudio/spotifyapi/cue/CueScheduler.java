@@ -0,0 +1,245 @@
+package de.labystudio.spotifyapi.cue;
+
+import de.labystudio.spotifyapi.SpotifyAPI;
+import de.labystudio.spotifyapi.event.EventSubscription;
+import de.labystudio.spotifyapi.event.type.DisconnectedEvent;
+import de.labystudio.spotifyapi.event.type.PlaybackChangedEvent;
+import de.labystudio.spotifyapi.event.type.PositionJumpEvent;
+import de.labystudio.spotifyapi.event.type.TrackChangedEvent;
+import de.labystudio.spotifyapi.model.Track;
+import de.labystudio.spotifyapi.platform.PositionClock;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduler of cues that fire at exact track positions.
+ * <p>
+ * Instead of polling the position, each cue is armed on the {@link HashedTimingWheel}
+ * with the time until the interpolated position reaches it.
+ * If the api runs on a custom scheduler, the cues are armed on that scheduler instead,
+ * so they follow its time, e.g. the virtual time of a {@link de.labystudio.spotifyapi.time.VirtualScheduler}.
+ * All cues are re-armed when the api reports a seek, a playback change or a track change.
+ * When a cue fires, the position is verified again, so a drifting clock re-arms the cue instead of firing too early.
+ * <p>
+ * Callbacks are called on the timer thread or the scheduler and should return quickly.
+ *
+ * @author LabyStudio
+ */
+public class CueScheduler {
+
+    /**
+     * A cue may fire this amount of milliseconds before its position to compensate the timer precision.
+     */
+    private static final int TOLERANCE = 5;
+
+    private final SpotifyAPI api;
+    private final HashedTimingWheel wheel;
+    private ScheduledExecutorService executor;
+
+    private final Set<Cue> cues = new LinkedHashSet<>();
+    private final List<EventSubscription> subscriptions = new ArrayList<>();
+
+    public CueScheduler(SpotifyAPI api, HashedTimingWheel wheel) {
+        this.api = api;
+        this.wheel = wheel;
+    }
+
+    /**
+     * Arm the cues on the given scheduler instead of the timing wheel.
+     * The armed cues are moved to the new scheduler.
+     *
+     * @param executor the scheduler or null to use the timing wheel
+     */
+    public synchronized void setExecutor(ScheduledExecutorService executor) {
+        if (this.executor == executor) {
+            return;
+        }
+        this.executor = executor;
+        this.rearm();
+    }
+
+    /**
+     * Schedule a callback that fires every time the playback reaches the given position.
+     *
+     * @param position the track position in milliseconds
+     * @param callback the callback to call on the timer thread
+     * @return the cue handle to cancel the cue
+     */
+    public Cue schedule(int position, Runnable callback) {
+        return this.add(new Cue(this, position, 0, callback));
+    }
+
+    /**
+     * Schedule a callback that fires at the given position and then every interval until the end of the track.
+     *
+     * @param position the track position of the first fire in milliseconds
+     * @param interval the interval between two fires in milliseconds
+     * @param callback the callback to call on the timer thread
+     * @return the cue handle to cancel the cue
+     */
+    public Cue scheduleRepeating(int position, int interval, Runnable callback) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Interval must be positive: " + interval);
+        }
+        return this.add(new Cue(this, position, interval, callback));
+    }
+
+    private Cue add(Cue cue) {
+        if (cue.getPosition() < 0) {
+            throw new IllegalArgumentException("Position cannot be negative: " + cue.getPosition());
+        }
+        if (cue.getCallback() == null) {
+            throw new IllegalArgumentException("Callback cannot be null");
+        }
+
+        synchronized (this) {
+            if (this.subscriptions.isEmpty()) {
+                this.subscribe();
+            }
+            this.cues.add(cue);
+            this.arm(cue, this.currentPosition());
+        }
+        return cue;
+    }
+
+    private void subscribe() {
+        this.subscriptions.add(this.api.subscribe(PositionJumpEvent.class, event -> this.rearm()));
+        this.subscriptions.add(this.api.subscribe(PlaybackChangedEvent.class, event -> this.rearm()));
+        this.subscriptions.add(this.api.subscribe(TrackChangedEvent.class, event -> {
+            synchronized (this) {
+                // A new track starts from the beginning
+                for (Cue cue : this.cues) {
+                    cue.lastFired = -1;
+                }
+            }
+            this.rearm();
+        }));
+        this.subscriptions.add(this.api.subscribe(DisconnectedEvent.class, event -> this.rearm()));
+    }
+
+    /**
+     * Re-arm all cues using the current interpolated position.
+     */
+    public synchronized void rearm() {
+        int position = this.currentPosition();
+        for (Cue cue : this.cues) {
+            this.arm(cue, position);
+        }
+    }
+
+    synchronized void cancel(Cue cue) {
+        this.disarm(cue);
+        this.cues.remove(cue);
+
+        // Nothing to observe anymore
+        if (this.cues.isEmpty()) {
+            this.unsubscribe();
+        }
+    }
+
+    /**
+     * Cancel all cues.
+     */
+    public synchronized void clear() {
+        for (Cue cue : new ArrayList<>(this.cues)) {
+            cue.cancel();
+        }
+        this.unsubscribe();
+    }
+
+    private void unsubscribe() {
+        for (EventSubscription subscription : this.subscriptions) {
+            subscription.cancel();
+        }
+        this.subscriptions.clear();
+    }
+
+    private void arm(Cue cue, int position) {
+        this.disarm(cue);
+        if (position == -1 || !this.api.isPlaying() || cue.isCancelled()) {
+            return;
+        }
+
+        // The playback jumped back before the last fire, so the cue can fire again
+        if (position < cue.lastFired) {
+            cue.lastFired = -1;
+        }
+
+        int target = cue.nextTarget(position);
+        if (target == -1 || target == cue.lastFired) {
+            return;
+        }
+
+        // Don't arm cues beyond the end of the track
+        Track track = this.api.getTrack();
+        if (track != null && track.getLength() > 0 && target > track.getLength()) {
+            return;
+        }
+
+        cue.target = target;
+        this.schedule(cue, target - position);
+    }
+
+    private void schedule(Cue cue, int delay) {
+        if (this.executor != null) {
+            cue.future = this.executor.schedule(() -> this.fire(cue), delay, TimeUnit.MILLISECONDS);
+        } else {
+            cue.timeout = this.wheel.schedule(() -> this.fire(cue), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void disarm(Cue cue) {
+        if (cue.timeout != null) {
+            cue.timeout.cancel();
+            cue.timeout = null;
+        }
+        if (cue.future != null) {
+            cue.future.cancel(false);
+            cue.future = null;
+        }
+        cue.target = -1;
+    }
+
+    private void fire(Cue cue) {
+        synchronized (this) {
+            if (cue.isCancelled() || cue.target == -1 || !this.api.isPlaying()) {
+                return;
+            }
+
+            int position = this.currentPosition();
+            int target = cue.target;
+            cue.timeout = null;
+            cue.future = null;
+
+            // The playback is slower than expected, wait for the remaining time
+            if (position < target - TOLERANCE) {
+                this.schedule(cue, target - position);
+                return;
+            }
+
+            cue.target = -1;
+
+            // The position jumped far beyond the cue without a seek event
+            if (position - target > PositionClock.SEEK_THRESHOLD) {
+                this.arm(cue, position);
+                return;
+            }
+
+            cue.lastFired = target;
+            if (cue.isRepeating()) {
+                this.arm(cue, Math.max(position, target));
+            }
+        }
+
+        cue.getCallback().run();
+    }
+
+    private int currentPosition() {
+        return this.api.hasPosition() ? this.api.getPosition() : -1;
+    }
+}
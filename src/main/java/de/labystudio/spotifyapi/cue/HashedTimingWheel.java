@@ -0,0 +1,274 @@
+package de.labystudio.spotifyapi.cue;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timing wheel to run a large amount of timeouts on a single timer thread.
+ * <p>
+ * Timeouts are hashed into a fixed amount of buckets by their deadline tick.
+ * Adding and cancelling a timeout is O(1) and the timer thread only visits the bucket of the current tick.
+ * The precision is limited to the tick duration of the wheel.
+ * <p>
+ * The timer thread is a daemon thread that is only running while timeouts are pending.
+ *
+ * @author LabyStudio
+ */
+public class HashedTimingWheel {
+
+    private static final HashedTimingWheel SHARED = new HashedTimingWheel(5, TimeUnit.MILLISECONDS, 512);
+
+    private final long tickDuration;
+    private final Bucket[] buckets;
+    private final int mask;
+
+    private final Queue<Timeout> additions = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private Thread worker;
+    private long startTime;
+    private long tick;
+
+    /**
+     * Create a new timing wheel.
+     *
+     * @param tickDuration the duration of a single tick
+     * @param unit         the unit of the tick duration
+     * @param wheelSize    the amount of buckets, will be rounded up to the next power of two
+     */
+    public HashedTimingWheel(long tickDuration, TimeUnit unit, int wheelSize) {
+        if (tickDuration <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick duration and wheel size must be positive");
+        }
+
+        int size = Integer.highestOneBit(wheelSize - 1) << 1;
+        this.tickDuration = unit.toNanos(tickDuration);
+        this.buckets = new Bucket[Math.max(1, size)];
+        for (int i = 0; i < this.buckets.length; i++) {
+            this.buckets[i] = new Bucket();
+        }
+        this.mask = this.buckets.length - 1;
+    }
+
+    /**
+     * Returns the timing wheel that is shared by all SpotifyAPI instances of this JVM.
+     *
+     * @return the shared timing wheel
+     */
+    public static HashedTimingWheel getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Run the given task once after the given delay.
+     *
+     * @param task  the task to run on the timer thread
+     * @param delay the delay until the task runs
+     * @param unit  the unit of the delay
+     * @return the handle to cancel the timeout
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        Timeout timeout = new Timeout(this, task, System.nanoTime() + Math.max(0, unit.toNanos(delay)));
+        this.pending.incrementAndGet();
+        this.additions.add(timeout);
+        this.ensureRunning();
+        return timeout;
+    }
+
+    /**
+     * Returns the amount of timeouts that are neither expired nor cancelled.
+     *
+     * @return the amount of pending timeouts
+     */
+    public int getPendingTimeouts() {
+        return this.pending.get();
+    }
+
+    private synchronized void ensureRunning() {
+        if (this.worker != null) {
+            return;
+        }
+
+        this.startTime = System.nanoTime();
+        this.tick = 0;
+
+        Thread thread = new Thread(this::run, "SpotifyAPI Cue Timer");
+        thread.setDaemon(true);
+        this.worker = thread;
+        thread.start();
+    }
+
+    private void run() {
+        while (true) {
+            long deadline = this.startTime + this.tick * this.tickDuration;
+
+            // Wait for the next tick
+            long sleep;
+            while ((sleep = deadline - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, sleep);
+            }
+
+            this.transferAdditions();
+
+            Bucket bucket = this.buckets[(int) (this.tick & this.mask)];
+            bucket.expire(System.nanoTime());
+            this.tick++;
+
+            // Stop the thread if there is nothing to do anymore
+            if (this.pending.get() == 0) {
+                synchronized (this) {
+                    if (this.pending.get() == 0 && this.additions.isEmpty()) {
+                        this.worker = null;
+                        this.removeCancelled();
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private void transferAdditions() {
+        Timeout timeout;
+        while ((timeout = this.additions.poll()) != null) {
+            if (timeout.state.get() != Timeout.STATE_PENDING) {
+                continue;
+            }
+
+            long ticks = (timeout.deadline - this.startTime + this.tickDuration - 1) / this.tickDuration;
+            timeout.rounds = (ticks - this.tick) / this.buckets.length;
+
+            // Never schedule into a bucket that was already passed
+            long targetTick = Math.max(ticks, this.tick);
+            this.buckets[(int) (targetTick & this.mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelled() {
+        for (Bucket bucket : this.buckets) {
+            bucket.clear();
+        }
+    }
+
+    /**
+     * Handle of a scheduled task of the timing wheel.
+     */
+    public static class Timeout {
+
+        private static final int STATE_PENDING = 0;
+        private static final int STATE_CANCELLED = 1;
+        private static final int STATE_EXPIRED = 2;
+
+        private final HashedTimingWheel wheel;
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(STATE_PENDING);
+
+        private long rounds;
+
+        // Linked list of the bucket, only accessed by the timer thread
+        private Timeout next;
+        private Timeout prev;
+
+        private Timeout(HashedTimingWheel wheel, Runnable task, long deadline) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancel the timeout. The task won't run if it hasn't been started yet.
+         *
+         * @return true if the timeout was cancelled, false if it already expired or was cancelled
+         */
+        public boolean cancel() {
+            if (!this.state.compareAndSet(STATE_PENDING, STATE_CANCELLED)) {
+                return false;
+            }
+            this.wheel.pending.decrementAndGet();
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return this.state.get() == STATE_CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return this.state.get() == STATE_EXPIRED;
+        }
+
+        private void expire() {
+            if (!this.state.compareAndSet(STATE_PENDING, STATE_EXPIRED)) {
+                return;
+            }
+            this.wheel.pending.decrementAndGet();
+
+            try {
+                this.task.run();
+            } catch (Throwable e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Doubly linked list of timeouts that share the same bucket.
+     */
+    private static class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(Timeout timeout) {
+            if (this.head == null) {
+                this.head = this.tail = timeout;
+            } else {
+                this.tail.next = timeout;
+                timeout.prev = this.tail;
+                this.tail = timeout;
+            }
+        }
+
+        private void expire(long now) {
+            Timeout timeout = this.head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.state.get() != Timeout.STATE_PENDING) {
+                    this.remove(timeout);
+                } else if (timeout.rounds <= 0 && timeout.deadline <= now) {
+                    this.remove(timeout);
+                    timeout.expire();
+                } else if (timeout.rounds > 0) {
+                    timeout.rounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private void remove(Timeout timeout) {
+            Timeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == this.head) {
+                this.head = next;
+            }
+            if (timeout == this.tail) {
+                this.tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+        }
+
+        private void clear() {
+            while (this.head != null) {
+                this.remove(this.head);
+            }
+        }
+    }
+}
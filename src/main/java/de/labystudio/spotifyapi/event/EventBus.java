@@ -0,0 +1,316 @@
+package de.labystudio.spotifyapi.event;
+
+import de.labystudio.spotifyapi.SpotifyListener;
+import de.labystudio.spotifyapi.event.type.ConnectedEvent;
+import de.labystudio.spotifyapi.event.type.DisconnectedEvent;
+import de.labystudio.spotifyapi.event.type.PlaybackChangedEvent;
+import de.labystudio.spotifyapi.event.type.PositionJumpEvent;
+import de.labystudio.spotifyapi.event.type.SyncEvent;
+import de.labystudio.spotifyapi.event.type.TrackChangedEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Typed event bus of the SpotifyAPI.
+ * <p>
+ * Subscribers register for the event types they are interested in and only receive events of these types.
+ * A subscription to {@link PlaybackEvent} receives all events.
+ * Publishers can check {@link #hasSubscribers(Class)} to skip creating events nobody is interested in.
+ * <p>
+ * Coalescing subscriptions only receive the latest event of each type that was published during a batch.
+ * A batch is usually a single tick of the api.
+ * <p>
+ * Other buses can be attached as children to receive all events and batches of this bus.
+ *
+ * @author LabyStudio
+ */
+public class EventBus {
+
+    private static final Subscription<?>[] NO_SUBSCRIPTIONS = new Subscription<?>[0];
+    private static final EventBus[] NO_CHILDREN = new EventBus[0];
+
+    private final Map<SpotifyListener, EventSubscription> listeners = new IdentityHashMap<>();
+
+    private volatile Subscription<?>[] subscriptions = NO_SUBSCRIPTIONS;
+    private volatile EventBus[] children = NO_CHILDREN;
+    private volatile int batchDepth;
+
+    /**
+     * Subscribe to all events of the given type.
+     *
+     * @param type    the type of events to receive, subclasses are included
+     * @param handler the handler to call for each event
+     * @param <E>     the event type
+     * @return the subscription handle to cancel the subscription
+     */
+    public <E extends PlaybackEvent> EventSubscription subscribe(Class<E> type, Consumer<? super E> handler) {
+        return this.subscribe(type, handler, false);
+    }
+
+    /**
+     * Subscribe to all events of the given type.
+     *
+     * @param type     the type of events to receive, subclasses are included
+     * @param handler  the handler to call for each event
+     * @param coalesce true to only receive the latest event of each type per batch
+     * @param <E>      the event type
+     * @return the subscription handle to cancel the subscription
+     */
+    public <E extends PlaybackEvent> EventSubscription subscribe(
+            Class<E> type,
+            Consumer<? super E> handler,
+            boolean coalesce
+    ) {
+        if (type == null || handler == null) {
+            throw new IllegalArgumentException("Type and handler cannot be null");
+        }
+
+        Subscription<E> subscription = new Subscription<>(this, type, handler, coalesce);
+        synchronized (this) {
+            Subscription<?>[] subscriptions = Arrays.copyOf(this.subscriptions, this.subscriptions.length + 1);
+            subscriptions[subscriptions.length - 1] = subscription;
+            this.subscriptions = subscriptions;
+        }
+        return subscription;
+    }
+
+    /**
+     * Attach a child bus that receives all events and batches of this bus.
+     *
+     * @param child the bus to attach
+     */
+    public synchronized void attach(EventBus child) {
+        if (child == this) {
+            throw new IllegalArgumentException("Cannot attach a bus to itself");
+        }
+        EventBus[] children = Arrays.copyOf(this.children, this.children.length + 1);
+        children[children.length - 1] = child;
+        this.children = children;
+    }
+
+    /**
+     * Detach a child bus that was attached using {@link #attach(EventBus)}.
+     *
+     * @param child the bus to detach
+     */
+    public synchronized void detach(EventBus child) {
+        List<EventBus> children = new ArrayList<>(Arrays.asList(this.children));
+        if (children.remove(child)) {
+            this.children = children.toArray(NO_CHILDREN);
+        }
+    }
+
+    /**
+     * Registers a classic listener that receives all events through the {@link SpotifyListener} callbacks.
+     *
+     * @param listener the listener to register
+     */
+    public void registerListener(SpotifyListener listener) {
+        EventSubscription subscription = this.subscribe(PlaybackEvent.class, new ListenerAdapter(listener));
+        synchronized (this.listeners) {
+            EventSubscription previous = this.listeners.put(listener, subscription);
+            if (previous != null) {
+                previous.cancel();
+            }
+        }
+    }
+
+    /**
+     * Unregisters a listener that was registered using {@link #registerListener(SpotifyListener)}.
+     *
+     * @param listener the listener to unregister
+     */
+    public void unregisterListener(SpotifyListener listener) {
+        EventSubscription subscription;
+        synchronized (this.listeners) {
+            subscription = this.listeners.remove(listener);
+        }
+        if (subscription != null) {
+            subscription.cancel();
+        }
+    }
+
+    /**
+     * Returns true if at least one subscription would receive an event of the given type.
+     *
+     * @param type the exact type of the event
+     * @return true if the event has subscribers
+     */
+    public boolean hasSubscribers(Class<? extends PlaybackEvent> type) {
+        for (Subscription<?> subscription : this.subscriptions) {
+            if (subscription.type.isAssignableFrom(type)) {
+                return true;
+            }
+        }
+        for (EventBus child : this.children) {
+            if (child.hasSubscribers(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Publish an event to all matching subscriptions.
+     * Coalescing subscriptions will receive the event at the end of the current batch.
+     *
+     * @param event the event to publish
+     */
+    public void post(PlaybackEvent event) {
+        boolean batching = this.batchDepth > 0;
+        for (Subscription<?> subscription : this.subscriptions) {
+            if (!subscription.type.isInstance(event)) {
+                continue;
+            }
+
+            if (batching && subscription.coalesce) {
+                subscription.enqueue(event);
+            } else {
+                subscription.deliver(event);
+            }
+        }
+        for (EventBus child : this.children) {
+            child.post(event);
+        }
+    }
+
+    /**
+     * Start a batch of events.
+     * Coalescing subscriptions will only receive the latest event of each type until {@link #endBatch()} is called.
+     */
+    public void beginBatch() {
+        synchronized (this) {
+            this.batchDepth++;
+        }
+        for (EventBus child : this.children) {
+            child.beginBatch();
+        }
+    }
+
+    /**
+     * End the current batch and deliver all pending events of the coalescing subscriptions.
+     */
+    public void endBatch() {
+        boolean completed;
+        synchronized (this) {
+            completed = this.batchDepth > 0 && --this.batchDepth == 0;
+        }
+
+        if (completed) {
+            for (Subscription<?> subscription : this.subscriptions) {
+                if (subscription.coalesce) {
+                    subscription.flush();
+                }
+            }
+        }
+        for (EventBus child : this.children) {
+            child.endBatch();
+        }
+    }
+
+    private synchronized void remove(Subscription<?> subscription) {
+        List<Subscription<?>> subscriptions = new ArrayList<>(Arrays.asList(this.subscriptions));
+        if (subscriptions.remove(subscription)) {
+            this.subscriptions = subscriptions.toArray(NO_SUBSCRIPTIONS);
+        }
+    }
+
+    private static class Subscription<E extends PlaybackEvent> implements EventSubscription {
+
+        private final EventBus bus;
+        private final Class<E> type;
+        private final Consumer<? super E> handler;
+        private final boolean coalesce;
+
+        private final Map<Class<?>, PlaybackEvent> pending = new LinkedHashMap<>();
+        private volatile boolean active = true;
+
+        private Subscription(EventBus bus, Class<E> type, Consumer<? super E> handler, boolean coalesce) {
+            this.bus = bus;
+            this.type = type;
+            this.handler = handler;
+            this.coalesce = coalesce;
+        }
+
+        private synchronized void enqueue(PlaybackEvent event) {
+            // Remove first to keep the order of the latest events
+            this.pending.remove(event.getClass());
+            this.pending.put(event.getClass(), event);
+        }
+
+        private void flush() {
+            PlaybackEvent[] events;
+            synchronized (this) {
+                if (this.pending.isEmpty()) {
+                    return;
+                }
+                events = this.pending.values().toArray(new PlaybackEvent[0]);
+                this.pending.clear();
+            }
+            for (PlaybackEvent event : events) {
+                this.deliver(event);
+            }
+        }
+
+        private void deliver(PlaybackEvent event) {
+            if (!this.active) {
+                return;
+            }
+
+            try {
+                this.handler.accept(this.type.cast(event));
+            } catch (Throwable e) {
+                e.printStackTrace();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            this.active = false;
+            synchronized (this) {
+                this.pending.clear();
+            }
+            this.bus.remove(this);
+        }
+
+        @Override
+        public boolean isActive() {
+            return this.active;
+        }
+    }
+
+    /**
+     * Adapter to deliver events to the classic {@link SpotifyListener} callbacks.
+     */
+    private static class ListenerAdapter implements Consumer<PlaybackEvent> {
+
+        private final SpotifyListener listener;
+
+        private ListenerAdapter(SpotifyListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void accept(PlaybackEvent event) {
+            if (event instanceof SyncEvent) {
+                this.listener.onSync();
+            } else if (event instanceof PositionJumpEvent) {
+                this.listener.onPositionChanged(((PositionJumpEvent) event).getPosition());
+            } else if (event instanceof PlaybackChangedEvent) {
+                this.listener.onPlayBackChanged(((PlaybackChangedEvent) event).isPlaying());
+            } else if (event instanceof TrackChangedEvent) {
+                this.listener.onTrackChanged(((TrackChangedEvent) event).getTrack());
+            } else if (event instanceof ConnectedEvent) {
+                this.listener.onConnect();
+            } else if (event instanceof DisconnectedEvent) {
+                this.listener.onDisconnect(((DisconnectedEvent) event).getException());
+            }
+        }
+    }
+}
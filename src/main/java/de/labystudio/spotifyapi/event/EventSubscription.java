@@ -0,0 +1,22 @@
+package de.labystudio.spotifyapi.event;
+
+/**
+ * Handle of a subscription to the {@link EventBus}.
+ *
+ * @author LabyStudio
+ */
+public interface EventSubscription {
+
+    /**
+     * Stops the delivery of events to this subscription.
+     * Pending coalesced events are discarded.
+     */
+    void cancel();
+
+    /**
+     * Returns true if this subscription still receives events.
+     *
+     * @return true if the subscription is active
+     */
+    boolean isActive();
+}
@@ -0,0 +1,40 @@
+package de.labystudio.spotifyapi.event;
+
+import de.labystudio.spotifyapi.model.PlaybackState;
+
+/**
+ * Base class of all events published by the SpotifyAPI.
+ * Each event carries the monotonic time it was captured at and the full playback state at that time.
+ *
+ * @author LabyStudio
+ */
+public abstract class PlaybackEvent {
+
+    private final long timestamp;
+    private final PlaybackState state;
+
+    protected PlaybackEvent(long timestamp, PlaybackState state) {
+        this.timestamp = timestamp;
+        this.state = state;
+    }
+
+    /**
+     * Returns the monotonic capture time of this event.
+     * The value is based on the {@link de.labystudio.spotifyapi.time.TimeSource} of the configuration,
+     * which is {@link System#nanoTime()} by default. It can only be compared with other monotonic timestamps.
+     *
+     * @return the capture time in nanoseconds
+     */
+    public long getTimestamp() {
+        return this.timestamp;
+    }
+
+    /**
+     * Returns the playback state at the time this event was captured.
+     *
+     * @return the playback state snapshot
+     */
+    public PlaybackState getState() {
+        return this.state;
+    }
+}
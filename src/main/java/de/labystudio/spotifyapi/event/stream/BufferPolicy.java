@@ -0,0 +1,154 @@
+package de.labystudio.spotifyapi.event.stream;
+
+import de.labystudio.spotifyapi.event.PlaybackEvent;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Buffering policy of a single subscriber of the {@link PlaybackEventPublisher}.
+ * It decides what happens with events that arrive while the subscriber has no outstanding demand.
+ *
+ * @author LabyStudio
+ */
+public abstract class BufferPolicy {
+
+    private static final BufferPolicy CONFLATE = new BufferPolicy() {
+        @Override
+        EventBuffer createBuffer() {
+            return new ConflatingBuffer();
+        }
+    };
+
+    private BufferPolicy() {
+    }
+
+    /**
+     * Keep only the latest event of each event type.
+     * A slow subscriber always gets the latest position, playback and track state without any backlog.
+     *
+     * @return the conflating policy
+     */
+    public static BufferPolicy conflate() {
+        return CONFLATE;
+    }
+
+    /**
+     * Keep up to the given amount of events and drop the oldest event if the buffer is full.
+     *
+     * @param capacity the maximal amount of buffered events
+     * @return the bounded policy
+     */
+    public static BufferPolicy dropOldest(int capacity) {
+        return bounded(capacity, true);
+    }
+
+    /**
+     * Keep up to the given amount of events and drop new events if the buffer is full.
+     *
+     * @param capacity the maximal amount of buffered events
+     * @return the bounded policy
+     */
+    public static BufferPolicy dropLatest(int capacity) {
+        return bounded(capacity, false);
+    }
+
+    private static BufferPolicy bounded(int capacity, boolean dropOldest) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        return new BufferPolicy() {
+            @Override
+            EventBuffer createBuffer() {
+                return new BoundedBuffer(capacity, dropOldest);
+            }
+        };
+    }
+
+    abstract EventBuffer createBuffer();
+
+    /**
+     * Buffer of events that are waiting for demand.
+     * Implementations are only accessed while holding the lock of the buffer.
+     */
+    interface EventBuffer {
+
+        /**
+         * Add an event to the buffer.
+         *
+         * @param event the event to add
+         * @return false if an event was dropped or replaced
+         */
+        boolean offer(PlaybackEvent event);
+
+        PlaybackEvent poll();
+
+        void clear();
+    }
+
+    private static class ConflatingBuffer implements EventBuffer {
+
+        private final Map<Class<?>, PlaybackEvent> events = new LinkedHashMap<>();
+
+        @Override
+        public boolean offer(PlaybackEvent event) {
+            // Remove first to move the type to the end of the queue
+            boolean replaced = this.events.remove(event.getClass()) != null;
+            this.events.put(event.getClass(), event);
+            return !replaced;
+        }
+
+        @Override
+        public PlaybackEvent poll() {
+            Iterator<PlaybackEvent> iterator = this.events.values().iterator();
+            if (!iterator.hasNext()) {
+                return null;
+            }
+            PlaybackEvent event = iterator.next();
+            iterator.remove();
+            return event;
+        }
+
+        @Override
+        public void clear() {
+            this.events.clear();
+        }
+    }
+
+    private static class BoundedBuffer implements EventBuffer {
+
+        private final ArrayDeque<PlaybackEvent> events = new ArrayDeque<>();
+        private final int capacity;
+        private final boolean dropOldest;
+
+        private BoundedBuffer(int capacity, boolean dropOldest) {
+            this.capacity = capacity;
+            this.dropOldest = dropOldest;
+        }
+
+        @Override
+        public boolean offer(PlaybackEvent event) {
+            if (this.events.size() < this.capacity) {
+                this.events.addLast(event);
+                return true;
+            }
+            if (this.dropOldest) {
+                this.events.pollFirst();
+                this.events.addLast(event);
+            }
+            return false;
+        }
+
+        @Override
+        public PlaybackEvent poll() {
+            return this.events.pollFirst();
+        }
+
+        @Override
+        public void clear() {
+            this.events.clear();
+        }
+    }
+}
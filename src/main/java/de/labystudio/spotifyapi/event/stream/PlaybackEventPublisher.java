@@ -0,0 +1,237 @@
+package de.labystudio.spotifyapi.event.stream;
+
+import de.labystudio.spotifyapi.event.EventBus;
+import de.labystudio.spotifyapi.event.EventSubscription;
+import de.labystudio.spotifyapi.event.PlaybackEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publisher of all events of the SpotifyAPI with backpressure.
+ * It follows the Reactive Streams contract of {@code java.util.concurrent.Flow.Publisher}.
+ * <p>
+ * Events are handed over to a per-subscriber buffer and delivered on the dispatch executor,
+ * so a slow subscriber never blocks the tick thread of the api.
+ * What happens with events that exceed the demand of a subscriber is decided by its {@link BufferPolicy}.
+ *
+ * @author LabyStudio
+ */
+public class PlaybackEventPublisher {
+
+    private final EventBus eventBus;
+    private final Executor executor;
+
+    private final Set<StreamSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    private boolean completed;
+
+    public PlaybackEventPublisher(EventBus eventBus, Executor executor) {
+        this.eventBus = eventBus;
+        this.executor = executor;
+    }
+
+    /**
+     * Subscribe to all events using the conflating buffer policy.
+     *
+     * @param subscriber the subscriber to receive the events
+     */
+    public void subscribe(PlaybackSubscriber<? super PlaybackEvent> subscriber) {
+        this.subscribe(subscriber, BufferPolicy.conflate());
+    }
+
+    /**
+     * Subscribe to all events using the given buffer policy.
+     *
+     * @param subscriber the subscriber to receive the events
+     * @param policy     the policy for events that exceed the demand of the subscriber
+     */
+    public void subscribe(PlaybackSubscriber<? super PlaybackEvent> subscriber, BufferPolicy policy) {
+        if (subscriber == null || policy == null) {
+            throw new NullPointerException("Subscriber and policy cannot be null");
+        }
+
+        StreamSubscription subscription = new StreamSubscription(subscriber, policy.createBuffer());
+
+        // Register under the lock, so a concurrent completion either sees the subscription or rejects it
+        boolean registered;
+        synchronized (this) {
+            registered = !this.completed;
+            if (registered) {
+                this.subscriptions.add(subscription);
+                subscription.attach();
+            }
+        }
+
+        if (registered) {
+            subscription.drain();
+        } else {
+            subscription.terminate(null);
+        }
+    }
+
+    /**
+     * Complete all subscribers and reject new subscriptions.
+     */
+    public void complete() {
+        List<StreamSubscription> subscriptions;
+        synchronized (this) {
+            this.completed = true;
+            subscriptions = new ArrayList<>(this.subscriptions);
+        }
+
+        // The subscribers are completed outside the lock, the executor may call them directly
+        for (StreamSubscription subscription : subscriptions) {
+            subscription.terminate(null);
+        }
+    }
+
+    private class StreamSubscription implements PlaybackSubscription {
+
+        private final PlaybackSubscriber<? super PlaybackEvent> subscriber;
+        private final BufferPolicy.EventBuffer buffer;
+
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger workInProgress = new AtomicInteger();
+        private final AtomicLong overflowCount = new AtomicLong();
+
+        private EventSubscription busSubscription;
+
+        private volatile boolean subscribed;
+        private volatile boolean cancelled;
+        private volatile boolean done;
+        private volatile Throwable error;
+
+        private StreamSubscription(PlaybackSubscriber<? super PlaybackEvent> subscriber, BufferPolicy.EventBuffer buffer) {
+            this.subscriber = subscriber;
+            this.buffer = buffer;
+        }
+
+        private void attach() {
+            this.busSubscription = PlaybackEventPublisher.this.eventBus.subscribe(PlaybackEvent.class, this::offer);
+        }
+
+        private void offer(PlaybackEvent event) {
+            boolean accepted;
+            synchronized (this.buffer) {
+                accepted = this.buffer.offer(event);
+            }
+            if (!accepted) {
+                this.overflowCount.incrementAndGet();
+            }
+            this.drain();
+        }
+
+        private void terminate(Throwable error) {
+            this.error = error;
+            this.done = true;
+            this.drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                this.cancelInternal();
+                this.terminate(new IllegalArgumentException("Requested amount must be positive: " + n));
+                return;
+            }
+
+            // Add the demand without overflowing
+            long current;
+            long next;
+            do {
+                current = this.requested.get();
+                next = current + n < 0 ? Long.MAX_VALUE : current + n;
+            } while (!this.requested.compareAndSet(current, next));
+
+            this.drain();
+        }
+
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+            this.cancelInternal();
+        }
+
+        private void cancelInternal() {
+            if (this.busSubscription != null) {
+                this.busSubscription.cancel();
+            }
+            PlaybackEventPublisher.this.subscriptions.remove(this);
+            synchronized (this.buffer) {
+                this.buffer.clear();
+            }
+        }
+
+        @Override
+        public long getOverflowCount() {
+            return this.overflowCount.get();
+        }
+
+        private void drain() {
+            if (this.workInProgress.getAndIncrement() == 0) {
+                PlaybackEventPublisher.this.executor.execute(this::drainLoop);
+            }
+        }
+
+        private void drainLoop() {
+            if (!this.subscribed) {
+                this.subscribed = true;
+                this.subscriber.onSubscribe(this);
+            }
+
+            int missed = 1;
+            while (true) {
+                long requested = this.requested.get();
+                long emitted = 0;
+
+                while (emitted != requested && !this.cancelled) {
+                    PlaybackEvent event;
+                    synchronized (this.buffer) {
+                        event = this.buffer.poll();
+                    }
+                    if (event == null) {
+                        break;
+                    }
+
+                    try {
+                        this.subscriber.onNext(event);
+                    } catch (Throwable e) {
+                        this.cancel();
+                        this.subscriber.onError(e);
+                        return;
+                    }
+                    emitted++;
+                }
+
+                if (this.cancelled) {
+                    return;
+                }
+
+                if (this.done) {
+                    this.cancel();
+                    if (this.error == null) {
+                        this.subscriber.onComplete();
+                    } else {
+                        this.subscriber.onError(this.error);
+                    }
+                    return;
+                }
+
+                if (emitted != 0 && requested != Long.MAX_VALUE) {
+                    this.requested.addAndGet(-emitted);
+                }
+
+                missed = this.workInProgress.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+    }
+}
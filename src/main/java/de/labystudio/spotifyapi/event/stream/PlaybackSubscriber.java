@@ -0,0 +1,41 @@
+package de.labystudio.spotifyapi.event.stream;
+
+/**
+ * Receiver of a {@link PlaybackEventPublisher} stream.
+ * It follows the Reactive Streams contract of {@code java.util.concurrent.Flow.Subscriber},
+ * so it can be bridged to any Reactive Streams implementation with a simple adapter.
+ * <p>
+ * All methods are called sequentially and never on the tick thread of the api.
+ *
+ * @param <T> the type of the received items
+ * @author LabyStudio
+ */
+public interface PlaybackSubscriber<T> {
+
+    /**
+     * Called once before any other method with the subscription to request items.
+     * No items are delivered until {@link PlaybackSubscription#request(long)} is called.
+     *
+     * @param subscription the subscription of this subscriber
+     */
+    void onSubscribe(PlaybackSubscription subscription);
+
+    /**
+     * Called for each requested item.
+     *
+     * @param item the next item
+     */
+    void onNext(T item);
+
+    /**
+     * Called if the stream failed, no further methods are called afterward.
+     *
+     * @param throwable the failure
+     */
+    void onError(Throwable throwable);
+
+    /**
+     * Called if the stream completed because the api was shut down, no further methods are called afterward.
+     */
+    void onComplete();
+}
@@ -0,0 +1,31 @@
+package de.labystudio.spotifyapi.event.stream;
+
+/**
+ * Link between a {@link PlaybackEventPublisher} and a {@link PlaybackSubscriber}.
+ * It follows the Reactive Streams contract of {@code java.util.concurrent.Flow.Subscription}.
+ *
+ * @author LabyStudio
+ */
+public interface PlaybackSubscription {
+
+    /**
+     * Request the given amount of additional items.
+     * Use {@link Long#MAX_VALUE} for an unbounded stream.
+     *
+     * @param n the amount of items to request, must be positive
+     */
+    void request(long n);
+
+    /**
+     * Stop the delivery of items and release the buffer of this subscription.
+     */
+    void cancel();
+
+    /**
+     * Returns the amount of events that were conflated or dropped
+     * because the subscriber didn't request them fast enough.
+     *
+     * @return the amount of overflowed events
+     */
+    long getOverflowCount();
+}
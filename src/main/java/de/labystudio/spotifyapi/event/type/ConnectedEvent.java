@@ -0,0 +1,16 @@
+package de.labystudio.spotifyapi.event.type;
+
+import de.labystudio.spotifyapi.event.PlaybackEvent;
+import de.labystudio.spotifyapi.model.PlaybackState;
+
+/**
+ * Published when the api successfully connected to the Spotify application.
+ *
+ * @author LabyStudio
+ */
+public class ConnectedEvent extends PlaybackEvent {
+
+    public ConnectedEvent(long timestamp, PlaybackState state) {
+        super(timestamp, state);
+    }
+}
@@ -0,0 +1,45 @@
+package de.labystudio.spotifyapi.event.type;
+
+import de.labystudio.spotifyapi.event.PlaybackEvent;
+import de.labystudio.spotifyapi.model.ConnectionState;
+import de.labystudio.spotifyapi.model.PlaybackState;
+
+/**
+ * Published when the connection state of the backend changed.
+ *
+ * @author LabyStudio
+ */
+public class ConnectionStateChangedEvent extends PlaybackEvent {
+
+    private final ConnectionState previousState;
+    private final ConnectionState connectionState;
+
+    public ConnectionStateChangedEvent(
+            long timestamp,
+            PlaybackState state,
+            ConnectionState previousState,
+            ConnectionState connectionState
+    ) {
+        super(timestamp, state);
+        this.previousState = previousState;
+        this.connectionState = connectionState;
+    }
+
+    /**
+     * Returns the connection state before the change.
+     *
+     * @return the previous connection state
+     */
+    public ConnectionState getPreviousState() {
+        return this.previousState;
+    }
+
+    /**
+     * Returns the new connection state.
+     *
+     * @return the new connection state
+     */
+    public ConnectionState getConnectionState() {
+        return this.connectionState;
+    }
+}
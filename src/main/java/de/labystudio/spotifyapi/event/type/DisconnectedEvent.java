@@ -0,0 +1,28 @@
+package de.labystudio.spotifyapi.event.type;
+
+import de.labystudio.spotifyapi.event.PlaybackEvent;
+import de.labystudio.spotifyapi.model.PlaybackState;
+
+/**
+ * Published when the api failed to fetch data from Spotify.
+ *
+ * @author LabyStudio
+ */
+public class DisconnectedEvent extends PlaybackEvent {
+
+    private final Exception exception;
+
+    public DisconnectedEvent(long timestamp, PlaybackState state, Exception exception) {
+        super(timestamp, state);
+        this.exception = exception;
+    }
+
+    /**
+     * Returns the exception that caused the disconnect.
+     *
+     * @return the exception that occurred
+     */
+    public Exception getException() {
+        return this.exception;
+    }
+}
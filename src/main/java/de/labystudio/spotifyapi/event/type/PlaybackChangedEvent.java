@@ -0,0 +1,28 @@
+package de.labystudio.spotifyapi.event.type;
+
+import de.labystudio.spotifyapi.event.PlaybackEvent;
+import de.labystudio.spotifyapi.model.PlaybackState;
+
+/**
+ * Published when the playback state changed.
+ *
+ * @author LabyStudio
+ */
+public class PlaybackChangedEvent extends PlaybackEvent {
+
+    private final boolean playing;
+
+    public PlaybackChangedEvent(long timestamp, PlaybackState state, boolean playing) {
+        super(timestamp, state);
+        this.playing = playing;
+    }
+
+    /**
+     * Returns the new playback state.
+     *
+     * @return true if the playback is playing, false if it is paused
+     */
+    public boolean isPlaying() {
+        return this.playing;
+    }
+}
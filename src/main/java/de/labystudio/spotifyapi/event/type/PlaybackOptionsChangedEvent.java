@@ -0,0 +1,29 @@
+package de.labystudio.spotifyapi.event.type;
+
+import de.labystudio.spotifyapi.event.PlaybackEvent;
+import de.labystudio.spotifyapi.model.PlaybackOptions;
+import de.labystudio.spotifyapi.model.PlaybackState;
+
+/**
+ * Published when the volume, shuffle or repeat option of the player changed.
+ *
+ * @author LabyStudio
+ */
+public class PlaybackOptionsChangedEvent extends PlaybackEvent {
+
+    private final PlaybackOptions options;
+
+    public PlaybackOptionsChangedEvent(long timestamp, PlaybackState state, PlaybackOptions options) {
+        super(timestamp, state);
+        this.options = options;
+    }
+
+    /**
+     * Returns the new playback options.
+     *
+     * @return the new playback options
+     */
+    public PlaybackOptions getOptions() {
+        return this.options;
+    }
+}
@@ -0,0 +1,29 @@
+package de.labystudio.spotifyapi.event.type;
+
+import de.labystudio.spotifyapi.event.PlaybackEvent;
+import de.labystudio.spotifyapi.model.PlaybackState;
+
+/**
+ * Published when the user jumps to another position during the song,
+ * when the playback state changed or when the track changed.
+ *
+ * @author LabyStudio
+ */
+public class PositionJumpEvent extends PlaybackEvent {
+
+    private final int position;
+
+    public PositionJumpEvent(long timestamp, PlaybackState state, int position) {
+        super(timestamp, state);
+        this.position = position;
+    }
+
+    /**
+     * Returns the new position.
+     *
+     * @return the new position in milliseconds
+     */
+    public int getPosition() {
+        return this.position;
+    }
+}
@@ -0,0 +1,16 @@
+package de.labystudio.spotifyapi.event.type;
+
+import de.labystudio.spotifyapi.event.PlaybackEvent;
+import de.labystudio.spotifyapi.model.PlaybackState;
+
+/**
+ * Published when the api successfully fetched the latest data from Spotify.
+ *
+ * @author LabyStudio
+ */
+public class SyncEvent extends PlaybackEvent {
+
+    public SyncEvent(long timestamp, PlaybackState state) {
+        super(timestamp, state);
+    }
+}
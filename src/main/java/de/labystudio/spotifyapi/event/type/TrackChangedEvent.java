@@ -0,0 +1,24 @@
+package de.labystudio.spotifyapi.event.type;
+
+import de.labystudio.spotifyapi.event.PlaybackEvent;
+import de.labystudio.spotifyapi.model.PlaybackState;
+import de.labystudio.spotifyapi.model.Track;
+
+/**
+ * Published when the id of the current playing track changed.
+ *
+ * @author LabyStudio
+ */
+public class TrackChangedEvent extends PlaybackEvent {
+
+    private final Track track;
+
+    public TrackChangedEvent(long timestamp, PlaybackState state, Track track) {
+        super(timestamp, state);
+        this.track = track;
+    }
+
+    public Track getTrack() {
+        return this.track;
+    }
+}
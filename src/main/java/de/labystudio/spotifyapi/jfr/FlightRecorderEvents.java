@@ -0,0 +1,68 @@
+package de.labystudio.spotifyapi.jfr;
+
+/**
+ * Custom Java Flight Recorder events of the api.
+ * <p>
+ * This is the Java 8 version which records nothing. On Java 11 and newer the multi-release jar
+ * contains a version that emits the events while a recording is running.
+ *
+ * @author LabyStudio
+ */
+public final class FlightRecorderEvents {
+
+    private FlightRecorderEvents() {
+    }
+
+    /**
+     * Returns if the events can be recorded on this runtime.
+     *
+     * @return true if the flight recorder events are available
+     */
+    public static boolean isAvailable() {
+        return false;
+    }
+
+    /**
+     * Begin a tick of the api.
+     *
+     * @param api the name of the api implementation
+     * @return the span of the tick
+     */
+    public static TraceSpan beginTick(String api) {
+        return TraceSpan.NOOP;
+    }
+
+    /**
+     * Begin a call to the backend, e.g. a dbus-send or osascript execution.
+     *
+     * @param backend the name of the backend
+     * @param command the executed command
+     * @return the span of the call
+     */
+    public static TraceSpan beginBackendCall(String backend, String command) {
+        return TraceSpan.NOOP;
+    }
+
+    /**
+     * Begin a scan of the memory of the Spotify process.
+     *
+     * @param minAddress    the address to start scanning from
+     * @param maxAddress    the address to stop scanning at
+     * @param patternLength the length of the searched pattern
+     * @return the span of the scan
+     */
+    public static TraceSpan beginMemoryScan(long minAddress, long maxAddress, int patternLength) {
+        return TraceSpan.NOOP;
+    }
+
+    /**
+     * Begin a http request.
+     *
+     * @param method the request method
+     * @param url    the url without the query
+     * @return the span of the request
+     */
+    public static TraceSpan beginHttpRequest(String method, String url) {
+        return TraceSpan.NOOP;
+    }
+}
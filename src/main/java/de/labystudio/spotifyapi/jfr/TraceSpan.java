@@ -0,0 +1,60 @@
+package de.labystudio.spotifyapi.jfr;
+
+/**
+ * A running flight recorder event. The event is committed when the span is closed.
+ * Spans that are not recorded are the shared {@link #NOOP} instance, so all methods are cheap no-ops for them.
+ *
+ * @author LabyStudio
+ */
+public interface TraceSpan extends AutoCloseable {
+
+    /**
+     * Span that records nothing.
+     */
+    TraceSpan NOOP = new TraceSpan() {
+    };
+
+    /**
+     * Mark the end of a phase. The time since the previous phase is attributed to the given name.
+     *
+     * @param name the name of the phase that just ended
+     */
+    default void phase(String name) {
+        // Not recorded
+    }
+
+    /**
+     * Set the amount of bytes that were transferred or scanned.
+     *
+     * @param bytes the amount of bytes
+     */
+    default void setBytes(long bytes) {
+        // Not recorded
+    }
+
+    /**
+     * Set the status code of a request.
+     *
+     * @param status the status code
+     */
+    default void setStatus(int status) {
+        // Not recorded
+    }
+
+    /**
+     * Set if the traced operation was successful.
+     *
+     * @param success true if the operation was successful
+     */
+    default void setSuccess(boolean success) {
+        // Not recorded
+    }
+
+    /**
+     * End the span and commit the event.
+     */
+    @Override
+    default void close() {
+        // Not recorded
+    }
+}
@@ -0,0 +1,32 @@
+package de.labystudio.spotifyapi.metrics;
+
+/**
+ * Monotonic counter, e.g. of failed calls.
+ *
+ * @author LabyStudio
+ */
+public interface Counter {
+
+    /**
+     * Increment the counter by one.
+     */
+    default void increment() {
+        this.add(1L);
+    }
+
+    /**
+     * Increment the counter by the given amount.
+     *
+     * @param amount the amount to add, must not be negative
+     */
+    void add(long amount);
+
+    /**
+     * Returns the counter that drops all values.
+     *
+     * @return the no-op counter
+     */
+    static Counter noop() {
+        return NoopMetrics.INSTANCE;
+    }
+}
@@ -0,0 +1,30 @@
+package de.labystudio.spotifyapi.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counter of a {@link MetricRegistry}.
+ * It is backed by a {@link LongAdder}, so concurrent increments don't contend.
+ *
+ * @author LabyStudio
+ */
+public class CounterMetric extends Metric implements Counter {
+
+    private final LongAdder value = new LongAdder();
+
+    public CounterMetric(String name, String help) {
+        super(name, help);
+    }
+
+    @Override
+    public void add(long amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Counters can't be decremented: " + amount);
+        }
+        this.value.add(amount);
+    }
+
+    public long getValue() {
+        return this.value.sum();
+    }
+}
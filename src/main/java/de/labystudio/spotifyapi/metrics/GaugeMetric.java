@@ -0,0 +1,47 @@
+package de.labystudio.spotifyapi.metrics;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Gauge of a {@link MetricRegistry}, the value is read on export.
+ * The gauge can have multiple suppliers, e.g. one per api, its value is the sum of all of them.
+ *
+ * @author LabyStudio
+ */
+public class GaugeMetric extends Metric {
+
+    private final List<DoubleSupplier> suppliers = new CopyOnWriteArrayList<>();
+
+    public GaugeMetric(String name, String help) {
+        super(name, help);
+    }
+
+    public GaugeMetric(String name, String help, DoubleSupplier supplier) {
+        this(name, help);
+        this.suppliers.add(supplier);
+    }
+
+    void addSupplier(DoubleSupplier supplier) {
+        if (!this.suppliers.contains(supplier)) {
+            this.suppliers.add(supplier);
+        }
+    }
+
+    boolean removeSupplier(DoubleSupplier supplier) {
+        return this.suppliers.remove(supplier);
+    }
+
+    boolean hasSuppliers() {
+        return !this.suppliers.isEmpty();
+    }
+
+    public double getValue() {
+        double value = 0;
+        for (DoubleSupplier supplier : this.suppliers) {
+            value += supplier.getAsDouble();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,94 @@
+package de.labystudio.spotifyapi.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram of a {@link MetricRegistry} with fixed buckets between one millisecond and ten seconds.
+ * Recording a value is allocation free.
+ *
+ * @author LabyStudio
+ */
+public class HistogramMetric extends Metric implements LatencyHistogram {
+
+    /**
+     * Upper bounds of the buckets in nanoseconds, the last implicit bucket is +Inf.
+     */
+    private static final long[] BUCKETS = {
+            TimeUnit.MILLISECONDS.toNanos(1),
+            TimeUnit.MICROSECONDS.toNanos(2500),
+            TimeUnit.MILLISECONDS.toNanos(5),
+            TimeUnit.MILLISECONDS.toNanos(10),
+            TimeUnit.MILLISECONDS.toNanos(25),
+            TimeUnit.MILLISECONDS.toNanos(50),
+            TimeUnit.MILLISECONDS.toNanos(100),
+            TimeUnit.MILLISECONDS.toNanos(250),
+            TimeUnit.MILLISECONDS.toNanos(500),
+            TimeUnit.SECONDS.toNanos(1),
+            TimeUnit.MILLISECONDS.toNanos(2500),
+            TimeUnit.SECONDS.toNanos(5),
+            TimeUnit.SECONDS.toNanos(10)
+    };
+
+    private final LongAdder[] counts = new LongAdder[BUCKETS.length + 1];
+    private final LongAdder sum = new LongAdder();
+
+    public HistogramMetric(String name, String help) {
+        super(name, help);
+
+        for (int i = 0; i < this.counts.length; i++) {
+            this.counts[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void record(long nanos) {
+        int bucket = 0;
+        while (bucket < BUCKETS.length && nanos > BUCKETS[bucket]) {
+            bucket++;
+        }
+        this.counts[bucket].increment();
+        this.sum.add(Math.max(0L, nanos));
+    }
+
+    /**
+     * Returns the upper bounds of the buckets in nanoseconds, without the +Inf bucket.
+     *
+     * @return the upper bounds of the buckets
+     */
+    public long[] getBucketBounds() {
+        return BUCKETS.clone();
+    }
+
+    /**
+     * Returns the cumulative counts of the buckets, the last entry is the +Inf bucket and equals the total count.
+     *
+     * @return the cumulative counts
+     */
+    public long[] getCumulativeCounts() {
+        long[] cumulative = new long[this.counts.length];
+        long total = 0;
+        for (int i = 0; i < this.counts.length; i++) {
+            total += this.counts[i].sum();
+            cumulative[i] = total;
+        }
+        return cumulative;
+    }
+
+    public long getCount() {
+        long total = 0;
+        for (LongAdder count : this.counts) {
+            total += count.sum();
+        }
+        return total;
+    }
+
+    /**
+     * Returns the sum of all recorded durations.
+     *
+     * @return the sum in nanoseconds
+     */
+    public long getSum() {
+        return this.sum.sum();
+    }
+}
@@ -0,0 +1,34 @@
+package de.labystudio.spotifyapi.metrics;
+
+/**
+ * Histogram of durations, e.g. of a tick or a request.
+ *
+ * @author LabyStudio
+ */
+public interface LatencyHistogram {
+
+    /**
+     * Record a duration.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    void record(long nanos);
+
+    /**
+     * Record the duration since the given start time.
+     *
+     * @param startNanos the start time from {@link System#nanoTime()}
+     */
+    default void recordSince(long startNanos) {
+        this.record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Returns the histogram that drops all values.
+     *
+     * @return the no-op histogram
+     */
+    static LatencyHistogram noop() {
+        return NoopMetrics.INSTANCE;
+    }
+}
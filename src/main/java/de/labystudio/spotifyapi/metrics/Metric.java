@@ -0,0 +1,25 @@
+package de.labystudio.spotifyapi.metrics;
+
+/**
+ * A named metric of a {@link MetricRegistry}.
+ *
+ * @author LabyStudio
+ */
+public abstract class Metric {
+
+    private final String name;
+    private final String help;
+
+    protected Metric(String name, String help) {
+        this.name = name;
+        this.help = help;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public String getHelp() {
+        return this.help;
+    }
+}
@@ -0,0 +1,82 @@
+package de.labystudio.spotifyapi.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Metrics implementation that keeps all metrics in memory.
+ * The metrics can be exported with the {@link de.labystudio.spotifyapi.metrics.export.PrometheusExporter}
+ * or the {@link de.labystudio.spotifyapi.metrics.export.JmxExporter}.
+ * A registry can be shared by multiple api instances, the counters and gauges report the total of all of them.
+ *
+ * @author LabyStudio
+ */
+public class MetricRegistry implements SpotifyMetrics {
+
+    private final Map<String, Metric> metrics = new ConcurrentSkipListMap<>();
+
+    @Override
+    public Counter counter(String name, String help) {
+        Metric metric = this.metrics.get(name);
+        return this.cast(name, CounterMetric.class, metric != null ? metric : this.register(new CounterMetric(name, help)));
+    }
+
+    @Override
+    public LatencyHistogram histogram(String name, String help) {
+        Metric metric = this.metrics.get(name);
+        return this.cast(name, HistogramMetric.class, metric != null ? metric : this.register(new HistogramMetric(name, help)));
+    }
+
+    @Override
+    public synchronized void gauge(String name, String help, DoubleSupplier supplier) {
+        Metric metric = this.metrics.get(name);
+        this.cast(name, GaugeMetric.class, metric != null ? metric : this.register(new GaugeMetric(name, help))).addSupplier(supplier);
+    }
+
+    @Override
+    public synchronized void removeGauge(String name, DoubleSupplier supplier) {
+        Metric metric = this.metrics.get(name);
+        if (!(metric instanceof GaugeMetric)) {
+            return;
+        }
+
+        GaugeMetric gauge = (GaugeMetric) metric;
+        if (gauge.removeSupplier(supplier) && !gauge.hasSuppliers()) {
+            this.metrics.remove(name);
+        }
+    }
+
+    private Metric register(Metric metric) {
+        Metric existing = this.metrics.putIfAbsent(metric.getName(), metric);
+        return existing != null ? existing : metric;
+    }
+
+    private <T extends Metric> T cast(String name, Class<T> type, Metric metric) {
+        if (!type.isInstance(metric)) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as " + metric.getClass().getSimpleName());
+        }
+        return type.cast(metric);
+    }
+
+    /**
+     * Returns the metric with the given name.
+     *
+     * @param name the name of the metric
+     * @return the metric or null if there is no metric with the given name
+     */
+    public Metric getMetric(String name) {
+        return this.metrics.get(name);
+    }
+
+    /**
+     * Returns all metrics sorted by name.
+     *
+     * @return a snapshot of all registered metrics
+     */
+    public List<Metric> getMetrics() {
+        return new ArrayList<>(this.metrics.values());
+    }
+}
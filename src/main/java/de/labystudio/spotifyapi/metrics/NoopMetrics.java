@@ -0,0 +1,41 @@
+package de.labystudio.spotifyapi.metrics;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Metrics implementation that drops all values.
+ *
+ * @author LabyStudio
+ */
+final class NoopMetrics implements SpotifyMetrics, Counter, LatencyHistogram {
+
+    static final NoopMetrics INSTANCE = new NoopMetrics();
+
+    private NoopMetrics() {
+    }
+
+    @Override
+    public Counter counter(String name, String help) {
+        return this;
+    }
+
+    @Override
+    public LatencyHistogram histogram(String name, String help) {
+        return this;
+    }
+
+    @Override
+    public void gauge(String name, String help, DoubleSupplier supplier) {
+        // No-op
+    }
+
+    @Override
+    public void add(long amount) {
+        // No-op
+    }
+
+    @Override
+    public void record(long nanos) {
+        // No-op
+    }
+}
@@ -0,0 +1,63 @@
+package de.labystudio.spotifyapi.metrics;
+
+import java.util.function.DoubleSupplier;
+
+/**
+ * Instrumentation surface of the api.
+ * The api requests its counters, gauges and histograms once and updates them on the hot paths,
+ * so implementations should keep the update methods cheap.
+ * <p>
+ * It is a no-op by default, use a {@link MetricRegistry} to collect the metrics.
+ *
+ * @author LabyStudio
+ */
+public interface SpotifyMetrics {
+
+    /**
+     * Returns the counter with the given name, it is created on first use.
+     *
+     * @param name the name of the counter, e.g. "spotify_tick_failures_total"
+     * @param help the description of the counter
+     * @return the counter
+     */
+    Counter counter(String name, String help);
+
+    /**
+     * Returns the latency histogram with the given name, it is created on first use.
+     *
+     * @param name the name of the histogram, e.g. "spotify_tick_duration_seconds"
+     * @param help the description of the histogram
+     * @return the histogram
+     */
+    LatencyHistogram histogram(String name, String help);
+
+    /**
+     * Register a gauge that reads its value when the metrics are exported.
+     * The values of all suppliers of the same name are summed up, so a shared registry reports the total of all apis.
+     *
+     * @param name     the name of the gauge
+     * @param help     the description of the gauge
+     * @param supplier the supplier of the current value
+     */
+    void gauge(String name, String help, DoubleSupplier supplier);
+
+    /**
+     * Remove a supplier of a gauge, e.g. when the api is shut down.
+     * The gauge is removed once it has no suppliers left.
+     *
+     * @param name     the name of the gauge
+     * @param supplier the supplier that was registered
+     */
+    default void removeGauge(String name, DoubleSupplier supplier) {
+        // Nothing registered by default
+    }
+
+    /**
+     * Returns the metrics implementation that drops all values.
+     *
+     * @return the no-op metrics
+     */
+    static SpotifyMetrics noop() {
+        return NoopMetrics.INSTANCE;
+    }
+}
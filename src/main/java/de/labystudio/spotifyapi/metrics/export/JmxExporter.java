@@ -0,0 +1,183 @@
+package de.labystudio.spotifyapi.metrics.export;
+
+import de.labystudio.spotifyapi.metrics.CounterMetric;
+import de.labystudio.spotifyapi.metrics.GaugeMetric;
+import de.labystudio.spotifyapi.metrics.HistogramMetric;
+import de.labystudio.spotifyapi.metrics.Metric;
+import de.labystudio.spotifyapi.metrics.MetricRegistry;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanException;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exposes the metrics of a registry as a read-only MBean.
+ * Counters and gauges are attributes with the name of the metric,
+ * histograms are exposed as the attributes "name_count" and "name_sum" (in seconds).
+ * The metrics are read on every access, so metrics registered later are visible as well.
+ *
+ * @author LabyStudio
+ */
+public class JmxExporter implements DynamicMBean {
+
+    public static final String DOMAIN = "de.labystudio.spotifyapi";
+
+    private static final String SUFFIX_COUNT = "_count";
+    private static final String SUFFIX_SUM = "_sum";
+
+    private final MetricRegistry registry;
+    private final ObjectName objectName;
+
+    private MBeanServer server;
+
+    /**
+     * Create a new exporter for the given registry.
+     *
+     * @param registry the registry to export
+     * @param name     the name of the MBean, e.g. the name of your application
+     * @throws IllegalArgumentException if the name is not a valid object name
+     */
+    public JmxExporter(MetricRegistry registry, String name) {
+        this.registry = registry;
+        try {
+            this.objectName = new ObjectName(DOMAIN + ":type=Metrics,name=" + ObjectName.quote(name));
+        } catch (JMException e) {
+            throw new IllegalArgumentException("Invalid MBean name: " + name, e);
+        }
+    }
+
+    /**
+     * Register the MBean on the platform MBean server.
+     *
+     * @throws IllegalStateException if the MBean could not be registered
+     */
+    public synchronized void register() {
+        this.register(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    /**
+     * Register the MBean on the given MBean server.
+     *
+     * @param server the MBean server to register on
+     * @throws IllegalStateException if the MBean could not be registered
+     */
+    public synchronized void register(MBeanServer server) {
+        if (this.server != null) {
+            throw new IllegalStateException("The MBean is already registered");
+        }
+        try {
+            server.registerMBean(this, this.objectName);
+            this.server = server;
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register MBean " + this.objectName, e);
+        }
+    }
+
+    /**
+     * Unregister the MBean if it is registered.
+     */
+    public synchronized void unregister() {
+        if (this.server == null) {
+            return;
+        }
+        try {
+            this.server.unregisterMBean(this.objectName);
+        } catch (JMException e) {
+            e.printStackTrace();
+        }
+        this.server = null;
+    }
+
+    public ObjectName getObjectName() {
+        return this.objectName;
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        Metric metric = this.registry.getMetric(attribute);
+        if (metric instanceof CounterMetric) {
+            return ((CounterMetric) metric).getValue();
+        }
+        if (metric instanceof GaugeMetric) {
+            return ((GaugeMetric) metric).getValue();
+        }
+
+        // Resolve the histogram attributes
+        if (attribute.endsWith(SUFFIX_COUNT)) {
+            Metric histogram = this.registry.getMetric(attribute.substring(0, attribute.length() - SUFFIX_COUNT.length()));
+            if (histogram instanceof HistogramMetric) {
+                return ((HistogramMetric) histogram).getCount();
+            }
+        }
+        if (attribute.endsWith(SUFFIX_SUM)) {
+            Metric histogram = this.registry.getMetric(attribute.substring(0, attribute.length() - SUFFIX_SUM.length()));
+            if (histogram instanceof HistogramMetric) {
+                return ((HistogramMetric) histogram).getSum() / 1_000_000_000D;
+            }
+        }
+        throw new AttributeNotFoundException(attribute);
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        AttributeList list = new AttributeList();
+        for (String attribute : attributes) {
+            try {
+                list.add(new Attribute(attribute, this.getAttribute(attribute)));
+            } catch (AttributeNotFoundException ignored) {
+                // Skip unknown attributes as specified by DynamicMBean
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Metrics are read-only: " + attribute.getName());
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) throws MBeanException {
+        throw new MBeanException(new UnsupportedOperationException("No operations available: " + actionName));
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        List<MBeanAttributeInfo> attributes = new ArrayList<>();
+        for (Metric metric : this.registry.getMetrics()) {
+            String name = metric.getName();
+            if (metric instanceof CounterMetric) {
+                attributes.add(new MBeanAttributeInfo(name, "long", metric.getHelp(), true, false, false));
+            } else if (metric instanceof GaugeMetric) {
+                attributes.add(new MBeanAttributeInfo(name, "double", metric.getHelp(), true, false, false));
+            } else if (metric instanceof HistogramMetric) {
+                attributes.add(new MBeanAttributeInfo(name + SUFFIX_COUNT, "long", metric.getHelp(), true, false, false));
+                attributes.add(new MBeanAttributeInfo(name + SUFFIX_SUM, "double", metric.getHelp(), true, false, false));
+            }
+        }
+
+        return new MBeanInfo(
+                this.getClass().getName(),
+                "Metrics of the Spotify API",
+                attributes.toArray(new MBeanAttributeInfo[0]),
+                null,
+                null,
+                null
+        );
+    }
+}
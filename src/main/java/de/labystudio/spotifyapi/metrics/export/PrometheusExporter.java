@@ -0,0 +1,100 @@
+package de.labystudio.spotifyapi.metrics.export;
+
+import de.labystudio.spotifyapi.metrics.CounterMetric;
+import de.labystudio.spotifyapi.metrics.GaugeMetric;
+import de.labystudio.spotifyapi.metrics.HistogramMetric;
+import de.labystudio.spotifyapi.metrics.Metric;
+import de.labystudio.spotifyapi.metrics.MetricRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+
+/**
+ * Writes the metrics of a registry in the Prometheus text exposition format (version 0.0.4).
+ * Serve the output with the content type {@link #CONTENT_TYPE} on the scrape endpoint of your application.
+ *
+ * @author LabyStudio
+ */
+public class PrometheusExporter {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000D;
+
+    private final MetricRegistry registry;
+
+    public PrometheusExporter(MetricRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Export all metrics of the registry.
+     *
+     * @return the metrics in the Prometheus text format
+     */
+    public String export() {
+        StringBuilder builder = new StringBuilder();
+        try {
+            this.write(builder);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Not thrown by a StringBuilder
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Write all metrics of the registry to the given output.
+     *
+     * @param out the output to write to
+     * @throws IOException if the output could not be written
+     */
+    public void write(Appendable out) throws IOException {
+        for (Metric metric : this.registry.getMetrics()) {
+            String name = metric.getName();
+            if (metric.getHelp() != null) {
+                out.append("# HELP ").append(name).append(' ').append(escapeHelp(metric.getHelp())).append('\n');
+            }
+
+            if (metric instanceof CounterMetric) {
+                out.append("# TYPE ").append(name).append(" counter\n");
+                out.append(name).append(' ').append(Long.toString(((CounterMetric) metric).getValue())).append('\n');
+            } else if (metric instanceof GaugeMetric) {
+                out.append("# TYPE ").append(name).append(" gauge\n");
+                out.append(name).append(' ').append(formatDouble(((GaugeMetric) metric).getValue())).append('\n');
+            } else if (metric instanceof HistogramMetric) {
+                HistogramMetric histogram = (HistogramMetric) metric;
+                out.append("# TYPE ").append(name).append(" histogram\n");
+
+                // The buckets are cumulative, the last one is +Inf
+                long[] bounds = histogram.getBucketBounds();
+                long[] counts = histogram.getCumulativeCounts();
+                for (int i = 0; i < counts.length; i++) {
+                    String bound = i < bounds.length ? formatSeconds(bounds[i]) : "+Inf";
+                    out.append(name).append("_bucket{le=\"").append(bound).append("\"} ")
+                            .append(Long.toString(counts[i])).append('\n');
+                }
+                out.append(name).append("_sum ").append(formatDouble(histogram.getSum() / NANOS_PER_SECOND)).append('\n');
+                out.append(name).append("_count ").append(Long.toString(counts[counts.length - 1])).append('\n');
+            }
+        }
+    }
+
+    private static String formatSeconds(long nanos) {
+        return BigDecimal.valueOf(nanos).movePointLeft(9).stripTrailingZeros().toPlainString();
+    }
+
+    private static String formatDouble(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        return Double.toString(value);
+    }
+
+    private static String escapeHelp(String help) {
+        return help.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,39 @@
+package de.labystudio.spotifyapi.model;
+
+/**
+ * Connection state of a SpotifyAPI backend.
+ *
+ * @author LabyStudio
+ */
+public enum ConnectionState {
+
+    /**
+     * The api is not initialized or has been stopped.
+     */
+    STOPPED,
+
+    /**
+     * The api was started and the first connection attempt is pending.
+     */
+    CONNECTING,
+
+    /**
+     * The backend is connected and the last read succeeded.
+     */
+    CONNECTED,
+
+    /**
+     * The connection was lost, the backend retries on the next tick.
+     */
+    DEGRADED,
+
+    /**
+     * The backend failed to connect repeatedly and waits with an exponential backoff before it retries.
+     */
+    BACKING_OFF,
+
+    /**
+     * The backend failed too often in a row, the circuit breaker only allows a rare probe.
+     */
+    DORMANT
+}
@@ -0,0 +1,72 @@
+package de.labystudio.spotifyapi.model;
+
+import java.util.Objects;
+
+/**
+ * Immutable snapshot of the volume, shuffle and repeat options of the Spotify player.
+ *
+ * @author LabyStudio
+ */
+public class PlaybackOptions {
+
+    private final float volume;
+    private final boolean shuffle;
+    private final RepeatMode repeatMode;
+
+    public PlaybackOptions(float volume, boolean shuffle, RepeatMode repeatMode) {
+        this.volume = volume;
+        this.shuffle = shuffle;
+        this.repeatMode = repeatMode;
+    }
+
+    /**
+     * Returns the volume of the player.
+     *
+     * @return the volume between 0.0 and 1.0
+     */
+    public float getVolume() {
+        return this.volume;
+    }
+
+    /**
+     * Returns true if the player shuffles the tracks.
+     *
+     * @return true if shuffle is enabled
+     */
+    public boolean isShuffle() {
+        return this.shuffle;
+    }
+
+    /**
+     * Returns the repeat mode of the player.
+     *
+     * @return the repeat mode
+     */
+    public RepeatMode getRepeatMode() {
+        return this.repeatMode;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PlaybackOptions)) {
+            return false;
+        }
+        PlaybackOptions that = (PlaybackOptions) o;
+        return Float.compare(that.volume, this.volume) == 0
+                && this.shuffle == that.shuffle
+                && this.repeatMode == that.repeatMode;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.volume, this.shuffle, this.repeatMode);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PlaybackOptions{volume=%s, shuffle=%s, repeatMode=%s}", this.volume, this.shuffle, this.repeatMode);
+    }
+}
@@ -0,0 +1,100 @@
+package de.labystudio.spotifyapi.model;
+
+/**
+ * Immutable snapshot of the playback state at a specific point in time.
+ * It is attached to every event so that consumers don't have to call back into the api.
+ *
+ * @author LabyStudio
+ */
+public class PlaybackState {
+
+    /**
+     * Empty state before anything is known about the Spotify application.
+     */
+    public static final PlaybackState EMPTY = new PlaybackState(null, -1, false, false);
+
+    private final Track track;
+    private final int position;
+    private final boolean playing;
+    private final boolean connected;
+    private final boolean confirmed;
+
+    public PlaybackState(
+            Track track,
+            int position,
+            boolean playing,
+            boolean connected
+    ) {
+        this(track, position, playing, connected, true);
+    }
+
+    public PlaybackState(
+            Track track,
+            int position,
+            boolean playing,
+            boolean connected,
+            boolean confirmed
+    ) {
+        this.track = track;
+        this.position = position;
+        this.playing = playing;
+        this.connected = connected;
+        this.confirmed = confirmed;
+    }
+
+    /**
+     * Returns the track at the time of the snapshot.
+     *
+     * @return the track or null if no track was known
+     */
+    public Track getTrack() {
+        return this.track;
+    }
+
+    public boolean hasTrack() {
+        return this.track != null;
+    }
+
+    /**
+     * Returns the interpolated position in milliseconds at the time of the snapshot.
+     *
+     * @return the position in milliseconds or -1 if the position was not known
+     */
+    public int getPosition() {
+        return this.position;
+    }
+
+    public boolean hasPosition() {
+        return this.position != -1;
+    }
+
+    public boolean isPlaying() {
+        return this.playing;
+    }
+
+    public boolean isConnected() {
+        return this.connected;
+    }
+
+    /**
+     * Returns if the state was read from Spotify.
+     * A state that was restored from the state file is not confirmed until Spotify agrees with it.
+     *
+     * @return true if the state was confirmed by Spotify
+     */
+    public boolean isConfirmed() {
+        return this.confirmed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "PlaybackState{track=%s, position=%d, playing=%s, connected=%s, confirmed=%s}",
+                this.track,
+                this.position,
+                this.playing,
+                this.connected,
+                this.confirmed
+        );
+    }
+}
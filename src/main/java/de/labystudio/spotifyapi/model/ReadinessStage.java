@@ -0,0 +1,30 @@
+package de.labystudio.spotifyapi.model;
+
+/**
+ * Stages of the initialization of a SpotifyAPI, in the order they are usually reached.
+ *
+ * @author LabyStudio
+ */
+public enum ReadinessStage {
+
+    /**
+     * The background task is scheduled, it is reached before {@code initialize()} returns.
+     */
+    SCHEDULER_STARTED,
+
+    /**
+     * The backend connected to the Spotify application for the first time.
+     */
+    BACKEND_CONNECTED,
+
+    /**
+     * The first complete state has been read from the backend.
+     */
+    FIRST_STATE,
+
+    /**
+     * The first track has been published with all of its details like the cover art.
+     * It is not reached while Spotify has no track.
+     */
+    ENRICHMENT_READY
+}
@@ -0,0 +1,24 @@
+package de.labystudio.spotifyapi.model;
+
+/**
+ * Repeat mode of the Spotify player.
+ *
+ * @author LabyStudio
+ */
+public enum RepeatMode {
+
+    /**
+     * The playback stops at the end of the playlist or album.
+     */
+    OFF,
+
+    /**
+     * The playlist or album is repeated.
+     */
+    CONTEXT,
+
+    /**
+     * The current track is repeated.
+     */
+    TRACK
+}
@@ -0,0 +1,44 @@
+package de.labystudio.spotifyapi.model;
+
+/**
+ * Controls of the player besides the media keys, each platform supports a different set of them.
+ *
+ * @author LabyStudio
+ */
+public enum TransportControl {
+
+    /**
+     * Seek to a position of the current track.
+     */
+    SEEK,
+
+    /**
+     * Change the volume of the player.
+     */
+    VOLUME,
+
+    /**
+     * Enable or disable shuffle.
+     */
+    SHUFFLE,
+
+    /**
+     * Turn off repeat or repeat the playlist or album, see {@link RepeatMode#OFF} and {@link RepeatMode#CONTEXT}.
+     */
+    REPEAT,
+
+    /**
+     * Repeat the current track, see {@link RepeatMode#TRACK}.
+     */
+    REPEAT_TRACK;
+
+    /**
+     * Returns the control that is required to set the given repeat mode.
+     *
+     * @param repeatMode the repeat mode
+     * @return the required control
+     */
+    public static TransportControl of(RepeatMode repeatMode) {
+        return repeatMode == RepeatMode.TRACK ? REPEAT_TRACK : REPEAT;
+    }
+}
@@ -41,7 +41,7 @@ public class Cache<T> {
      *
      * @param key The key of the entry
      */
-    public void push(String key, T value) {
+    public synchronized void push(String key, T value) {
         if (key == null) {
             throw new IllegalArgumentException("Key cannot be null");
         }
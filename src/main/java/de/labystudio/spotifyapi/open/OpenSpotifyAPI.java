@@ -4,6 +4,12 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonObject;
 import com.google.gson.stream.JsonReader;
+import de.labystudio.spotifyapi.config.SpotifyExecutors;
+import de.labystudio.spotifyapi.jfr.FlightRecorderEvents;
+import de.labystudio.spotifyapi.jfr.TraceSpan;
+import de.labystudio.spotifyapi.metrics.Counter;
+import de.labystudio.spotifyapi.metrics.LatencyHistogram;
+import de.labystudio.spotifyapi.metrics.SpotifyMetrics;
 import de.labystudio.spotifyapi.model.Track;
 import de.labystudio.spotifyapi.open.model.AccessTokenResponse;
 import de.labystudio.spotifyapi.open.model.GraphQLOperation;
@@ -25,7 +31,6 @@ import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 
 /**
@@ -47,17 +52,51 @@ public class OpenSpotifyAPI {
     public static final String URL_API_GRAPHQL = "https://api-partner.spotify.com/pathfinder/v1/query";
     public static final String URL_API_SERVER_TIME = "https://open.spotify.com/api/server-time";
 
-    private final Executor executor = Executors.newSingleThreadExecutor();
+    private final Executor executor;
 
     private final Cache<BufferedImage> imageCache = new Cache<>(10);
     private final Cache<OpenTrack> openTrackCache = new Cache<>(100);
 
     private final SecretProvider secretProvider;
 
-    private AccessTokenResponse accessTokenResponse;
+    private volatile AccessTokenResponse accessTokenResponse;
 
+    private LatencyHistogram requestDuration = LatencyHistogram.noop();
+    private Counter requestFailures = Counter.noop();
+    private Counter cacheHits = Counter.noop();
+    private Counter cacheMisses = Counter.noop();
+
+    /**
+     * Create the open spotify api that runs the asynchronous requests on the shared {@link SpotifyExecutors#io()} executor.
+     *
+     * @param secretProvider the provider of the TOTP secret
+     */
     public OpenSpotifyAPI(SecretProvider secretProvider) {
+        this(secretProvider, SpotifyExecutors.io());
+    }
+
+    /**
+     * Create the open spotify api with a custom executor for the asynchronous requests.
+     * For example the I/O executor of the {@link de.labystudio.spotifyapi.config.SpotifyConfiguration} of the api.
+     *
+     * @param secretProvider the provider of the TOTP secret
+     * @param executor       the executor to run the asynchronous requests on
+     */
+    public OpenSpotifyAPI(SecretProvider secretProvider, Executor executor) {
         this.secretProvider = secretProvider;
+        this.executor = executor;
+    }
+
+    /**
+     * Record the request latencies, failed requests and the cache hit ratio in the given metrics.
+     *
+     * @param metrics the metrics to record to
+     */
+    public void setMetrics(SpotifyMetrics metrics) {
+        this.requestDuration = metrics.histogram("spotify_open_request_duration_seconds", "Duration of a request to open.spotify.com");
+        this.requestFailures = metrics.counter("spotify_open_request_failures_total", "Failed requests to open.spotify.com");
+        this.cacheHits = metrics.counter("spotify_open_cache_hits_total", "Track and image lookups served from the cache");
+        this.cacheMisses = metrics.counter("spotify_open_cache_misses_total", "Track and image lookups that required a request");
     }
 
     /**
@@ -87,6 +126,7 @@ public class OpenSpotifyAPI {
         conn.setRequestProperty("Host", "open.spotify.com");
         conn.setRequestProperty("User-Agent", USER_AGENT);
         conn.setRequestProperty("Accept", "application/json");
+        this.awaitResponse(conn);
 
         BufferedReader reader = new BufferedReader(new InputStreamReader(conn.getInputStream()));
         String response = reader.readLine();
@@ -133,7 +173,7 @@ public class OpenSpotifyAPI {
         connection.addRequestProperty("app-platform", "WebPlayer");
         connection.setRequestProperty("Accept", "application/json");
 
-        int code = connection.getResponseCode();
+        int code = this.awaitResponse(connection);
         if (code != HttpURLConnection.HTTP_OK) {
             InputStream errorStream = connection.getErrorStream();
             if (errorStream != null) {
@@ -262,8 +302,10 @@ public class OpenSpotifyAPI {
         // Try to get image from cache by track id
         BufferedImage cachedImage = this.imageCache.get(trackId);
         if (cachedImage != null) {
+            this.cacheHits.increment();
             return cachedImage;
         }
+        this.cacheMisses.increment();
 
         // Request the image url
         String url = this.requestImageUrl(trackId);
@@ -272,7 +314,14 @@ public class OpenSpotifyAPI {
         }
 
         // Download the image
-        BufferedImage image = ImageIO.read(new URL(url));
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.addRequestProperty("User-Agent", USER_AGENT);
+        this.awaitResponse(connection);
+
+        BufferedImage image;
+        try (InputStream inputStream = connection.getInputStream()) {
+            image = ImageIO.read(inputStream);
+        }
         if (image == null) {
             throw new IOException("Could not load image: " + url);
         }
@@ -328,8 +377,10 @@ public class OpenSpotifyAPI {
     public OpenTrack requestOpenTrack(String trackId) throws IOException {
         OpenTrack cachedOpenTrack = this.openTrackCache.get(trackId);
         if (cachedOpenTrack != null) {
+            this.cacheHits.increment();
             return cachedOpenTrack;
         }
+        this.cacheMisses.increment();
 
         // Use GraphQL API to get track information
         TrackResponse graphQLResponse = this.requestTrack(trackId);
@@ -425,7 +476,7 @@ public class OpenSpotifyAPI {
         }
 
         // Access token outdated
-        if (connection.getResponseCode() / 100 != 2) {
+        if (this.awaitResponse(connection) / 100 != 2) {
             // Prevent infinite loop
             if (canGenerateNewAccessToken) {
                 // Generate new access token
@@ -448,6 +499,39 @@ public class OpenSpotifyAPI {
         return GSON.fromJson(reader, clazz);
     }
 
+    /**
+     * Wait for the response of the given connection and record the latency.
+     *
+     * @param connection the connection to wait for
+     * @return the response code
+     * @throws IOException if the request failed
+     */
+    private int awaitResponse(HttpURLConnection connection) throws IOException {
+        long timeStart = System.nanoTime();
+
+        // The query is not recorded, it can contain one time passwords
+        URL url = connection.getURL();
+        TraceSpan span = FlightRecorderEvents.beginHttpRequest(
+                connection.getRequestMethod(),
+                url.getProtocol() + "://" + url.getHost() + url.getPath()
+        );
+        try {
+            int code = connection.getResponseCode();
+            if (code / 100 != 2) {
+                this.requestFailures.increment();
+            }
+            span.setStatus(code);
+            span.setBytes(connection.getContentLengthLong());
+            return code;
+        } catch (IOException e) {
+            this.requestFailures.increment();
+            throw e;
+        } finally {
+            this.requestDuration.recordSince(timeStart);
+            span.close();
+        }
+    }
+
     private boolean hasValidAccessToken(AccessTokenResponse response) {
         return response != null && response.accessToken != null && !response.accessToken.isEmpty();
     }
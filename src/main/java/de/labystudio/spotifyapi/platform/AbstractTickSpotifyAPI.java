@@ -3,14 +3,55 @@ package de.labystudio.spotifyapi.platform;
 import de.labystudio.spotifyapi.SpotifyAPI;
 import de.labystudio.spotifyapi.SpotifyListener;
 import de.labystudio.spotifyapi.config.SpotifyConfiguration;
+import de.labystudio.spotifyapi.config.SpotifyExecutors;
+import de.labystudio.spotifyapi.cue.Cue;
+import de.labystudio.spotifyapi.cue.CueScheduler;
+import de.labystudio.spotifyapi.cue.HashedTimingWheel;
+import de.labystudio.spotifyapi.event.EventBus;
+import de.labystudio.spotifyapi.event.EventSubscription;
+import de.labystudio.spotifyapi.event.PlaybackEvent;
+import de.labystudio.spotifyapi.event.stream.PlaybackEventPublisher;
+import de.labystudio.spotifyapi.event.type.ConnectedEvent;
+import de.labystudio.spotifyapi.event.type.ConnectionStateChangedEvent;
+import de.labystudio.spotifyapi.event.type.DisconnectedEvent;
+import de.labystudio.spotifyapi.event.type.PlaybackChangedEvent;
+import de.labystudio.spotifyapi.event.type.PlaybackOptionsChangedEvent;
+import de.labystudio.spotifyapi.event.type.PositionJumpEvent;
+import de.labystudio.spotifyapi.event.type.SyncEvent;
+import de.labystudio.spotifyapi.event.type.TrackChangedEvent;
+import de.labystudio.spotifyapi.jfr.FlightRecorderEvents;
+import de.labystudio.spotifyapi.jfr.TraceSpan;
+import de.labystudio.spotifyapi.metrics.Counter;
+import de.labystudio.spotifyapi.metrics.LatencyHistogram;
+import de.labystudio.spotifyapi.metrics.SpotifyMetrics;
+import de.labystudio.spotifyapi.model.ConnectionState;
+import de.labystudio.spotifyapi.model.MediaKey;
+import de.labystudio.spotifyapi.model.PlaybackOptions;
+import de.labystudio.spotifyapi.model.ReadinessStage;
+import de.labystudio.spotifyapi.model.RepeatMode;
+import de.labystudio.spotifyapi.model.Track;
+import de.labystudio.spotifyapi.model.TransportControl;
 import de.labystudio.spotifyapi.open.OpenSpotifyAPI;
+import de.labystudio.spotifyapi.record.SampleRecorder;
+import de.labystudio.spotifyapi.state.PersistedState;
+import de.labystudio.spotifyapi.state.StateFile;
+import de.labystudio.spotifyapi.time.TimeSource;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.DoubleSupplier;
 
 /**
  * Abstract tick class for SpotifyAPI implementations.
@@ -19,26 +60,140 @@ import java.util.concurrent.TimeUnit;
  */
 public abstract class AbstractTickSpotifyAPI implements SpotifyAPI {
 
-    protected static final long TICK_INTERVAL = 1000L; // 1 second
+    /**
+     * Media keys pressed within this time are sent together.
+     */
+    protected static final long COMMAND_DEBOUNCE = 50L;
 
     /**
-     * The list of all Spotify listeners.
+     * Time in milliseconds the backend has to confirm an optimistic playback state before it is rolled back.
      */
-    protected final List<SpotifyListener> listeners = new ArrayList<>();
+    protected static final long CONFIRMATION_WINDOW = 2000L;
+
+    /**
+     * Maximum age in milliseconds of a restored position, an older position is not restored.
+     */
+    private static final long MAX_RESTORED_POSITION_AGE = TimeUnit.DAYS.toMillis(1L);
+
+    /**
+     * The event bus that delivers all events to the listeners and subscribers.
+     */
+    protected final EventBus eventBus = new EventBus();
+
+    /**
+     * Monotonic clock to interpolate the track position between two ticks.
+     */
+    protected final PositionClock positionClock = new PositionClock();
+
+    /**
+     * Time source of the configuration for positions, events and reconnect delays.
+     */
+    protected volatile TimeSource timeSource = TimeSource.system();
+
+    /**
+     * Publisher for stream subscribers, events are delivered outside the tick thread.
+     * The dispatch executor is resolved on first use, so it can be taken from the configuration.
+     */
+    private final PlaybackEventPublisher eventPublisher = new PlaybackEventPublisher(
+            this.eventBus,
+            task -> this.getDispatchExecutor().execute(task)
+    );
+
+    /**
+     * Scheduler of position cues, all instances share the same timer thread.
+     */
+    private final CueScheduler cueScheduler = new CueScheduler(this, HashedTimingWheel.getShared());
 
     private OpenSpotifyAPI openAPI;
 
     protected SpotifyConfiguration configuration;
 
-    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private volatile ScheduledExecutorService executor;
+    private boolean ownsExecutor;
+
+    private Executor dispatchExecutor;
+    private ExecutorService ownedDispatchExecutor;
+
+    private boolean shutdown;
 
     private ScheduledFuture<?> task;
 
-    private long timeLastException = -1;
+    /**
+     * Decides when the backend is accessed again after a failure.
+     */
+    private final ConnectionSupervisor supervisor = new ConnectionSupervisor();
+
+    /**
+     * Cheap check if Spotify is running, used while the backend is not connected.
+     */
+    private PresenceDetector presenceDetector;
+
+    /**
+     * Media keys that wait to be sent on the tick thread.
+     */
+    private final List<MediaKey> pendingCommands = new ArrayList<>();
+    private boolean drainScheduled;
+
+    /**
+     * The playing state including an optimistic state that is not confirmed by the backend yet.
+     */
+    private final Object playbackLock = new Object();
+    private volatile boolean playing;
+    private long timeConfirmationDeadline = -1L;
+    private boolean publishedPlaying;
+
+    private volatile PlaybackOptions playbackOptions;
+
+    /**
+     * Futures of the initialization stages.
+     */
+    private final Readiness readiness = new Readiness(this);
+    private boolean backendInitialized;
+
+    /**
+     * Last known state that was restored from the state file and is not confirmed by the backend yet.
+     */
+    private StateFile stateFile;
+    private volatile boolean stateConfirmed = true;
+    private volatile Track provisionalTrack;
+    private volatile int provisionalPosition = -1;
+    private final AtomicReference<PersistedState> pendingSave = new AtomicReference<>();
+
+    /**
+     * Instrumentation of the tick loop, no-op until the metrics of the configuration are bound.
+     */
+    private LatencyHistogram tickDuration = LatencyHistogram.noop();
+    private Counter tickFailures = Counter.noop();
+    private Counter connects = Counter.noop();
+    private Counter disconnects = Counter.noop();
+    private Counter commands = Counter.noop();
+    private Counter commandFailures = Counter.noop();
+
+    /**
+     * Gauges of this instance, they are removed from the metrics on shutdown.
+     */
+    private SpotifyMetrics metrics = SpotifyMetrics.noop();
+    private final DoubleSupplier connectedGauge = () -> this.isConnected() ? 1 : 0;
+    private final DoubleSupplier reconnectFailuresGauge = this.supervisor::getFailures;
+
+    /**
+     * Optional recorder of the raw backend samples and the metadata hash of the last recorded track.
+     */
+    private SampleRecorder sampleRecorder;
+    private Track recordedTrack;
+    private int recordedMetadataHash;
+
+    /**
+     * Flight recorder event of the running tick.
+     */
+    private TraceSpan tickSpan = TraceSpan.NOOP;
+    private final String tickSpanName = this.getClass().getSimpleName();
 
     /**
      * Initialize the SpotifyAPI abstract tick implementation.
-     * It will create a task that will update the current track and position every second.
+     * It will create a task that will update the current track and position in the configured tick interval.
+     * The backend is prepared and connected on the tick thread, so this method returns immediately.
+     * Use {@link #whenReady(ReadinessStage)} to wait for the first state.
      *
      * @return the initialized SpotifyAPI
      * @throws IllegalStateException if the API is already initialized or has been shutdown
@@ -48,7 +203,7 @@ public abstract class AbstractTickSpotifyAPI implements SpotifyAPI {
         synchronized (this) {
             this.configuration = configuration;
 
-            if (this.executor.isShutdown()) {
+            if (this.shutdown) {
                 throw new IllegalStateException("This SpotifyAPI has been shutdown and cannot be reused");
             }
 
@@ -56,59 +211,843 @@ public abstract class AbstractTickSpotifyAPI implements SpotifyAPI {
                 throw new IllegalStateException("This SpotifyAPI is already initialized");
             }
 
-            this.onInitialized();
+            // Use the scheduler of the configuration or create a dedicated tick thread
+            if (this.executor == null) {
+                ScheduledExecutorService scheduler = configuration.getScheduler();
+                this.ownsExecutor = scheduler == null;
+                this.executor = scheduler != null ? scheduler : Executors.newSingleThreadScheduledExecutor(
+                        SpotifyExecutors.threadFactory("SpotifyAPI Tick", configuration.isDaemonThreads())
+                );
+            }
+
+            this.timeSource = configuration.getTimeSource();
+            this.positionClock.setTimeSource(this.timeSource);
+            this.supervisor.setRandom(configuration.getReconnectJitter());
+            this.sampleRecorder = configuration.getSampleRecorder();
+
+            // Restore the last known state, so consumers have something to show before the backend is connected
+            Path stateFile = configuration.getStateFile();
+            if (stateFile != null && this.stateFile == null) {
+                this.stateFile = new StateFile(stateFile);
+                this.restoreState(this.stateFile.load());
+            }
 
-            // Start task to update every second
+            this.bindMetrics(configuration.getMetrics());
+
+            this.backendInitialized = false;
+            ConnectionState previousState = this.supervisor.getState();
+            this.supervisor.start();
+            this.fireConnectionStateChanged(previousState);
+            if (this.presenceDetector == null) {
+                this.presenceDetector = this.createPresenceDetector();
+            }
+
+            // Start task to update in the tick interval
             this.task = this.executor.scheduleWithFixedDelay(
                     this::onInternalTick,
                     0L,
-                    TICK_INTERVAL,
+                    configuration.getTickInterval(),
                     TimeUnit.MILLISECONDS
             );
-
-            // Initial tick to provide sync data (see SpotifyDirectTest)
-            this.onInternalTick();
+            this.readiness.reach(ReadinessStage.SCHEDULER_STARTED);
         }
+
+        // Cues follow the time of a custom scheduler, e.g. the virtual time of a simulation.
+        // The cues read the state of the api when they are re-armed, so it's done outside of the lock
+        this.cueScheduler.setExecutor(configuration.getScheduler());
         return this;
     }
 
+    private void bindMetrics(SpotifyMetrics metrics) {
+        this.tickDuration = metrics.histogram("spotify_tick_duration_seconds", "Duration of a backend tick");
+        this.tickFailures = metrics.counter("spotify_tick_failures_total", "Failed backend ticks");
+        this.connects = metrics.counter("spotify_connects_total", "Connections to the Spotify application");
+        this.disconnects = metrics.counter("spotify_disconnects_total", "Outages of the connection to Spotify");
+        this.commands = metrics.counter("spotify_commands_total", "Commands sent to the Spotify application");
+        this.commandFailures = metrics.counter("spotify_command_failures_total", "Commands that could not be sent");
+
+        // A shared registry sums the gauges of all instances
+        this.unbindGauges();
+        this.metrics = metrics;
+        metrics.gauge("spotify_connected", "Number of apis that are connected to Spotify", this.connectedGauge);
+        metrics.gauge("spotify_reconnect_failures", "Failed reconnects in a row", this.reconnectFailuresGauge);
+    }
+
+    private void unbindGauges() {
+        this.metrics.removeGauge("spotify_connected", this.connectedGauge);
+        this.metrics.removeGauge("spotify_reconnect_failures", this.reconnectFailuresGauge);
+        this.metrics = SpotifyMetrics.noop();
+    }
+
+    /**
+     * Prepare the backend before the first tick, e.g. extract native libraries.
+     * It is called on the tick thread.
+     */
     protected void onInitialized() {
         // No default implementation
     }
 
+    @Override
+    public CompletableFuture<SpotifyAPI> whenReady(ReadinessStage stage) {
+        return this.readiness.get(stage);
+    }
+
+    /**
+     * Create the presence detector of this platform.
+     *
+     * @return the presence detector or null if the backend should always try to connect
+     */
+    protected PresenceDetector createPresenceDetector() {
+        return null;
+    }
+
     protected synchronized void onInternalTick() {
+        // Prepare the backend on the tick thread, so initialize() doesn't block
+        if (!this.backendInitialized) {
+            this.backendInitialized = true;
+            this.onInitialized();
+        }
+
+        ConnectionState previousState = this.supervisor.getState();
+
+        // Check if the supervisor allows the next attempt, it also limits how often the presence is checked
+        long now = this.timeSource.currentTimeMillis();
+        if (!this.supervisor.isAttemptDue(now)) {
+            return;
+        }
+
+        // While disconnected, wait for Spotify to be started before we try to connect
+        if (previousState != ConnectionState.CONNECTED && this.presenceDetector != null) {
+            if (!this.isSpotifyPresent()) {
+                // Fire on disconnect only once per outage
+                if (this.supervisor.onAbsent(now, this.configuration)) {
+                    this.fireDisconnect(new IllegalStateException("Spotify is not running"));
+                }
+                this.fireConnectionStateChanged(previousState);
+                return;
+            }
+            this.supervisor.onPresent();
+        }
+
+        long timeTickStart = System.nanoTime();
+        TraceSpan span = FlightRecorderEvents.beginTick(this.tickSpanName);
+        this.tickSpan = span;
         try {
-            // Check if we passed the exception timeout
-            long timeSinceLastException = System.currentTimeMillis() - this.timeLastException;
-            if (timeSinceLastException < this.configuration.getExceptionReconnectDelay()) {
+            this.eventBus.beginBatch();
+            try {
+                this.onTick();
+                span.setSuccess(true);
+            } finally {
+                this.eventBus.endBatch();
+                this.tickDuration.recordSince(timeTickStart);
+                this.tickSpan = TraceSpan.NOOP;
+                span.close();
+            }
+        } catch (Exception e) {
+            this.onTickFailed(e);
+            return;
+        }
+
+        this.supervisor.onSuccess();
+        this.confirmState();
+        this.fireConnectionStateChanged(previousState);
+
+        // Complete the readiness stages
+        this.readiness.reach(ReadinessStage.FIRST_STATE);
+        if (this.hasTrack()) {
+            this.readiness.reach(ReadinessStage.ENRICHMENT_READY);
+        }
+    }
+
+    /**
+     * Apply the state of the last session as provisional state.
+     *
+     * @param state the state that was loaded from the state file or null if there is none
+     */
+    private void restoreState(PersistedState state) {
+        if (state == null) {
+            return;
+        }
+
+        if (!Track.isTrackIdValid(state.trackId)) {
+            return;
+        }
+
+        // The cover art is not persisted, it is loaded again once the backend is connected
+        Track track = new Track(state.trackId, state.trackName, state.trackArtist, state.trackLength, null);
+        int position = this.restorePosition(state);
+        this.provisionalTrack = track;
+        this.provisionalPosition = position;
+        this.stateConfirmed = false;
+
+        // Fire the provisional state immediately
+        if (this.eventBus.hasSubscribers(TrackChangedEvent.class)) {
+            this.eventBus.post(new TrackChangedEvent(this.timeSource.nanoTime(), this.getState(), track));
+        }
+        if (position != -1 && this.eventBus.hasSubscribers(PositionJumpEvent.class)) {
+            this.eventBus.post(new PositionJumpEvent(this.timeSource.nanoTime(), this.getState(), position));
+        }
+    }
+
+    /**
+     * Returns the position of the restored state at the current time.
+     * The position moved on since the state was saved if the track was playing.
+     *
+     * @param state the restored state
+     * @return the current position or -1 if the position is unknown or too old
+     */
+    private int restorePosition(PersistedState state) {
+        if (state.position == -1) {
+            return -1;
+        }
+
+        // The clock went backwards or the state is too old to be trusted
+        long age = this.timeSource.currentTimeMillis() - state.timestamp;
+        if (age < 0 || age > MAX_RESTORED_POSITION_AGE) {
+            return -1;
+        }
+
+        if (!state.playing) {
+            return state.position;
+        }
+
+        // The track doesn't play on after its end
+        long position = state.position + age;
+        if (state.trackLength > 0) {
+            position = Math.min(position, state.trackLength);
+        }
+        return (int) position;
+    }
+
+    /**
+     * Drop the provisional state once the backend reported its state.
+     * The provisional position is kept until the backend knows the position,
+     * e.g. the Windows client only reports it after the playback was paused once.
+     */
+    private void confirmState() {
+        if (this.provisionalPosition != -1 && this.positionClock.isKnown()) {
+            this.provisionalPosition = -1;
+        }
+
+        if (this.stateConfirmed) {
+            return;
+        }
+        this.provisionalTrack = null;
+        this.stateConfirmed = true;
+        this.requestStateSave();
+    }
+
+    /**
+     * Save the current state asynchronously on the I/O executor.
+     * Multiple requests before the write are coalesced into one write of the latest state.
+     */
+    protected void requestStateSave() {
+        if (this.stateFile == null || !this.stateConfirmed) {
+            return;
+        }
+
+        if (this.pendingSave.getAndSet(this.captureState()) == null) {
+            this.configuration.getIoExecutor().execute(this::writePendingState);
+        }
+    }
+
+    private void writePendingState() {
+        synchronized (this.pendingSave) {
+            PersistedState state = this.pendingSave.getAndSet(null);
+            if (state == null) {
                 return;
             }
 
-            this.onTick();
+            try {
+                this.stateFile.save(state);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private PersistedState captureState() {
+        PersistedState state = new PersistedState();
+        Track track = this.getTrack();
+        if (track != null) {
+            state.trackId = track.getId();
+            state.trackName = track.getName();
+            state.trackArtist = track.getArtist();
+            state.trackLength = track.getLength();
+        }
+        state.position = this.hasPosition() ? this.getPosition() : -1;
+        state.playing = this.isPlaying();
+        state.timestamp = this.timeSource.currentTimeMillis();
+        return state;
+    }
+
+    /**
+     * Returns the track of the last session until the backend reported its current track.
+     * Implementations return it in {@link #getTrack()} while they don't know the current track yet.
+     *
+     * @return the provisional track or null if there is no unconfirmed state
+     */
+    protected Track getProvisionalTrack() {
+        return this.provisionalTrack;
+    }
+
+    /**
+     * Returns if there is a position of the last session that is not confirmed by the backend yet.
+     *
+     * @return true if there is a provisional position
+     */
+    protected boolean hasProvisionalPosition() {
+        return this.provisionalPosition != -1;
+    }
+
+    @Override
+    public boolean isStateConfirmed() {
+        return this.stateConfirmed;
+    }
+
+    /**
+     * Mark the end of a phase of the running tick for the flight recorder,
+     * so stalls can be attributed to a specific part of {@link #onTick()}.
+     *
+     * @param name the name of the phase that just ended
+     */
+    protected void markTickPhase(String name) {
+        this.tickSpan.phase(name);
+    }
+
+    private boolean isSpotifyPresent() {
+        try {
+            return this.presenceDetector.isPresent();
         } catch (Exception e) {
-            this.timeLastException = System.currentTimeMillis();
+            // Fall back to regular connection attempts
+            return true;
+        }
+    }
+
+    private void onTickFailed(Exception exception) {
+        this.tickFailures.increment();
+
+        SampleRecorder recorder = this.sampleRecorder;
+        if (recorder != null) {
+            recorder.recordFailure(
+                    this.timeSource.nanoTime(),
+                    exception.getClass().getName().hashCode() * 31 + Objects.hashCode(exception.getMessage())
+            );
+        }
+
+        if (!this.configuration.isAutoReconnect()) {
             this.stop();
 
             // Fire on disconnect
-            this.listeners.forEach(listener -> listener.onDisconnect(e));
+            this.fireDisconnect(exception);
+            return;
+        }
 
-            // Restart the process
-            if (this.configuration.isAutoReconnect()) {
-                this.initialize(this.configuration);
-            }
+        // Drop the connection, the scheduled task keeps running and reconnects once the supervisor allows it
+        ConnectionState previousState = this.supervisor.getState();
+        this.onReset();
+
+        // Fire on disconnect only once per outage
+        if (this.supervisor.onFailure(this.timeSource.currentTimeMillis(), this.configuration)) {
+            this.fireDisconnect(exception);
         }
+        this.fireConnectionStateChanged(previousState);
+    }
+
+    /**
+     * Record the raw state that was read from the backend in this tick, if a sample recorder is configured.
+     * It is called by the implementations after the backend was read.
+     *
+     * @param requestStart the {@link TimeSource#nanoTime()} before the backend call
+     * @param requestEnd   the {@link TimeSource#nanoTime()} after the backend call
+     * @param track        the current track or null if it is not known yet
+     * @param position     the position reported by the backend or -1 if it reported none
+     * @param playing      the playing state reported by the backend
+     */
+    protected void recordSample(long requestStart, long requestEnd, Track track, int position, boolean playing) {
+        SampleRecorder recorder = this.sampleRecorder;
+        if (recorder == null) {
+            return;
+        }
+
+        // Only a hash of the metadata is recorded, it is computed once per track
+        if (track != this.recordedTrack) {
+            this.recordedTrack = track;
+            this.recordedMetadataHash = track == null ? 0 : (Objects.hashCode(track.getName()) * 31
+                    + Objects.hashCode(track.getArtist())) * 31 + track.getLength();
+        }
+
+        recorder.recordSample(
+                requestStart,
+                requestEnd,
+                track == null ? null : track.getId(),
+                track == null ? 0 : track.getLength(),
+                this.recordedMetadataHash,
+                position,
+                playing
+        );
+    }
+
+    /**
+     * Drop the connection and the state of the backend.
+     * It is called when the api is stopped and when the connection is lost,
+     * the next tick has to connect again.
+     */
+    protected void onReset() {
+        this.positionClock.clear();
+
+        synchronized (this.pendingCommands) {
+            this.pendingCommands.clear();
+            this.drainScheduled = false;
+        }
+        synchronized (this.playbackLock) {
+            this.playing = false;
+            this.timeConfirmationDeadline = -1L;
+        }
+        this.publishedPlaying = false;
+        this.playbackOptions = null;
     }
 
     protected abstract void onTick() throws Exception;
 
+    /**
+     * Send a media key to the Spotify application.
+     * It is called on the tick thread, so it doesn't block the caller of {@link #pressMediaKey(MediaKey)}.
+     *
+     * @param mediaKey the key to send
+     * @throws Exception if the key could not be sent
+     */
+    protected abstract void sendMediaKey(MediaKey mediaKey) throws Exception;
+
+    /**
+     * Queue a media key without blocking the caller.
+     * Keys pressed in a burst are sent together on the tick thread, two play/pause presses cancel each other out.
+     * The expected playing state is applied immediately and rolled back
+     * if the backend doesn't confirm it within the confirmation window.
+     * The keys are dropped if the backend is not connected when they are sent.
+     *
+     * @param mediaKey the key to send
+     * @throws IllegalStateException if the api is not initialized
+     */
+    @Override
+    public void pressMediaKey(MediaKey mediaKey) {
+        ScheduledExecutorService executor = this.executor;
+        if (executor == null || !this.isInitialized()) {
+            throw new IllegalStateException("This SpotifyAPI is not initialized");
+        }
+
+        // Toggle the playing state optimistically
+        if (mediaKey == MediaKey.PLAY_PAUSE && this.isConnected()) {
+            synchronized (this.playbackLock) {
+                this.playing = !this.playing;
+                this.timeConfirmationDeadline = this.timeSource.currentTimeMillis() + CONFIRMATION_WINDOW;
+            }
+        }
+
+        synchronized (this.pendingCommands) {
+            this.pendingCommands.add(mediaKey);
+            if (this.drainScheduled) {
+                return;
+            }
+            this.drainScheduled = true;
+        }
+        executor.schedule(this::drainCommands, COMMAND_DEBOUNCE, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void drainCommands() {
+        List<MediaKey> commands;
+        synchronized (this.pendingCommands) {
+            commands = new ArrayList<>(this.pendingCommands);
+            this.pendingCommands.clear();
+            this.drainScheduled = false;
+        }
+
+        if (!this.isConnected()) {
+            // Nothing to control, drop the commands and the optimistic state
+            this.rollbackPlaying();
+            return;
+        }
+
+        try {
+            this.eventBus.beginBatch();
+            try {
+                // Publish the optimistic state
+                this.publishPlaying();
+
+                boolean toggle = false;
+                for (MediaKey command : commands) {
+                    if (command == MediaKey.PLAY_PAUSE) {
+                        toggle = !toggle;
+                        continue;
+                    }
+
+                    // Keep the order of play/pause and skips
+                    if (toggle) {
+                        this.sendMediaKey(MediaKey.PLAY_PAUSE);
+                        this.commands.increment();
+                        toggle = false;
+                    }
+                    this.sendMediaKey(command);
+                    this.commands.increment();
+                }
+                if (toggle) {
+                    this.sendMediaKey(MediaKey.PLAY_PAUSE);
+                    this.commands.increment();
+                }
+            } finally {
+                this.eventBus.endBatch();
+            }
+        } catch (Exception e) {
+            this.commandFailures.increment();
+            this.rollbackPlaying();
+            this.onTickFailed(e);
+            return;
+        }
+
+        // Update state immediately
+        this.onInternalTick();
+    }
+
+    /**
+     * Update the playing state with the state reported by the backend.
+     * An optimistic state is kept until the backend confirms it or the confirmation window expires.
+     *
+     * @param reportedPlaying the playing state reported by the backend
+     */
+    protected void updatePlaying(boolean reportedPlaying) {
+        synchronized (this.playbackLock) {
+            if (this.timeConfirmationDeadline == -1L
+                    || reportedPlaying == this.playing
+                    || this.timeSource.currentTimeMillis() > this.timeConfirmationDeadline) {
+                // Confirmed or rolled back
+                this.timeConfirmationDeadline = -1L;
+                this.playing = reportedPlaying;
+            }
+        }
+        this.publishPlaying();
+    }
+
+    private void rollbackPlaying() {
+        synchronized (this.playbackLock) {
+            if (this.timeConfirmationDeadline != -1L) {
+                this.timeConfirmationDeadline = -1L;
+                this.playing = this.publishedPlaying;
+            }
+        }
+    }
+
+    private void publishPlaying() {
+        boolean playing = this.playing;
+        this.positionClock.setPlaying(playing);
+        if (playing != this.publishedPlaying) {
+            this.publishedPlaying = playing;
+
+            // Fire on play back changed
+            this.firePlayBackChanged(playing);
+        }
+    }
+
+    /**
+     * Update the volume, shuffle and repeat options with the options reported by the backend.
+     *
+     * @param options the options reported by the backend
+     */
+    protected void updatePlaybackOptions(PlaybackOptions options) {
+        if (options.equals(this.playbackOptions)) {
+            return;
+        }
+        this.playbackOptions = options;
+
+        // Fire on playback options changed
+        if (this.eventBus.hasSubscribers(PlaybackOptionsChangedEvent.class)) {
+            this.eventBus.post(new PlaybackOptionsChangedEvent(this.timeSource.nanoTime(), this.getState(), options));
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> seek(int position) {
+        this.requireControl(TransportControl.SEEK);
+        return this.submitCommand(() -> this.sendSeek(position));
+    }
+
+    @Override
+    public CompletableFuture<Void> setVolume(float volume) {
+        this.requireControl(TransportControl.VOLUME);
+        if (volume < 0.0F || volume > 1.0F) {
+            throw new IllegalArgumentException("Volume must be between 0.0 and 1.0: " + volume);
+        }
+        return this.submitCommand(() -> this.sendVolume(volume));
+    }
+
+    @Override
+    public CompletableFuture<Void> setShuffle(boolean shuffle) {
+        this.requireControl(TransportControl.SHUFFLE);
+        return this.submitCommand(() -> this.sendShuffle(shuffle));
+    }
+
+    @Override
+    public CompletableFuture<Void> setRepeat(RepeatMode repeatMode) {
+        this.requireControl(TransportControl.of(repeatMode));
+        return this.submitCommand(() -> this.sendRepeat(repeatMode));
+    }
+
+    /**
+     * Fail before the command is queued if the platform doesn't implement it.
+     *
+     * @param control the control of the command
+     * @throws UnsupportedOperationException if the control is not supported
+     */
+    private void requireControl(TransportControl control) {
+        if (!this.supportsControl(control)) {
+            throw new UnsupportedOperationException(control + " is not supported on this platform");
+        }
+    }
+
+    /**
+     * Seek to the given position. It is called on the tick thread.
+     * Platforms that implement it have to report {@link TransportControl#SEEK} in {@link #getSupportedControls()}.
+     *
+     * @param position the position in milliseconds
+     * @throws Exception if the command could not be sent
+     */
+    protected void sendSeek(int position) throws Exception {
+        throw new UnsupportedOperationException("Seeking is not supported on this platform");
+    }
+
+    /**
+     * Set the volume of the player. It is called on the tick thread.
+     *
+     * @param volume the volume between 0.0 and 1.0
+     * @throws Exception if the command could not be sent
+     */
+    protected void sendVolume(float volume) throws Exception {
+        throw new UnsupportedOperationException("Changing the volume is not supported on this platform");
+    }
+
+    /**
+     * Enable or disable shuffle. It is called on the tick thread.
+     *
+     * @param shuffle true to enable shuffle
+     * @throws Exception if the command could not be sent
+     */
+    protected void sendShuffle(boolean shuffle) throws Exception {
+        throw new UnsupportedOperationException("Shuffle is not supported on this platform");
+    }
+
+    /**
+     * Set the repeat mode of the player. It is called on the tick thread.
+     *
+     * @param repeatMode the repeat mode
+     * @throws Exception if the command could not be sent
+     */
+    protected void sendRepeat(RepeatMode repeatMode) throws Exception {
+        throw new UnsupportedOperationException("Repeat is not supported on this platform");
+    }
+
+    /**
+     * Run a command on the tick thread and refresh the state afterward.
+     *
+     * @param command the command to run
+     * @return a future that completes once the command has been sent
+     */
+    private CompletableFuture<Void> submitCommand(BackendCommand command) {
+        ScheduledExecutorService executor = this.executor;
+        if (executor == null || !this.isInitialized()) {
+            throw new IllegalStateException("This SpotifyAPI is not initialized");
+        }
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            synchronized (this) {
+                if (!this.isConnected()) {
+                    future.completeExceptionally(new IllegalStateException("Spotify is not connected"));
+                    return;
+                }
+
+                try {
+                    command.run();
+                    this.commands.increment();
+                } catch (Exception e) {
+                    this.commandFailures.increment();
+                    future.completeExceptionally(e);
+                    return;
+                }
+
+                // Update state immediately
+                this.onInternalTick();
+                future.complete(null);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Publish the connect event.
+     */
+    protected void fireConnect() {
+        this.readiness.reach(ReadinessStage.BACKEND_CONNECTED);
+        this.connects.increment();
+        this.requestStateSave();
+        if (this.eventBus.hasSubscribers(ConnectedEvent.class)) {
+            this.eventBus.post(new ConnectedEvent(this.timeSource.nanoTime(), this.getState()));
+        }
+    }
+
+    /**
+     * Publish the track changed event.
+     *
+     * @param track the new track
+     */
+    protected void fireTrackChanged(Track track) {
+        // Skip the event if the backend confirms the track that was restored from the state file
+        Track provisionalTrack = this.provisionalTrack;
+        if (provisionalTrack != null) {
+            this.confirmState();
+            if (provisionalTrack.equals(track)) {
+                return;
+            }
+        }
+
+        // The provisional position belongs to the restored track
+        this.provisionalPosition = -1;
+
+        this.requestStateSave();
+        if (this.eventBus.hasSubscribers(TrackChangedEvent.class)) {
+            this.eventBus.post(new TrackChangedEvent(this.timeSource.nanoTime(), this.getState(), track));
+        }
+    }
+
+    /**
+     * Publish the position jump event.
+     *
+     * @param position the new position in milliseconds
+     */
+    protected void firePositionChanged(int position) {
+        this.requestStateSave();
+        if (this.eventBus.hasSubscribers(PositionJumpEvent.class)) {
+            this.eventBus.post(new PositionJumpEvent(this.timeSource.nanoTime(), this.getState(), position));
+        }
+    }
+
+    /**
+     * Publish the playback changed event.
+     *
+     * @param isPlaying true if the playback is playing, false if it is paused
+     */
+    protected void firePlayBackChanged(boolean isPlaying) {
+        this.requestStateSave();
+        if (this.eventBus.hasSubscribers(PlaybackChangedEvent.class)) {
+            this.eventBus.post(new PlaybackChangedEvent(this.timeSource.nanoTime(), this.getState(), isPlaying));
+        }
+    }
+
+    /**
+     * Publish the keep alive event.
+     */
+    protected void fireSync() {
+        if (this.eventBus.hasSubscribers(SyncEvent.class)) {
+            this.eventBus.post(new SyncEvent(this.timeSource.nanoTime(), this.getState()));
+        }
+    }
+
+    /**
+     * Publish the connection state changed event if the state of the supervisor differs from the given state.
+     *
+     * @param previousState the connection state before the change
+     */
+    private void fireConnectionStateChanged(ConnectionState previousState) {
+        ConnectionState state = this.supervisor.getState();
+        if (state != previousState && this.eventBus.hasSubscribers(ConnectionStateChangedEvent.class)) {
+            this.eventBus.post(new ConnectionStateChangedEvent(this.timeSource.nanoTime(), this.getState(), previousState, state));
+        }
+    }
+
+    /**
+     * Publish the disconnect event.
+     *
+     * @param exception the exception that occurred
+     */
+    protected void fireDisconnect(Exception exception) {
+        this.disconnects.increment();
+        if (this.eventBus.hasSubscribers(DisconnectedEvent.class)) {
+            this.eventBus.post(new DisconnectedEvent(this.timeSource.nanoTime(), this.getState(), exception));
+        }
+    }
+
     @Override
     public void registerListener(SpotifyListener listener) {
-        this.listeners.add(listener);
+        this.eventBus.registerListener(listener);
     }
 
     @Override
     public void unregisterListener(SpotifyListener listener) {
-        this.listeners.remove(listener);
+        this.eventBus.unregisterListener(listener);
+    }
+
+    @Override
+    public <E extends PlaybackEvent> EventSubscription subscribe(
+            Class<E> type,
+            Consumer<? super E> handler,
+            boolean coalesce
+    ) {
+        return this.eventBus.subscribe(type, handler, coalesce);
+    }
+
+    /**
+     * Returns the event bus that delivers all events of this api.
+     *
+     * @return the event bus of this api
+     */
+    public EventBus getEventBus() {
+        return this.eventBus;
+    }
+
+    @Override
+    public PlaybackEventPublisher getEventPublisher() {
+        return this.eventPublisher;
+    }
+
+    @Override
+    public Cue schedule(int position, Runnable callback) {
+        return this.cueScheduler.schedule(position, callback);
+    }
+
+    @Override
+    public Cue scheduleRepeating(int position, int interval, Runnable callback) {
+        return this.cueScheduler.scheduleRepeating(position, interval, callback);
+    }
+
+    @Override
+    public int getPosition() {
+        int provisionalPosition = this.provisionalPosition;
+        if (!this.positionClock.isKnown() && provisionalPosition != -1) {
+            return provisionalPosition;
+        }
+        return this.positionClock.getPosition();
+    }
+
+    @Override
+    public boolean hasPosition() {
+        return this.positionClock.isKnown() || this.hasProvisionalPosition();
+    }
+
+    @Override
+    public boolean isPlaying() {
+        return this.playing;
+    }
+
+    @Override
+    public boolean hasPlaybackOptions() {
+        return this.playbackOptions != null;
+    }
+
+    @Override
+    public PlaybackOptions getPlaybackOptions() {
+        PlaybackOptions options = this.playbackOptions;
+        if (options == null) {
+            throw new IllegalStateException("Playback options are not known");
+        }
+        return options;
     }
 
     @Override
@@ -121,6 +1060,16 @@ public abstract class AbstractTickSpotifyAPI implements SpotifyAPI {
         return this.configuration;
     }
 
+    /**
+     * Returns the connection state of the backend.
+     *
+     * @return the connection state
+     */
+    @Override
+    public ConnectionState getConnectionState() {
+        return this.supervisor.getState();
+    }
+
     @Override
     public void stop() {
         synchronized (this) {
@@ -128,12 +1077,72 @@ public abstract class AbstractTickSpotifyAPI implements SpotifyAPI {
                 this.task.cancel(true);
                 this.task = null;
             }
+
+            ConnectionState previousState = this.supervisor.getState();
+            this.supervisor.stop();
+            this.onReset();
+            this.fireConnectionStateChanged(previousState);
+        }
+    }
+
+    /**
+     * Returns the executor that delivers events to stream subscribers.
+     * It is taken from the configuration or a dedicated dispatch thread is created on first use.
+     *
+     * @return the dispatch executor
+     */
+    private synchronized Executor getDispatchExecutor() {
+        if (this.dispatchExecutor == null) {
+            Executor executor = this.configuration == null ? null : this.configuration.getDispatchExecutor();
+            if (executor == null) {
+                boolean daemon = this.configuration != null && this.configuration.isDaemonThreads();
+                this.ownedDispatchExecutor = Executors.newSingleThreadExecutor(
+                        SpotifyExecutors.threadFactory("SpotifyAPI Dispatch", daemon)
+                );
+                executor = this.ownedDispatchExecutor;
+            }
+            this.dispatchExecutor = executor;
         }
+        return this.dispatchExecutor;
     }
 
     @Override
     public void shutdown() {
-        this.stop();
-        this.executor.shutdownNow();
+        ExecutorService ownedDispatchExecutor;
+        synchronized (this) {
+            // Save the final state before it is reset
+            if (this.stateFile != null && this.stateConfirmed && this.isInitialized()) {
+                this.pendingSave.set(this.captureState());
+                this.writePendingState();
+            }
+
+            this.stop();
+            this.shutdown = true;
+
+            // Custom executors are owned by the caller
+            if (this.ownsExecutor) {
+                this.executor.shutdownNow();
+            }
+            ownedDispatchExecutor = this.ownedDispatchExecutor;
+
+            // Don't keep this instance alive in a shared registry
+            this.unbindGauges();
+        }
+        this.cueScheduler.clear();
+        this.readiness.fail(new IllegalStateException("This SpotifyAPI has been shutdown"));
+
+        // Complete the stream subscribers before the dispatcher goes away
+        this.eventPublisher.complete();
+        if (ownedDispatchExecutor != null) {
+            ownedDispatchExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Command that is sent to the backend on the tick thread.
+     */
+    @FunctionalInterface
+    private interface BackendCommand {
+        void run() throws Exception;
     }
 }
@@ -0,0 +1,183 @@
+package de.labystudio.spotifyapi.platform;
+
+import de.labystudio.spotifyapi.config.SpotifyConfiguration;
+import de.labystudio.spotifyapi.model.ConnectionState;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Supervisor of the backend connection that decides when the next connection attempt is allowed.
+ * <p>
+ * The first attempt after the start is made immediately ({@link ConnectionState#CONNECTING}).
+ * A lost connection is retried on the next tick first ({@link ConnectionState#DEGRADED}).
+ * Further failures are retried with an exponential backoff and jitter ({@link ConnectionState#BACKING_OFF}),
+ * starting at the exception reconnect delay of the configuration.
+ * After too many failures in a row, the circuit breaker opens and only probes the backend
+ * in the dormant retry interval ({@link ConnectionState#DORMANT}).
+ * <p>
+ * If Spotify is not running at all, the supervisor stays dormant without any connection attempts
+ * until the presence detector reports that Spotify has been started.
+ * The presence is checked in the exception reconnect delay, so the detector doesn't run on every tick.
+ * <p>
+ * An outage starts with the first failure and ends with the next successful tick.
+ *
+ * @author LabyStudio
+ */
+public class ConnectionSupervisor {
+
+    private ConnectionState state = ConnectionState.STOPPED;
+
+    private int failures;
+    private long timeNextAttempt;
+    private boolean outage;
+    private boolean absent;
+
+    private Random random;
+
+    /**
+     * Reset the supervisor when the api is initialized, so the next attempt is allowed immediately.
+     * The state is {@link ConnectionState#CONNECTING} until the first attempt succeeded or failed.
+     */
+    public synchronized void start() {
+        this.state = ConnectionState.CONNECTING;
+        this.failures = 0;
+        this.timeNextAttempt = 0L;
+        this.outage = false;
+        this.absent = false;
+    }
+
+    /**
+     * Set the random source of the backoff jitter.
+     * A seeded source makes the retries reproducible, e.g. in simulations on a virtual scheduler.
+     *
+     * @param random the random source or null to use the random source of the current thread
+     */
+    public synchronized void setRandom(Random random) {
+        this.random = random;
+    }
+
+    /**
+     * Stop the supervisor when the api is stopped.
+     */
+    public synchronized void stop() {
+        this.state = ConnectionState.STOPPED;
+        this.failures = 0;
+        this.timeNextAttempt = 0L;
+        this.outage = false;
+        this.absent = false;
+    }
+
+    /**
+     * Check if the backend may be accessed at the given time.
+     *
+     * @param now the current time in milliseconds
+     * @return true if the next attempt is due
+     */
+    public synchronized boolean isAttemptDue(long now) {
+        return now >= this.timeNextAttempt;
+    }
+
+    /**
+     * Report a successful tick. It ends the current outage and closes the circuit breaker.
+     */
+    public synchronized void onSuccess() {
+        this.state = ConnectionState.CONNECTED;
+        this.failures = 0;
+        this.timeNextAttempt = 0L;
+        this.outage = false;
+        this.absent = false;
+    }
+
+    /**
+     * Report a failed tick and schedule the next attempt.
+     *
+     * @param now           the current time in milliseconds
+     * @param configuration the configuration with the retry delays
+     * @return true if the failure started a new outage
+     */
+    public synchronized boolean onFailure(long now, SpotifyConfiguration configuration) {
+        boolean newOutage = !this.outage;
+        this.outage = true;
+
+        if (this.state == ConnectionState.CONNECTED) {
+            // Retry on the next tick, the connection might only be interrupted shortly
+            this.state = ConnectionState.DEGRADED;
+            this.timeNextAttempt = now;
+            return newOutage;
+        }
+
+        this.failures++;
+        if (this.failures >= configuration.getCircuitBreakerThreshold()) {
+            // Open the circuit breaker, only probe the backend rarely
+            this.state = ConnectionState.DORMANT;
+            this.timeNextAttempt = now + configuration.getDormantRetryInterval();
+        } else {
+            this.state = ConnectionState.BACKING_OFF;
+            this.timeNextAttempt = now + this.nextBackoff(configuration);
+        }
+        return newOutage;
+    }
+
+    private long nextBackoff(SpotifyConfiguration configuration) {
+        long base = Math.max(1L, configuration.getExceptionReconnectDelay());
+        long max = Math.max(base, configuration.getMaxReconnectDelay());
+
+        // Exponential backoff, the shift is limited to prevent an overflow
+        long delay = Math.min(max, base << Math.min(this.failures - 1, 30));
+
+        // Equal jitter, so multiple instances don't retry at the same time
+        long half = delay / 2;
+        if (this.random == null) {
+            return half + ThreadLocalRandom.current().nextLong(delay - half + 1);
+        }
+        return half + Math.floorMod(this.random.nextLong(), delay - half + 1);
+    }
+
+    /**
+     * Report that Spotify is not running. No connection attempts are made until it is present again,
+     * the presence is checked again after the exception reconnect delay.
+     *
+     * @param now           the current time in milliseconds
+     * @param configuration the configuration with the retry delays
+     * @return true if it started a new outage
+     */
+    public synchronized boolean onAbsent(long now, SpotifyConfiguration configuration) {
+        boolean newOutage = !this.outage;
+        this.outage = true;
+        this.absent = true;
+
+        this.state = ConnectionState.DORMANT;
+        this.failures = 0;
+        this.timeNextAttempt = now + Math.max(1L, configuration.getExceptionReconnectDelay());
+        return newOutage;
+    }
+
+    /**
+     * Report that Spotify is running. If it was absent before, the next attempt is allowed immediately.
+     */
+    public synchronized void onPresent() {
+        if (this.absent) {
+            this.absent = false;
+            this.timeNextAttempt = 0L;
+        }
+    }
+
+    /**
+     * Returns the current connection state.
+     *
+     * @return the connection state
+     */
+    public synchronized ConnectionState getState() {
+        return this.state;
+    }
+
+    /**
+     * Returns the number of failed attempts in a row since the connection was lost.
+     *
+     * @return the number of failed attempts
+     */
+    public synchronized int getFailures() {
+        return this.failures;
+    }
+}
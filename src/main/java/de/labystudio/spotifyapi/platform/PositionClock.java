@@ -0,0 +1,219 @@
+package de.labystudio.spotifyapi.platform;
+
+import de.labystudio.spotifyapi.time.TimeSource;
+
+/**
+ * Monotonic clock to interpolate the position of the current track between two backend samples.
+ * <p>
+ * It is based on the monotonic time of a {@link TimeSource}, so wall-clock jumps don't affect the interpolated position.
+ * Each backend sample is timestamped at the midpoint of the backend call to compensate the time spent in the call.
+ * The drift between the player and the local clock is estimated from successive samples,
+ * so that the interpolation error stays small and doesn't get reported as a seek.
+ *
+ * @author LabyStudio
+ */
+public class PositionClock {
+
+    /**
+     * A sample that differs more than this from the interpolated position is considered a seek.
+     * The uncertainty of the backend call is added on top of it.
+     */
+    public static final long SEEK_THRESHOLD = 1000L;
+
+    /**
+     * Minimal time window in milliseconds before the drift is estimated.
+     */
+    private static final double DRIFT_WINDOW = 5000D;
+
+    /**
+     * The estimated drift is limited to this ratio, everything above is a rate change or a seek.
+     */
+    private static final double MAX_DRIFT = 0.05D;
+
+    /**
+     * How much of the interpolation error is corrected with each sample.
+     */
+    private static final double CORRECTION_GAIN = 0.5D;
+
+    private TimeSource timeSource = TimeSource.system();
+
+    private boolean known;
+    private boolean playing;
+    private double rate = 1.0D;
+    private double drift;
+
+    // Interpolation base
+    private double basePosition;
+    private long baseTime;
+
+    // Anchor to estimate the drift
+    private double anchorPosition;
+    private long anchorTime;
+
+    /**
+     * Set the time source the position is interpolated with.
+     * It must be set before the first sample, otherwise the timestamps don't match.
+     *
+     * @param timeSource the time source
+     */
+    public synchronized void setTimeSource(TimeSource timeSource) {
+        this.timeSource = timeSource;
+    }
+
+    /**
+     * Returns true if the position is known.
+     *
+     * @return true if the position is known
+     */
+    public synchronized boolean isKnown() {
+        return this.known;
+    }
+
+    /**
+     * Returns the interpolated position at the current time.
+     *
+     * @return the interpolated position in milliseconds
+     * @throws IllegalStateException if the position is not known
+     */
+    public synchronized int getPosition() {
+        if (!this.known) {
+            throw new IllegalStateException("Position is not known yet");
+        }
+        return (int) Math.max(0, Math.round(this.positionAt(this.timeSource.nanoTime())));
+    }
+
+    /**
+     * Set the position hard at the current time, for example when the track changed.
+     *
+     * @param position the position in milliseconds
+     */
+    public synchronized void set(int position) {
+        this.rebase(position, this.timeSource.nanoTime());
+        this.resetAnchor();
+        this.known = true;
+    }
+
+    /**
+     * Feed a position sample that was read from the backend.
+     * The sample is timestamped at the midpoint of the backend call.
+     *
+     * @param position     the sampled position in milliseconds
+     * @param requestStart the {@link TimeSource#nanoTime()} before the backend call
+     * @param requestEnd   the {@link TimeSource#nanoTime()} after the backend call
+     * @return true if the sample is a seek and the position jumped
+     */
+    public synchronized boolean sample(int position, long requestStart, long requestEnd) {
+        long sampleTime = requestStart + (requestEnd - requestStart) / 2;
+
+        if (!this.known) {
+            this.rebase(position, sampleTime);
+            this.resetAnchor();
+            this.known = true;
+            return true;
+        }
+
+        double expected = this.positionAt(sampleTime);
+        double error = position - expected;
+
+        // The sample can be off by the half duration of the backend call
+        double uncertainty = (requestEnd - requestStart) / 2_000_000D;
+        if (Math.abs(error) > SEEK_THRESHOLD + uncertainty) {
+            this.rebase(position, sampleTime);
+            this.resetAnchor();
+            this.drift = 0;
+            return true;
+        }
+
+        // Estimate the drift of the player clock using the anchor as baseline
+        double elapsed = (sampleTime - this.anchorTime) / 1_000_000D;
+        if (this.playing && elapsed >= DRIFT_WINDOW) {
+            double observedRate = (position - this.anchorPosition) / elapsed;
+            double drift = observedRate / this.rate - 1.0D;
+            this.drift = Math.max(-MAX_DRIFT, Math.min(MAX_DRIFT, drift));
+        }
+
+        // Correct the interpolation error smoothly
+        this.rebase(expected + error * CORRECTION_GAIN, sampleTime);
+        return false;
+    }
+
+    /**
+     * Check if the given position differs from the interpolated position at the current time.
+     *
+     * @param position  the position to compare
+     * @param threshold the maximal allowed difference in milliseconds
+     * @return true if the position is unknown or differs more than the threshold
+     */
+    public synchronized boolean deviates(int position, long threshold) {
+        return !this.known || Math.abs(position - this.positionAt(this.timeSource.nanoTime())) > threshold;
+    }
+
+    /**
+     * Update the playing state. The interpolation is frozen while paused.
+     *
+     * @param playing true if the track is playing
+     */
+    public synchronized void setPlaying(boolean playing) {
+        if (this.playing == playing) {
+            return;
+        }
+
+        long now = this.timeSource.nanoTime();
+        this.rebase(this.positionAt(now), now);
+        this.playing = playing;
+        this.resetAnchor();
+    }
+
+    /**
+     * Update the playback rate, for example for podcasts played faster than 1x.
+     *
+     * @param rate the playback rate
+     */
+    public synchronized void setRate(double rate) {
+        if (rate <= 0 || this.rate == rate) {
+            return;
+        }
+
+        long now = this.timeSource.nanoTime();
+        this.rebase(this.positionAt(now), now);
+        this.rate = rate;
+        this.drift = 0;
+        this.resetAnchor();
+    }
+
+    public synchronized double getRate() {
+        return this.rate;
+    }
+
+    /**
+     * Reset the clock to the unknown state.
+     */
+    public synchronized void clear() {
+        this.known = false;
+        this.playing = false;
+        this.rate = 1.0D;
+        this.drift = 0;
+        this.basePosition = 0;
+        this.baseTime = 0;
+        this.anchorPosition = 0;
+        this.anchorTime = 0;
+    }
+
+    private double positionAt(long time) {
+        if (!this.playing) {
+            return this.basePosition;
+        }
+        double elapsed = (time - this.baseTime) / 1_000_000D;
+        return this.basePosition + elapsed * this.rate * (1.0D + this.drift);
+    }
+
+    private void rebase(double position, long time) {
+        this.basePosition = position;
+        this.baseTime = time;
+    }
+
+    private void resetAnchor() {
+        this.anchorPosition = this.basePosition;
+        this.anchorTime = this.baseTime;
+    }
+}
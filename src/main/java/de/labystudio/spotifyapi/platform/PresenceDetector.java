@@ -0,0 +1,21 @@
+package de.labystudio.spotifyapi.platform;
+
+/**
+ * Cheap check if the Spotify application is running.
+ * <p>
+ * It is used while the backend is not connected, so the expensive connection attempts
+ * only happen once Spotify has been started.
+ *
+ * @author LabyStudio
+ */
+@FunctionalInterface
+public interface PresenceDetector {
+
+    /**
+     * Check if the Spotify application is running.
+     *
+     * @return true if Spotify is running
+     * @throws Exception if the presence could not be checked
+     */
+    boolean isPresent() throws Exception;
+}
@@ -0,0 +1,75 @@
+package de.labystudio.spotifyapi.platform;
+
+import de.labystudio.spotifyapi.SpotifyAPI;
+import de.labystudio.spotifyapi.model.ReadinessStage;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Readiness futures of the initialization stages of a SpotifyAPI.
+ * Each future completes once when its stage has been reached for the first time.
+ * Reaching a stage also completes all previous stages.
+ *
+ * @author LabyStudio
+ */
+public class Readiness {
+
+    private final SpotifyAPI api;
+    private final Map<ReadinessStage, CompletableFuture<SpotifyAPI>> futures = new EnumMap<>(ReadinessStage.class);
+
+    public Readiness(SpotifyAPI api) {
+        this.api = api;
+        for (ReadinessStage stage : ReadinessStage.values()) {
+            this.futures.put(stage, new CompletableFuture<>());
+        }
+    }
+
+    /**
+     * Returns a new future that depends on the given stage.
+     * Completing or cancelling the returned future doesn't affect the stage itself.
+     *
+     * @param stage the stage to wait for
+     * @return a future that completes with the api once the stage has been reached
+     */
+    public CompletableFuture<SpotifyAPI> get(ReadinessStage stage) {
+        return this.futures.get(stage).thenApply(Function.identity());
+    }
+
+    /**
+     * Mark the given stage and all previous stages as reached.
+     *
+     * @param stage the reached stage
+     */
+    public void reach(ReadinessStage stage) {
+        for (ReadinessStage previous : ReadinessStage.values()) {
+            if (previous.ordinal() > stage.ordinal()) {
+                break;
+            }
+            this.futures.get(previous).complete(this.api);
+        }
+    }
+
+    /**
+     * Returns true if the given stage has been reached.
+     *
+     * @param stage the stage to check
+     * @return true if the stage has been reached
+     */
+    public boolean isReached(ReadinessStage stage) {
+        return this.futures.get(stage).isDone();
+    }
+
+    /**
+     * Fail all stages that have not been reached yet, e.g. because the api has been shut down.
+     *
+     * @param cause the reason why the stages won't be reached
+     */
+    public void fail(Throwable cause) {
+        for (CompletableFuture<SpotifyAPI> future : this.futures.values()) {
+            future.completeExceptionally(cause);
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package de.labystudio.spotifyapi.platform.fake;
+
+import de.labystudio.spotifyapi.model.PlaybackOptions;
+import de.labystudio.spotifyapi.model.RepeatMode;
+import de.labystudio.spotifyapi.model.Track;
+import de.labystudio.spotifyapi.time.TimeSource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Simulated Spotify application that is read by the {@link FakeSpotifyAPI}.
+ * It plays a queue of tracks and can be changed by a {@link FakeScenario} or by the commands of the api.
+ * <p>
+ * The position moves with the time source of the api, at the end of a track the next track of the queue is played.
+ *
+ * @author LabyStudio
+ */
+public class FakePlayer {
+
+    private final List<Track> queue = new ArrayList<>();
+
+    private TimeSource timeSource = TimeSource.system();
+
+    private boolean running;
+    private int trackIndex = -1;
+    private boolean playing;
+    private PlaybackOptions playbackOptions = new PlaybackOptions(1.0F, false, RepeatMode.OFF);
+    private boolean positionReported = true;
+
+    // Position at the time of the last change
+    private int anchorPosition;
+    private long timeAnchor;
+
+    private long changes;
+
+    /**
+     * Create a player with the given tracks in its queue.
+     * Tracks can be added while the player is running.
+     *
+     * @param tracks the tracks of the queue
+     */
+    public FakePlayer(Track... tracks) {
+        Collections.addAll(this.queue, tracks);
+    }
+
+    /**
+     * Set the time source the position moves with.
+     * It is set by the api before its first tick.
+     *
+     * @param timeSource the time source
+     */
+    public synchronized void setTimeSource(TimeSource timeSource) {
+        if (this.timeSource == timeSource) {
+            return;
+        }
+        int position = this.getPosition();
+        this.timeSource = timeSource;
+        this.rebase(position);
+    }
+
+    /**
+     * Start the application, it continues with the state before it was quit.
+     * If nothing was played yet, the first track of the queue starts playing.
+     */
+    public synchronized void start() {
+        if (this.running) {
+            return;
+        }
+        this.running = true;
+        if (this.trackIndex == -1 && !this.queue.isEmpty()) {
+            this.trackIndex = 0;
+            this.playing = true;
+            this.rebase(0);
+        } else {
+            // Continue where it was quit
+            this.rebase(this.anchorPosition);
+        }
+        this.changes++;
+    }
+
+    /**
+     * Quit the application, the state is kept until it is started again.
+     */
+    public synchronized void quit() {
+        if (!this.running) {
+            return;
+        }
+        this.rebase(this.getPosition());
+        this.running = false;
+        this.changes++;
+    }
+
+    /**
+     * Add a track to the end of the queue.
+     *
+     * @param track the track to add
+     */
+    public synchronized void enqueue(Track track) {
+        this.queue.add(track);
+    }
+
+    /**
+     * Add the track to the end of the queue and play it from the start.
+     *
+     * @param track the track to play
+     */
+    public synchronized void play(Track track) {
+        this.queue.add(track);
+        this.skipTo(this.queue.size() - 1);
+    }
+
+    /**
+     * Play the track at the given index of the queue from the start.
+     *
+     * @param index the index in the queue
+     */
+    public synchronized void play(int index) {
+        if (index < 0 || index >= this.queue.size()) {
+            throw new IllegalArgumentException("No track at index " + index + " of " + this.queue.size());
+        }
+        this.skipTo(index);
+    }
+
+    public synchronized void next() {
+        if (!this.queue.isEmpty()) {
+            this.skipTo((this.trackIndex + 1) % this.queue.size());
+        }
+    }
+
+    /**
+     * Go back to the previous track or to the start of the current track like the Spotify client does.
+     */
+    public synchronized void previous() {
+        if (this.queue.isEmpty()) {
+            return;
+        }
+        if (this.getPosition() > 3000) {
+            this.seek(0);
+            return;
+        }
+        this.skipTo((this.trackIndex - 1 + this.queue.size()) % this.queue.size());
+    }
+
+    public synchronized void resume() {
+        this.setPlaying(true);
+    }
+
+    public synchronized void pause() {
+        this.setPlaying(false);
+    }
+
+    public synchronized void playPause() {
+        this.setPlaying(!this.playing);
+    }
+
+    public synchronized void setPlaying(boolean playing) {
+        if (this.playing == playing) {
+            return;
+        }
+        this.rebase(this.getPosition());
+        this.playing = playing;
+        this.changes++;
+    }
+
+    /**
+     * Jump to the given position of the current track.
+     *
+     * @param position the position in milliseconds
+     */
+    public synchronized void seek(int position) {
+        Track track = this.getTrack();
+        if (track == null) {
+            throw new IllegalStateException("No track is playing");
+        }
+        this.rebase(Math.max(0, Math.min(position, track.getLength())));
+        this.changes++;
+    }
+
+    public synchronized void setPlaybackOptions(PlaybackOptions playbackOptions) {
+        this.playbackOptions = playbackOptions;
+        this.changes++;
+    }
+
+    public synchronized int getQueueSize() {
+        return this.queue.size();
+    }
+
+    /**
+     * Returns the index of the current track in the queue.
+     *
+     * @return the index or -1 if nothing was played yet
+     */
+    public synchronized int getQueueIndex() {
+        this.update();
+        return this.trackIndex;
+    }
+
+    public synchronized boolean isRunning() {
+        return this.running;
+    }
+
+    /**
+     * Returns the current track.
+     *
+     * @return the current track or null if nothing was played yet
+     */
+    public synchronized Track getTrack() {
+        this.update();
+        return this.trackIndex == -1 ? null : this.queue.get(this.trackIndex);
+    }
+
+    public synchronized boolean isPlaying() {
+        return this.playing;
+    }
+
+    /**
+     * Returns the position of the current track at the current time.
+     *
+     * @return the position in milliseconds
+     */
+    public synchronized int getPosition() {
+        Track track = this.getTrack();
+        if (track == null) {
+            return 0;
+        }
+        if (!this.playing || !this.running) {
+            return this.anchorPosition;
+        }
+        long elapsed = (this.timeSource.nanoTime() - this.timeAnchor) / 1_000_000L;
+        return (int) (this.anchorPosition + elapsed);
+    }
+
+    /**
+     * Set if the player reports its position.
+     * The Windows client for example doesn't report the position until the playback was paused once.
+     *
+     * @param positionReported true if the position is reported
+     */
+    public synchronized void setPositionReported(boolean positionReported) {
+        this.positionReported = positionReported;
+    }
+
+    public synchronized boolean isPositionReported() {
+        return this.positionReported;
+    }
+
+    public synchronized PlaybackOptions getPlaybackOptions() {
+        return this.playbackOptions;
+    }
+
+    /**
+     * Returns the amount of changes that were applied to the player.
+     * Changes between two ticks of the api are only visible as one.
+     *
+     * @return the amount of changes
+     */
+    public synchronized long getChanges() {
+        return this.changes;
+    }
+
+    private void update() {
+        while (this.running && this.playing && this.trackIndex != -1) {
+            Track track = this.queue.get(this.trackIndex);
+            long timeEnd = this.timeAnchor + (track.getLength() - this.anchorPosition) * 1_000_000L;
+            if (track.getLength() <= 0 || this.timeSource.nanoTime() < timeEnd) {
+                return;
+            }
+
+            // Continue with the next track at the time the current one ended
+            if (this.playbackOptions.getRepeatMode() != RepeatMode.TRACK) {
+                this.trackIndex = (this.trackIndex + 1) % this.queue.size();
+            }
+            this.anchorPosition = 0;
+            this.timeAnchor = timeEnd;
+            this.changes++;
+        }
+    }
+
+    private void skipTo(int index) {
+        this.trackIndex = index;
+        this.rebase(0);
+        this.changes++;
+    }
+
+    private void rebase(int position) {
+        this.anchorPosition = position;
+        this.timeAnchor = this.timeSource.nanoTime();
+    }
+}
@@ -0,0 +1,34 @@
+package de.labystudio.spotifyapi.platform.fake;
+
+/**
+ * Drives the changes of a {@link FakePlayer}.
+ * It is called once per tick before the api reads the player, also while Spotify is not running.
+ *
+ * @author LabyStudio
+ * @see RandomScenario
+ * @see ScriptedScenario
+ */
+@FunctionalInterface
+public interface FakeScenario {
+
+    /**
+     * Apply the changes of the given tick to the player.
+     *
+     * @param player the player to change
+     * @param tick   the number of the tick, starting at zero
+     */
+    void onTick(FakePlayer player, long tick);
+
+    /**
+     * Returns a scenario that only starts the player and lets it play.
+     *
+     * @return the idle scenario
+     */
+    static FakeScenario idle() {
+        return (player, tick) -> {
+            if (tick == 0) {
+                player.start();
+            }
+        };
+    }
+}
@@ -0,0 +1,286 @@
+package de.labystudio.spotifyapi.platform.fake;
+
+import de.labystudio.spotifyapi.model.MediaKey;
+import de.labystudio.spotifyapi.model.PlaybackOptions;
+import de.labystudio.spotifyapi.model.RepeatMode;
+import de.labystudio.spotifyapi.model.Track;
+import de.labystudio.spotifyapi.model.TransportControl;
+import de.labystudio.spotifyapi.platform.AbstractTickSpotifyAPI;
+import de.labystudio.spotifyapi.platform.PresenceDetector;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process SpotifyAPI that reads a {@link FakePlayer} instead of the Spotify application.
+ * It fires the same events in the same order as the real implementations,
+ * so consumers can be tested and load tested without Spotify, e.g. in CI:
+ * <pre>
+ * SpotifyAPI api = new FakeSpotifyAPI(new RandomScenario.Builder()
+ *         .seed(42)
+ *         .trackChanges(0.5)
+ *         .seeks(0.1)
+ *         .build());
+ * api.initialize(new SpotifyConfiguration.Builder()
+ *         .tickInterval(1)
+ *         .exceptionReconnectDelay(1)
+ *         .build());
+ * </pre>
+ * The scenario is advanced once per tick, the rate of events is controlled by the tick interval and the scenario.
+ * Lower the reconnect delay of the configuration if the scenario quits Spotify, otherwise it reconnects slowly.
+ *
+ * @author LabyStudio
+ */
+public class FakeSpotifyAPI extends AbstractTickSpotifyAPI {
+
+    private static final Set<TransportControl> CONTROLS = Collections.unmodifiableSet(EnumSet.allOf(TransportControl.class));
+
+    private final FakePlayer player;
+    private final FakeScenario scenario;
+
+    private final LongAdder ticks = new LongAdder();
+    private final LongAdder connects = new LongAdder();
+    private final LongAdder disconnects = new LongAdder();
+    private final LongAdder trackChanges = new LongAdder();
+    private final LongAdder positionChanges = new LongAdder();
+    private final LongAdder playbackChanges = new LongAdder();
+
+    private long tick;
+    private boolean commandSent;
+
+    private boolean connected;
+    private Track currentTrack;
+
+    public FakeSpotifyAPI(FakeScenario scenario) {
+        this(new FakePlayer(), scenario);
+    }
+
+    /**
+     * Create the api with a player that already has a queue or state.
+     *
+     * @param player   the player to read
+     * @param scenario the scenario that changes the player in each tick
+     */
+    public FakeSpotifyAPI(FakePlayer player, FakeScenario scenario) {
+        this.player = player;
+        this.scenario = scenario;
+    }
+
+    @Override
+    protected synchronized void onInternalTick() {
+        // The scenario may start the player before the backend is initialized, so it has to move with the api time
+        this.player.setTimeSource(this.timeSource);
+
+        // The refresh after a command is not a tick of the scenario
+        if (this.commandSent) {
+            this.commandSent = false;
+        } else {
+            this.scenario.onTick(this.player, this.tick++);
+            this.ticks.increment();
+        }
+        super.onInternalTick();
+    }
+
+    @Override
+    protected void onTick() throws Exception {
+        if (!this.player.isRunning()) {
+            throw new IllegalStateException("Spotify is not running");
+        }
+
+        // Read the whole state at a single point in time
+        long requestTime;
+        Track track;
+        boolean playing;
+        int position;
+        PlaybackOptions options;
+        synchronized (this.player) {
+            requestTime = this.timeSource.nanoTime();
+            track = this.player.getTrack();
+            playing = this.player.isPlaying();
+            position = this.player.isPositionReported() ? this.player.getPosition() : -1;
+            options = this.player.getPlaybackOptions();
+        }
+        if (track == null) {
+            throw new IllegalStateException("No track is playing");
+        }
+
+        // Handle on connect
+        if (!this.connected) {
+            this.connected = true;
+            this.fireConnect();
+        }
+
+        // Handle track changes
+        if (this.currentTrack == null || !this.currentTrack.getId().equals(track.getId())) {
+            boolean isFirstTrack = this.currentTrack == null;
+            this.currentTrack = track;
+
+            // Fire on track changed
+            this.fireTrackChanged(track);
+
+            // Reset position on song change
+            if (!isFirstTrack) {
+                this.positionClock.set(0);
+                this.firePositionChanged(0);
+            }
+        }
+        this.markTickPhase("track");
+
+        // Handle is playing changes
+        this.updatePlaying(playing);
+
+        // Handle volume, shuffle and repeat changes
+        this.updatePlaybackOptions(options);
+
+        // Handle position changes
+        if (position != -1 && this.positionClock.sample(position, requestTime, requestTime)) {
+            this.firePositionChanged(position);
+        }
+        this.markTickPhase("playback");
+        this.recordSample(requestTime, requestTime, this.currentTrack, position, playing);
+
+        // Fire keep alive
+        this.fireSync();
+    }
+
+    @Override
+    protected void sendMediaKey(MediaKey mediaKey) {
+        switch (mediaKey) {
+            case PLAY_PAUSE:
+                this.player.playPause();
+                break;
+            case NEXT:
+                this.player.next();
+                break;
+            case PREV:
+                this.player.previous();
+                break;
+        }
+        this.commandSent = true;
+    }
+
+    @Override
+    public Set<TransportControl> getSupportedControls() {
+        return CONTROLS;
+    }
+
+    @Override
+    protected void sendSeek(int position) {
+        this.player.seek(position);
+        this.commandSent = true;
+    }
+
+    @Override
+    protected void sendVolume(float volume) {
+        PlaybackOptions options = this.player.getPlaybackOptions();
+        this.player.setPlaybackOptions(new PlaybackOptions(volume, options.isShuffle(), options.getRepeatMode()));
+        this.commandSent = true;
+    }
+
+    @Override
+    protected void sendShuffle(boolean shuffle) {
+        PlaybackOptions options = this.player.getPlaybackOptions();
+        this.player.setPlaybackOptions(new PlaybackOptions(options.getVolume(), shuffle, options.getRepeatMode()));
+        this.commandSent = true;
+    }
+
+    @Override
+    protected void sendRepeat(RepeatMode repeatMode) {
+        PlaybackOptions options = this.player.getPlaybackOptions();
+        this.player.setPlaybackOptions(new PlaybackOptions(options.getVolume(), options.isShuffle(), repeatMode));
+        this.commandSent = true;
+    }
+
+    @Override
+    protected PresenceDetector createPresenceDetector() {
+        return this.player::isRunning;
+    }
+
+    @Override
+    protected void onReset() {
+        super.onReset();
+
+        this.connected = false;
+        this.currentTrack = null;
+    }
+
+    @Override
+    protected void fireConnect() {
+        this.connects.increment();
+        super.fireConnect();
+    }
+
+    @Override
+    protected void fireTrackChanged(Track track) {
+        this.trackChanges.increment();
+        super.fireTrackChanged(track);
+    }
+
+    @Override
+    protected void firePositionChanged(int position) {
+        this.positionChanges.increment();
+        super.firePositionChanged(position);
+    }
+
+    @Override
+    protected void firePlayBackChanged(boolean isPlaying) {
+        this.playbackChanges.increment();
+        super.firePlayBackChanged(isPlaying);
+    }
+
+    @Override
+    protected void fireDisconnect(Exception exception) {
+        this.disconnects.increment();
+        super.fireDisconnect(exception);
+    }
+
+    @Override
+    public Track getTrack() {
+        return this.currentTrack != null ? this.currentTrack : this.getProvisionalTrack();
+    }
+
+    @Override
+    public boolean isConnected() {
+        return this.connected;
+    }
+
+    public FakePlayer getPlayer() {
+        return this.player;
+    }
+
+    /**
+     * Returns the amount of ticks in which the scenario was advanced.
+     *
+     * @return the amount of ticks
+     */
+    public long getTicks() {
+        return this.ticks.sum();
+    }
+
+    public long getConnects() {
+        return this.connects.sum();
+    }
+
+    public long getDisconnects() {
+        return this.disconnects.sum();
+    }
+
+    public long getTrackChanges() {
+        return this.trackChanges.sum();
+    }
+
+    /**
+     * Returns the amount of position jumps, including the resets to zero on track changes.
+     *
+     * @return the amount of position jumps
+     */
+    public long getPositionChanges() {
+        return this.positionChanges.sum();
+    }
+
+    public long getPlaybackChanges() {
+        return this.playbackChanges.sum();
+    }
+}
@@ -0,0 +1,235 @@
+package de.labystudio.spotifyapi.platform.fake;
+
+import de.labystudio.spotifyapi.model.PlaybackOptions;
+import de.labystudio.spotifyapi.model.Track;
+
+import java.util.Random;
+
+/**
+ * Scenario that applies random changes with a fixed probability per tick.
+ * The same seed results in the same changes, so a load test can be reproduced.
+ * <p>
+ * The rate of a change is its probability times the ticks per second,
+ * e.g. a track change probability of 1.0 with a tick interval of 1ms results in 1000 track changes per second.
+ * On a {@link de.labystudio.spotifyapi.time.VirtualScheduler} the ticks are only limited by the CPU.
+ *
+ * @author LabyStudio
+ */
+public class RandomScenario implements FakeScenario {
+
+    private static final String ID_CHARACTERS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+
+    private final Random random;
+    private final double trackChangeProbability;
+    private final double seekProbability;
+    private final double playPauseProbability;
+    private final double optionsProbability;
+    private final double quitProbability;
+    private final double startProbability;
+    private final int trackPool;
+
+    private RandomScenario(
+            long seed,
+            double trackChangeProbability,
+            double seekProbability,
+            double playPauseProbability,
+            double optionsProbability,
+            double quitProbability,
+            double startProbability,
+            int trackPool
+    ) {
+        this.random = new Random(seed);
+        this.trackChangeProbability = trackChangeProbability;
+        this.seekProbability = seekProbability;
+        this.playPauseProbability = playPauseProbability;
+        this.optionsProbability = optionsProbability;
+        this.quitProbability = quitProbability;
+        this.startProbability = startProbability;
+        this.trackPool = trackPool;
+    }
+
+    @Override
+    public void onTick(FakePlayer player, long tick) {
+        // Spotify has to be started before it can play anything
+        if (!player.isRunning()) {
+            if (tick == 0 || this.chance(this.startProbability)) {
+                if (player.getQueueSize() == 0) {
+                    player.enqueue(this.createTrack());
+                }
+                player.start();
+            }
+            return;
+        }
+
+        if (this.chance(this.quitProbability)) {
+            player.quit();
+            return;
+        }
+
+        if (this.chance(this.trackChangeProbability)) {
+            this.changeTrack(player);
+        }
+        if (this.chance(this.seekProbability)) {
+            player.seek(this.random.nextInt(player.getTrack().getLength()));
+        }
+        if (this.chance(this.playPauseProbability)) {
+            player.playPause();
+        }
+        if (this.chance(this.optionsProbability)) {
+            PlaybackOptions options = player.getPlaybackOptions();
+            player.setPlaybackOptions(new PlaybackOptions(
+                    this.random.nextInt(101) / 100.0F,
+                    options.isShuffle(),
+                    options.getRepeatMode()
+            ));
+        }
+    }
+
+    private void changeTrack(FakePlayer player) {
+        // Fill the pool first, afterward the tracks are reused to keep the memory bounded
+        int size = player.getQueueSize();
+        if (size < this.trackPool) {
+            player.play(this.createTrack());
+            return;
+        }
+
+        // Pick any other track than the current one
+        int index = this.random.nextInt(size - 1);
+        if (index >= player.getQueueIndex()) {
+            index++;
+        }
+        player.play(index);
+    }
+
+    private Track createTrack() {
+        char[] id = new char[Track.ID_LENGTH];
+        for (int i = 0; i < id.length; i++) {
+            id[i] = ID_CHARACTERS.charAt(this.random.nextInt(ID_CHARACTERS.length()));
+        }
+        int number = this.random.nextInt(10_000);
+        int length = 120_000 + this.random.nextInt(240_000);
+        return new Track(new String(id), "Track " + number, "Artist " + number % 100, length, null);
+    }
+
+    private boolean chance(double probability) {
+        return probability > 0 && this.random.nextDouble() < probability;
+    }
+
+    /**
+     * Builder to create a new random scenario.
+     * All changes are disabled by default.
+     */
+    public static class Builder {
+
+        private long seed;
+        private double trackChangeProbability;
+        private double seekProbability;
+        private double playPauseProbability;
+        private double optionsProbability;
+        private double quitProbability;
+        private double startProbability = 1.0D;
+        private int trackPool = 100;
+
+        /**
+         * Set the seed of the random generator
+         *
+         * @param seed The seed
+         * @return The builder instance
+         */
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Set the probability per tick to play a different track
+         *
+         * @param probability The probability between 0.0 and 1.0
+         * @return The builder instance
+         */
+        public Builder trackChanges(double probability) {
+            this.trackChangeProbability = checkProbability(probability);
+            return this;
+        }
+
+        /**
+         * Set the probability per tick to seek to a random position
+         *
+         * @param probability The probability between 0.0 and 1.0
+         * @return The builder instance
+         */
+        public Builder seeks(double probability) {
+            this.seekProbability = checkProbability(probability);
+            return this;
+        }
+
+        /**
+         * Set the probability per tick to toggle between playing and paused
+         *
+         * @param probability The probability between 0.0 and 1.0
+         * @return The builder instance
+         */
+        public Builder playPauses(double probability) {
+            this.playPauseProbability = checkProbability(probability);
+            return this;
+        }
+
+        /**
+         * Set the probability per tick to change the volume
+         *
+         * @param probability The probability between 0.0 and 1.0
+         * @return The builder instance
+         */
+        public Builder optionChanges(double probability) {
+            this.optionsProbability = checkProbability(probability);
+            return this;
+        }
+
+        /**
+         * Let Spotify quit and start again, the api disconnects and connects again.
+         *
+         * @param quitProbability  The probability per tick to quit while running
+         * @param startProbability The probability per tick to start again while not running
+         * @return The builder instance
+         */
+        public Builder flapping(double quitProbability, double startProbability) {
+            this.quitProbability = checkProbability(quitProbability);
+            this.startProbability = checkProbability(startProbability);
+            return this;
+        }
+
+        /**
+         * Set the amount of different tracks that are created before they are played again
+         *
+         * @param trackPool The amount of different tracks
+         * @return The builder instance
+         */
+        public Builder trackPool(int trackPool) {
+            if (trackPool < 2) {
+                throw new IllegalArgumentException("Track pool needs at least two tracks: " + trackPool);
+            }
+            this.trackPool = trackPool;
+            return this;
+        }
+
+        public RandomScenario build() {
+            return new RandomScenario(
+                    this.seed,
+                    this.trackChangeProbability,
+                    this.seekProbability,
+                    this.playPauseProbability,
+                    this.optionsProbability,
+                    this.quitProbability,
+                    this.startProbability,
+                    this.trackPool
+            );
+        }
+
+        private static double checkProbability(double probability) {
+            if (probability < 0 || probability > 1) {
+                throw new IllegalArgumentException("Probability must be between 0 and 1: " + probability);
+            }
+            return probability;
+        }
+    }
+}
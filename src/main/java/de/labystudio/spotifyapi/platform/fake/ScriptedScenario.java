@@ -0,0 +1,95 @@
+package de.labystudio.spotifyapi.platform.fake;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Scenario that applies scripted changes at fixed ticks, optionally in a loop.
+ * <pre>
+ * FakeScenario scenario = new ScriptedScenario.Builder()
+ *         .at(0, FakePlayer::start)
+ *         .at(5, FakePlayer::next)
+ *         .at(10, player -&gt; player.seek(60_000))
+ *         .at(15, FakePlayer::quit)
+ *         .loop(20)
+ *         .build();
+ * </pre>
+ *
+ * @author LabyStudio
+ */
+public class ScriptedScenario implements FakeScenario {
+
+    private final List<Step> steps;
+    private final long loopLength;
+
+    private ScriptedScenario(List<Step> steps, long loopLength) {
+        this.steps = steps;
+        this.loopLength = loopLength;
+    }
+
+    @Override
+    public void onTick(FakePlayer player, long tick) {
+        long scriptTick = this.loopLength > 0 ? tick % this.loopLength : tick;
+        for (Step step : this.steps) {
+            if (step.tick == scriptTick) {
+                step.action.accept(player);
+            }
+        }
+    }
+
+    private static class Step {
+
+        private final long tick;
+        private final Consumer<FakePlayer> action;
+
+        private Step(long tick, Consumer<FakePlayer> action) {
+            this.tick = tick;
+            this.action = action;
+        }
+    }
+
+    /**
+     * Builder to create a new scripted scenario
+     */
+    public static class Builder {
+
+        private final List<Step> steps = new ArrayList<>();
+        private long loopLength;
+
+        /**
+         * Apply the given change at the given tick.
+         * Multiple changes of the same tick are applied in the order they were added.
+         *
+         * @param tick   The tick to apply the change at
+         * @param action The change to apply to the player
+         * @return The builder instance
+         */
+        public Builder at(long tick, Consumer<FakePlayer> action) {
+            if (tick < 0) {
+                throw new IllegalArgumentException("Tick must not be negative: " + tick);
+            }
+            this.steps.add(new Step(tick, action));
+            return this;
+        }
+
+        /**
+         * Repeat the script after the given amount of ticks.
+         *
+         * @param loopLength The length of the loop in ticks or 0 to run the script only once
+         * @return The builder instance
+         */
+        public Builder loop(long loopLength) {
+            if (loopLength < 0) {
+                throw new IllegalArgumentException("Loop length must not be negative: " + loopLength);
+            }
+            this.loopLength = loopLength;
+            return this;
+        }
+
+        public ScriptedScenario build() {
+            return new ScriptedScenario(Collections.unmodifiableList(new ArrayList<>(this.steps)), this.loopLength);
+        }
+    }
+}
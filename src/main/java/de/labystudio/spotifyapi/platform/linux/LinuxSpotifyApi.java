@@ -1,16 +1,24 @@
 package de.labystudio.spotifyapi.platform.linux;
 
-import de.labystudio.spotifyapi.SpotifyListener;
 import de.labystudio.spotifyapi.model.MediaKey;
+import de.labystudio.spotifyapi.model.PlaybackOptions;
+import de.labystudio.spotifyapi.model.RepeatMode;
 import de.labystudio.spotifyapi.model.Track;
+import de.labystudio.spotifyapi.model.TransportControl;
 import de.labystudio.spotifyapi.platform.AbstractTickSpotifyAPI;
+import de.labystudio.spotifyapi.platform.PresenceDetector;
 import de.labystudio.spotifyapi.platform.linux.api.MPRISCommunicator;
+import de.labystudio.spotifyapi.platform.linux.api.ProcPresenceDetector;
 import de.labystudio.spotifyapi.platform.linux.api.model.Metadata;
+import de.labystudio.spotifyapi.platform.linux.api.model.PlayerProperties;
 
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.net.URL;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Linux implementation of the SpotifyAPI.
@@ -21,135 +29,180 @@ import java.util.Objects;
  */
 public class LinuxSpotifyApi extends AbstractTickSpotifyAPI {
 
+    /**
+     * MPRIS supports all transport controls.
+     */
+    private static final Set<TransportControl> CONTROLS = Collections.unmodifiableSet(EnumSet.allOf(TransportControl.class));
+
     private boolean connected = false;
 
     private Track currentTrack;
-    private int currentPosition = -1;
-    private boolean isPlaying;
+    private String currentTrackPath;
 
-    private long lastTimePositionUpdated;
+    private final MPRISCommunicator mediaPlayer;
 
-    private final MPRISCommunicator mediaPlayer = new MPRISCommunicator();
+    public LinuxSpotifyApi() {
+        this(new MPRISCommunicator());
+    }
+
+    /**
+     * Create the api with a custom communicator, e.g. a stand-in for tests and benchmarks.
+     *
+     * @param mediaPlayer the communicator to read the player with
+     */
+    public LinuxSpotifyApi(MPRISCommunicator mediaPlayer) {
+        this.mediaPlayer = mediaPlayer;
+    }
+
+    @Override
+    protected void onInitialized() {
+        this.mediaPlayer.setMetrics(this.configuration.getMetrics());
+    }
 
     @Override
     protected void onTick() throws Exception {
-        Metadata metadata = this.mediaPlayer.readMetadata();
-        String trackId = metadata.getTrackId();
+        // Read all properties with a single dbus-send call, the position sample is timestamped at the midpoint of it
+        long requestStart = this.timeSource.nanoTime();
+        PlayerProperties player = this.mediaPlayer.readPlayer();
+        long requestEnd = this.timeSource.nanoTime();
+        this.markTickPhase("read");
 
         // Handle on connect
         if (!this.connected) {
             this.connected = true;
-            this.listeners.forEach(SpotifyListener::onConnect);
+            this.fireConnect();
         }
 
-        // Handle track changes
-        String currentTrackId = this.currentTrack == null ? null : this.currentTrack.getId();
-        if (!Objects.equals(trackId, currentTrackId)) {
+        // The rate can change with the track (e.g. podcasts)
+        this.positionClock.setRate(player.getRate());
+
+        // Handle track changes, the metadata is only built if the track path changed
+        if (this.currentTrack == null || !Objects.equals(player.getTrackPath(), this.currentTrackPath)) {
+            Metadata metadata = player.getMetadata();
+            String trackId = metadata.getTrackId();
             String trackName = metadata.getTrackName();
             String trackArtist = metadata.getArtistsJoined();
             int trackLength = metadata.getTrackLength();
             BufferedImage coverArt = this.toBufferedImage(metadata.getArtUrl());
 
-            boolean isFirstTrack = !this.hasTrack();
+            boolean isFirstTrack = this.currentTrack == null;
 
             Track track = new Track(trackId, trackName, trackArtist, trackLength, coverArt);
             this.currentTrack = track;
+            this.currentTrackPath = metadata.getTrackPath();
 
             // Fire on track changed
-            this.listeners.forEach(listener -> listener.onTrackChanged(track));
+            this.fireTrackChanged(track);
 
             // Reset position on song change
             if (!isFirstTrack) {
-                this.updatePosition(0);
+                this.positionClock.set(0);
+                this.firePositionChanged(0);
             }
         }
+        this.markTickPhase("track");
 
         // Handle is playing changes
-        boolean isPlaying = this.mediaPlayer.readIsPlaying();
-        if (isPlaying != this.isPlaying) {
-            this.isPlaying = isPlaying;
-
-            // Fire on play back changed
-            this.listeners.forEach(listener -> listener.onPlayBackChanged(isPlaying));
+        this.updatePlaying(player.isPlaying());
+
+        // Handle volume, shuffle and repeat changes
+        if (player.hasVolume()) {
+            this.updatePlaybackOptions(new PlaybackOptions(
+                    player.getVolume(),
+                    player.isShuffle(),
+                    toRepeatMode(player.getLoopStatus())
+            ));
         }
 
-        // Handle position changes
-        int position = this.mediaPlayer.readPosition();
-        if (!this.hasPosition() || Math.abs(position - this.getPosition()) >= 1000) {
-            this.updatePosition(position);
+        // Handle position changes, older players don't include the position in GetAll
+        int position;
+        if (player.hasPosition()) {
+            position = player.getPosition();
+        } else {
+            requestStart = this.timeSource.nanoTime();
+            position = this.mediaPlayer.readPosition();
+            requestEnd = this.timeSource.nanoTime();
+        }
+        if (this.positionClock.sample(position, requestStart, requestEnd)) {
+            this.firePositionChanged(position);
         }
+        this.markTickPhase("playback");
+        this.recordSample(requestStart, requestEnd, this.currentTrack, position, player.isPlaying());
 
         // Fire keep alive
-        this.listeners.forEach(SpotifyListener::onSync);
+        this.fireSync();
     }
 
     @Override
-    public void stop() {
-        super.stop();
-
-        this.connected = false;
-        this.currentTrack = null;
-        this.currentPosition = -1;
-        this.isPlaying = false;
-        this.lastTimePositionUpdated = 0;
+    public Set<TransportControl> getSupportedControls() {
+        return CONTROLS;
     }
 
-    private void updatePosition(int position) {
-        if (position == this.currentPosition) {
-            return;
+    @Override
+    protected void sendSeek(int position) throws Exception {
+        if (this.currentTrackPath == null) {
+            throw new IllegalStateException("No track is playing");
         }
+        this.mediaPlayer.setPosition(this.currentTrackPath, position);
+    }
 
-        // Update position known state
-        this.currentPosition = position;
-        this.lastTimePositionUpdated = System.currentTimeMillis();
+    @Override
+    protected void sendVolume(float volume) throws Exception {
+        this.mediaPlayer.setVolume(volume);
+    }
 
-        // Fire on position changed
-        this.listeners.forEach(listener -> listener.onPositionChanged(position));
+    @Override
+    protected void sendShuffle(boolean shuffle) throws Exception {
+        this.mediaPlayer.setShuffle(shuffle);
     }
 
     @Override
-    public void pressMediaKey(MediaKey mediaKey) {
-        try {
-            switch (mediaKey) {
-                case PLAY_PAUSE:
-                    this.mediaPlayer.playPause();
-                    break;
-                case NEXT:
-                    this.mediaPlayer.next();
-                    break;
-                case PREV:
-                    this.mediaPlayer.previous();
-                    break;
-            }
-        } catch (Exception e) {
-            this.listeners.forEach(listener -> listener.onDisconnect(e));
-            this.connected = false;
+    protected void sendRepeat(RepeatMode repeatMode) throws Exception {
+        switch (repeatMode) {
+            case OFF:
+                this.mediaPlayer.setLoopStatus("None");
+                break;
+            case CONTEXT:
+                this.mediaPlayer.setLoopStatus("Playlist");
+                break;
+            case TRACK:
+                this.mediaPlayer.setLoopStatus("Track");
+                break;
         }
     }
 
     @Override
-    public int getPosition() {
-        if (!this.hasPosition()) {
-            throw new IllegalStateException("Position is not known yet");
-        }
+    protected PresenceDetector createPresenceDetector() {
+        return new ProcPresenceDetector("spotify");
+    }
 
-        if (this.isPlaying) {
-            // Interpolate position
-            long timePassed = System.currentTimeMillis() - this.lastTimePositionUpdated;
-            return this.currentPosition + (int) timePassed;
-        } else {
-            return this.currentPosition;
-        }
+    @Override
+    protected void onReset() {
+        super.onReset();
+
+        this.connected = false;
+        this.currentTrack = null;
+        this.currentTrackPath = null;
     }
 
     @Override
-    public Track getTrack() {
-        return this.currentTrack;
+    protected void sendMediaKey(MediaKey mediaKey) throws Exception {
+        switch (mediaKey) {
+            case PLAY_PAUSE:
+                this.mediaPlayer.playPause();
+                break;
+            case NEXT:
+                this.mediaPlayer.next();
+                break;
+            case PREV:
+                this.mediaPlayer.previous();
+                break;
+        }
     }
 
     @Override
-    public boolean isPlaying() {
-        return this.isPlaying;
+    public Track getTrack() {
+        return this.currentTrack != null ? this.currentTrack : this.getProvisionalTrack();
     }
 
     @Override
@@ -157,9 +210,15 @@ public class LinuxSpotifyApi extends AbstractTickSpotifyAPI {
         return this.connected;
     }
 
-    @Override
-    public boolean hasPosition() {
-        return this.currentPosition != -1;
+    private static RepeatMode toRepeatMode(String loopStatus) {
+        switch (loopStatus) {
+            case "Playlist":
+                return RepeatMode.CONTEXT;
+            case "Track":
+                return RepeatMode.TRACK;
+            default:
+                return RepeatMode.OFF;
+        }
     }
 
     private BufferedImage toBufferedImage(String artUrl) {
@@ -1,5 +1,10 @@
 package de.labystudio.spotifyapi.platform.linux.api;
 
+import de.labystudio.spotifyapi.jfr.FlightRecorderEvents;
+import de.labystudio.spotifyapi.jfr.TraceSpan;
+import de.labystudio.spotifyapi.metrics.Counter;
+import de.labystudio.spotifyapi.metrics.LatencyHistogram;
+import de.labystudio.spotifyapi.metrics.SpotifyMetrics;
 import de.labystudio.spotifyapi.platform.linux.api.model.InterfaceMember;
 import de.labystudio.spotifyapi.platform.linux.api.model.Parameter;
 import de.labystudio.spotifyapi.platform.linux.api.model.Variant;
@@ -31,11 +36,16 @@ public class DBusSend {
 
     private static final Parameter PARAM_PRINT_REPLY = new Parameter("print-reply");
     private static final InterfaceMember INTERFACE_GET = new InterfaceMember("org.freedesktop.DBus.Properties.Get");
+    private static final InterfaceMember INTERFACE_GET_ALL = new InterfaceMember("org.freedesktop.DBus.Properties.GetAll");
+    private static final InterfaceMember INTERFACE_SET = new InterfaceMember("org.freedesktop.DBus.Properties.Set");
 
-    private final Parameter[] parameters;
-    private final String objectPath;
+    private final String[] argumentsPrefix;
     private final Runtime runtime;
 
+    private Counter calls = Counter.noop();
+    private Counter failures = Counter.noop();
+    private LatencyHistogram callDuration = LatencyHistogram.noop();
+
     /**
      * Creates a new DBusSend API for a specific application
      *
@@ -43,9 +53,27 @@ public class DBusSend {
      * @param objectPath The object path to use
      */
     public DBusSend(Parameter[] parameters, String objectPath) {
-        this.parameters = parameters;
-        this.objectPath = objectPath;
         this.runtime = Runtime.getRuntime();
+
+        // The leading arguments are the same for every call
+        this.argumentsPrefix = new String[2 + parameters.length + 1];
+        this.argumentsPrefix[0] = "dbus-send";
+        this.argumentsPrefix[1] = PARAM_PRINT_REPLY.toString();
+        for (int i = 0; i < parameters.length; i++) {
+            this.argumentsPrefix[2 + i] = parameters[i].toString();
+        }
+        this.argumentsPrefix[2 + parameters.length] = objectPath;
+    }
+
+    /**
+     * Record the calls, failures and durations of the dbus-send executions
+     *
+     * @param metrics The metrics to record to
+     */
+    public void setMetrics(SpotifyMetrics metrics) {
+        this.calls = metrics.counter("spotify_dbus_calls_total", "Executions of dbus-send");
+        this.failures = metrics.counter("spotify_dbus_failures_total", "Failed executions of dbus-send");
+        this.callDuration = metrics.histogram("spotify_dbus_call_duration_seconds", "Duration of a dbus-send execution");
     }
 
     /**
@@ -58,11 +86,40 @@ public class DBusSend {
     public Variant get(String... keys) throws Exception {
         String[] contents = new String[keys.length];
         for (int i = 0; i < keys.length; i++) {
-            contents[i] = String.format("string:%s", keys[i]);
+            contents[i] = "string:" + keys[i];
         }
         return this.send(INTERFACE_GET, contents);
     }
 
+    /**
+     * Request all properties of an interface with a single call
+     *
+     * @param interfaceName The name of the interface
+     * @return An array variant with a dict entry for each property
+     * @throws Exception If the request failed
+     */
+    public Variant getAll(String interfaceName) throws Exception {
+        return this.send(INTERFACE_GET_ALL, "string:" + interfaceName);
+    }
+
+    /**
+     * Change a property of an interface
+     *
+     * @param interfaceName The name of the interface
+     * @param property      The name of the property
+     * @param type          The D-Bus type of the value (e.g. "double" or "boolean")
+     * @param value         The new value
+     * @throws Exception If the request failed
+     */
+    public void set(String interfaceName, String property, String type, Object value) throws Exception {
+        this.send(
+                INTERFACE_SET,
+                "string:" + interfaceName,
+                "string:" + property,
+                "variant:" + type + ":" + value
+        );
+    }
+
     /**
      * Execute an DBusSend command.
      *
@@ -72,19 +129,45 @@ public class DBusSend {
      * @throws Exception If the command failed
      */
     public Variant send(InterfaceMember interfaceMember, String... contents) throws Exception {
-        // Build arguments
-        String[] arguments = new String[2 + this.parameters.length + 2 + contents.length];
-        arguments[0] = "dbus-send";
-        arguments[1] = PARAM_PRINT_REPLY.toString();
-        for (int i = 0; i < this.parameters.length; i++) {
-            arguments[2 + i] = this.parameters[i].toString();
+        long timeStart = System.nanoTime();
+        TraceSpan span = FlightRecorderEvents.beginBackendCall("dbus-send", interfaceMember.toString());
+        this.calls.increment();
+        try {
+            Variant result = this.execute(interfaceMember, contents);
+            span.setSuccess(true);
+            return result;
+        } catch (Exception e) {
+            this.failures.increment();
+            throw e;
+        } finally {
+            this.callDuration.recordSince(timeStart);
+            span.close();
         }
-        arguments[2 + this.parameters.length] = this.objectPath;
-        arguments[2 + this.parameters.length + 1] = interfaceMember.toString();
-        for (int i = 0; i < contents.length; i++) {
-            arguments[2 + this.parameters.length + 2 + i] = contents[i];
+    }
+
+    private Variant execute(InterfaceMember interfaceMember, String... contents) throws Exception {
+        // Build arguments
+        int prefixLength = this.argumentsPrefix.length;
+        String[] arguments = new String[prefixLength + 1 + contents.length];
+        System.arraycopy(this.argumentsPrefix, 0, arguments, 0, prefixLength);
+        arguments[prefixLength] = interfaceMember.toString();
+        System.arraycopy(contents, 0, arguments, prefixLength + 1, contents.length);
+
+        String response = this.exec(arguments);
+        if (response.isEmpty()) {
+            return new Variant("success", true);
         }
+        return Variant.parse(response);
+    }
 
+    /**
+     * Execute the dbus-send process and read the reply
+     *
+     * @param arguments The command line of the process
+     * @return The reply without the method header or an empty string if the method has no reply
+     * @throws Exception If the process failed
+     */
+    protected String exec(String[] arguments) throws Exception {
         // Execute dbus-send process
         Process process = this.runtime.exec(arguments);
         int exitCode = process.waitFor();
@@ -99,10 +182,7 @@ public class DBusSend {
                 }
                 builder.append(response).append("\n");
             }
-            if (builder.toString().isEmpty()) {
-                return new Variant("success", true);
-            }
-            return Variant.parse(builder.toString());
+            return builder.toString();
         } else {
             // Handle error message
             BufferedReader reader = new BufferedReader(new InputStreamReader(process.getErrorStream()));
@@ -1,8 +1,10 @@
 package de.labystudio.spotifyapi.platform.linux.api;
 
+import de.labystudio.spotifyapi.metrics.SpotifyMetrics;
 import de.labystudio.spotifyapi.platform.linux.api.model.InterfaceMember;
 import de.labystudio.spotifyapi.platform.linux.api.model.Metadata;
 import de.labystudio.spotifyapi.platform.linux.api.model.Parameter;
+import de.labystudio.spotifyapi.platform.linux.api.model.PlayerProperties;
 import de.labystudio.spotifyapi.platform.linux.api.model.Variant;
 
 import java.util.HashMap;
@@ -23,13 +25,48 @@ public class MPRISCommunicator {
     private static final InterfaceMember INTERFACE_PLAY_PAUSE = new InterfaceMember("org.mpris.MediaPlayer2.Player.PlayPause");
     private static final InterfaceMember INTERFACE_NEXT = new InterfaceMember("org.mpris.MediaPlayer2.Player.Next");
     private static final InterfaceMember INTERFACE_PREVIOUS = new InterfaceMember("org.mpris.MediaPlayer2.Player.Previous");
+    private static final InterfaceMember INTERFACE_SET_POSITION = new InterfaceMember("org.mpris.MediaPlayer2.Player.SetPosition");
 
-    private final DBusSend dbus = new DBusSend(
-            new Parameter[]{
-                    PARAM_DEST
-            },
-            "/org/mpris/MediaPlayer2"
-    );
+    private static final String INTERFACE_PLAYER = "org.mpris.MediaPlayer2.Player";
+
+    private final DBusSend dbus;
+
+    public MPRISCommunicator() {
+        this(new DBusSend(
+                new Parameter[]{
+                        PARAM_DEST
+                },
+                "/org/mpris/MediaPlayer2"
+        ));
+    }
+
+    /**
+     * Create a communicator that sends its calls through the given dbus-send wrapper
+     *
+     * @param dbus the dbus-send wrapper, e.g. a stand-in that replies with recorded responses
+     */
+    public MPRISCommunicator(DBusSend dbus) {
+        this.dbus = dbus;
+    }
+
+    /**
+     * Record the dbus-send calls of this communicator
+     *
+     * @param metrics the metrics to record to
+     */
+    public void setMetrics(SpotifyMetrics metrics) {
+        this.dbus.setMetrics(metrics);
+    }
+
+    /**
+     * Read all player properties with a single dbus-send call
+     *
+     * @return the properties of the player
+     * @throws Exception if the request failed
+     */
+    public PlayerProperties readPlayer() throws Exception {
+        return new PlayerProperties(this.dbus.getAll(INTERFACE_PLAYER).<Variant[]>getValue());
+    }
 
     public Metadata readMetadata() throws Exception {
         Map<String, Object> metadata = new HashMap<>();
@@ -59,4 +96,37 @@ public class MPRISCommunicator {
     public void previous() throws Exception {
         this.dbus.send(INTERFACE_PREVIOUS);
     }
+
+    /**
+     * Seek to a position of the given track
+     *
+     * @param trackPath the object path of the current track, the player ignores the request for other tracks
+     * @param position  the position in milliseconds
+     * @throws Exception if the request failed
+     */
+    public void setPosition(String trackPath, int position) throws Exception {
+        this.dbus.send(
+                INTERFACE_SET_POSITION,
+                String.format("objpath:%s", trackPath),
+                String.format("int64:%d", position * 1000L)
+        );
+    }
+
+    public void setVolume(double volume) throws Exception {
+        this.dbus.set(INTERFACE_PLAYER, "Volume", "double", volume);
+    }
+
+    public void setShuffle(boolean shuffle) throws Exception {
+        this.dbus.set(INTERFACE_PLAYER, "Shuffle", "boolean", shuffle);
+    }
+
+    /**
+     * Set the loop status of the player
+     *
+     * @param loopStatus "None", "Track" or "Playlist"
+     * @throws Exception if the request failed
+     */
+    public void setLoopStatus(String loopStatus) throws Exception {
+        this.dbus.set(INTERFACE_PLAYER, "LoopStatus", "string", loopStatus);
+    }
 }
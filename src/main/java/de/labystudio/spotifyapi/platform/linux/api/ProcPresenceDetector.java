@@ -0,0 +1,71 @@
+package de.labystudio.spotifyapi.platform.linux.api;
+
+import de.labystudio.spotifyapi.platform.PresenceDetector;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Checks if Spotify is running by scanning the process names in the /proc filesystem.
+ * It doesn't start any process, so it is much cheaper than a failing dbus-send call.
+ *
+ * @author LabyStudio
+ */
+public class ProcPresenceDetector implements PresenceDetector {
+
+    private static final File PROC = new File("/proc");
+
+    private final String processName;
+
+    private File lastProcess;
+
+    /**
+     * Creates a presence detector for a specific process name
+     *
+     * @param processName the name of the process as it appears in /proc/[pid]/comm
+     */
+    public ProcPresenceDetector(String processName) {
+        this.processName = processName;
+    }
+
+    @Override
+    public boolean isPresent() throws IOException {
+        // The process found last time is most likely still running
+        if (this.lastProcess != null && this.isProcess(this.lastProcess)) {
+            return true;
+        }
+        this.lastProcess = null;
+
+        File[] processes = PROC.listFiles((dir, name) -> isNumeric(name));
+        if (processes == null) {
+            throw new IOException("Could not list the processes in " + PROC);
+        }
+        for (File process : processes) {
+            if (this.isProcess(process)) {
+                this.lastProcess = process;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isProcess(File process) {
+        try {
+            byte[] comm = Files.readAllBytes(new File(process, "comm").toPath());
+            return new String(comm, StandardCharsets.UTF_8).trim().equals(this.processName);
+        } catch (IOException e) {
+            return false; // Process exited in the meantime
+        }
+    }
+
+    private static boolean isNumeric(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            if (!Character.isDigit(name.charAt(i))) {
+                return false;
+            }
+        }
+        return !name.isEmpty();
+    }
+}
@@ -4,6 +4,7 @@ import java.util.Map;
 
 public class Metadata {
 
+    private final String trackPath;
     private final String trackId;
     private final String trackName;
     private final String[] artists;
@@ -11,13 +12,18 @@ public class Metadata {
     private final String artUrl;
 
     public Metadata(Map<String, Object> metadata) {
-        this.trackId = ((String) metadata.get("mpris:trackid")).split("/")[4];
+        this.trackPath = (String) metadata.get("mpris:trackid");
+        this.trackId = this.trackPath.split("/")[4];
         this.trackName = metadata.get("xesam:title").toString();
         this.artists = (String[]) metadata.get("xesam:artist");
         this.trackLength = (int) ((Long) metadata.get("mpris:length") / 1000L) + 1;
         this.artUrl = (String) metadata.get("mpris:artUrl");
     }
 
+    public String getTrackPath() {
+        return this.trackPath;
+    }
+
     public String getTrackId() {
         return this.trackId;
     }
@@ -0,0 +1,91 @@
+package de.labystudio.spotifyapi.platform.linux.api.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * All properties of the MPRIS player interface, read with a single GetAll call.
+ *
+ * @author LabyStudio
+ */
+public class PlayerProperties {
+
+    private final Variant[] entries;
+
+    public PlayerProperties(Variant[] entries) {
+        this.entries = entries;
+    }
+
+    public Metadata getMetadata() {
+        Map<String, Object> metadata = new HashMap<>();
+        for (Variant entry : this.<Variant[]>get("Metadata")) {
+            metadata.put(entry.getSig(), entry.getValue());
+        }
+        return new Metadata(metadata);
+    }
+
+    /**
+     * Get the object path of the current track without building the full metadata.
+     * It is read on every tick to detect track changes.
+     *
+     * @return the object path of the current track or null if there is none
+     */
+    public String getTrackPath() {
+        Variant[] metadata = this.get("Metadata");
+        return metadata == null ? null : find(metadata, "mpris:trackid");
+    }
+
+    public boolean isPlaying() {
+        return "Playing".equals(this.get("PlaybackStatus"));
+    }
+
+    public boolean hasPosition() {
+        return this.get("Position") instanceof Number;
+    }
+
+    public int getPosition() {
+        return (int) (((Number) this.get("Position")).longValue() / 1000L);
+    }
+
+    public double getRate() {
+        Object rate = this.get("Rate");
+        return rate instanceof Number ? ((Number) rate).doubleValue() : 1.0D;
+    }
+
+    public boolean hasVolume() {
+        return this.get("Volume") instanceof Number;
+    }
+
+    public float getVolume() {
+        return ((Number) this.get("Volume")).floatValue();
+    }
+
+    public boolean isShuffle() {
+        return Boolean.TRUE.equals(this.get("Shuffle"));
+    }
+
+    /**
+     * Get the loop status of the player
+     *
+     * @return "None", "Track" or "Playlist"
+     */
+    public String getLoopStatus() {
+        Object loopStatus = this.get("LoopStatus");
+        return loopStatus == null ? "None" : loopStatus.toString();
+    }
+
+    private <T> T get(String key) {
+        return find(this.entries, key);
+    }
+
+    // The player only has a few properties, a linear lookup is cheaper than building a map on every tick
+    @SuppressWarnings("unchecked")
+    private static <T> T find(Variant[] entries, String key) {
+        for (Variant entry : entries) {
+            if (key.equals(entry.getSig())) {
+                return (T) entry.getValue();
+            }
+        }
+        return null;
+    }
+}
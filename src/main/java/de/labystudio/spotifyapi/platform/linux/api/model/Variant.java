@@ -1,7 +1,6 @@
 package de.labystudio.spotifyapi.platform.linux.api.model;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * DBus variant parser
@@ -14,6 +13,21 @@ import java.util.List;
  */
 public class Variant {
 
+    // Known type keywords of the dbus-send output
+    private static final String[] TYPES = {
+            "variant", "array", "dict", "string", "object", "int32", "uint32",
+            "int64", "uint64", "double", "boolean"
+    };
+
+    // Property names and states of the MPRIS player that are part of every reply
+    private static final String[] KNOWN_STRINGS = {
+            "PlaybackStatus", "LoopStatus", "Rate", "Shuffle", "Metadata", "Volume", "Position",
+            "MinimumRate", "MaximumRate", "CanGoNext", "CanGoPrevious", "CanPlay", "CanPause", "CanSeek", "CanControl",
+            "mpris:trackid", "mpris:length", "mpris:artUrl", "xesam:album", "xesam:albumArtist", "xesam:artist",
+            "xesam:autoRating", "xesam:discNumber", "xesam:title", "xesam:trackNumber", "xesam:url",
+            "Playing", "Paused", "Stopped", "None", "Track", "Playlist"
+    };
+
     private final String sig;
     private final Object value;
 
@@ -53,173 +67,233 @@ public class Variant {
     }
 
     public static Variant parse(String raw) {
-        // Cleanup
-        raw = raw.trim().replace("\n", "");
-        while (raw.contains("  ")) {
-            raw = raw.replace("  ", " ");
-        }
-        return new Variant("variant", parse0(raw));
+        // Parse in a single pass over the reply without copying it for each nested level
+        Parser parser = new Parser(raw);
+        return new Variant("variant", parser.parseValue(parser.nextType()));
     }
 
-    private static Object parse0(String raw) {
-        String[] segments = raw.split(" ", 2);
-        if (segments.length != 2) {
-            throw new IllegalArgumentException("Invalid variant: " + raw);
-        }
-
-        String signature = segments[0];
-        String payload = segments[1];
+    /**
+     * Cursor over the textual reply of dbus-send.
+     * Every value is printed as a type keyword followed by its content, strings are printed on their own line.
+     */
+    private static class Parser {
 
-        if (signature.startsWith("variant")) {
-            String[] variantSegments = payload.split(" ", 2);
-            return parseVariant(variantSegments[0], variantSegments[1]);
-        } else if (signature.startsWith("dict")) {
-            return parseDict(payload);
-        } else {
-            throw new IllegalArgumentException("Invalid variant signature: " + signature);
-        }
-    }
+        private final String raw;
+        private int index;
 
-    @SuppressWarnings("SuspiciousToArrayCall")
-    private static Object parseVariant(String type, String value) {
-        switch (type) {
-            case "array": {
-                String collection = value.substring(1, value.length() - 1).trim();
+        private Object[] stack = new Object[16];
+        private int size;
 
-                List<Object> list = new ArrayList<>();
-                StringBuilder buffer = new StringBuilder();
-                boolean nested = false;
-                boolean escaped = false;
-                boolean primitive = false;
-                String tempType = null;
+        private Parser(String raw) {
+            this.raw = raw;
+        }
 
-                for (int i = 0; i < collection.length(); i++) {
-                    char c = collection.charAt(i);
+        private Object parseValue(String type) {
+            switch (type) {
+                case "variant": {
+                    // The variant wrapper only carries the type of the actual value
+                    return this.parseValue(this.nextType());
+                }
+                case "array": {
+                    this.expect('[');
 
-                    if (c == '"') {
-                        escaped = !escaped;
-                    }
-                    if (!escaped) {
-                        if (c == '(') {
-                            nested = true;
-                        }
-                        if (c == ')') {
-                            nested = false;
-                            list.add(parseDict(buffer + ")"));
-                            buffer = new StringBuilder();
-                            continue;
-                        }
-                        if (!nested && c == ' ' && buffer.length() > 0) {
-                            String keyword = buffer.toString().trim();
-                            buffer = new StringBuilder();
-
-                            if (tempType == null) {
-                                if (!keyword.equals("dict")) {
-                                    tempType = keyword;
-                                }
-                            } else {
-                                Object variant = parseVariant(tempType, keyword);
-                                if (!(variant instanceof Variant)) {
-                                    primitive = true;
-                                }
-                                list.add(variant);
-                                tempType = null;
-                            }
+                    // Elements of nested arrays are collected on the same stack
+                    int start = this.size;
+                    boolean primitive = false;
+                    while (!this.consume(']')) {
+                        Object value = this.parseValue(this.nextType());
+                        if (!(value instanceof Variant)) {
+                            primitive = true;
                         }
+                        this.push(value);
                     }
-                    buffer.append(c);
-                }
 
-                if (tempType != null) {
-                    String keyword = buffer.toString().trim();
-                    Object variant = parseVariant(tempType, keyword);
-                    if (!(variant instanceof Variant)) {
-                        primitive = true;
+                    Object[] array;
+                    if (!primitive) {
+                        array = new Variant[this.size - start];
+                    } else if (this.stack[start] instanceof String) {
+                        array = new String[this.size - start];
+                    } else {
+                        array = new Object[this.size - start];
                     }
-                    list.add(variant);
+                    System.arraycopy(this.stack, start, array, 0, array.length);
+                    Arrays.fill(this.stack, start, this.size, null);
+                    this.size = start;
+                    return array;
                 }
+                case "dict": {
+                    this.expectKeyword("entry(");
 
-                if (primitive) {
-                    if (list.get(0) instanceof String) {
-                        return list.toArray(new String[0]);
+                    String keyType = this.nextType();
+                    if (!keyType.equals("string")) {
+                        throw new IllegalArgumentException("Invalid dict sig type: " + keyType);
                     }
-                    return list.toArray();
+                    String sig = this.parseString();
+                    Object value = this.parseValue(this.nextType());
+                    this.expect(')');
+                    return new Variant(sig, value);
+                }
+                case "string": {
+                    return this.parseString();
                 }
+                case "object": {
+                    this.expectKeyword("path");
+                    return this.parseString();
+                }
+                case "int32": {
+                    return (int) this.parseLong();
+                }
+                case "uint32": {
+                    return (int) this.parseLong();
+                }
+                case "int64":
+                case "uint64": {
+                    return this.parseLong();
+                }
+                case "double": {
+                    return Double.parseDouble(this.nextToken());
+                }
+                case "boolean": {
+                    return this.nextKeyword("true");
+                }
+                default: {
+                    return this.nextToken();
+                }
+            }
+        }
 
-                return list.toArray(new Variant[0]);
+        private void push(Object value) {
+            if (this.size == this.stack.length) {
+                this.stack = Arrays.copyOf(this.stack, this.size * 2);
             }
-            case "string": {
-                return value.substring(1, value.length() - 1);
+            this.stack[this.size++] = value;
+        }
+
+        private String nextType() {
+            this.skipWhitespace();
+            if (this.index >= this.raw.length()) {
+                throw new IllegalArgumentException("Invalid variant: " + this.raw);
             }
-            case "int32": {
-                return Integer.parseInt(value);
+
+            // Avoid a substring for the known type keywords
+            for (String type : TYPES) {
+                if (this.raw.startsWith(type, this.index) && this.isTokenEnd(this.index + type.length())) {
+                    this.index += type.length();
+                    return type;
+                }
             }
-            case "uint32": {
-                return Integer.parseUnsignedInt(value);
+            return this.nextToken();
+        }
+
+        private String parseString() {
+            this.expect('"');
+
+            // Strings are printed without escaping, the last quote of the line closes it
+            int lineEnd = this.raw.indexOf('\n', this.index);
+            if (lineEnd == -1) {
+                lineEnd = this.raw.length();
+            }
+            int end = this.raw.lastIndexOf('"', lineEnd - 1);
+            if (end < this.index) {
+                throw new IllegalArgumentException("Unterminated string at " + this.index);
             }
-            case "int64": {
-                return Long.parseLong(value);
+
+            String value = known(this.raw, this.index, end - this.index);
+            if (value == null) {
+                value = this.raw.substring(this.index, end);
             }
-            case "uint64": {
-                return Long.parseUnsignedLong(value);
+            this.index = end + 1;
+            return value;
+        }
+
+        private long parseLong() {
+            this.skipWhitespace();
+
+            boolean negative = this.index < this.raw.length() && this.raw.charAt(this.index) == '-';
+            if (negative) {
+                this.index++;
             }
-            case "double": {
-                return Double.parseDouble(value);
+
+            long value = 0;
+            int start = this.index;
+            while (this.index < this.raw.length()) {
+                char c = this.raw.charAt(this.index);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                value = value * 10 + (c - '0');
+                this.index++;
             }
-            default: {
-                return value;
+            if (start == this.index) {
+                throw new IllegalArgumentException("Invalid number at " + start);
             }
+            return negative ? -value : value;
         }
-    }
 
-    private static Variant parseDict(String payload) {
-        String sigType = null;
-        String sig = null;
+        private boolean nextKeyword(String keyword) {
+            this.skipWhitespace();
+            if (this.raw.startsWith(keyword, this.index) && this.isTokenEnd(this.index + keyword.length())) {
+                this.index += keyword.length();
+                return true;
+            }
+            this.nextToken();
+            return false;
+        }
 
-        StringBuilder buffer = new StringBuilder();
-        boolean nested = false;
-        boolean escaped = false;
+        private void expectKeyword(String keyword) {
+            if (!this.nextKeyword(keyword)) {
+                throw new IllegalArgumentException("Expected " + keyword + " at " + this.index);
+            }
+        }
+
+        private String nextToken() {
+            this.skipWhitespace();
+            int start = this.index;
+            while (!this.isTokenEnd(this.index)) {
+                this.index++;
+            }
+            return this.raw.substring(start, this.index);
+        }
 
-        for (int i = 0; i < payload.length(); i++) {
-            char c = payload.charAt(i);
+        private boolean consume(char c) {
+            this.skipWhitespace();
+            if (this.index >= this.raw.length()) {
+                throw new IllegalArgumentException("Unexpected end of variant, expected " + c);
+            }
+            if (this.raw.charAt(this.index) == c) {
+                this.index++;
+                return true;
+            }
+            return false;
+        }
 
-            if (c == '"') {
-                escaped = !escaped;
+        private void expect(char c) {
+            if (!this.consume(c)) {
+                throw new IllegalArgumentException("Expected " + c + " at " + this.index);
             }
-            if (!escaped) {
-                if (c == '(') {
-                    nested = true;
-                    continue;
-                }
-                if (c == ')') {
-                    nested = false;
-                    continue;
-                }
-                if (nested && c == ' ') {
-                    if (buffer.length() == 0) {
-                        continue;
-                    }
+        }
 
-                    if (sigType == null) {
-                        sigType = buffer.toString();
-                        buffer = new StringBuilder();
+        private void skipWhitespace() {
+            while (this.index < this.raw.length() && Character.isWhitespace(this.raw.charAt(this.index))) {
+                this.index++;
+            }
+        }
 
-                        if (!sigType.equals("string")) {
-                            throw new IllegalArgumentException("Invalid dict sig type: " + sigType);
-                        }
-                    } else if (sig == null) {
-                        sig = (String) Variant.parseVariant(sigType, buffer.toString().trim());
-                        buffer = new StringBuilder();
-                    }
+        private static String known(String raw, int offset, int length) {
+            for (String known : KNOWN_STRINGS) {
+                if (known.length() == length && raw.startsWith(known, offset)) {
+                    return known;
                 }
             }
+            return null;
+        }
 
-            if (nested) {
-                buffer.append(c);
+        private boolean isTokenEnd(int index) {
+            if (index >= this.raw.length()) {
+                return true;
             }
+            char c = this.raw.charAt(index);
+            return Character.isWhitespace(c) || c == ')' || c == ']';
         }
-        return new Variant(sig, parse0(buffer.toString().trim()));
     }
-
-
 }
@@ -1,12 +1,20 @@
 package de.labystudio.spotifyapi.platform.osx;
 
-import de.labystudio.spotifyapi.SpotifyListener;
 import de.labystudio.spotifyapi.model.MediaKey;
+import de.labystudio.spotifyapi.model.PlaybackOptions;
+import de.labystudio.spotifyapi.model.RepeatMode;
 import de.labystudio.spotifyapi.model.Track;
+import de.labystudio.spotifyapi.model.TransportControl;
 import de.labystudio.spotifyapi.platform.AbstractTickSpotifyAPI;
+import de.labystudio.spotifyapi.platform.PresenceDetector;
+import de.labystudio.spotifyapi.platform.osx.api.PgrepPresenceDetector;
+import de.labystudio.spotifyapi.platform.osx.api.spotify.PlayerStatus;
 import de.labystudio.spotifyapi.platform.osx.api.spotify.SpotifyAppleScript;
 
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * OSX implementation of the SpotifyAPI.
@@ -16,24 +24,54 @@ import java.util.Objects;
  */
 public class OSXSpotifyApi extends AbstractTickSpotifyAPI {
 
-    private final SpotifyAppleScript appleScript = new SpotifyAppleScript();
+    /**
+     * All controls except {@link TransportControl#REPEAT_TRACK}, see {@link #sendRepeat(RepeatMode)}.
+     */
+    private static final Set<TransportControl> CONTROLS = Collections.unmodifiableSet(EnumSet.of(
+            TransportControl.SEEK,
+            TransportControl.VOLUME,
+            TransportControl.SHUFFLE,
+            TransportControl.REPEAT
+    ));
+
+    private final SpotifyAppleScript appleScript;
 
     private boolean connected = false;
 
     private Track currentTrack;
-    private int currentPosition = -1;
-    private boolean isPlaying;
 
-    private long lastTimePositionUpdated;
+    public OSXSpotifyApi() {
+        this(new SpotifyAppleScript());
+    }
+
+    /**
+     * Create the api with a custom AppleScript wrapper, e.g. a stand-in for tests and benchmarks.
+     *
+     * @param appleScript the AppleScript wrapper to talk to Spotify with
+     */
+    public OSXSpotifyApi(SpotifyAppleScript appleScript) {
+        this.appleScript = appleScript;
+    }
+
+    @Override
+    protected void onInitialized() {
+        this.appleScript.setMetrics(this.configuration.getMetrics());
+    }
 
     @Override
     protected void onTick() throws Exception {
-        String trackId = this.appleScript.getTrackId();
+        // Read the player with a single osascript call, the position sample is timestamped at the midpoint of it
+        long requestStart = this.timeSource.nanoTime();
+        PlayerStatus status = this.appleScript.getPlayerStatus();
+        long requestEnd = this.timeSource.nanoTime();
+        this.markTickPhase("read");
+
+        String trackId = status.getTrackId();
 
         // Handle on connect
         if (!this.connected && !trackId.isEmpty()) {
             this.connected = true;
-            this.listeners.forEach(SpotifyListener::onConnect);
+            this.fireConnect();
         }
 
         // Handle track changes
@@ -42,7 +80,7 @@ public class OSXSpotifyApi extends AbstractTickSpotifyAPI {
             String trackArtist = this.appleScript.getTrackArtist();
             int trackLength = this.appleScript.getTrackLength();
 
-            boolean isFirstTrack = !this.hasTrack();
+            boolean isFirstTrack = this.currentTrack == null;
 
             Track track = new Track(
                     trackId,
@@ -54,110 +92,105 @@ public class OSXSpotifyApi extends AbstractTickSpotifyAPI {
             this.currentTrack = track;
 
             // Fire on track changed
-            this.listeners.forEach(listener -> listener.onTrackChanged(track));
+            this.fireTrackChanged(track);
 
             // Reset position on song change
             if (!isFirstTrack) {
-                this.updatePosition(0);
+                this.positionClock.set(0);
+                this.firePositionChanged(0);
             }
         }
+        this.markTickPhase("track");
 
         // Handle is playing changes
-        boolean isPlaying = this.appleScript.getPlayerState();
-        if (isPlaying != this.isPlaying) {
-            this.isPlaying = isPlaying;
+        this.updatePlaying(status.isPlaying());
 
-            // Fire on play back changed
-            this.listeners.forEach(listener -> listener.onPlayBackChanged(isPlaying));
-        }
+        // Handle volume, shuffle and repeat changes
+        this.updatePlaybackOptions(new PlaybackOptions(
+                status.getVolume() / 100.0F,
+                status.isShuffling(),
+                status.isRepeating() ? RepeatMode.CONTEXT : RepeatMode.OFF
+        ));
 
         // Handle position changes
-        int position = this.appleScript.getPlayerPosition();
-        if (!this.hasPosition() || Math.abs(position - this.getPosition()) > 1000) {
-            this.updatePosition(position);
+        int position = status.getPosition();
+        if (this.positionClock.sample(position, requestStart, requestEnd)) {
+            this.firePositionChanged(position);
         }
+        this.markTickPhase("playback");
+        this.recordSample(requestStart, requestEnd, this.currentTrack, position, status.isPlaying());
 
         // Fire keep alive
-        this.listeners.forEach(SpotifyListener::onSync);
+        this.fireSync();
     }
 
     @Override
-    public void stop() {
-        super.stop();
-
-        this.connected = false;
-        this.currentTrack = null;
-        this.currentPosition = -1;
-        this.isPlaying = false;
-        this.lastTimePositionUpdated = 0;
+    public Set<TransportControl> getSupportedControls() {
+        return CONTROLS;
     }
 
-    private void updatePosition(int position) {
-        if (position == this.currentPosition) {
-            return;
-        }
-
-        // Update position known state
-        this.currentPosition = position;
-        this.lastTimePositionUpdated = System.currentTimeMillis();
+    @Override
+    protected void sendSeek(int position) throws Exception {
+        this.appleScript.setPlayerPosition(position);
+    }
 
-        // Fire on position changed
-        this.listeners.forEach(listener -> listener.onPositionChanged(position));
+    @Override
+    protected void sendVolume(float volume) throws Exception {
+        this.appleScript.setSoundVolume(Math.round(volume * 100));
     }
 
     @Override
-    public void pressMediaKey(MediaKey mediaKey) {
-        try {
-            switch (mediaKey) {
-                case PLAY_PAUSE:
-                    this.appleScript.playPause();
-                    break;
-                case NEXT:
-                    this.appleScript.nextTrack();
-                    break;
-                case PREV:
-                    this.appleScript.previousTrack();
-                    break;
-            }
-        } catch (Exception e) {
-            this.listeners.forEach(listener -> listener.onDisconnect(e));
-            this.connected = false;
-        }
+    protected void sendShuffle(boolean shuffle) throws Exception {
+        this.appleScript.setShuffling(shuffle);
     }
 
+    /**
+     * AppleScript only knows a repeating flag, so repeating the current track is not supported.
+     */
     @Override
-    public int getPosition() {
-        if (!this.hasPosition()) {
-            throw new IllegalStateException("Position is not known yet");
+    protected void sendRepeat(RepeatMode repeatMode) throws Exception {
+        if (repeatMode == RepeatMode.TRACK) {
+            throw new UnsupportedOperationException("Repeating a single track is not supported on macOS");
         }
+        this.appleScript.setRepeating(repeatMode == RepeatMode.CONTEXT);
+    }
 
-        if (this.isPlaying) {
-            // Interpolate position
-            long timePassed = System.currentTimeMillis() - this.lastTimePositionUpdated;
-            return this.currentPosition + (int) timePassed;
-        } else {
-            return this.currentPosition;
-        }
+    @Override
+    protected PresenceDetector createPresenceDetector() {
+        return new PgrepPresenceDetector("Spotify");
     }
 
     @Override
-    public Track getTrack() {
-        return this.currentTrack;
+    protected void onReset() {
+        super.onReset();
+
+        this.connected = false;
+        this.currentTrack = null;
     }
 
     @Override
-    public boolean isPlaying() {
-        return this.isPlaying;
+    protected void sendMediaKey(MediaKey mediaKey) throws Exception {
+        switch (mediaKey) {
+            case PLAY_PAUSE:
+                this.appleScript.playPause();
+                break;
+            case NEXT:
+                this.appleScript.nextTrack();
+                break;
+            case PREV:
+                this.appleScript.previousTrack();
+                break;
+        }
     }
 
     @Override
-    public boolean isConnected() {
-        return this.connected;
+    public Track getTrack() {
+        return this.currentTrack != null ? this.currentTrack : this.getProvisionalTrack();
     }
 
     @Override
-    public boolean hasPosition() {
-        return this.currentPosition != -1;
+    public boolean isConnected() {
+        return this.connected;
     }
 
 }
@@ -37,6 +37,9 @@ public class Action {
      * @return The string representation of the actions
      */
     public static String toString(Action... actions) {
+        if (actions.length == 1) {
+            return actions[0].toString();
+        }
         String[] args = new String[actions.length];
         for (int i = 0; i < actions.length; i++) {
             args[i] = actions[i].toString();
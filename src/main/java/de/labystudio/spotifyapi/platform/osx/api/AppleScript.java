@@ -1,5 +1,10 @@
 package de.labystudio.spotifyapi.platform.osx.api;
 
+import de.labystudio.spotifyapi.jfr.FlightRecorderEvents;
+import de.labystudio.spotifyapi.jfr.TraceSpan;
+import de.labystudio.spotifyapi.metrics.Counter;
+import de.labystudio.spotifyapi.metrics.LatencyHistogram;
+import de.labystudio.spotifyapi.metrics.SpotifyMetrics;
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
 
@@ -13,8 +18,6 @@ import static de.labystudio.spotifyapi.platform.osx.api.Action.OF;
  */
 public class AppleScript {
 
-    private static final String GRAMMAR_FORMAT = "tell application \"%s\" to %s";
-
     private final String[] runtimeParameters = new String[]{
             "osascript", "-e", null
     };
@@ -22,6 +25,10 @@ public class AppleScript {
     private final String application;
     private final Runtime runtime;
 
+    private Counter calls = Counter.noop();
+    private Counter failures = Counter.noop();
+    private LatencyHistogram callDuration = LatencyHistogram.noop();
+
     /**
      * Creates a new AppleScript API for a specific application
      *
@@ -32,6 +39,17 @@ public class AppleScript {
         this.runtime = Runtime.getRuntime();
     }
 
+    /**
+     * Record the calls, failures and durations of the osascript executions
+     *
+     * @param metrics The metrics to record to
+     */
+    public void setMetrics(SpotifyMetrics metrics) {
+        this.calls = metrics.counter("spotify_osascript_calls_total", "Executions of osascript");
+        this.failures = metrics.counter("spotify_osascript_failures_total", "Failed executions of osascript");
+        this.callDuration = metrics.histogram("spotify_osascript_call_duration_seconds", "Duration of an osascript execution");
+    }
+
     /**
      * Request an information from the application
      *
@@ -66,9 +84,34 @@ public class AppleScript {
      * @throws Exception If the command failed
      */
     public String execute(Action... actions) throws Exception {
-        // Update runtime parameters
         String action = Action.toString(actions);
-        this.runtimeParameters[2] = String.format(GRAMMAR_FORMAT, this.application, action);
+
+        long timeStart = System.nanoTime();
+        TraceSpan span = FlightRecorderEvents.beginBackendCall("osascript", action);
+        this.calls.increment();
+        try {
+            String result = this.run(action);
+            span.setSuccess(true);
+            return result;
+        } catch (Exception e) {
+            this.failures.increment();
+            throw e;
+        } finally {
+            this.callDuration.recordSince(timeStart);
+            span.close();
+        }
+    }
+
+    /**
+     * Execute the osascript process for the given action
+     *
+     * @param action The action to send to the application
+     * @return The result of the command
+     * @throws Exception If the process failed
+     */
+    protected String run(String action) throws Exception {
+        // Update runtime parameters
+        this.runtimeParameters[2] = "tell application \"" + this.application + "\" to " + action;
 
         // Execute AppleScript process
         Process process = this.runtime.exec(this.runtimeParameters);
@@ -0,0 +1,39 @@
+package de.labystudio.spotifyapi.platform.osx.api;
+
+import de.labystudio.spotifyapi.platform.PresenceDetector;
+
+/**
+ * Checks if Spotify is running using pgrep.
+ * Unlike osascript, it never launches the application and doesn't load the scripting bridge.
+ *
+ * @author LabyStudio
+ */
+public class PgrepPresenceDetector implements PresenceDetector {
+
+    private final String[] runtimeParameters;
+    private final Runtime runtime;
+
+    /**
+     * Creates a presence detector for a specific process name
+     *
+     * @param processName the exact name of the process
+     */
+    public PgrepPresenceDetector(String processName) {
+        this.runtimeParameters = new String[]{"pgrep", "-x", processName};
+        this.runtime = Runtime.getRuntime();
+    }
+
+    @Override
+    public boolean isPresent() throws Exception {
+        Process process = this.runtime.exec(this.runtimeParameters);
+        try {
+            return process.waitFor() == 0;
+        } finally {
+            // Release the pipes right away instead of waiting for the garbage collector
+            process.getOutputStream().close();
+            process.getInputStream().close();
+            process.getErrorStream().close();
+            process.destroy();
+        }
+    }
+}
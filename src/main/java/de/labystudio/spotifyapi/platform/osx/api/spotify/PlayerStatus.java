@@ -0,0 +1,103 @@
+package de.labystudio.spotifyapi.platform.osx.api.spotify;
+
+/**
+ * State of the Spotify player, read with a single AppleScript call.
+ *
+ * @author LabyStudio
+ */
+public class PlayerStatus {
+
+    private final String trackId;
+    private final boolean playing;
+    private final int position;
+    private final int volume;
+    private final boolean shuffling;
+    private final boolean repeating;
+
+    public PlayerStatus(String trackId, boolean playing, int position, int volume, boolean shuffling, boolean repeating) {
+        this.trackId = trackId;
+        this.playing = playing;
+        this.position = position;
+        this.volume = volume;
+        this.shuffling = shuffling;
+        this.repeating = repeating;
+    }
+
+    /**
+     * Parse the result of the AppleScript list.
+     *
+     * @param response The comma separated list
+     * @return The parsed player status
+     */
+    public static PlayerStatus parse(String response) {
+        // Find the separators without splitting, it is parsed on every tick
+        int[] ends = new int[6];
+        int start = 0;
+        for (int i = 0; i < ends.length - 1; i++) {
+            int end = response.indexOf(", ", start);
+            if (end == -1) {
+                throw new IllegalArgumentException("Invalid player status: " + response);
+            }
+            ends[i] = end;
+            start = end + 2;
+        }
+        ends[5] = response.length();
+        if (response.indexOf(", ", start) != -1) {
+            throw new IllegalArgumentException("Invalid player status: " + response);
+        }
+
+        return new PlayerStatus(
+                response.startsWith("spotify:track:") ? response.substring(14, ends[0]) : "",
+                isValue(response, ends, 1, "playing", false),
+                (int) (Double.parseDouble(response.substring(ends[1] + 2, ends[2])) * 1000),
+                Integer.parseInt(response.substring(ends[2] + 2, ends[3])),
+                isValue(response, ends, 4, "true", true),
+                isValue(response, ends, 5, "true", true)
+        );
+    }
+
+    private static boolean isValue(String response, int[] ends, int index, String value, boolean ignoreCase) {
+        int start = ends[index - 1] + 2;
+        return ends[index] - start == value.length()
+                && response.regionMatches(ignoreCase, start, value, 0, value.length());
+    }
+
+    /**
+     * Get the current track ID without the "spotify:track:" prefix.
+     *
+     * @return The current track ID
+     */
+    public String getTrackId() {
+        return this.trackId;
+    }
+
+    public boolean isPlaying() {
+        return this.playing;
+    }
+
+    /**
+     * Get the current track position in milliseconds.
+     *
+     * @return The current track position in milliseconds
+     */
+    public int getPosition() {
+        return this.position;
+    }
+
+    /**
+     * Get the sound volume of the player.
+     *
+     * @return The volume between 0 and 100
+     */
+    public int getVolume() {
+        return this.volume;
+    }
+
+    public boolean isShuffling() {
+        return this.shuffling;
+    }
+
+    public boolean isRepeating() {
+        return this.repeating;
+    }
+}
@@ -21,6 +21,19 @@ public class SpotifyAppleScript extends AppleScript {
     public static final Action PLAYER_POSITION = new Action("player", "position");
     public static final Action PLAYER_STATE = new Action("player", "state");
 
+    public static final Action SOUND_VOLUME = new Action("sound", "volume");
+    public static final Action SHUFFLING = new Action("shuffling");
+    public static final Action REPEATING = new Action("repeating");
+
+    public static final Action PLAYER_STATUS = new Action(
+            "{id of current track, player state, player position, sound volume, shuffling, repeating}"
+    );
+
+    private static final Action GET_PLAYER_STATUS = new Action(new Action("get"), PLAYER_STATUS);
+
+    public static final Action SET = new Action("set");
+    public static final Action TO = new Action("to");
+
     public static final Action PLAY_PAUSE = new Action("playpause");
     public static final Action NEXT_TRACK = new Action("next", "track");
     public static final Action PREVIOUS_TRACK = new Action("previous", "track");
@@ -90,6 +103,44 @@ public class SpotifyAppleScript extends AppleScript {
         return this.get(PLAYER_STATE).equals("playing");
     }
 
+    /**
+     * Get the track ID, player state, position, volume, shuffle and repeat state with a single call.
+     *
+     * @return The current player status
+     * @throws Exception If the request failed
+     */
+    public PlayerStatus getPlayerStatus() throws Exception {
+        return PlayerStatus.parse(this.execute(GET_PLAYER_STATUS));
+    }
+
+    /**
+     * Set the position of the current track.
+     *
+     * @param position The position in milliseconds
+     * @throws Exception If the request failed
+     */
+    public void setPlayerPosition(int position) throws Exception {
+        this.execute(SET, PLAYER_POSITION, TO, new Action(String.valueOf(position / 1000.0D)));
+    }
+
+    /**
+     * Set the sound volume of the player.
+     *
+     * @param volume The volume between 0 and 100
+     * @throws Exception If the request failed
+     */
+    public void setSoundVolume(int volume) throws Exception {
+        this.execute(SET, SOUND_VOLUME, TO, new Action(String.valueOf(volume)));
+    }
+
+    public void setShuffling(boolean shuffling) throws Exception {
+        this.execute(SET, SHUFFLING, TO, new Action(String.valueOf(shuffling)));
+    }
+
+    public void setRepeating(boolean repeating) throws Exception {
+        this.execute(SET, REPEATING, TO, new Action(String.valueOf(repeating)));
+    }
+
     /**
      * Play or pause the current track.
      *
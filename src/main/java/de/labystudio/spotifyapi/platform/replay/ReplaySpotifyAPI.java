@@ -0,0 +1,183 @@
+package de.labystudio.spotifyapi.platform.replay;
+
+import de.labystudio.spotifyapi.model.MediaKey;
+import de.labystudio.spotifyapi.model.Track;
+import de.labystudio.spotifyapi.platform.AbstractTickSpotifyAPI;
+import de.labystudio.spotifyapi.record.BackendSample;
+import de.labystudio.spotifyapi.record.SampleLog;
+import de.labystudio.spotifyapi.time.TimeSource;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SpotifyAPI that feeds recorded backend samples through the state machine again, one sample per tick.
+ * It reproduces the events of a recorded session to debug glitches or to compare changes against real traces:
+ * <pre>
+ * ReplaySpotifyAPI api = new ReplaySpotifyAPI(SampleLog.readAll(Paths.get("samples")));
+ * api.initialize(new SpotifyConfiguration.Builder()
+ *         .tickInterval(1) // Replay as fast as possible
+ *         .build());
+ * </pre>
+ * The api runs on the recorded time instead of the time source of the configuration,
+ * the clock jumps to the recorded time of each sample before it is replayed.
+ * So the result doesn't depend on the tick interval, but the reconnect delays have to match the recording.
+ * Event timestamps are in the recorded time as well.
+ * <p>
+ * The track name and artist are not recorded, replayed tracks are named after their metadata hash.
+ * After the last sample, the api keeps its state and doesn't fire any events anymore.
+ *
+ * @author LabyStudio
+ * @see SampleLog
+ */
+public class ReplaySpotifyAPI extends AbstractTickSpotifyAPI {
+
+    private final List<BackendSample> samples;
+    private final ReplayClock clock = new ReplayClock();
+    private int nextSample;
+
+    private boolean connected;
+    private Track currentTrack;
+    private int currentMetadataHash;
+
+    public ReplaySpotifyAPI(List<BackendSample> samples) {
+        this.samples = samples;
+    }
+
+    @Override
+    protected void onInitialized() {
+        this.timeSource = this.clock;
+        this.positionClock.setTimeSource(this.clock);
+    }
+
+    @Override
+    protected synchronized void onInternalTick() {
+        // Move the clock to the time the next sample was read, so reconnect delays elapse like in the recording
+        if (!this.isFinished()) {
+            long sampleTime = this.samples.get(this.nextSample).getRequestEnd();
+            if (sampleTime > this.clock.nanoTime) {
+                this.clock.nanoTime = sampleTime;
+            } else if (this.clock.started) {
+                // The sample was not consumed in the last tick, keep the time moving
+                this.clock.nanoTime += TimeUnit.MILLISECONDS.toNanos(this.configuration.getTickInterval());
+            }
+            this.clock.started = true;
+        }
+        super.onInternalTick();
+    }
+
+    @Override
+    protected void onTick() {
+        if (this.isFinished()) {
+            return;
+        }
+        BackendSample sample = this.samples.get(this.nextSample++);
+
+        if (sample.isFailure()) {
+            throw new IllegalStateException(String.format("Recorded failure %08x", sample.getMetadataHash()));
+        }
+
+        // Handle on connect
+        if (!this.connected) {
+            this.connected = true;
+            this.fireConnect();
+        }
+
+        // Handle track changes, a changed hash is a metadata update of the same track id
+        if (this.currentTrack == null
+                || !this.currentTrack.getId().equals(sample.getTrackId())
+                || this.currentMetadataHash != sample.getMetadataHash()) {
+            boolean isFirstTrack = this.currentTrack == null;
+            boolean idChanged = isFirstTrack || !this.currentTrack.getId().equals(sample.getTrackId());
+
+            String name = String.format("%08x", sample.getMetadataHash());
+            Track track = new Track(sample.getTrackId(), name, "Unknown", sample.getTrackLength(), null);
+            this.currentTrack = track;
+            this.currentMetadataHash = sample.getMetadataHash();
+
+            // Fire on track changed
+            this.fireTrackChanged(track);
+
+            // Reset position on song change
+            if (!isFirstTrack && idChanged) {
+                this.positionClock.set(0);
+                this.firePositionChanged(0);
+            }
+        }
+        this.markTickPhase("track");
+
+        // Handle is playing changes
+        this.updatePlaying(sample.isPlaying());
+
+        // Handle position changes
+        int position = sample.getPosition();
+        if (position != -1 && this.positionClock.sample(position, sample.getRequestStart(), sample.getRequestEnd())) {
+            this.firePositionChanged(position);
+        }
+        this.markTickPhase("playback");
+
+        // Fire keep alive
+        this.fireSync();
+    }
+
+    /**
+     * Returns true if all samples were replayed.
+     *
+     * @return true if the replay is finished
+     */
+    public synchronized boolean isFinished() {
+        return this.nextSample >= this.samples.size();
+    }
+
+    /**
+     * Returns the amount of samples that were replayed so far.
+     *
+     * @return the amount of replayed samples
+     */
+    public synchronized int getReplayedSamples() {
+        return this.nextSample;
+    }
+
+    @Override
+    protected void sendMediaKey(MediaKey mediaKey) {
+        throw new UnsupportedOperationException("A replay can't be controlled");
+    }
+
+    @Override
+    protected void onReset() {
+        super.onReset();
+
+        this.connected = false;
+        this.currentTrack = null;
+        this.currentMetadataHash = 0;
+    }
+
+    @Override
+    public Track getTrack() {
+        return this.currentTrack != null ? this.currentTrack : this.getProvisionalTrack();
+    }
+
+    @Override
+    public boolean isConnected() {
+        return this.connected;
+    }
+
+    /**
+     * Time source that is moved to the recorded time of the samples.
+     */
+    private static class ReplayClock implements TimeSource {
+
+        private volatile long nanoTime;
+        private boolean started;
+
+        @Override
+        public long nanoTime() {
+            return this.nanoTime;
+        }
+
+        @Override
+        public long currentTimeMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(this.nanoTime);
+        }
+    }
+}
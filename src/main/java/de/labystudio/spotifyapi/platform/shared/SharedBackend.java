@@ -0,0 +1,148 @@
+package de.labystudio.spotifyapi.platform.shared;
+
+import de.labystudio.spotifyapi.config.SpotifyConfiguration;
+import de.labystudio.spotifyapi.platform.AbstractTickSpotifyAPI;
+import de.labystudio.spotifyapi.time.TimeSource;
+
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
+
+/**
+ * Reference counted backend that is shared by multiple {@link SharedSpotifyAPI} views.
+ * <p>
+ * The backend is created and initialized when the first view acquires it
+ * and shut down when the last view releases it.
+ * It runs on a scheduler that belongs to the shared backend, the scheduler of a view is never used,
+ * so a view can shut down its own scheduler without stopping the other views.
+ * <p>
+ * The settings of the backend like the tick interval, the reconnect delays, the time source, the state file
+ * and the metrics are taken from the configuration of the first view.
+ * A view with different backend settings is rejected while the backend is running.
+ * The executors and the reconnect jitter may differ per view, they only apply to the view itself.
+ *
+ * @author LabyStudio
+ */
+public class SharedBackend {
+
+    private final Supplier<? extends AbstractTickSpotifyAPI> factory;
+    private final ScheduledExecutorService scheduler;
+
+    private AbstractTickSpotifyAPI backend;
+    private SpotifyConfiguration configuration;
+    private int references;
+
+    /**
+     * Create a new shared backend that runs on its own tick thread.
+     *
+     * @param factory the factory to create the backend for the current platform
+     */
+    public SharedBackend(Supplier<? extends AbstractTickSpotifyAPI> factory) {
+        this(factory, null);
+    }
+
+    /**
+     * Create a new shared backend that runs on the given scheduler, e.g. a virtual scheduler of a simulation.
+     * The scheduler is managed by the caller and has to outlive all views.
+     *
+     * @param factory   the factory to create the backend for the current platform
+     * @param scheduler the scheduler to run the ticks on or null to use a dedicated tick thread
+     */
+    public SharedBackend(Supplier<? extends AbstractTickSpotifyAPI> factory, ScheduledExecutorService scheduler) {
+        this.factory = factory;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Acquire a reference to the backend and initialize it if it is not running yet.
+     *
+     * @param configuration the configuration of the view
+     * @return the running backend
+     * @throws IllegalArgumentException if the backend settings differ from the ones of the running backend
+     */
+    public synchronized AbstractTickSpotifyAPI acquire(SpotifyConfiguration configuration) {
+        if (this.backend == null) {
+            AbstractTickSpotifyAPI backend = this.factory.get();
+            backend.initialize(this.createBackendConfiguration(configuration));
+            this.backend = backend;
+            this.configuration = configuration;
+        } else {
+            checkCompatible(this.configuration, configuration);
+        }
+
+        this.references++;
+        return this.backend;
+    }
+
+    /**
+     * Release a reference to the backend. The backend is shut down when the last reference is released.
+     *
+     * @param backend the backend that was returned by {@link #acquire(SpotifyConfiguration)}
+     */
+    public synchronized void release(AbstractTickSpotifyAPI backend) {
+        if (backend != this.backend || this.references == 0) {
+            return;
+        }
+
+        if (--this.references == 0) {
+            this.backend = null;
+            this.configuration = null;
+            backend.shutdown();
+        }
+    }
+
+    /**
+     * Returns the amount of views that currently hold a reference to the backend.
+     *
+     * @return the amount of references
+     */
+    public synchronized int getReferences() {
+        return this.references;
+    }
+
+    private SpotifyConfiguration createBackendConfiguration(SpotifyConfiguration configuration) {
+        // A scheduler that brings its own time replaces the time of the view
+        TimeSource timeSource = explicitTimeSource(configuration);
+        if (this.scheduler instanceof TimeSource) {
+            timeSource = (TimeSource) this.scheduler;
+        }
+
+        return new SpotifyConfiguration.Builder(configuration)
+                .scheduler(this.scheduler)
+                .timeSource(timeSource)
+                .build();
+    }
+
+    private static void checkCompatible(SpotifyConfiguration running, SpotifyConfiguration configuration) {
+        checkSetting("tick interval", running.getTickInterval(), configuration.getTickInterval());
+        checkSetting("exception reconnect delay", running.getExceptionReconnectDelay(), configuration.getExceptionReconnectDelay());
+        checkSetting("auto reconnect", running.isAutoReconnect(), configuration.isAutoReconnect());
+        checkSetting("max reconnect delay", running.getMaxReconnectDelay(), configuration.getMaxReconnectDelay());
+        checkSetting("circuit breaker threshold", running.getCircuitBreakerThreshold(), configuration.getCircuitBreakerThreshold());
+        checkSetting("dormant retry interval", running.getDormantRetryInterval(), configuration.getDormantRetryInterval());
+        checkSetting("natives directory", running.getNativesDirectory(), configuration.getNativesDirectory());
+        checkSetting("state file", running.getStateFile(), configuration.getStateFile());
+        checkSetting("offset database", running.getOffsetDatabase(), configuration.getOffsetDatabase());
+        checkSetting("metrics", running.getMetrics(), configuration.getMetrics());
+        checkSetting("time source", explicitTimeSource(running), explicitTimeSource(configuration));
+        checkSetting("sample recorder", running.getSampleRecorder(), configuration.getSampleRecorder());
+    }
+
+    private static void checkSetting(String name, Object running, Object requested) {
+        if (!Objects.equals(running, requested)) {
+            throw new IllegalArgumentException("The shared backend already runs with the " + name + " "
+                    + running + ", a view can't change it to " + requested);
+        }
+    }
+
+    /**
+     * Returns the time source that was set explicitly, the time of the view's scheduler is not used by the backend.
+     *
+     * @param configuration the configuration of a view
+     * @return the custom time source or the system clock
+     */
+    private static TimeSource explicitTimeSource(SpotifyConfiguration configuration) {
+        TimeSource timeSource = configuration.getTimeSource();
+        return timeSource == configuration.getScheduler() ? TimeSource.system() : timeSource;
+    }
+}
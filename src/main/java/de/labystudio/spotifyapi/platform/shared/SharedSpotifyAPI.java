@@ -0,0 +1,307 @@
+package de.labystudio.spotifyapi.platform.shared;
+
+import de.labystudio.spotifyapi.SpotifyAPI;
+import de.labystudio.spotifyapi.SpotifyListener;
+import de.labystudio.spotifyapi.config.SpotifyConfiguration;
+import de.labystudio.spotifyapi.config.SpotifyExecutors;
+import de.labystudio.spotifyapi.cue.Cue;
+import de.labystudio.spotifyapi.cue.CueScheduler;
+import de.labystudio.spotifyapi.cue.HashedTimingWheel;
+import de.labystudio.spotifyapi.event.EventBus;
+import de.labystudio.spotifyapi.event.EventSubscription;
+import de.labystudio.spotifyapi.event.PlaybackEvent;
+import de.labystudio.spotifyapi.event.stream.PlaybackEventPublisher;
+import de.labystudio.spotifyapi.event.type.ConnectedEvent;
+import de.labystudio.spotifyapi.event.type.PlaybackChangedEvent;
+import de.labystudio.spotifyapi.event.type.PositionJumpEvent;
+import de.labystudio.spotifyapi.event.type.TrackChangedEvent;
+import de.labystudio.spotifyapi.model.ConnectionState;
+import de.labystudio.spotifyapi.model.MediaKey;
+import de.labystudio.spotifyapi.model.PlaybackOptions;
+import de.labystudio.spotifyapi.model.PlaybackState;
+import de.labystudio.spotifyapi.model.ReadinessStage;
+import de.labystudio.spotifyapi.model.RepeatMode;
+import de.labystudio.spotifyapi.model.Track;
+import de.labystudio.spotifyapi.model.TransportControl;
+import de.labystudio.spotifyapi.platform.AbstractTickSpotifyAPI;
+import de.labystudio.spotifyapi.platform.Readiness;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * View on a {@link SharedBackend} that is shared with other views in the same JVM.
+ * <p>
+ * All views share a single set of backend reads and a single tick thread.
+ * Each view has its own listeners, subscriptions and cues, the state is read from the shared backend.
+ * <p>
+ * The backend runs on its own scheduler with the backend settings of the first view,
+ * a view with different backend settings is rejected, see {@link SharedBackend}.
+ * The event bus of each view is a child of the backend bus, so the listeners of all views are called on the backend thread.
+ * The dispatch executor of a view is used for its {@link #getEventPublisher() publisher}.
+ *
+ * @author LabyStudio
+ */
+public class SharedSpotifyAPI implements SpotifyAPI {
+
+    private final SharedBackend sharedBackend;
+
+    private final EventBus eventBus = new EventBus();
+    private final PlaybackEventPublisher eventPublisher = new PlaybackEventPublisher(
+            this.eventBus,
+            task -> this.getDispatchExecutor().execute(task)
+    );
+    private final CueScheduler cueScheduler = new CueScheduler(this, HashedTimingWheel.getShared());
+    private final Readiness readiness = new Readiness(this);
+
+    private SpotifyConfiguration configuration;
+    private AbstractTickSpotifyAPI backend;
+    private boolean shutdown;
+
+    private Executor dispatchExecutor;
+    private ExecutorService ownedDispatchExecutor;
+
+    public SharedSpotifyAPI(SharedBackend sharedBackend) {
+        this.sharedBackend = sharedBackend;
+    }
+
+    /**
+     * Acquire the shared backend and attach this view to it.
+     * If the backend is already connected, the current state is replayed to the listeners of this view.
+     *
+     * @return the initialized SpotifyAPI
+     * @throws IllegalStateException    if the view is already initialized or has been shutdown
+     * @throws IllegalArgumentException if the backend settings differ from the ones of the running backend
+     */
+    @Override
+    public synchronized SpotifyAPI initialize(SpotifyConfiguration configuration) {
+        if (this.shutdown) {
+            throw new IllegalStateException("This SpotifyAPI has been shutdown and cannot be reused");
+        }
+        if (this.isInitialized()) {
+            throw new IllegalStateException("This SpotifyAPI is already initialized");
+        }
+
+        this.configuration = configuration;
+        this.backend = this.sharedBackend.acquire(configuration);
+        this.cueScheduler.setExecutor(this.backend.getConfiguration().getScheduler());
+
+        // Replay the current state for the listeners of this view
+        synchronized (this.backend) {
+            this.replayState();
+            this.backend.getEventBus().attach(this.eventBus);
+        }
+
+        // Follow the readiness of the shared backend
+        for (ReadinessStage stage : ReadinessStage.values()) {
+            this.backend.whenReady(stage).thenRun(() -> this.readiness.reach(stage));
+        }
+        return this;
+    }
+
+    private void replayState() {
+        PlaybackState state = this.getState();
+        if (!state.isConnected()) {
+            return;
+        }
+
+        long timestamp = this.backend.getConfiguration().getTimeSource().nanoTime();
+        this.eventBus.post(new ConnectedEvent(timestamp, state));
+        if (state.hasTrack()) {
+            this.eventBus.post(new TrackChangedEvent(timestamp, state, state.getTrack()));
+        }
+        if (state.isPlaying()) {
+            this.eventBus.post(new PlaybackChangedEvent(timestamp, state, true));
+        }
+        if (state.hasPosition()) {
+            this.eventBus.post(new PositionJumpEvent(timestamp, state, state.getPosition()));
+        }
+    }
+
+    @Override
+    public Track getTrack() {
+        return this.backend == null ? null : this.backend.getTrack();
+    }
+
+    @Override
+    public int getPosition() {
+        if (this.backend == null) {
+            throw new IllegalStateException("Position is not known yet");
+        }
+        return this.backend.getPosition();
+    }
+
+    @Override
+    public boolean hasPosition() {
+        return this.backend != null && this.backend.hasPosition();
+    }
+
+    @Override
+    public boolean isPlaying() {
+        return this.backend != null && this.backend.isPlaying();
+    }
+
+    @Override
+    public Cue schedule(int position, Runnable callback) {
+        return this.cueScheduler.schedule(position, callback);
+    }
+
+    @Override
+    public Cue scheduleRepeating(int position, int interval, Runnable callback) {
+        return this.cueScheduler.scheduleRepeating(position, interval, callback);
+    }
+
+    @Override
+    public void pressMediaKey(MediaKey mediaKey) {
+        if (this.backend == null) {
+            throw new IllegalStateException("This SpotifyAPI is not initialized");
+        }
+        this.backend.pressMediaKey(mediaKey);
+    }
+
+    @Override
+    public boolean isConnected() {
+        return this.backend != null && this.backend.isConnected();
+    }
+
+    @Override
+    public boolean isStateConfirmed() {
+        return this.backend == null || this.backend.isStateConfirmed();
+    }
+
+    @Override
+    public CompletableFuture<SpotifyAPI> whenReady(ReadinessStage stage) {
+        return this.readiness.get(stage);
+    }
+
+    @Override
+    public boolean hasPlaybackOptions() {
+        return this.backend != null && this.backend.hasPlaybackOptions();
+    }
+
+    @Override
+    public PlaybackOptions getPlaybackOptions() {
+        return this.requireBackend().getPlaybackOptions();
+    }
+
+    @Override
+    public Set<TransportControl> getSupportedControls() {
+        AbstractTickSpotifyAPI backend = this.backend;
+        return backend != null ? backend.getSupportedControls() : Collections.emptySet();
+    }
+
+    @Override
+    public CompletableFuture<Void> seek(int position) {
+        return this.requireBackend().seek(position);
+    }
+
+    @Override
+    public CompletableFuture<Void> setVolume(float volume) {
+        return this.requireBackend().setVolume(volume);
+    }
+
+    @Override
+    public CompletableFuture<Void> setShuffle(boolean shuffle) {
+        return this.requireBackend().setShuffle(shuffle);
+    }
+
+    @Override
+    public CompletableFuture<Void> setRepeat(RepeatMode repeatMode) {
+        return this.requireBackend().setRepeat(repeatMode);
+    }
+
+    private AbstractTickSpotifyAPI requireBackend() {
+        AbstractTickSpotifyAPI backend = this.backend;
+        if (backend == null) {
+            throw new IllegalStateException("This SpotifyAPI is not initialized");
+        }
+        return backend;
+    }
+
+    @Override
+    public ConnectionState getConnectionState() {
+        return this.backend == null ? ConnectionState.STOPPED : this.backend.getConnectionState();
+    }
+
+    @Override
+    public boolean isInitialized() {
+        return this.backend != null;
+    }
+
+    @Override
+    public void registerListener(SpotifyListener listener) {
+        this.eventBus.registerListener(listener);
+    }
+
+    @Override
+    public void unregisterListener(SpotifyListener listener) {
+        this.eventBus.unregisterListener(listener);
+    }
+
+    @Override
+    public <E extends PlaybackEvent> EventSubscription subscribe(
+            Class<E> type,
+            Consumer<? super E> handler,
+            boolean coalesce
+    ) {
+        return this.eventBus.subscribe(type, handler, coalesce);
+    }
+
+    @Override
+    public PlaybackEventPublisher getEventPublisher() {
+        return this.eventPublisher;
+    }
+
+    @Override
+    public SpotifyConfiguration getConfiguration() {
+        return this.configuration;
+    }
+
+    /**
+     * Detach this view from the shared backend.
+     * The backend keeps running as long as other views are using it.
+     */
+    @Override
+    public synchronized void stop() {
+        if (this.backend == null) {
+            return;
+        }
+
+        this.backend.getEventBus().detach(this.eventBus);
+        this.sharedBackend.release(this.backend);
+        this.backend = null;
+    }
+
+    private synchronized Executor getDispatchExecutor() {
+        if (this.dispatchExecutor == null) {
+            Executor executor = this.configuration == null ? null : this.configuration.getDispatchExecutor();
+            if (executor == null) {
+                boolean daemon = this.configuration != null && this.configuration.isDaemonThreads();
+                this.ownedDispatchExecutor = Executors.newSingleThreadExecutor(
+                        SpotifyExecutors.threadFactory("SpotifyAPI Dispatch", daemon)
+                );
+                executor = this.ownedDispatchExecutor;
+            }
+            this.dispatchExecutor = executor;
+        }
+        return this.dispatchExecutor;
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        this.stop();
+        this.shutdown = true;
+
+        this.cueScheduler.clear();
+        this.readiness.fail(new IllegalStateException("This SpotifyAPI has been shutdown"));
+        this.eventPublisher.complete();
+        if (this.ownedDispatchExecutor != null) {
+            this.ownedDispatchExecutor.shutdown();
+        }
+    }
+}
@@ -1,12 +1,15 @@
 package de.labystudio.spotifyapi.platform.windows;
 
-import de.labystudio.spotifyapi.SpotifyListener;
+import de.labystudio.spotifyapi.metrics.LatencyHistogram;
 import de.labystudio.spotifyapi.model.MediaKey;
 import de.labystudio.spotifyapi.model.Track;
 import de.labystudio.spotifyapi.platform.AbstractTickSpotifyAPI;
+import de.labystudio.spotifyapi.platform.PresenceDetector;
+import de.labystudio.spotifyapi.platform.windows.api.ToolhelpPresenceDetector;
 import de.labystudio.spotifyapi.platform.windows.api.WinApi;
 import de.labystudio.spotifyapi.platform.windows.api.jna.WindowsMediaControl;
 import de.labystudio.spotifyapi.platform.windows.api.playback.PlaybackAccessor;
+import de.labystudio.spotifyapi.platform.windows.api.spotify.OffsetDatabase;
 import de.labystudio.spotifyapi.platform.windows.api.spotify.SpotifyProcess;
 
 import javax.imageio.ImageIO;
@@ -33,15 +36,31 @@ public class WinSpotifyAPI extends AbstractTickSpotifyAPI {
     private SpotifyProcess process;
 
     private Track currentTrack;
-    private int currentPosition = -1;
-    private boolean hasTrackPosition = false;
-    private boolean isPlaying;
 
-    private long lastTimePositionUpdated;
     private long prevLastReportedPosition = -1;
 
+    /**
+     * Offset of the track id address that worked last time, it is tried first on the next connect of this session.
+     * Across restarts the offsets are kept in the offset database.
+     */
+    private volatile long trackIdOffset = -1;
+
+    /**
+     * Known offsets of each Spotify build, including the ones that were found in previous sessions.
+     */
+    private OffsetDatabase offsetDatabase;
+
+    private LatencyHistogram attachDuration = LatencyHistogram.noop();
+
     @Override
     protected void onInitialized() {
+        this.attachDuration = this.configuration.getMetrics().histogram(
+                "spotify_process_attach_duration_seconds",
+                "Duration of opening the Spotify process and finding the memory addresses"
+        );
+
+        this.offsetDatabase = OffsetDatabase.open(this.configuration.getOffsetDatabase());
+
         try {
             this.initializeMediaControl(this.configuration.getNativesDirectory());
         } catch (Throwable e) {
@@ -87,13 +106,28 @@ public class WinSpotifyAPI extends AbstractTickSpotifyAPI {
     protected void onTick() {
         if (!this.isConnected()) {
             // Connect
-            this.process = new SpotifyProcess(mediaControl);
+            long timeAttachStart = System.nanoTime();
+            try {
+                this.process = new SpotifyProcess(mediaControl, this.trackIdOffset, this.offsetDatabase);
+            } finally {
+                this.attachDuration.recordSince(timeAttachStart);
+            }
+            this.trackIdOffset = this.process.getTrackIdOffset();
+
+            // Only written if a new build was found
+            try {
+                this.offsetDatabase.save();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
 
             // Fire on connect
-            this.listeners.forEach(SpotifyListener::onConnect);
+            this.fireConnect();
+            this.markTickPhase("attach");
         }
 
         // Read track id and check if track id is valid
+        long requestStart = this.timeSource.nanoTime();
         String trackId = this.process.readTrackId();
         if (!Track.isTrackIdValid(trackId)) {
             throw new IllegalStateException("Invalid track ID: " + trackId);
@@ -102,6 +136,8 @@ public class WinSpotifyAPI extends AbstractTickSpotifyAPI {
         // Update playback state
         PlaybackAccessor accessor = this.process.getPlaybackAccessor();
         accessor.updatePlayback();
+        long requestEnd = this.timeSource.nanoTime();
+        this.markTickPhase("read");
 
         // Handle track changes
         String currentTrackId = this.currentTrack == null ? null : this.currentTrack.getId();
@@ -129,54 +165,53 @@ public class WinSpotifyAPI extends AbstractTickSpotifyAPI {
                 this.currentTrack = track;
 
                 // Fire on track changed
-                this.listeners.forEach(listener -> listener.onTrackChanged(track));
+                this.fireTrackChanged(track);
             }
         }
 
-        // Handle is playing changes
-        boolean isPlaying = accessor.isPlaying();
-        if (isPlaying != this.isPlaying) {
-            this.isPlaying = isPlaying;
+        this.markTickPhase("track");
 
-            // Fire on play back changed
-            this.listeners.forEach(listener -> listener.onPlayBackChanged(isPlaying));
-        }
+        // Handle is playing changes
+        this.updatePlaying(accessor.isPlaying());
 
         if (accessor.hasTrackPosition()) {
-            this.hasTrackPosition = true;
-
             int lastReportedPosition = accessor.getPosition();
 
             if (this.prevLastReportedPosition != lastReportedPosition) {
                 this.prevLastReportedPosition = lastReportedPosition;
 
-                // Get the daemon position (Last reported position + relative time)
-                int expectedPosition = this.getPosition();
-
-                // Compare if the expected position based on time and the last reported position are close enough
-                boolean seeked = Math.abs(lastReportedPosition - expectedPosition) > TICK_INTERVAL;
+                // Compare if the interpolated position and the last reported position are close enough
+                boolean seeked = this.positionClock.deviates(lastReportedPosition, this.configuration.getTickInterval());
 
-                this.currentPosition = lastReportedPosition;
-                this.lastTimePositionUpdated = System.currentTimeMillis();
+                // The reported position is only updated by Spotify on changes, so it is the new base
+                this.positionClock.set(lastReportedPosition);
 
                 // Fire on position changed
                 if (seeked) {
-                    this.listeners.forEach(listener -> listener.onPositionChanged(this.currentPosition));
+                    this.firePositionChanged(lastReportedPosition);
                 }
             }
         } else {
-            this.currentPosition = -1;
-            this.hasTrackPosition = false;
-            this.lastTimePositionUpdated = System.currentTimeMillis();
+            this.positionClock.clear();
+            this.positionClock.setPlaying(this.isPlaying());
+            this.prevLastReportedPosition = -1;
         }
+        this.markTickPhase("playback");
+        this.recordSample(
+                requestStart,
+                requestEnd,
+                this.currentTrack,
+                accessor.hasTrackPosition() ? accessor.getPosition() : -1,
+                accessor.isPlaying()
+        );
 
         // Fire keep alive
-        this.listeners.forEach(SpotifyListener::onSync);
+        this.fireSync();
     }
 
     @Override
     public Track getTrack() {
-        return this.currentTrack;
+        return this.currentTrack != null ? this.currentTrack : this.getProvisionalTrack();
     }
 
     @Override
@@ -185,35 +220,29 @@ public class WinSpotifyAPI extends AbstractTickSpotifyAPI {
             throw new IllegalStateException("Position is not known yet. Pause the song for a second and try again.");
         }
 
-        if (this.isPlaying) {
-            // Interpolate position
-            long timePassed = System.currentTimeMillis() - this.lastTimePositionUpdated;
-            long interpolatedPosition = this.currentPosition + timePassed;
+        // Position of the last session that is not confirmed yet
+        if (!this.isConnected() || !this.positionClock.isKnown()) {
+            return super.getPosition();
+        }
 
-            if (this.hasTrack()) {
-                return (int) Math.min(interpolatedPosition, this.currentTrack.getLength());
-            } else {
-                return (int) interpolatedPosition;
-            }
+        int interpolatedPosition = this.positionClock.getPosition();
+        if (this.currentTrack != null) {
+            return Math.min(interpolatedPosition, this.currentTrack.getLength());
         } else {
-            return this.currentPosition;
+            return interpolatedPosition;
         }
     }
 
     @Override
     public boolean hasPosition() {
-        if (!this.isConnected()) {
-            return false;
+        if (this.isConnected() && this.positionClock.isKnown()) {
+            return true;
         }
-        return this.hasTrackPosition;
+        return this.hasProvisionalPosition();
     }
 
     @Override
-    public void pressMediaKey(MediaKey mediaKey) {
-        if (!this.isConnected()) {
-            throw new IllegalStateException("Spotify is not connected");
-        }
-
+    protected void sendMediaKey(MediaKey mediaKey) {
         switch (mediaKey) {
             case NEXT:
                 this.process.pressKey(WinApi.VK_MEDIA_NEXT_TRACK);
@@ -225,24 +254,21 @@ public class WinSpotifyAPI extends AbstractTickSpotifyAPI {
                 this.process.pressKey(WinApi.VK_MEDIA_PLAY_PAUSE);
                 break;
         }
-
-        // Update state immediately
-        this.onInternalTick();
     }
 
     @Override
-    public boolean isPlaying() {
-        return this.isPlaying;
+    public boolean isConnected() {
+        return this.process != null && this.process.isOpen();
     }
 
     @Override
-    public boolean isConnected() {
-        return this.process != null && this.process.isOpen();
+    protected PresenceDetector createPresenceDetector() {
+        return new ToolhelpPresenceDetector("Spotify.exe");
     }
 
     @Override
-    public void stop() {
-        super.stop();
+    protected void onReset() {
+        super.onReset();
 
         if (this.process != null) {
             this.process.close();
@@ -250,10 +276,6 @@ public class WinSpotifyAPI extends AbstractTickSpotifyAPI {
         }
 
         this.currentTrack = null;
-        this.currentPosition = -1;
-        this.hasTrackPosition = false;
-        this.isPlaying = false;
-        this.lastTimePositionUpdated = 0;
         this.prevLastReportedPosition = -1;
     }
 
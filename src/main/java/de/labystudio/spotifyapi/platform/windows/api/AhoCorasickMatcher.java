@@ -0,0 +1,207 @@
+package de.labystudio.spotifyapi.platform.windows.api;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * Aho-Corasick search of multiple patterns in a single pass.
+ * The patterns are compiled into a state machine with a transition for every byte,
+ * so each byte of the memory costs a single table lookup regardless of the amount of patterns.
+ * <p>
+ * While no match is in progress, it skips ahead like the Horspool algorithm for a set of patterns:
+ * If the last byte of the shortest pattern length doesn't occur in the beginning of any pattern,
+ * no match can start before it.
+ *
+ * @author LabyStudio
+ */
+class AhoCorasickMatcher extends PatternMatcher {
+
+    private static final int[] NO_OUTPUT = new int[0];
+
+    private final int[] lengths;
+    private final int[] skipTable = new int[256];
+    private final int[] transitions;
+    private final int[][] outputs;
+    private final int maxLength;
+    private final int minLength;
+
+    AhoCorasickMatcher(byte[][] patterns) {
+        this.lengths = new int[patterns.length];
+        int totalLength = 0;
+        int maxLength = 0;
+        int minLength = Integer.MAX_VALUE;
+        for (int i = 0; i < patterns.length; i++) {
+            this.lengths[i] = patterns[i].length;
+            totalLength += patterns[i].length;
+            maxLength = Math.max(maxLength, patterns[i].length);
+            minLength = Math.min(minLength, patterns[i].length);
+        }
+        this.maxLength = maxLength;
+        this.minLength = minLength;
+
+        // Distance from the last occurrence of each byte in the first bytes of all patterns to the end of the window
+        Arrays.fill(this.skipTable, minLength);
+        for (byte[] pattern : patterns) {
+            for (int i = 0; i < minLength; i++) {
+                int index = pattern[i] & 0xFF;
+                this.skipTable[index] = Math.min(this.skipTable[index], minLength - 1 - i);
+            }
+        }
+
+        // Trie of all patterns, the root is state 0
+        int[] transitions = new int[(totalLength + 1) * 256];
+        Arrays.fill(transitions, -1);
+        int[][] outputs = new int[totalLength + 1][];
+        int states = 1;
+        for (int i = 0; i < patterns.length; i++) {
+            int state = 0;
+            for (byte value : patterns[i]) {
+                int index = state * 256 + (value & 0xFF);
+                if (transitions[index] == -1) {
+                    transitions[index] = states++;
+                }
+                state = transitions[index];
+            }
+            outputs[state] = append(outputs[state], i);
+        }
+
+        // Complete the transitions along the failure links in breadth-first order,
+        // so the state of the failure link is always complete before it is used
+        int[] failure = new int[states];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int value = 0; value < 256; value++) {
+            int next = transitions[value];
+            if (next == -1) {
+                transitions[value] = 0;
+            } else {
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int value = 0; value < 256; value++) {
+                int index = state * 256 + value;
+                int fallback = transitions[failure[state] * 256 + value];
+                int next = transitions[index];
+                if (next == -1) {
+                    transitions[index] = fallback;
+                } else {
+                    // A match of the longer pattern also ends all patterns that are a suffix of it
+                    failure[next] = fallback;
+                    int[] inherited = outputs[fallback];
+                    if (inherited != null) {
+                        for (int pattern : inherited) {
+                            outputs[next] = append(outputs[next], pattern);
+                        }
+                    }
+                    queue.add(next);
+                }
+            }
+        }
+
+        // Transitions point to the offset of the next state in the table and are negated if the state has an output,
+        // so a byte without a match costs a single lookup and a sign check
+        this.transitions = new int[states * 256];
+        this.outputs = new int[states][];
+        for (int state = 0; state < states; state++) {
+            this.outputs[state] = outputs[state] == null ? NO_OUTPUT : outputs[state];
+        }
+        for (int i = 0; i < this.transitions.length; i++) {
+            int next = transitions[i];
+            this.transitions[i] = outputs[next] == null ? next * 256 : ~(next * 256);
+        }
+    }
+
+    @Override
+    void search(byte[] chunk, int length, int positions, long address, Matches matches, boolean firstOnly) {
+        int[] transitions = this.transitions;
+        int[][] outputs = this.outputs;
+        int[] lengths = this.lengths;
+        int[] skipTable = this.skipTable;
+        int last = this.minLength - 1;
+        int first = matches.count;
+
+        // The state machine starts at the first byte, so it only finds matches that start in the chunk
+        int end = (int) Math.min(length, (long) positions + this.maxLength - 1);
+        int offset = 0;
+        int i = 0;
+        while (i < end) {
+            if (offset == 0) {
+                // No match in progress, skip the windows that can't be the beginning of a match
+                int window = i + last;
+                while (window < length) {
+                    int skip = skipTable[chunk[window] & 0xFF];
+                    if (skip == 0) {
+                        break;
+                    }
+                    window += skip;
+                }
+                i = window - last;
+                if (i >= end) {
+                    break;
+                }
+            }
+
+            offset = transitions[offset + (chunk[i] & 0xFF)];
+            if (offset < 0) {
+                offset = ~offset;
+                for (int pattern : outputs[offset >> 8]) {
+                    int start = i - lengths[pattern] + 1;
+                    if (start < positions) {
+                        matches.add(address + start, pattern);
+
+                        // A longer pattern that starts earlier ends within the length of the longest pattern
+                        if (firstOnly) {
+                            end = Math.min(end, start + this.maxLength);
+                        }
+                    }
+                }
+            }
+            i++;
+        }
+
+        // Matches are found at their end, order them by their start
+        sort(matches, first);
+        if (firstOnly && matches.count > first) {
+            matches.count = first + 1;
+        }
+    }
+
+    @Override
+    int getMaxLength() {
+        return this.maxLength;
+    }
+
+    @Override
+    int getMinLength() {
+        return this.minLength;
+    }
+
+    private static void sort(Matches matches, int from) {
+        // Insertion sort, the matches are only out of order within the length of the longest pattern
+        long[] addresses = matches.addresses;
+        int[] patterns = matches.patterns;
+        for (int i = from + 1; i < matches.count; i++) {
+            long address = addresses[i];
+            int pattern = patterns[i];
+            int j = i - 1;
+            while (j >= from && (addresses[j] > address || addresses[j] == address && patterns[j] > pattern)) {
+                addresses[j + 1] = addresses[j];
+                patterns[j + 1] = patterns[j];
+                j--;
+            }
+            addresses[j + 1] = address;
+            patterns[j + 1] = pattern;
+        }
+    }
+
+    private static int[] append(int[] array, int value) {
+        if (array == null) {
+            return new int[]{value};
+        }
+        int[] result = Arrays.copyOf(array, array.length + 1);
+        result[array.length] = value;
+        return result;
+    }
+}
@@ -0,0 +1,72 @@
+package de.labystudio.spotifyapi.platform.windows.api;
+
+import java.util.Arrays;
+
+/**
+ * Boyer-Moore-Horspool search of a single pattern.
+ * It compares the last byte of the pattern first and skips ahead by up to the pattern length on a mismatch,
+ * so most bytes of the memory are never compared.
+ *
+ * @author LabyStudio
+ */
+class HorspoolMatcher extends PatternMatcher {
+
+    private final byte[] pattern;
+    private final int[] skipTable = new int[256];
+
+    HorspoolMatcher(byte[] pattern) {
+        this.pattern = pattern.clone();
+
+        // Distance from the last occurrence of each byte to the end of the pattern, the last byte itself is excluded
+        int last = pattern.length - 1;
+        Arrays.fill(this.skipTable, pattern.length);
+        for (int i = 0; i < last; i++) {
+            this.skipTable[pattern[i] & 0xFF] = last - i;
+        }
+    }
+
+    @Override
+    void search(byte[] chunk, int length, int positions, long address, Matches matches, boolean firstOnly) {
+        byte[] pattern = this.pattern;
+        int[] skipTable = this.skipTable;
+        int last = pattern.length - 1;
+        byte lastByte = pattern[last];
+
+        int end = Math.min(positions, length - last);
+        int position = 0;
+        while (position < end) {
+            byte current = chunk[position + last];
+            if (current == lastByte && this.matches(chunk, position)) {
+                matches.add(address + position, 0);
+                if (firstOnly) {
+                    return;
+                }
+
+                // Continue right after the match, matches may overlap
+                position++;
+                continue;
+            }
+            position += skipTable[current & 0xFF];
+        }
+    }
+
+    private boolean matches(byte[] chunk, int position) {
+        // The last byte was already compared
+        for (int i = this.pattern.length - 2; i >= 0; i--) {
+            if (chunk[position + i] != this.pattern[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    int getMaxLength() {
+        return this.pattern.length;
+    }
+
+    @Override
+    int getMinLength() {
+        return this.pattern.length;
+    }
+}
@@ -0,0 +1,141 @@
+package de.labystudio.spotifyapi.platform.windows.api;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Streams a single json object or array from a {@link MemorySource}, starting at the given address.
+ * <p>
+ * The memory is read in chunks into a reused array and the nesting depth is tracked while the bytes are passed on,
+ * so the stream ends directly behind the closing bracket and a json reader can parse it without another copy.
+ * Brackets in strings and escaped quotes don't change the depth.
+ * The tracking works on the raw bytes, because UTF-8 never uses the ASCII range in a multibyte sequence.
+ * <p>
+ * The stream fails once the object exceeds the byte limit, so a corrupt region can't be read endlessly.
+ *
+ * @author LabyStudio
+ */
+public class JsonInputStream extends InputStream {
+
+    private static final int CHUNK_SIZE = 1024;
+
+    private final MemorySource source;
+    private final long address;
+    private final int limit;
+    private final byte[] chunk;
+
+    private long offset;
+    private int position;
+    private int length;
+
+    private int depth;
+    private boolean inString;
+    private boolean escaped;
+    private boolean finished;
+
+    /**
+     * Create a stream of the json at the given address.
+     *
+     * @param source  The memory to read from.
+     * @param address The address of the opening bracket.
+     * @param limit   The maximum amount of bytes of the json.
+     */
+    public JsonInputStream(MemorySource source, long address, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive: " + limit);
+        }
+        this.source = source;
+        this.address = address;
+        this.limit = limit;
+        this.chunk = new byte[Math.min(CHUNK_SIZE, limit)];
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (this.finished) {
+            return -1;
+        }
+        if (this.position == this.length) {
+            this.fill();
+        }
+
+        byte value = this.chunk[this.position++];
+        this.track(value);
+        return value & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] target, int targetOffset, int targetLength) throws IOException {
+        if (this.finished) {
+            return -1;
+        }
+        if (targetLength == 0) {
+            return 0;
+        }
+        if (this.position == this.length) {
+            this.fill();
+        }
+
+        // Pass the bytes on until the outermost bracket is closed
+        int end = this.position + Math.min(targetLength, this.length - this.position);
+        int from = this.position;
+        while (this.position < end) {
+            this.track(this.chunk[this.position++]);
+            if (this.finished) {
+                break;
+            }
+        }
+
+        int count = this.position - from;
+        System.arraycopy(this.chunk, from, target, targetOffset, count);
+        return count;
+    }
+
+    private void fill() throws IOException {
+        if (this.offset >= this.limit) {
+            throw new IOException("Json at address 0x" + Long.toHexString(this.address) + " exceeds " + this.limit + " bytes");
+        }
+
+        this.length = (int) Math.min(this.chunk.length, this.limit - this.offset);
+        this.source.readBytes(this.address + this.offset, this.chunk, this.length);
+        this.offset += this.length;
+        this.position = 0;
+    }
+
+    private void track(byte value) {
+        if (this.depth == 0) {
+            // Only whitespace may precede the opening bracket, anything else ends the stream and is rejected by the reader
+            if (value == '{' || value == '[') {
+                this.depth++;
+            } else if (value != ' ' && value != '\t' && value != '\n' && value != '\r') {
+                this.finished = true;
+            }
+            return;
+        }
+
+        if (this.inString) {
+            if (this.escaped) {
+                this.escaped = false;
+            } else if (value == '\\') {
+                this.escaped = true;
+            } else if (value == '"') {
+                this.inString = false;
+            }
+            return;
+        }
+
+        switch (value) {
+            case '"':
+                this.inString = true;
+                break;
+            case '{':
+            case '[':
+                this.depth++;
+                break;
+            case '}':
+            case ']':
+                this.finished = --this.depth == 0;
+                break;
+        }
+    }
+}
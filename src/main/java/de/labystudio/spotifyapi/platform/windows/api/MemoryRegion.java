@@ -0,0 +1,43 @@
+package de.labystudio.spotifyapi.platform.windows.api;
+
+/**
+ * A range of readable memory of a process.
+ *
+ * @author LabyStudio
+ */
+public class MemoryRegion {
+
+    private final long start;
+    private final long end;
+
+    /**
+     * Create a region of readable memory.
+     *
+     * @param start The first address of the region.
+     * @param end   The address after the last byte of the region.
+     */
+    public MemoryRegion(long start, long end) {
+        if (end < start) {
+            throw new IllegalArgumentException("Invalid region: " + Long.toHexString(start) + "-" + Long.toHexString(end));
+        }
+        this.start = start;
+        this.end = end;
+    }
+
+    public long getStart() {
+        return this.start;
+    }
+
+    public long getEnd() {
+        return this.end;
+    }
+
+    public long getSize() {
+        return this.end - this.start;
+    }
+
+    @Override
+    public String toString() {
+        return Long.toHexString(this.start) + "-" + Long.toHexString(this.end);
+    }
+}
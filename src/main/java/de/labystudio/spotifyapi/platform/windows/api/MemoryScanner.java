@@ -0,0 +1,334 @@
+package de.labystudio.spotifyapi.platform.windows.api;
+
+import de.labystudio.spotifyapi.jfr.FlightRecorderEvents;
+import de.labystudio.spotifyapi.jfr.TraceSpan;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Searches the memory of a {@link MemorySource} for one or more byte patterns in a single pass.
+ * <p>
+ * Only the readable regions of the source are scanned, unmapped and guard pages are skipped without reading them.
+ * The regions are split into segments that are searched in parallel on a fork join pool.
+ * The matches are passed to the handler in address order on the calling thread,
+ * so the handler sees the same matches in the same order as in a sequential scan.
+ * Once the handler stops the scan, all segments behind the match are cancelled.
+ * <p>
+ * Each segment is read in chunks into a reused array.
+ * A single pattern is searched with the Boyer-Moore-Horspool algorithm,
+ * multiple patterns are searched at once with the Aho-Corasick algorithm.
+ * The chunks overlap by the pattern length, so matches across the chunk boundaries are found as well.
+ * A rejected match doesn't restart the scan, it continues at the next byte.
+ *
+ * @author LabyStudio
+ */
+public class MemoryScanner {
+
+    public static final int CHUNK_SIZE = 1024 * 64;
+    public static final int SEGMENT_SIZE = CHUNK_SIZE * 16;
+
+    private final MemorySource source;
+    private final PatternMatcher matcher;
+
+    // Chunks of finished segments are reused by the next segments
+    private final Queue<byte[]> chunks = new ConcurrentLinkedQueue<>();
+
+    private long timeout = Long.MAX_VALUE;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * Create a scanner for the given patterns.
+     *
+     * @param source   The memory to search in.
+     * @param patterns The bytes to search for, the index of a pattern is passed to the {@link MatchHandler}.
+     */
+    public MemoryScanner(MemorySource source, byte[]... patterns) {
+        this.source = source;
+        this.matcher = PatternMatcher.create(patterns.clone());
+    }
+
+    /**
+     * Find the address of the first match of any pattern that starts between the given start and end address.
+     * <p>
+     * It will return -1 if no address was found.
+     *
+     * @param minAddress The address to start searching from.
+     * @param maxAddress The address to stop searching at.
+     * @return The address of the first match.
+     */
+    public long find(long minAddress, long maxAddress) {
+        return this.find(minAddress, maxAddress, null);
+    }
+
+    /**
+     * Find the address of the first match of any pattern that starts between the given start and end address
+     * and is accepted by the given condition. The index passed to the condition counts the matches of all patterns.
+     * <p>
+     * It will return -1 if no address was found.
+     *
+     * @param minAddress The address to start searching from.
+     * @param maxAddress The address to stop searching at.
+     * @param condition  The condition function to call for each match or null to accept the first match.
+     * @return The address of the first accepted match.
+     * @throws IllegalStateException if the timeout is reached.
+     */
+    public long find(long minAddress, long maxAddress, WinProcess.SearchCondition condition) {
+        long[] result = {-1};
+        int[] index = {0};
+        this.scan(minAddress, maxAddress, condition == null, (address, pattern) -> {
+            if (condition == null || condition.matches(address, index[0]++)) {
+                result[0] = address;
+                return true;
+            }
+            return false;
+        });
+        return result[0];
+    }
+
+    /**
+     * Pass all matches that start between the given start and end address to the handler,
+     * ordered by their address and then by the index of the pattern.
+     *
+     * @param minAddress The address to start searching from.
+     * @param maxAddress The address to stop searching at.
+     * @param handler    The handler that is called for each match on the calling thread.
+     * @return True if the handler stopped the scan, false if the end was reached.
+     * @throws IllegalStateException if the timeout is reached.
+     */
+    public boolean scan(long minAddress, long maxAddress, MatchHandler handler) {
+        return this.scan(minAddress, maxAddress, false, handler);
+    }
+
+    private boolean scan(long minAddress, long maxAddress, boolean firstMatchOnly, MatchHandler handler) {
+        Scan scan = new Scan(System.currentTimeMillis(), firstMatchOnly);
+        Deque<Segment> pending = new ArrayDeque<>();
+        int window = Math.max(2, this.pool.getParallelism() * 2);
+        long bytesScanned = 0;
+
+        try (TraceSpan span = FlightRecorderEvents.beginMemoryScan(minAddress, maxAddress, this.matcher.getMaxLength())) {
+            SegmentIterator segments = new SegmentIterator(scan, minAddress, maxAddress);
+            boolean parallel = false;
+            try {
+                while (true) {
+                    // Keep the pool busy with the next segments in address order
+                    while (pending.size() < window && segments.hasNext()) {
+                        Segment segment = segments.next();
+                        pending.add(segment);
+                        if (parallel) {
+                            this.pool.execute(segment);
+                        } else if (this.pool.getParallelism() > 1 && (pending.size() > 1 || segments.hasNext())) {
+                            // A single segment or a single core is not worth the hand-off to the pool
+                            parallel = true;
+                            pending.forEach(this.pool::execute);
+                        }
+                    }
+
+                    Segment segment = pending.poll();
+                    if (segment == null) {
+                        break;
+                    }
+                    PatternMatcher.Matches matches = parallel ? segment.join() : segment.invoke();
+
+                    // All segments before were already handled, so the order is the same as in a sequential scan
+                    for (int i = 0; i < matches.count; i++) {
+                        long address = matches.addresses[i];
+                        if (handler.onMatch(address, matches.patterns[i])) {
+                            span.setBytes(bytesScanned + address - segment.from);
+                            span.setSuccess(true);
+                            return true;
+                        }
+                    }
+                    bytesScanned += segment.to - segment.from;
+                }
+            } finally {
+                // Stop the segments behind the result
+                scan.cancelled = true;
+                for (Segment segment : pending) {
+                    segment.cancel(false);
+                }
+            }
+            span.setBytes(bytesScanned);
+        }
+        return false;
+    }
+
+    private PatternMatcher.Matches search(Scan scan, long from, long to, long regionEnd) {
+        int overlap = this.matcher.getMaxLength() - 1;
+        byte[] chunk = this.chunks.poll();
+        if (chunk == null) {
+            chunk = new byte[CHUNK_SIZE + overlap];
+        }
+
+        PatternMatcher.Matches matches = new PatternMatcher.Matches();
+        try {
+            long cursor = from;
+            while (cursor < to && !scan.cancelled) {
+                // The chunk is extended by the rest of the longest pattern, but never read outside of the region
+                int positions = (int) Math.min(CHUNK_SIZE, to - cursor);
+                int length = (int) Math.min(positions + overlap, regionEnd - cursor);
+                this.source.readBytes(cursor, chunk, length);
+
+                this.matcher.search(chunk, length, positions, cursor, matches, scan.firstMatchOnly);
+                if (scan.firstMatchOnly && matches.count > 0) {
+                    break;
+                }
+                cursor += positions;
+
+                long timePassed = System.currentTimeMillis() - scan.timeStart;
+                if (timePassed > this.timeout) {
+                    throw new IllegalStateException("Scan timeout of " + this.timeout + "ms reached at address " + cursor);
+                }
+            }
+            return matches;
+        } finally {
+            this.chunks.offer(chunk);
+        }
+    }
+
+    /**
+     * Set the timeout for a scan in milliseconds.
+     * It will throw an exception if the timeout is reached.
+     *
+     * @param timeout The timeout in milliseconds.
+     * @return The scanner instance
+     */
+    public MemoryScanner setTimeout(long timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    /**
+     * Set the pool to search the segments on. The common pool is used by default.
+     *
+     * @param pool The fork join pool.
+     * @return The scanner instance
+     */
+    public MemoryScanner setPool(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    public long getTimeout() {
+        return this.timeout;
+    }
+
+    /**
+     * Handler for the matches of a scan.
+     */
+    public interface MatchHandler {
+
+        /**
+         * Called for each match in address order.
+         *
+         * @param address The address of the match.
+         * @param pattern The index of the matching pattern.
+         * @return True to stop the scan.
+         */
+        boolean onMatch(long address, int pattern);
+    }
+
+    /**
+     * State of a single scan that is shared by its segments.
+     */
+    private static class Scan {
+
+        private final long timeStart;
+        private final boolean firstMatchOnly;
+
+        private volatile boolean cancelled;
+
+        private Scan(long timeStart, boolean firstMatchOnly) {
+            this.timeStart = timeStart;
+            this.firstMatchOnly = firstMatchOnly;
+        }
+    }
+
+    /**
+     * Splits the readable regions into segments on demand, the range may cover the whole address space.
+     */
+    private class SegmentIterator {
+
+        private final Scan scan;
+        private final long minAddress;
+        private final long maxAddress;
+        private final List<MemoryRegion> regions;
+
+        private int regionIndex;
+        private long cursor;
+        private long to;
+        private long regionEnd;
+
+        private SegmentIterator(Scan scan, long minAddress, long maxAddress) {
+            this.scan = scan;
+            this.minAddress = minAddress;
+            this.maxAddress = maxAddress;
+            this.regions = MemoryScanner.this.source.getReadableRegions(minAddress, maxAddress);
+            this.nextRegion();
+        }
+
+        private boolean hasNext() {
+            return this.cursor < this.to;
+        }
+
+        private Segment next() {
+            long from = this.cursor;
+            this.cursor += Math.min(SEGMENT_SIZE, this.to - from);
+            Segment segment = new Segment(this.scan, from, this.cursor, this.regionEnd);
+            if (this.cursor >= this.to) {
+                this.nextRegion();
+            }
+            return segment;
+        }
+
+        private void nextRegion() {
+            while (this.regionIndex < this.regions.size()) {
+                long regionStart = this.regions.get(this.regionIndex).getStart();
+                long regionEnd = this.regions.get(this.regionIndex++).getEnd();
+
+                // Adjacent regions are merged, a match may cross the border between them
+                while (this.regionIndex < this.regions.size() && this.regions.get(this.regionIndex).getStart() <= regionEnd) {
+                    regionEnd = Math.max(regionEnd, this.regions.get(this.regionIndex++).getEnd());
+                }
+
+                // A match has to start in the range and end in the region
+                this.regionEnd = regionEnd;
+                this.cursor = Math.max(this.minAddress, regionStart);
+                this.to = Math.min(this.maxAddress, regionEnd - MemoryScanner.this.matcher.getMinLength() + 1);
+                if (this.cursor < this.to) {
+                    return;
+                }
+            }
+            this.cursor = this.to = 0;
+        }
+    }
+
+    /**
+     * Search of the matches that start in a range of the readable memory.
+     */
+    @SuppressWarnings("serial")
+    private class Segment extends RecursiveTask<PatternMatcher.Matches> {
+
+        private final Scan scan;
+        private final long from;
+        private final long to;
+        private final long regionEnd;
+
+        private Segment(Scan scan, long from, long to, long regionEnd) {
+            this.scan = scan;
+            this.from = from;
+            this.to = to;
+            this.regionEnd = regionEnd;
+        }
+
+        @Override
+        protected PatternMatcher.Matches compute() {
+            return MemoryScanner.this.search(this.scan, this.from, this.to, this.regionEnd);
+        }
+    }
+}
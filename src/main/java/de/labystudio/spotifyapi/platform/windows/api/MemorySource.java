@@ -0,0 +1,40 @@
+package de.labystudio.spotifyapi.platform.windows.api;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Readable memory of a process.
+ * The memory scan only depends on this interface, so it can run against synthetic memory images on any platform.
+ * <p>
+ * The memory is read from multiple threads at the same time during a scan, implementations have to be thread-safe.
+ *
+ * @author LabyStudio
+ * @see MemoryScanner
+ */
+public interface MemorySource {
+
+    /**
+     * Read the memory into the given array without allocating a new one.
+     * Bytes that can't be read are set to zero, like unreadable pages of a real process.
+     *
+     * @param address The address to read from.
+     * @param target  The array to read into.
+     * @param length  The amount of bytes to read.
+     */
+    void readBytes(long address, byte[] target, int length);
+
+    /**
+     * Enumerate the readable regions that overlap the given address range, ordered by their address.
+     * The regions are not clipped to the range, the scan only reads inside of them.
+     * <p>
+     * By default, the whole address space is assumed to be readable.
+     *
+     * @param minAddress The minimum address of the range.
+     * @param maxAddress The maximum address of the range.
+     * @return The readable regions ordered by address.
+     */
+    default List<MemoryRegion> getReadableRegions(long minAddress, long maxAddress) {
+        return Collections.singletonList(new MemoryRegion(minAddress, Long.MAX_VALUE));
+    }
+}
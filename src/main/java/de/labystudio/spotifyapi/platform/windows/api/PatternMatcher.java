@@ -0,0 +1,77 @@
+package de.labystudio.spotifyapi.platform.windows.api;
+
+import java.util.Arrays;
+
+/**
+ * Searches a chunk of memory for the patterns of a {@link MemoryScanner}.
+ *
+ * @author LabyStudio
+ */
+abstract class PatternMatcher {
+
+    /**
+     * Create the fastest matcher for the given patterns.
+     *
+     * @param patterns The patterns to search for.
+     * @return A Boyer-Moore-Horspool matcher for a single pattern or an Aho-Corasick matcher for multiple patterns.
+     */
+    static PatternMatcher create(byte[][] patterns) {
+        if (patterns.length == 0) {
+            throw new IllegalArgumentException("At least one pattern is required");
+        }
+        for (byte[] pattern : patterns) {
+            if (pattern.length == 0) {
+                throw new IllegalArgumentException("Pattern must not be empty");
+            }
+        }
+        return patterns.length == 1 ? new HorspoolMatcher(patterns[0]) : new AhoCorasickMatcher(patterns);
+    }
+
+    /**
+     * Search the chunk for matches that start before the given amount of positions and end in the chunk.
+     * The matches are added ordered by their address and then by the pattern index.
+     *
+     * @param chunk     The bytes of the memory.
+     * @param length    The amount of bytes in the chunk.
+     * @param positions The amount of positions at which a match may start.
+     * @param address   The address of the first byte of the chunk.
+     * @param matches   The list to add the matches to.
+     * @param firstOnly True to stop at the first match.
+     */
+    abstract void search(byte[] chunk, int length, int positions, long address, Matches matches, boolean firstOnly);
+
+    /**
+     * Returns the length of the longest pattern.
+     *
+     * @return The maximum pattern length.
+     */
+    abstract int getMaxLength();
+
+    /**
+     * Returns the length of the shortest pattern.
+     *
+     * @return The minimum pattern length.
+     */
+    abstract int getMinLength();
+
+    /**
+     * Growable list of matches with their address and pattern index.
+     */
+    static class Matches {
+
+        long[] addresses = new long[0];
+        int[] patterns = new int[0];
+        int count;
+
+        void add(long address, int pattern) {
+            if (this.count == this.addresses.length) {
+                int capacity = Math.max(8, this.count * 2);
+                this.addresses = Arrays.copyOf(this.addresses, capacity);
+                this.patterns = Arrays.copyOf(this.patterns, capacity);
+            }
+            this.addresses[this.count] = address;
+            this.patterns[this.count] = pattern;
+            this.count++;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package de.labystudio.spotifyapi.platform.windows.api;
+
+import de.labystudio.spotifyapi.platform.PresenceDetector;
+
+/**
+ * Checks if Spotify is running using a Toolhelp process snapshot.
+ * It doesn't open the process, so no memory scan is started while Spotify is closed.
+ *
+ * @author LabyStudio
+ */
+public class ToolhelpPresenceDetector implements PresenceDetector, WinApi {
+
+    private final String executableName;
+
+    /**
+     * Creates a presence detector for a specific executable
+     *
+     * @param executableName the name of the executable
+     */
+    public ToolhelpPresenceDetector(String executableName) {
+        this.executableName = executableName;
+    }
+
+    @Override
+    public boolean isPresent() {
+        return this.getProcessIdByName(this.executableName) != -1;
+    }
+}
@@ -29,6 +29,7 @@ public interface WinApi {
     int PROCESS_VM_READ = 0x0010;
     int PROCESS_VM_WRITE = 0x0020;
     int PROCESS_VM_OPERATION = 0x0008;
+    int PROCESS_QUERY_INFORMATION = 0x0400;
 
     int VK_VOLUME_MUTE = 0xAD;
     int VK_VOLUME_DOWN = 0xAE;
@@ -73,7 +74,11 @@ public interface WinApi {
 
     default WinNT.HANDLE openProcessHandle(int processId) {
         Kernel32 kernel = Kernel32.INSTANCE;
-        return kernel.OpenProcess(PROCESS_VM_READ | PROCESS_VM_WRITE | PROCESS_VM_OPERATION, false, processId);
+        return kernel.OpenProcess(
+                PROCESS_VM_READ | PROCESS_VM_WRITE | PROCESS_VM_OPERATION | PROCESS_QUERY_INFORMATION,
+                false,
+                processId
+        );
     }
 
     default WinDef.HWND openWindow(int processId) {
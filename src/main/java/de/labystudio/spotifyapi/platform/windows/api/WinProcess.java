@@ -1,15 +1,30 @@
 package de.labystudio.spotifyapi.platform.windows.api;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
 import com.sun.jna.Memory;
 import com.sun.jna.Pointer;
+import com.sun.jna.platform.win32.BaseTSD;
+import com.sun.jna.platform.win32.Kernel32Util;
+import com.sun.jna.platform.win32.VerRsrc;
+import com.sun.jna.platform.win32.VersionUtil;
+import com.sun.jna.platform.win32.Win32Exception;
 import com.sun.jna.platform.win32.WinDef;
 import com.sun.jna.platform.win32.WinNT;
 import com.sun.jna.ptr.IntByReference;
 import de.labystudio.spotifyapi.platform.windows.api.jna.Kernel32;
 import de.labystudio.spotifyapi.platform.windows.api.jna.Psapi;
 
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -18,16 +33,26 @@ import java.util.Map;
  *
  * @author LabyStudio
  */
-public class WinProcess implements WinApi {
+public class WinProcess implements WinApi, MemorySource {
 
     protected final static Gson GSON = new Gson();
 
+    // A corrupt region is never read further than this
+    public static final int MAX_JSON_SIZE = 1024 * 1024;
+
     protected final int processId;
     protected final WinNT.HANDLE handle;
     protected final WinDef.HWND window;
 
     protected long scanTimeout = 1000 * 10;
 
+    // Reused for every read, the process memory is read several times per tick
+    private final IntByReference bytesRead = new IntByReference();
+    private Memory buffer = new Memory(64);
+
+    // The memory scan reads from multiple threads, each of them reuses its own buffer
+    private final ThreadLocal<Memory> scanBuffer = new ThreadLocal<>();
+
     /**
      * Creates a new instance of the {@link WinProcess} class.
      *
@@ -54,6 +79,20 @@ public class WinProcess implements WinApi {
         }
     }
 
+    /**
+     * Creates a process from an already known handle.
+     * Subclasses can override the memory reads to read from another source, e.g. a memory image in benchmarks.
+     *
+     * @param processId The id of the process.
+     * @param handle    The handle of the process.
+     * @param window    The main window of the process.
+     */
+    protected WinProcess(int processId, WinNT.HANDLE handle, WinDef.HWND window) {
+        this.processId = processId;
+        this.handle = handle;
+        this.window = window;
+    }
+
     /**
      * Read a boolean value from the process memory.
      *
@@ -70,8 +109,8 @@ public class WinProcess implements WinApi {
      * @param address The address to read from.
      * @return The byte value.
      */
-    public byte readByte(long address) {
-        return this.readBytes(address, 1)[0];
+    public synchronized byte readByte(long address) {
+        return this.read(address, 1).getByte(0);
     }
 
     /**
@@ -80,9 +119,12 @@ public class WinProcess implements WinApi {
      * @param address The address to read from.
      * @return The integer value.
      */
-    public int readInteger(long address) {
-        byte[] bytes = this.readBytes(address, 4);
-        return (bytes[0] & 0xFF) | (bytes[1] & 0xFF) << 8 | (bytes[2] & 0xFF) << 16 | (bytes[3] & 0xFF) << 24;
+    public synchronized int readInteger(long address) {
+        Memory memory = this.read(address, 4);
+        return (memory.getByte(0) & 0xFF)
+                | (memory.getByte(1) & 0xFF) << 8
+                | (memory.getByte(2) & 0xFF) << 16
+                | (memory.getByte(3) & 0xFF) << 24;
     }
 
     /**
@@ -103,11 +145,86 @@ public class WinProcess implements WinApi {
      * @param length  The length of the array.
      * @return The byte array with the given length.
      */
-    public byte[] readBytes(long address, int length) {
-        Kernel32 kernel = Kernel32.INSTANCE;
-        Memory memory = new Memory(length);
-        kernel.ReadProcessMemory(this.handle, new Pointer(address), memory, length, new IntByReference(length));
-        return memory.getByteArray(0, length);
+    public synchronized byte[] readBytes(long address, int length) {
+        return this.read(address, length).getByteArray(0, length);
+    }
+
+    /**
+     * Read the process memory into the given array without allocating a new one.
+     * It doesn't use the shared buffer, so it can be called from multiple threads at the same time.
+     *
+     * @param address The address to read from.
+     * @param target  The array to read into.
+     * @param length  The amount of bytes to read.
+     */
+    @Override
+    public void readBytes(long address, byte[] target, int length) {
+        Memory buffer = this.scanBuffer.get();
+        if (buffer == null || buffer.size() < length) {
+            buffer = new Memory(Math.max(length, buffer == null ? 64 : buffer.size() * 2));
+            this.scanBuffer.set(buffer);
+        }
+        if (Kernel32.INSTANCE.ReadProcessMemory(this.handle, new Pointer(address), buffer, length, null)) {
+            buffer.read(0, target, 0, length);
+        } else {
+            // Don't leave the bytes of the previous read in the array
+            Arrays.fill(target, 0, length, (byte) 0);
+        }
+    }
+
+    /**
+     * Enumerate the committed memory regions of the process that are readable.
+     * Unmapped, reserved, guard and no-access pages are excluded.
+     *
+     * @param minAddress The minimum address of the range.
+     * @param maxAddress The maximum address of the range.
+     * @return The readable regions ordered by address.
+     */
+    @Override
+    public List<MemoryRegion> getReadableRegions(long minAddress, long maxAddress) {
+        List<MemoryRegion> regions = new ArrayList<>();
+        WinNT.MEMORY_BASIC_INFORMATION info = new WinNT.MEMORY_BASIC_INFORMATION();
+        BaseTSD.SIZE_T infoSize = new BaseTSD.SIZE_T(info.size());
+
+        long address = minAddress;
+        while (address < maxAddress) {
+            // Fails for addresses above the user space
+            if (Kernel32.INSTANCE.VirtualQueryEx(this.handle, new Pointer(address), info, infoSize).longValue() == 0) {
+                break;
+            }
+            long regionStart = Pointer.nativeValue(info.baseAddress);
+            long regionEnd = regionStart + info.regionSize.longValue();
+            if (regionEnd <= address) {
+                break;
+            }
+
+            int protect = info.protect.intValue();
+            boolean committed = info.state.intValue() == WinNT.MEM_COMMIT;
+            if (committed && protect != 0 && (protect & (WinNT.PAGE_NOACCESS | WinNT.PAGE_GUARD)) == 0) {
+                regions.add(new MemoryRegion(regionStart, regionEnd));
+            }
+            address = regionEnd;
+        }
+        return regions;
+    }
+
+    /**
+     * Read the process memory into the shared buffer.
+     * The buffer is only valid while holding the lock of this process.
+     *
+     * @param address The address to read from.
+     * @param length  The amount of bytes to read.
+     * @return The shared buffer containing the bytes.
+     */
+    private Memory read(long address, int length) {
+        if (this.buffer.size() < length) {
+            this.buffer = new Memory(Math.max(length, this.buffer.size() * 2));
+        }
+        if (!Kernel32.INSTANCE.ReadProcessMemory(this.handle, new Pointer(address), this.buffer, length, this.bytesRead)) {
+            // Don't leave the bytes of the previous read in the buffer
+            this.buffer.clear(length);
+        }
+        return this.buffer;
     }
 
     /**
@@ -121,31 +238,7 @@ public class WinProcess implements WinApi {
      * @return The address of the first matching bytes.
      */
     public long findInMemory(long minAddress, long maxAddress, byte[] searchBytes) {
-        long timeStart = System.currentTimeMillis();
-        int chunkSize = 1024 * 64;
-
-        for (long cursor = minAddress; cursor < maxAddress; cursor += chunkSize) {
-            byte[] chunk = this.readBytes(cursor, chunkSize + searchBytes.length);
-
-            for (int i = 0; i < chunk.length - searchBytes.length; i++) {
-                boolean found = true;
-                for (int k = 0; k < searchBytes.length; k++) {
-                    if (chunk[i + k] != searchBytes[k]) {
-                        found = false;
-                        break;
-                    }
-                }
-                if (found) {
-                    return cursor + i;
-                }
-            }
-
-            long timePassed = System.currentTimeMillis() - timeStart;
-            if (timePassed > this.scanTimeout) {
-                throw new IllegalStateException("Scan timeout of " + this.scanTimeout + "ms reached at address " + cursor);
-            }
-        }
-        return -1;
+        return this.findInMemory(minAddress, maxAddress, searchBytes, null);
     }
 
     /**
@@ -160,19 +253,12 @@ public class WinProcess implements WinApi {
      * @param searchBytes The bytes to search for.
      * @param condition   The condition function to call for each matching address.
      * @return The address of the first matching bytes.
+     * @see MemoryScanner
      */
     public long findInMemory(long minAddress, long maxAddress, byte[] searchBytes, SearchCondition condition) {
-        long cursor = minAddress;
-        int index = 0;
-        while (cursor < maxAddress) {
-            long target = this.findInMemory(cursor, maxAddress, searchBytes);
-            if (target == -1 || condition.matches(target, index)) {
-                return target;
-            }
-            cursor = target + 1;
-            index++;
-        }
-        return -1;
+        return new MemoryScanner(this, searchBytes)
+                .setTimeout(this.scanTimeout)
+                .find(minAddress, maxAddress, condition);
     }
 
     /**
@@ -311,6 +397,9 @@ public class WinProcess implements WinApi {
     /**
      * Find the address of multiple text strings inside the memory.
      * If there are multiple matches of the text, the given index will be used to select the correct one.
+     * <p>
+     * All texts are searched in a single pass, the condition is called with the match index of each text.
+     * The result of an earlier text is preferred, even if a later text matches at a lower address.
      *
      * @param start     The address to start searching from.
      * @param end       The address to stop searching at.
@@ -319,13 +408,23 @@ public class WinProcess implements WinApi {
      * @return The address of the text at the given index
      */
     public long findAddressOfTexts(long start, long end, SearchCondition condition, String... texts) {
-        for (String text : texts) {
-            long address = this.findAddressOfText(start, end, text, condition);
-            if (address != -1) {
-                return address;
-            }
+        if (texts.length == 0) {
+            return -1;
         }
-        return -1;
+
+        int[] indices = new int[texts.length];
+        long[] result = {-1};
+        int[] resultText = {texts.length};
+        this.createScanner(texts).scan(start, end, (address, text) -> {
+            // A later text can't replace the result of an earlier one
+            if (text >= resultText[0] || !condition.matches(address, indices[text]++)) {
+                return false;
+            }
+            result[0] = address;
+            resultText[0] = text;
+            return text == 0;
+        });
+        return result[0];
     }
 
     /**
@@ -336,63 +435,84 @@ public class WinProcess implements WinApi {
      * @return The addresses of the strings.
      */
     public long findAddressUsingPath(String... path) {
-        long cursor = -1;
-        for (String part : path) {
-            cursor = this.findAddressOfText(cursor + 1, part, 0);
-            if (cursor == -1) {
-                return -1;
-            }
+        SearchRule[] rules = new SearchRule[path.length];
+        for (int i = 0; i < path.length; i++) {
+            rules[i] = new SearchRule(path[i], (address, index) -> index == 0);
         }
-        return cursor;
+        return this.findAddressUsingRules(rules);
     }
 
     /**
      * Find an address by matching multiple rules inside the memory.
      * It will start searching for the first rule and continues the next at the position where the previous match was found.
+     * <p>
+     * All rules are searched in a single pass, the matches of a rule are ignored until the previous rule matched.
      *
      * @param rules The list of rules to search for.
      * @return The final addresses after all rules were matched.
      */
     public long findAddressUsingRules(SearchRule... rules) {
-        long cursor = -1;
-        for (SearchRule rule : rules) {
-            cursor = this.findAddressOfText(cursor + 1, rule.getText(), rule.getCondition());
-            if (cursor == -1) {
-                return -1;
+        if (rules.length == 0) {
+            return -1;
+        }
+
+        String[] texts = new String[rules.length];
+        for (int i = 0; i < rules.length; i++) {
+            texts[i] = rules[i].getText();
+        }
+
+        long[] cursor = {-1};
+        int[] rule = {0};
+        int[] index = {0};
+        boolean matched = this.createScanner(texts).scan(0, Long.MAX_VALUE, (address, text) -> {
+            // Only the current rule is searched and only behind the match of the previous rule
+            if (text != rule[0] || address <= cursor[0] || !rules[text].getCondition().matches(address, index[0]++)) {
+                return false;
             }
+            cursor[0] = address;
+            index[0] = 0;
+            return ++rule[0] == rules.length;
+        });
+        return matched ? cursor[0] : -1;
+    }
+
+    private MemoryScanner createScanner(String... texts) {
+        byte[][] patterns = new byte[texts.length][];
+        for (int i = 0; i < texts.length; i++) {
+            patterns[i] = texts[i].getBytes();
         }
-        return cursor;
+        return new MemoryScanner(this, patterns).setTimeout(this.scanTimeout);
     }
 
+    /**
+     * Read the json object that starts at the given address.
+     * The memory is streamed into the json reader until the outermost bracket is closed.
+     *
+     * @param address The address of the opening bracket.
+     * @return The json object.
+     * @throws JsonParseException if there is no valid json object of at most {@link #MAX_JSON_SIZE} bytes.
+     */
     public JsonObject readJsonObject(long address) {
-        int depth = 0;
-        boolean inString = false;
-        int chunkSize = 1024;
-
-        long offset = 0;
-        StringBuilder json = new StringBuilder();
-        do {
-            String chunk = this.readString(address + offset, chunkSize);
-            for (int i = 0; i < chunk.length(); i++) {
-                char c = chunk.charAt(i);
-                if (c == '"') {
-                    inString = !inString;
-                }
-                if (!inString) {
-                    if (c == '{' || c == '[') {
-                        depth++;
-                    } else if (c == '}' || c == ']') {
-                        depth--;
-                    }
-                }
-                json.append(c);
-                if (depth == 0) {
-                    break;
-                }
-            }
-            offset += chunkSize;
-        } while (depth > 0);
-        return GSON.fromJson(json.toString(), JsonObject.class);
+        return this.readJsonObject(address, MAX_JSON_SIZE);
+    }
+
+    /**
+     * Read the json object that starts at the given address.
+     * The memory is streamed into the json reader until the outermost bracket is closed.
+     *
+     * @param address  The address of the opening bracket.
+     * @param maxBytes The maximum size of the json object in bytes.
+     * @return The json object.
+     * @throws JsonParseException if there is no valid json object within the given size.
+     */
+    public JsonObject readJsonObject(long address, int maxBytes) {
+        JsonInputStream stream = new JsonInputStream(this, address, maxBytes);
+        JsonReader reader = new JsonReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        JsonElement element = JsonParser.parseReader(reader);
+        if (!element.isJsonObject()) {
+            throw new JsonSyntaxException("Expected a json object at address 0x" + Long.toHexString(address) + " but found " + element);
+        }
+        return element.getAsJsonObject();
     }
 
     /**
@@ -414,6 +534,24 @@ public class WinProcess implements WinApi {
         return this.getModules(this.handle);
     }
 
+    /**
+     * Read the product version of the executable of the process, e.g. "1.2.66.447".
+     *
+     * @return The version of the executable or null if it has no version information.
+     */
+    public String getExecutableVersion() {
+        try {
+            String path = Kernel32Util.QueryFullProcessImageName(this.handle, 0);
+            VerRsrc.VS_FIXEDFILEINFO info = VersionUtil.getFileVersionInfo(path);
+            return info.getProductVersionMajor()
+                    + "." + info.getProductVersionMinor()
+                    + "." + info.getProductVersionRevision()
+                    + "." + info.getProductVersionBuild();
+        } catch (Win32Exception e) {
+            return null;
+        }
+    }
+
     /**
      * Find the first address of the modules.
      *
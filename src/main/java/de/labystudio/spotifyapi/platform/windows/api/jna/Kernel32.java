@@ -2,6 +2,7 @@ package de.labystudio.spotifyapi.platform.windows.api.jna;
 
 import com.sun.jna.Native;
 import com.sun.jna.Pointer;
+import com.sun.jna.platform.win32.BaseTSD;
 import com.sun.jna.platform.win32.WinNT;
 import com.sun.jna.ptr.IntByReference;
 import com.sun.jna.win32.StdCallLibrary;
@@ -13,6 +14,8 @@ public interface Kernel32 extends WinNT, StdCallLibrary {
 
     boolean ReadProcessMemory(HANDLE hProcess, Pointer lpBaseAddress, Pointer lpBuffer, int nSize, IntByReference lpNumberOfBytesRead);
 
+    BaseTSD.SIZE_T VirtualQueryEx(HANDLE hProcess, Pointer lpAddress, MEMORY_BASIC_INFORMATION lpBuffer, BaseTSD.SIZE_T dwLength);
+
     boolean Module32NextW(HANDLE hSnapshot, Tlhelp32.MODULEENTRY32W lpme);
 
     boolean Process32First(HANDLE var1, Tlhelp32.PROCESSENTRY32.ByReference var2);
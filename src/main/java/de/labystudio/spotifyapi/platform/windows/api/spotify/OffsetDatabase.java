@@ -0,0 +1,295 @@
+package de.labystudio.spotifyapi.platform.windows.api.spotify;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import de.labystudio.spotifyapi.state.JsonFiles;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Small database of the memory offsets that were found for each Spotify build.
+ * <p>
+ * An entry is keyed by the version of Spotify.exe and a hash of the chrome_elf.dll module header,
+ * so a reconnect to a known build only needs a single read to validate the offset instead of a memory scan.
+ * Discovered offsets are stored in a json file, the offsets of known builds are seeded from a bundled resource.
+ * The seed is never written to the file, so an update of the library always brings the latest seed.
+ *
+ * @author LabyStudio
+ */
+public class OffsetDatabase {
+
+    public static final String TRACK_ID = "trackIdOffset";
+
+    private static final String SEED_RESOURCE = "/spotify-offsets.json";
+    private static final int MAX_DISCOVERED_ENTRIES = 32;
+    private static final int MODULE_HASH_LENGTH = 8;
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private final Path path;
+
+    // Most recently discovered first
+    private final List<Entry> discovered = new ArrayList<>();
+    private final List<Entry> seeded = new ArrayList<>();
+
+    private boolean modified;
+
+    /**
+     * Create an empty database.
+     *
+     * @param path the file to store the discovered offsets in or null to keep them in memory only
+     */
+    public OffsetDatabase(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Open the database at the given file and seed it with the offsets of the bundled resource.
+     *
+     * @param path the file to store the discovered offsets in or null to keep them in memory only
+     * @return the loaded database
+     */
+    public static OffsetDatabase open(Path path) {
+        OffsetDatabase database = new OffsetDatabase(path);
+        database.load();
+        database.seed();
+        return database;
+    }
+
+    /**
+     * Load the discovered offsets from the file, the current ones are replaced.
+     * A missing or broken file results in an empty database.
+     */
+    public synchronized void load() {
+        this.discovered.clear();
+        this.modified = false;
+        if (this.path == null) {
+            return;
+        }
+
+        try (Reader reader = Files.newBufferedReader(this.path, StandardCharsets.UTF_8)) {
+            this.discovered.addAll(read(reader));
+        } catch (NoSuchFileException e) {
+            // Nothing discovered yet
+        } catch (IOException | JsonParseException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Add the offsets of the bundled resource as seed.
+     */
+    public void seed() {
+        try (InputStream stream = OffsetDatabase.class.getResourceAsStream(SEED_RESOURCE)) {
+            if (stream == null) {
+                throw new IOException("Could not find offset seed: " + SEED_RESOURCE);
+            }
+            this.seed(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        } catch (IOException | JsonParseException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Add the offsets of the given json as seed.
+     * The seed is only used for lookups and not written to the file.
+     *
+     * @param reader the reader of the json
+     * @throws JsonParseException if the json is invalid
+     */
+    public synchronized void seed(Reader reader) {
+        this.seeded.addAll(read(reader));
+    }
+
+    /**
+     * Collect the known offsets for the given build in the order in which they should be validated.
+     * The offset of the exact build and module comes first, then the other offsets of the same build
+     * and then the offsets of all other builds, the discovered ones before the seed.
+     *
+     * @param build  the version of Spotify or null if unknown
+     * @param module the hash of the module header or null if unknown
+     * @param name   the name of the offset, e.g. {@link #TRACK_ID}
+     * @return the distinct offsets, empty if none are known
+     */
+    public synchronized long[] lookup(String build, String module, String name) {
+        Set<Long> offsets = new LinkedHashSet<>();
+        if (module != null) {
+            this.collect(offsets, name, entry -> Objects.equals(entry.build, build) && module.equals(entry.module));
+        }
+        if (build != null) {
+            this.collect(offsets, name, entry -> build.equals(entry.build));
+        }
+        this.collect(offsets, name, entry -> true);
+
+        long[] result = new long[offsets.size()];
+        int index = 0;
+        for (long offset : offsets) {
+            result[index++] = offset;
+        }
+        return result;
+    }
+
+    private void collect(Set<Long> offsets, String name, Predicate<Entry> filter) {
+        for (Entry entry : this.discovered) {
+            collect(offsets, entry, name, filter);
+        }
+        for (Entry entry : this.seeded) {
+            collect(offsets, entry, name, filter);
+        }
+    }
+
+    private static void collect(Set<Long> offsets, Entry entry, String name, Predicate<Entry> filter) {
+        Long offset = entry.offsets.get(name);
+        if (offset != null && filter.test(entry)) {
+            offsets.add(offset);
+        }
+    }
+
+    /**
+     * Store a discovered offset for the given build and module.
+     * The entry becomes the most recent one and the oldest entries are dropped once the database is full.
+     *
+     * @param build  the version of Spotify or null if unknown
+     * @param module the hash of the module header or null if unknown
+     * @param name   the name of the offset, e.g. {@link #TRACK_ID}
+     * @param offset the offset that was found
+     * @return true if the offset wasn't known for this build and module yet
+     */
+    public synchronized boolean put(String build, String module, String name, long offset) {
+        Entry entry = null;
+        Iterator<Entry> iterator = this.discovered.iterator();
+        while (iterator.hasNext()) {
+            Entry candidate = iterator.next();
+            if (Objects.equals(candidate.build, build) && Objects.equals(candidate.module, module)) {
+                iterator.remove();
+                entry = candidate;
+                break;
+            }
+        }
+
+        if (entry == null) {
+            entry = new Entry();
+            entry.build = build;
+            entry.module = module;
+        }
+        if (entry.offsets == null) {
+            entry.offsets = new HashMap<>();
+        }
+
+        Long previous = entry.offsets.put(name, offset);
+        this.discovered.add(0, entry);
+        while (this.discovered.size() > MAX_DISCOVERED_ENTRIES) {
+            this.discovered.remove(this.discovered.size() - 1);
+        }
+
+        boolean changed = previous == null || previous != offset;
+        if (changed) {
+            this.modified = true;
+        }
+        return changed;
+    }
+
+    /**
+     * Write the discovered offsets atomically to the file if they changed since the last load or save.
+     *
+     * @throws IOException if the file could not be written
+     */
+    public synchronized void save() throws IOException {
+        if (this.path == null || !this.modified) {
+            return;
+        }
+
+        Storage storage = new Storage();
+        storage.entries = new ArrayList<>(this.discovered);
+        JsonFiles.writeAtomically(this.path, GSON, storage);
+        this.modified = false;
+    }
+
+    public Path getPath() {
+        return this.path;
+    }
+
+    /**
+     * Hash the header of a module to identify its build.
+     * The header contains the link time stamp, the checksum and the size of each section,
+     * so it changes with every build of the module.
+     *
+     * @param header the first bytes of the module
+     * @return the hash as hex string
+     */
+    public static String hashModule(byte[] header) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256").digest(header);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+
+        StringBuilder builder = new StringBuilder(MODULE_HASH_LENGTH * 2);
+        for (int i = 0; i < MODULE_HASH_LENGTH; i++) {
+            builder.append(Character.forDigit((digest[i] >> 4) & 0xF, 16));
+            builder.append(Character.forDigit(digest[i] & 0xF, 16));
+        }
+        return builder.toString();
+    }
+
+    private static List<Entry> read(Reader reader) {
+        Storage storage = GSON.fromJson(reader, Storage.class);
+        List<Entry> entries = new ArrayList<>();
+        if (storage != null && storage.entries != null) {
+            for (Entry entry : storage.entries) {
+                if (entry != null && entry.offsets != null) {
+                    entries.add(entry);
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Json format of the database file and the seed resource.
+     */
+    private static class Storage {
+        private List<Entry> entries;
+    }
+
+    /**
+     * Offsets of a single Spotify build.
+     */
+    private static class Entry {
+
+        /**
+         * Version of Spotify.exe, e.g. "1.2.66.447", null if unknown.
+         */
+        private String build;
+
+        /**
+         * Hash of the chrome_elf.dll module header, null if unknown.
+         */
+        private String module;
+
+        /**
+         * Offsets by their name, relative to the chrome_elf.dll module.
+         */
+        private Map<String, Long> offsets;
+    }
+}
@@ -19,18 +19,12 @@ public class SpotifyProcess extends WinProcess {
 
     // Spotify track id
     private static final String PREFIX_SPOTIFY_TRACK = "spotify:track:";
-    private static final long[] OFFSETS_TRACK_ID = {
-            0x18bc90, // 64-Bit (1.2.66.447.g4e37e896)
-            0x154A60, // 64-Bit (1.2.26.1187.g36b715a1)
-            0x14FA30, // 64-Bit (1.2.21.1104.g42cf0a50)
-            0x106198, // 32-Bit (1.2.21.1104.g42cf0a50)
-            0x14C9F0, // 64-Bit (Old)
-            0x102178, // 32-Bit (Old)
-            0x1499F0, // 64-Bit (Old)
-            0xFEFE8 // 32-Bit (Old)
-    };
+
+    // The module header is hashed to identify the build of chrome_elf.dll
+    private static final int MODULE_HEADER_SIZE = 0x400;
 
     private final long addressTrackId;
+    private final long trackIdOffset;
     private final PlaybackAccessor playbackAccessor;
 
     /**
@@ -40,6 +34,34 @@ public class SpotifyProcess extends WinProcess {
      * @throws IllegalStateException if the Spotify process could not be found.
      */
     public SpotifyProcess(WindowsMediaControl mediaControl) {
+        this(mediaControl, -1);
+    }
+
+    /**
+     * Creates a new instance of the {@link SpotifyProcess} class.
+     * It will immediately try to connect to the Spotify application.
+     *
+     * @param mediaControl           The media control library or null if it is not available
+     * @param preferredTrackIdOffset The track id offset of the last session relative to chrome_elf.dll,
+     *                               it is checked before the known offsets. -1 if unknown.
+     * @throws IllegalStateException if the Spotify process could not be found.
+     */
+    public SpotifyProcess(WindowsMediaControl mediaControl, long preferredTrackIdOffset) {
+        this(mediaControl, preferredTrackIdOffset, OffsetDatabase.open(null));
+    }
+
+    /**
+     * Creates a new instance of the {@link SpotifyProcess} class.
+     * It will immediately try to connect to the Spotify application.
+     *
+     * @param mediaControl           The media control library or null if it is not available
+     * @param preferredTrackIdOffset The track id offset of the last session relative to chrome_elf.dll,
+     *                               it is checked before the known offsets. -1 if unknown.
+     * @param offsetDatabase         The known offsets of each Spotify build,
+     *                               the offset that was found is stored in it for the next connect.
+     * @throws IllegalStateException if the Spotify process could not be found.
+     */
+    public SpotifyProcess(WindowsMediaControl mediaControl, long preferredTrackIdOffset, OffsetDatabase offsetDatabase) {
         super("Spotify.exe");
 
         if (DEBUG) {
@@ -49,7 +71,15 @@ public class SpotifyProcess extends WinProcess {
         long timeScanStart = System.currentTimeMillis();
 
         // Find the track id address in the memory
-        this.addressTrackId = this.findTrackIdAddress();
+        long chromeElfAddress = this.getChromeElfAddress();
+        String build = this.getExecutableVersion();
+        String module = OffsetDatabase.hashModule(this.readBytes(chromeElfAddress, MODULE_HEADER_SIZE));
+        long[] knownTrackIdOffsets = offsetDatabase.lookup(build, module, OffsetDatabase.TRACK_ID);
+        this.addressTrackId = this.findTrackIdAddress(chromeElfAddress, preferredTrackIdOffset, knownTrackIdOffsets);
+        this.trackIdOffset = this.addressTrackId - chromeElfAddress;
+
+        // Remember the offset of this build, so the next connect doesn't have to scan
+        offsetDatabase.put(build, module, OffsetDatabase.TRACK_ID, this.trackIdOffset);
 
         if (DEBUG) {
             System.out.println("Scanning took " + (System.currentTimeMillis() - timeScanStart) + "ms");
@@ -72,25 +102,34 @@ public class SpotifyProcess extends WinProcess {
         this.playbackAccessor = accessor;
     }
 
-    private long findTrackIdAddress() {
+    private long getChromeElfAddress() {
         Psapi.ModuleInfo chromeElfModule = this.getModuleInfo("chrome_elf.dll");
         if (chromeElfModule == null) {
             throw new IllegalStateException("Could not find chrome_elf.dll module");
         }
+        return chromeElfModule.getBaseOfDll();
+    }
 
-        // Find address of track id (Located in the chrome_elf.dll module)
-        long chromeElfAddress = chromeElfModule.getBaseOfDll();
+    private long findTrackIdAddress(long chromeElfAddress, long preferredTrackIdOffset, long[] knownTrackIdOffsets) {
+        // Check the offset of the last session first, it usually still matches the installed version
+        if (preferredTrackIdOffset >= 0) {
+            long targetAddressTrackId = chromeElfAddress + preferredTrackIdOffset;
+            if (Track.isTrackIdValid(this.readTrackId(targetAddressTrackId))) {
+                return targetAddressTrackId;
+            }
+        }
 
-        // Check all offsets for valid track id
+        // Check all known offsets for valid track id (Located in the chrome_elf.dll module),
+        // the offset of the same build comes first, so a known build costs a single read
         long addressTrackId = -1;
         long minTrackIdOffset = Long.MAX_VALUE;
         long maxTrackIdOffset = Long.MIN_VALUE;
-        for (long trackIdOffset : OFFSETS_TRACK_ID) {
-            // Get min and max of hardcoded offset
+        for (long trackIdOffset : knownTrackIdOffsets) {
+            // Get min and max of known offset
             minTrackIdOffset = Math.min(minTrackIdOffset, trackIdOffset);
             maxTrackIdOffset = Math.max(maxTrackIdOffset, trackIdOffset);
 
-            // Check if the hardcoded offset is valid
+            // Check if the known offset is valid
             long targetAddressTrackId = chromeElfAddress + trackIdOffset;
             if (Track.isTrackIdValid(this.readTrackId(targetAddressTrackId))) {
                 // If the offset works, exit the loop
@@ -99,15 +138,20 @@ public class SpotifyProcess extends WinProcess {
             }
         }
 
-        // If the hardcoded offsets are not valid, try to find it dynamically
+        // If the known offsets are not valid, try to find it dynamically
         if (addressTrackId == -1) {
             if (DEBUG) {
-                System.out.println("Could not find track id with hardcoded offsets. Trying to find it dynamically...");
+                System.out.println("Could not find track id with known offsets. Trying to find it dynamically...");
             }
 
-            long threshold = (maxTrackIdOffset - minTrackIdOffset) * 3;
-            long scanAddressFrom = chromeElfAddress + minTrackIdOffset - threshold;
-            long scanAddressTo = chromeElfAddress + maxTrackIdOffset + threshold;
+            // Search around the known offsets or in the whole module if none are known
+            long scanAddressFrom = chromeElfAddress;
+            long scanAddressTo = chromeElfAddress + this.getModuleInfo("chrome_elf.dll").getSizeOfImage();
+            if (knownTrackIdOffsets.length > 0) {
+                long threshold = (maxTrackIdOffset - minTrackIdOffset) * 3;
+                scanAddressFrom = chromeElfAddress + minTrackIdOffset - threshold;
+                scanAddressTo = chromeElfAddress + maxTrackIdOffset + threshold;
+            }
             addressTrackId = this.findAddressOfText(scanAddressFrom, scanAddressTo, PREFIX_SPOTIFY_TRACK, (address, index) -> {
                 return Track.isTrackIdValid(this.readTrackId(address));
             });
@@ -148,6 +192,15 @@ public class SpotifyProcess extends WinProcess {
         return this.readTrackId(this.addressTrackId);
     }
 
+    /**
+     * Returns the offset of the track id address relative to the chrome_elf.dll module.
+     *
+     * @return the offset of the track id address
+     */
+    public long getTrackIdOffset() {
+        return this.trackIdOffset;
+    }
+
     public PlaybackAccessor getPlaybackAccessor() {
         return this.playbackAccessor;
     }
@@ -0,0 +1,112 @@
+package de.labystudio.spotifyapi.record;
+
+/**
+ * A raw state read from the backend in one tick, or a failed read.
+ * The track name and artist are not recorded, only a hash of the metadata to detect changes.
+ *
+ * @author LabyStudio
+ */
+public class BackendSample {
+
+    private final boolean failure;
+    private final long requestStart;
+    private final long requestEnd;
+    private final String trackId;
+    private final int trackLength;
+    private final int metadataHash;
+    private final int position;
+    private final boolean playing;
+
+    public BackendSample(
+            boolean failure,
+            long requestStart,
+            long requestEnd,
+            String trackId,
+            int trackLength,
+            int metadataHash,
+            int position,
+            boolean playing
+    ) {
+        this.failure = failure;
+        this.requestStart = requestStart;
+        this.requestEnd = requestEnd;
+        this.trackId = trackId;
+        this.trackLength = trackLength;
+        this.metadataHash = metadataHash;
+        this.position = position;
+        this.playing = playing;
+    }
+
+    /**
+     * Returns true if the backend could not be read, e.g. because Spotify was closed.
+     *
+     * @return true if the read failed
+     */
+    public boolean isFailure() {
+        return this.failure;
+    }
+
+    /**
+     * Returns the monotonic time before the backend call.
+     *
+     * @return the time in nanoseconds of the time source of the recording api
+     */
+    public long getRequestStart() {
+        return this.requestStart;
+    }
+
+    /**
+     * Returns the monotonic time after the backend call.
+     *
+     * @return the time in nanoseconds of the time source of the recording api
+     */
+    public long getRequestEnd() {
+        return this.requestEnd;
+    }
+
+    public String getTrackId() {
+        return this.trackId;
+    }
+
+    public int getTrackLength() {
+        return this.trackLength;
+    }
+
+    /**
+     * Returns the hash of the track name, artist and length, or of the error of a failed read.
+     *
+     * @return the hash
+     */
+    public int getMetadataHash() {
+        return this.metadataHash;
+    }
+
+    /**
+     * Returns the position that was read from the backend.
+     *
+     * @return the position in milliseconds or -1 if the backend didn't report a position
+     */
+    public int getPosition() {
+        return this.position;
+    }
+
+    public boolean isPlaying() {
+        return this.playing;
+    }
+
+    @Override
+    public String toString() {
+        if (this.failure) {
+            return String.format("[%d] failure %08x", this.requestStart, this.metadataHash);
+        }
+        return String.format(
+                "[%d] %s %s at %d of %d (%08x)",
+                this.requestStart,
+                this.trackId,
+                this.playing ? "playing" : "paused",
+                this.position,
+                this.trackLength,
+                this.metadataHash
+        );
+    }
+}
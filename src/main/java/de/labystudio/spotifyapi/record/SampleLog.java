@@ -0,0 +1,129 @@
+package de.labystudio.spotifyapi.record;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Reads the binary log of a {@link SampleRecorder}.
+ *
+ * @author LabyStudio
+ */
+public class SampleLog {
+
+    private static final String FILE_PREFIX = "samples-";
+    private static final String FILE_SUFFIX = ".log";
+
+    /**
+     * Read all samples of the log in the given directory, the oldest first.
+     *
+     * @param directory the directory of the log files
+     * @return the samples of all files
+     * @throws IOException if a file could not be read or is not a sample log
+     */
+    public static List<BackendSample> readAll(Path directory) throws IOException {
+        List<BackendSample> samples = new ArrayList<>();
+        for (Path file : listFiles(directory)) {
+            samples.addAll(read(file));
+        }
+        return samples;
+    }
+
+    /**
+     * Read the samples of a single log file.
+     *
+     * @param file the log file
+     * @return the samples of the file
+     * @throws IOException if the file could not be read or is not a sample log
+     */
+    public static List<BackendSample> read(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (buffer.remaining() < SampleRecorder.HEADER_SIZE || buffer.getInt() != SampleRecorder.MAGIC) {
+            throw new IOException("Not a sample log: " + file);
+        }
+        short version = buffer.getShort();
+        short recordSize = buffer.getShort();
+        if (version != SampleRecorder.VERSION || recordSize != SampleRecorder.RECORD_SIZE) {
+            throw new IOException("Unsupported sample log version " + version + ": " + file);
+        }
+
+        List<BackendSample> samples = new ArrayList<>();
+        byte[] trackId = new byte[SampleRecorder.TRACK_ID_LENGTH];
+        for (int offset = SampleRecorder.HEADER_SIZE; offset + recordSize <= buffer.limit(); offset += recordSize) {
+            byte type = buffer.get(offset);
+            if (type == SampleRecorder.TYPE_END) {
+                break;
+            }
+
+            long requestStart = buffer.getLong(offset + 6);
+            if (type == SampleRecorder.TYPE_FAILURE) {
+                int errorHash = buffer.getInt(offset + 18);
+                samples.add(new BackendSample(true, requestStart, requestStart, null, 0, errorHash, -1, false));
+                continue;
+            }
+
+            // Trailing zeros are padding of shorter ids
+            int length = 0;
+            for (int i = 0; i < trackId.length; i++) {
+                trackId[i] = buffer.get(offset + 26 + i);
+                if (trackId[i] != 0) {
+                    length = i + 1;
+                }
+            }
+
+            samples.add(new BackendSample(
+                    false,
+                    requestStart,
+                    requestStart + buffer.getInt(offset + 2),
+                    new String(trackId, 0, length, StandardCharsets.US_ASCII),
+                    buffer.getInt(offset + 14),
+                    buffer.getInt(offset + 18),
+                    buffer.getInt(offset + 22),
+                    (buffer.get(offset + 1) & SampleRecorder.FLAG_PLAYING) != 0
+            ));
+        }
+        return samples;
+    }
+
+    /**
+     * List the log files in the given directory, the oldest first.
+     *
+     * @param directory the directory of the log files
+     * @return the log files ordered by their sequence
+     * @throws IOException if the directory could not be listed
+     */
+    public static List<Path> listFiles(Path directory) throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return files;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            for (Path file : stream) {
+                if (getSequence(file) != -1) {
+                    files.add(file);
+                }
+            }
+        }
+        files.sort(Comparator.comparingLong(SampleLog::getSequence));
+        return files;
+    }
+
+    static Path getPath(Path directory, long sequence) {
+        return directory.resolve(FILE_PREFIX + sequence + FILE_SUFFIX);
+    }
+
+    static long getSequence(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return -1;
+        }
+    }
+}
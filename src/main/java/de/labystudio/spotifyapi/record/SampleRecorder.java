@@ -0,0 +1,194 @@
+package de.labystudio.spotifyapi.record;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends the raw backend samples of an api to a compact binary log, so glitches can be reproduced later.
+ * <p>
+ * Each log file is memory-mapped with a fixed size, an append is a plain memory write without a system call
+ * and survives a crash of the JVM. Once a file is full, the next file is started
+ * and the oldest files are deleted, so the log never takes more than {@code maxFileSize * maxFiles} bytes.
+ * Read the log with {@link SampleLog}.
+ *
+ * @author LabyStudio
+ */
+public class SampleRecorder implements Closeable {
+
+    static final int MAGIC = 0x53504C47; // "SPLG"
+    static final short VERSION = 1;
+
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_SIZE = 48;
+
+    static final byte TYPE_END = 0;
+    static final byte TYPE_SAMPLE = 1;
+    static final byte TYPE_FAILURE = 2;
+
+    static final byte FLAG_PLAYING = 1;
+
+    static final int TRACK_ID_LENGTH = 22;
+
+    private final Path directory;
+    private final long maxFileSize;
+    private final int maxFiles;
+
+    private long sequence;
+    private MappedByteBuffer buffer;
+    private boolean closed;
+
+    /**
+     * Create a recorder that continues the log in the given directory.
+     *
+     * @param directory   the directory of the log files
+     * @param maxFileSize the size of each log file in bytes
+     * @param maxFiles    the amount of log files to keep
+     * @throws IOException if the directory or the first file could not be created
+     */
+    public SampleRecorder(Path directory, long maxFileSize, int maxFiles) throws IOException {
+        if (maxFileSize < HEADER_SIZE + RECORD_SIZE || maxFileSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid file size: " + maxFileSize);
+        }
+        if (maxFiles < 1) {
+            throw new IllegalArgumentException("At least one file has to be kept: " + maxFiles);
+        }
+        this.directory = directory;
+        this.maxFileSize = maxFileSize;
+        this.maxFiles = maxFiles;
+
+        // Continue after the last file of a previous session
+        Files.createDirectories(directory);
+        List<Path> files = SampleLog.listFiles(directory);
+        this.sequence = files.isEmpty() ? 0 : SampleLog.getSequence(files.get(files.size() - 1)) + 1;
+        this.rotate();
+    }
+
+    /**
+     * Append a successful read of the backend.
+     *
+     * @param requestStart the monotonic time before the backend call
+     * @param requestEnd   the monotonic time after the backend call
+     * @param trackId      the id of the current track
+     * @param trackLength  the length of the current track in milliseconds
+     * @param metadataHash the hash of the track metadata
+     * @param position     the reported position in milliseconds or -1 if there is none
+     * @param playing      true if the track is playing
+     */
+    public synchronized void recordSample(
+            long requestStart,
+            long requestEnd,
+            String trackId,
+            int trackLength,
+            int metadataHash,
+            int position,
+            boolean playing
+    ) {
+        MappedByteBuffer buffer = this.prepare();
+        if (buffer == null) {
+            return;
+        }
+
+        int offset = buffer.position();
+        buffer.put(offset + 1, playing ? FLAG_PLAYING : 0);
+        buffer.putInt(offset + 2, (int) Math.min(Integer.MAX_VALUE, Math.max(0, requestEnd - requestStart)));
+        buffer.putLong(offset + 6, requestStart);
+        buffer.putInt(offset + 14, trackLength);
+        buffer.putInt(offset + 18, metadataHash);
+        buffer.putInt(offset + 22, position);
+
+        // Track ids are base62, so a byte per character is enough
+        int length = trackId == null ? 0 : Math.min(trackId.length(), TRACK_ID_LENGTH);
+        for (int i = 0; i < TRACK_ID_LENGTH; i++) {
+            buffer.put(offset + 26 + i, i < length ? (byte) trackId.charAt(i) : 0);
+        }
+
+        // The type is written last, a torn record at a crash still reads as the end
+        buffer.put(offset, TYPE_SAMPLE);
+        buffer.position(offset + RECORD_SIZE);
+    }
+
+    /**
+     * Append a failed read of the backend.
+     *
+     * @param timestamp the monotonic time of the failure
+     * @param errorHash the hash of the error
+     */
+    public synchronized void recordFailure(long timestamp, int errorHash) {
+        MappedByteBuffer buffer = this.prepare();
+        if (buffer == null) {
+            return;
+        }
+
+        int offset = buffer.position();
+        buffer.putLong(offset + 6, timestamp);
+        buffer.putInt(offset + 18, errorHash);
+        buffer.putInt(offset + 22, -1);
+        buffer.put(offset, TYPE_FAILURE);
+        buffer.position(offset + RECORD_SIZE);
+    }
+
+    public Path getDirectory() {
+        return this.directory;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        this.closed = true;
+        if (this.buffer != null) {
+            this.buffer.force();
+            this.buffer = null;
+        }
+    }
+
+    private MappedByteBuffer prepare() {
+        if (this.closed) {
+            return null;
+        }
+
+        try {
+            if (this.buffer.remaining() < RECORD_SIZE) {
+                this.rotate();
+            }
+            return this.buffer;
+        } catch (IOException e) {
+            // Recording is optional, don't break the api
+            e.printStackTrace();
+            this.closed = true;
+            return null;
+        }
+    }
+
+    private void rotate() throws IOException {
+        // The mapping stays valid after the channel is closed
+        Path path = SampleLog.getPath(this.directory, this.sequence++);
+        try (FileChannel channel = FileChannel.open(
+                path,
+                StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE
+        )) {
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, this.maxFileSize);
+        }
+        this.buffer.putInt(MAGIC);
+        this.buffer.putShort(VERSION);
+        this.buffer.putShort((short) RECORD_SIZE);
+        this.buffer.putLong(System.currentTimeMillis());
+        this.buffer.position(HEADER_SIZE);
+
+        // Keep the size of the log bounded
+        List<Path> files = SampleLog.listFiles(this.directory);
+        for (int i = 0; i < files.size() - this.maxFiles; i++) {
+            try {
+                Files.deleteIfExists(files.get(i));
+            } catch (IOException e) {
+                // Windows can't delete a file that is still mapped, it is deleted with the next rotation
+            }
+        }
+    }
+}
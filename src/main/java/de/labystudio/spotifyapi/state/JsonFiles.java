@@ -0,0 +1,51 @@
+package de.labystudio.spotifyapi.state;
+
+import com.google.gson.Gson;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Writes the json files of the api, e.g. the state file and the offset database.
+ *
+ * @author LabyStudio
+ */
+public final class JsonFiles {
+
+    private JsonFiles() {
+    }
+
+    /**
+     * Write the value as json to the file.
+     * It is written to a temporary file next to the target first and then moved over the old file,
+     * so a crash while writing never leaves a broken file behind.
+     * The move falls back to a plain replace if the file system can't move atomically.
+     *
+     * @param path  the file to write
+     * @param gson  the gson instance to serialize the value with
+     * @param value the value to write
+     * @throws IOException if the file could not be written
+     */
+    public static void writeAtomically(Path path, Gson gson, Object value) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        if (directory != null && !Files.exists(directory)) {
+            Files.createDirectories(directory);
+        }
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+            gson.toJson(value, writer);
+        }
+
+        try {
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
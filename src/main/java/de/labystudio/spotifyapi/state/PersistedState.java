@@ -0,0 +1,21 @@
+package de.labystudio.spotifyapi.state;
+
+/**
+ * Last known playback state that is stored in the state file.
+ *
+ * @author LabyStudio
+ */
+public class PersistedState {
+    public String trackId;
+    public String trackName;
+    public String trackArtist;
+    public int trackLength;
+
+    public int position = -1;
+    public boolean playing;
+
+    /**
+     * Wall-clock time in milliseconds when the state was saved.
+     */
+    public long timestamp;
+}
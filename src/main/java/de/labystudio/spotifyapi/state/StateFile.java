@@ -0,0 +1,59 @@
+package de.labystudio.spotifyapi.state;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+/**
+ * Small json file that keeps the last known playback state across restarts.
+ * <p>
+ * The file is written atomically, so a crash while writing never leaves a broken state file behind.
+ *
+ * @author LabyStudio
+ */
+public class StateFile {
+
+    private static final Gson GSON = new Gson();
+
+    private final Path path;
+
+    public StateFile(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Load the state from the file.
+     *
+     * @return the loaded state or null if there is no valid state file
+     */
+    public PersistedState load() {
+        try (Reader reader = Files.newBufferedReader(this.path, StandardCharsets.UTF_8)) {
+            return GSON.fromJson(reader, PersistedState.class);
+        } catch (NoSuchFileException e) {
+            return null; // No state saved yet
+        } catch (IOException | JsonParseException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Write the state atomically to the file.
+     *
+     * @param state the state to write
+     * @throws IOException if the state could not be written
+     */
+    public void save(PersistedState state) throws IOException {
+        JsonFiles.writeAtomically(this.path, GSON, state);
+    }
+
+    public Path getPath() {
+        return this.path;
+    }
+}
@@ -0,0 +1,24 @@
+package de.labystudio.spotifyapi.time;
+
+/**
+ * Time source of the system clock.
+ *
+ * @author LabyStudio
+ */
+final class SystemTimeSource implements TimeSource {
+
+    static final SystemTimeSource INSTANCE = new SystemTimeSource();
+
+    private SystemTimeSource() {
+    }
+
+    @Override
+    public long nanoTime() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+}
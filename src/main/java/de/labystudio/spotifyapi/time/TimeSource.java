@@ -0,0 +1,35 @@
+package de.labystudio.spotifyapi.time;
+
+/**
+ * Source of the time the api uses to interpolate positions, detect seeks and delay reconnects.
+ * Use a {@link VirtualScheduler} to control the time in tests and simulations.
+ *
+ * @author LabyStudio
+ */
+public interface TimeSource {
+
+    /**
+     * Returns the monotonic time in nanoseconds, only differences between two values are meaningful.
+     *
+     * @return the monotonic time in nanoseconds
+     * @see System#nanoTime()
+     */
+    long nanoTime();
+
+    /**
+     * Returns the wall-clock time in milliseconds since the epoch.
+     *
+     * @return the wall-clock time in milliseconds
+     * @see System#currentTimeMillis()
+     */
+    long currentTimeMillis();
+
+    /**
+     * Returns the time source of the system clock.
+     *
+     * @return the system time source
+     */
+    static TimeSource system() {
+        return SystemTimeSource.INSTANCE;
+    }
+}
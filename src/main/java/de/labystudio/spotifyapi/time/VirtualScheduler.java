@@ -0,0 +1,277 @@
+package de.labystudio.spotifyapi.time;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduler with a virtual time that only moves forward when {@link #advance(long, TimeUnit)} is called.
+ * All due tasks run on the thread that advances the time, in the order of their scheduled time.
+ * <p>
+ * Pass it as scheduler of the configuration to run hours of playback in milliseconds without sleeping,
+ * it is also used as time source of the api:
+ * <pre>
+ * VirtualScheduler scheduler = new VirtualScheduler();
+ * api.initialize(new SpotifyConfiguration.Builder().scheduler(scheduler).build());
+ * scheduler.advance(1, TimeUnit.HOURS);
+ * </pre>
+ *
+ * @author LabyStudio
+ */
+public class VirtualScheduler extends AbstractExecutorService implements ScheduledExecutorService, TimeSource {
+
+    private final PriorityQueue<VirtualTask<?>> queue = new PriorityQueue<>();
+    private final long epochMillis;
+
+    private long nanoTime;
+    private long sequence;
+    private boolean shutdown;
+
+    /**
+     * Create a virtual scheduler that starts at the current wall-clock time.
+     */
+    public VirtualScheduler() {
+        this(System.currentTimeMillis());
+    }
+
+    /**
+     * Create a virtual scheduler that starts at the given wall-clock time.
+     *
+     * @param epochMillis the wall-clock time at the start in milliseconds since the epoch
+     */
+    public VirtualScheduler(long epochMillis) {
+        this.epochMillis = epochMillis;
+    }
+
+    /**
+     * Move the time forward and run all tasks that are due until then.
+     * Tasks that are scheduled by a running task are executed as well if they are due in the time frame.
+     *
+     * @param duration the time to advance
+     * @param unit     the unit of the duration
+     * @return the amount of executed tasks
+     */
+    public int advance(long duration, TimeUnit unit) {
+        if (duration < 0) {
+            throw new IllegalArgumentException("Cannot go back in time: " + duration);
+        }
+
+        long target;
+        synchronized (this) {
+            target = this.nanoTime + unit.toNanos(duration);
+        }
+
+        int executed = 0;
+        VirtualTask<?> task;
+        while ((task = this.pollDue(target)) != null) {
+            task.run();
+            executed++;
+        }
+
+        synchronized (this) {
+            this.nanoTime = Math.max(this.nanoTime, target);
+        }
+        return executed;
+    }
+
+    /**
+     * Run all tasks that are due at the current time without moving the time forward.
+     *
+     * @return the amount of executed tasks
+     */
+    public int runDueTasks() {
+        return this.advance(0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the amount of scheduled tasks, including periodic tasks.
+     *
+     * @return the amount of scheduled tasks
+     */
+    public synchronized int getPendingTasks() {
+        return this.queue.size();
+    }
+
+    @Override
+    public synchronized long nanoTime() {
+        return this.nanoTime;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return this.epochMillis + TimeUnit.NANOSECONDS.toMillis(this.nanoTime());
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return this.enqueue(new VirtualTask<>(Executors.callable(command), delay, 0L, unit));
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        return this.enqueue(new VirtualTask<>(callable, delay, 0L, unit));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period must be positive: " + period);
+        }
+        return this.enqueue(new VirtualTask<>(Executors.callable(command), initialDelay, period, unit));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        if (delay <= 0) {
+            throw new IllegalArgumentException("Delay must be positive: " + delay);
+        }
+        // Tasks don't take any virtual time, so a fixed delay is the same as a fixed rate
+        return this.enqueue(new VirtualTask<>(Executors.callable(command), initialDelay, delay, unit));
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        this.schedule(command, 0L, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public synchronized void shutdown() {
+        this.shutdown = true;
+        this.queue.clear();
+    }
+
+    @Override
+    public synchronized List<Runnable> shutdownNow() {
+        this.shutdown = true;
+        List<Runnable> pending = new ArrayList<>(this.queue);
+        this.queue.clear();
+        return pending;
+    }
+
+    @Override
+    public synchronized boolean isShutdown() {
+        return this.shutdown;
+    }
+
+    @Override
+    public synchronized boolean isTerminated() {
+        return this.shutdown;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) {
+        return this.isTerminated();
+    }
+
+    /**
+     * Returns the scheduled tasks ordered by their time.
+     *
+     * @return a snapshot of the scheduled tasks
+     */
+    public synchronized List<ScheduledFuture<?>> getScheduledTasks() {
+        List<ScheduledFuture<?>> tasks = new ArrayList<>(this.queue);
+        Collections.sort(tasks, (a, b) -> ((VirtualTask<?>) a).compareTo(b));
+        return tasks;
+    }
+
+    private synchronized <V> VirtualTask<V> enqueue(VirtualTask<V> task) {
+        if (this.shutdown) {
+            throw new RejectedExecutionException("Scheduler is shut down");
+        }
+        this.queue.add(task);
+        return task;
+    }
+
+    private synchronized VirtualTask<?> pollDue(long target) {
+        VirtualTask<?> task = this.queue.peek();
+        if (task == null || task.time > target) {
+            return null;
+        }
+        this.queue.poll();
+
+        // The time jumps to the scheduled time of the task
+        this.nanoTime = Math.max(this.nanoTime, task.time);
+        return task;
+    }
+
+    private synchronized void reschedule(VirtualTask<?> task) {
+        if (this.shutdown || task.isCancelled()) {
+            return;
+        }
+        task.time += task.period;
+        task.sequence = this.sequence++;
+        this.queue.add(task);
+    }
+
+    private synchronized void remove(VirtualTask<?> task) {
+        this.queue.remove(task);
+    }
+
+    private class VirtualTask<V> extends FutureTask<V> implements RunnableScheduledFuture<V> {
+
+        private final long period;
+        private long time;
+        private long sequence;
+
+        private VirtualTask(Callable<V> callable, long delay, long period, TimeUnit unit) {
+            super(callable);
+            this.period = unit.toNanos(period);
+            synchronized (VirtualScheduler.this) {
+                this.time = VirtualScheduler.this.nanoTime + Math.max(0L, unit.toNanos(delay));
+                this.sequence = VirtualScheduler.this.sequence++;
+            }
+        }
+
+        @Override
+        public boolean isPeriodic() {
+            return this.period > 0;
+        }
+
+        @Override
+        public void run() {
+            if (!this.isPeriodic()) {
+                super.run();
+            } else if (super.runAndReset()) {
+                VirtualScheduler.this.reschedule(this);
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                VirtualScheduler.this.remove(this);
+            }
+            return cancelled;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(this.time - VirtualScheduler.this.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (other == this) {
+                return 0;
+            }
+            if (other instanceof VirtualTask) {
+                VirtualTask<?> task = (VirtualTask<?>) other;
+                int result = Long.compare(this.time, task.time);
+                return result != 0 ? result : Long.compare(this.sequence, task.sequence);
+            }
+            return Long.compare(this.getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+}
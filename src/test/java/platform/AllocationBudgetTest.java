@@ -0,0 +1,163 @@
+package platform;
+
+import de.labystudio.spotifyapi.SpotifyListenerAdapter;
+import de.labystudio.spotifyapi.config.SpotifyConfiguration;
+import de.labystudio.spotifyapi.platform.AbstractTickSpotifyAPI;
+import de.labystudio.spotifyapi.platform.PresenceDetector;
+import de.labystudio.spotifyapi.platform.linux.LinuxSpotifyApi;
+import de.labystudio.spotifyapi.platform.linux.api.DBusSend;
+import de.labystudio.spotifyapi.platform.linux.api.MPRISCommunicator;
+import de.labystudio.spotifyapi.platform.linux.api.model.Parameter;
+import de.labystudio.spotifyapi.platform.osx.OSXSpotifyApi;
+import de.labystudio.spotifyapi.platform.osx.api.spotify.SpotifyAppleScript;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Drives each backend against recorded responses and checks the bytes allocated per steady-state tick.
+ * The process of dbus-send and osascript is replaced by a stand-in, so only the library itself is measured.
+ * <p>
+ * The Windows backend reads the memory of the Spotify process and can only be measured on Windows.
+ */
+public class AllocationBudgetTest {
+
+    private static final int WARMUP_TICKS = 20_000;
+    private static final int MEASURED_TICKS = 10_000;
+
+    private static final long BUDGET_LINUX = 2560;
+    private static final long BUDGET_OSX = 640;
+
+    public static void main(String[] args) throws Exception {
+        // Without cover art, the first track change would download it
+        String getAllReply = readString("/dbus/getall.variant").replaceAll("\"https://[^\"]*\"", "\"\"");
+        check("Linux", new DrivenLinuxApi(getAllReply), BUDGET_LINUX);
+        check("macOS", new DrivenOSXApi(), BUDGET_OSX);
+    }
+
+    private static void check(String name, Driven driven, long budget) throws Exception {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            AbstractTickSpotifyAPI api = driven.api();
+            api.registerListener(new SpotifyListenerAdapter());
+            api.initialize(new SpotifyConfiguration.Builder()
+                    .scheduler(scheduler)
+                    .build());
+
+            // Run on the tick thread, the scheduled ticks can't interleave with the measurement
+            long bytesPerTick = scheduler.submit(() -> measure(driven)).get();
+            System.out.printf("%s: %d bytes per tick (budget %d)%n", name, bytesPerTick, budget);
+
+            if (!api.isConnected()) {
+                throw new IllegalStateException(name + " backend is not connected");
+            }
+            if (bytesPerTick > budget) {
+                throw new IllegalStateException(name + " tick allocates " + bytesPerTick + " bytes, the budget is " + budget);
+            }
+            api.shutdown();
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private static long measure(Driven driven) {
+        for (int i = 0; i < WARMUP_TICKS; i++) {
+            driven.tick();
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_TICKS; i++) {
+            driven.tick();
+        }
+        long allocatedAfter = threads.getThreadAllocatedBytes(threadId);
+        return (allocatedAfter - allocatedBefore) / MEASURED_TICKS;
+    }
+
+    private static String readString(String path) throws IOException {
+        try (InputStream stream = AllocationBudgetTest.class.getResourceAsStream(path)) {
+            if (stream == null) {
+                throw new IOException("Resource not found: " + path);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            int length;
+            while ((length = stream.read(buffer)) != -1) {
+                out.write(buffer, 0, length);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private interface Driven {
+        AbstractTickSpotifyAPI api();
+
+        void tick();
+    }
+
+    private static class DrivenLinuxApi extends LinuxSpotifyApi implements Driven {
+
+        DrivenLinuxApi(String getAllReply) {
+            super(new MPRISCommunicator(new DBusSend(new Parameter[0], "/org/mpris/MediaPlayer2") {
+                @Override
+                protected String exec(String[] arguments) {
+                    return getAllReply;
+                }
+            }));
+        }
+
+        @Override
+        protected PresenceDetector createPresenceDetector() {
+            return () -> true;
+        }
+
+        @Override
+        public AbstractTickSpotifyAPI api() {
+            return this;
+        }
+
+        @Override
+        public void tick() {
+            this.onInternalTick();
+        }
+    }
+
+    private static class DrivenOSXApi extends OSXSpotifyApi implements Driven {
+
+        DrivenOSXApi() {
+            super(new SpotifyAppleScript() {
+                @Override
+                protected String run(String action) {
+                    if (action.contains("{")) {
+                        return "spotify:track:0r1kH7SIkkPP9W7mUknObF, playing, 42.5, 65, true, false";
+                    }
+                    if (action.contains("duration")) {
+                        return "172000";
+                    }
+                    return "Easy";
+                }
+            });
+        }
+
+        @Override
+        protected PresenceDetector createPresenceDetector() {
+            return () -> true;
+        }
+
+        @Override
+        public AbstractTickSpotifyAPI api() {
+            return this;
+        }
+
+        @Override
+        public void tick() {
+            this.onInternalTick();
+        }
+    }
+}
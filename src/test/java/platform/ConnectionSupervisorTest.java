@@ -0,0 +1,114 @@
+package platform;
+
+import de.labystudio.spotifyapi.config.SpotifyConfiguration;
+import de.labystudio.spotifyapi.event.type.ConnectionStateChangedEvent;
+import de.labystudio.spotifyapi.event.type.DisconnectedEvent;
+import de.labystudio.spotifyapi.model.ConnectionState;
+import de.labystudio.spotifyapi.model.PlaybackOptions;
+import de.labystudio.spotifyapi.model.Track;
+import de.labystudio.spotifyapi.platform.fake.FakePlayer;
+import de.labystudio.spotifyapi.platform.fake.FakeScenario;
+import de.labystudio.spotifyapi.platform.fake.FakeSpotifyAPI;
+import de.labystudio.spotifyapi.time.VirtualScheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lets the fake backend fail in virtual time and checks when the supervisor retries.
+ * The retries have to back off exponentially within the jitter bounds until the circuit breaker opens,
+ * and each outage has to fire only one disconnect event.
+ */
+public class ConnectionSupervisorTest {
+
+    private static final long TICK_INTERVAL = 100L;
+    private static final long RECONNECT_DELAY = 1_000L;
+    private static final long MAX_RECONNECT_DELAY = 8_000L;
+    private static final int CIRCUIT_BREAKER_THRESHOLD = 6;
+    private static final long DORMANT_RETRY_INTERVAL = 60_000L;
+
+    public static void main(String[] args) {
+        VirtualScheduler scheduler = new VirtualScheduler(0L);
+
+        // Each connection attempt reads the playback options once, the player has no track, so each attempt fails
+        List<Long> attempts = new ArrayList<>();
+        FakePlayer player = new FakePlayer() {
+            @Override
+            public synchronized PlaybackOptions getPlaybackOptions() {
+                attempts.add(scheduler.currentTimeMillis());
+                return super.getPlaybackOptions();
+            }
+        };
+        player.start();
+
+        FakeSpotifyAPI api = new FakeSpotifyAPI(player, FakeScenario.idle());
+        List<ConnectionState> states = new ArrayList<>();
+        List<DisconnectedEvent> disconnects = new ArrayList<>();
+        api.subscribe(ConnectionStateChangedEvent.class, event -> states.add(event.getConnectionState()));
+        api.subscribe(DisconnectedEvent.class, disconnects::add);
+        api.initialize(new SpotifyConfiguration.Builder()
+                .tickInterval(TICK_INTERVAL)
+                .exceptionReconnectDelay(RECONNECT_DELAY)
+                .maxReconnectDelay(MAX_RECONNECT_DELAY)
+                .circuitBreakerThreshold(CIRCUIT_BREAKER_THRESHOLD)
+                .dormantRetryInterval(DORMANT_RETRY_INTERVAL)
+                .reconnectJitter(new Random(42L))
+                .scheduler(scheduler)
+                .dispatchExecutor(Runnable::run)
+                .build());
+
+        // The api is connecting until the first attempt
+        check(api.getConnectionState() == ConnectionState.CONNECTING, "State after the start is " + api.getConnectionState());
+
+        // The backoff doubles up to the maximum delay, the sixth failure opens the circuit breaker
+        scheduler.advance(30, TimeUnit.SECONDS);
+        check(attempts.size() == CIRCUIT_BREAKER_THRESHOLD, "Made " + attempts.size() + " attempts: " + attempts);
+        check(attempts.get(0) == 0L, "First attempt was made at " + attempts.get(0) + "ms");
+        long[] delays = {1_000L, 2_000L, 4_000L, 8_000L, 8_000L};
+        boolean jittered = false;
+        for (int i = 0; i < delays.length; i++) {
+            long gap = attempts.get(i + 1) - attempts.get(i);
+
+            // Equal jitter waits at least half of the delay, the attempt is made with the next tick
+            check(gap >= delays[i] / 2 && gap <= delays[i] + TICK_INTERVAL,
+                    "Retry " + (i + 1) + " after " + gap + "ms, expected " + delays[i] / 2 + "ms to " + delays[i] + "ms");
+            jittered |= gap < delays[i];
+        }
+        check(jittered, "Retries are not jittered: " + attempts);
+        check(api.getConnectionState() == ConnectionState.DORMANT, "State after the failures is " + api.getConnectionState());
+        check(states.equals(Arrays.asList(ConnectionState.CONNECTING, ConnectionState.BACKING_OFF, ConnectionState.DORMANT)),
+                "Connection states: " + states);
+
+        // The open circuit breaker only probes in the dormant retry interval
+        long lastAttempt = attempts.get(attempts.size() - 1);
+        scheduler.advance(lastAttempt + DORMANT_RETRY_INTERVAL - scheduler.currentTimeMillis() - 1, TimeUnit.MILLISECONDS);
+        check(attempts.size() == CIRCUIT_BREAKER_THRESHOLD, "Probed before the dormant retry interval");
+        player.play(new Track("4uLU6hMCjMI75M1A2tKUQC", "Track", "Artist", 180_000, null));
+        scheduler.advance(TICK_INTERVAL, TimeUnit.MILLISECONDS);
+        check(api.isConnected() && api.getConnectionState() == ConnectionState.CONNECTED, "Probe didn't reconnect");
+        check(disconnects.size() == 1, "First outage fired " + disconnects.size() + " disconnects");
+
+        // Quitting Spotify starts a new outage with a single disconnect, it is retried once and then waits for Spotify
+        player.quit();
+        scheduler.advance(10, TimeUnit.SECONDS);
+        check(!api.isConnected() && api.getConnectionState() == ConnectionState.DORMANT, "State after the quit is " + api.getConnectionState());
+        check(disconnects.size() == 2, "Second outage fired " + (disconnects.size() - 1) + " disconnects");
+
+        // The presence is checked in the reconnect delay
+        player.start();
+        scheduler.advance(RECONNECT_DELAY + TICK_INTERVAL, TimeUnit.MILLISECONDS);
+        check(api.isConnected() && disconnects.size() == 2, "Didn't reconnect after Spotify was started");
+
+        api.shutdown();
+        check(api.getConnectionState() == ConnectionState.STOPPED, "State after the shutdown is " + api.getConnectionState());
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+}
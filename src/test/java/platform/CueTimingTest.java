@@ -0,0 +1,72 @@
+package platform;
+
+import de.labystudio.spotifyapi.config.SpotifyConfiguration;
+import de.labystudio.spotifyapi.model.Track;
+import de.labystudio.spotifyapi.platform.fake.FakePlayer;
+import de.labystudio.spotifyapi.platform.fake.FakeSpotifyAPI;
+import de.labystudio.spotifyapi.time.VirtualScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays a track on the fake backend in virtual time and checks when the cues fire.
+ * A cue has to fire at its position, again after a seek back before it, and a repeating cue in each interval.
+ */
+public class CueTimingTest {
+
+    private static final long TICK_INTERVAL = 100L;
+    private static final int TRACK_LENGTH = 60_000;
+
+    public static void main(String[] args) {
+        VirtualScheduler scheduler = new VirtualScheduler(0L);
+        FakePlayer player = new FakePlayer(new Track("4uLU6hMCjMI75M1A2tKUQC", "Track", "Artist", TRACK_LENGTH, null));
+        FakeSpotifyAPI api = new FakeSpotifyAPI(player, (fakePlayer, tick) -> {
+            if (tick == 0) {
+                fakePlayer.start();
+            }
+
+            // Jump back before the first cue after 20 seconds
+            if (tick * TICK_INTERVAL == 20_000L) {
+                fakePlayer.seek(3_000);
+            }
+        });
+
+        List<Long> singleFires = new ArrayList<>();
+        List<Integer> repeatingFires = new ArrayList<>();
+        api.initialize(new SpotifyConfiguration.Builder()
+                .tickInterval(TICK_INTERVAL)
+                .scheduler(scheduler)
+                .build());
+        scheduler.advance(TICK_INTERVAL, TimeUnit.MILLISECONDS);
+
+        api.schedule(5_000, () -> singleFires.add(TimeUnit.NANOSECONDS.toMillis(scheduler.nanoTime())));
+        api.scheduleRepeating(30_000, 1_000, () -> repeatingFires.add(api.getPosition()));
+        scheduler.advance(TRACK_LENGTH, TimeUnit.MILLISECONDS);
+        api.shutdown();
+
+        // The cue fires at 5s and again 2s after the seek back to 3s
+        check(singleFires.size() == 2, "Cue fired " + singleFires.size() + " times: " + singleFires);
+        checkTime(singleFires.get(0), 5_000L);
+        checkTime(singleFires.get(1), 22_000L);
+
+        // The repeating cue starts at 30s and repeats every second, the playback ends at 43.1s after the seek
+        check(repeatingFires.size() == 14, "Repeating cue fired " + repeatingFires.size() + " times: " + repeatingFires);
+        for (int i = 0; i < repeatingFires.size(); i++) {
+            int expected = 30_000 + i * 1_000;
+            check(Math.abs(repeatingFires.get(i) - expected) <= 5, "Repeating cue fired at " + repeatingFires.get(i) + " instead of " + expected);
+        }
+    }
+
+    private static void checkTime(long actual, long expected) {
+        // A seek is detected with the next tick
+        check(actual >= expected - 5 && actual <= expected + TICK_INTERVAL, "Cue fired at " + actual + "ms instead of " + expected + "ms");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+}
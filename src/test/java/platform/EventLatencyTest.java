@@ -0,0 +1,511 @@
+package platform;
+
+import de.labystudio.spotifyapi.SpotifyListener;
+import de.labystudio.spotifyapi.config.SpotifyConfiguration;
+import de.labystudio.spotifyapi.metrics.Counter;
+import de.labystudio.spotifyapi.metrics.LatencyHistogram;
+import de.labystudio.spotifyapi.metrics.SpotifyMetrics;
+import de.labystudio.spotifyapi.model.Track;
+import de.labystudio.spotifyapi.platform.AbstractTickSpotifyAPI;
+import de.labystudio.spotifyapi.platform.PresenceDetector;
+import de.labystudio.spotifyapi.platform.linux.LinuxSpotifyApi;
+import de.labystudio.spotifyapi.platform.linux.api.DBusSend;
+import de.labystudio.spotifyapi.platform.linux.api.MPRISCommunicator;
+import de.labystudio.spotifyapi.platform.linux.api.model.Parameter;
+import de.labystudio.spotifyapi.platform.osx.OSXSpotifyApi;
+import de.labystudio.spotifyapi.platform.osx.api.spotify.SpotifyAppleScript;
+import de.labystudio.spotifyapi.time.TimeSource;
+import de.labystudio.spotifyapi.time.VirtualScheduler;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+
+/**
+ * Measures the time from a state change in the player to the listener callback.
+ * Each backend runs against a {@link ScriptedPlayer} with track changes, pauses, seeks and restarts of Spotify.
+ * It reports the detection latency, the cost of each tick and the CPU time per hour of playback
+ * and fails if an expected event is missing or an unexpected event was fired.
+ * <p>
+ * By default, an hour of playback is simulated on a {@link VirtualScheduler} without sleeping.
+ * Pass the tick intervals to compare in milliseconds as arguments, e.g. "1000 250".
+ * With "--real", a few cycles are played in real time on a scheduler thread instead.
+ */
+public class EventLatencyTest {
+
+    private static final int REAL_CYCLES = 3;
+    private static final long SIMULATED_DURATION = TimeUnit.HOURS.toMillis(1);
+
+    public static void main(String[] args) throws Exception {
+        boolean real = Arrays.asList(args).contains("--real");
+        long[] tickIntervals = Arrays.stream(args)
+                .filter(arg -> !arg.startsWith("--"))
+                .mapToLong(Long::parseLong)
+                .toArray();
+        if (tickIntervals.length == 0) {
+            tickIntervals = new long[]{200L};
+        }
+
+        for (long tickInterval : tickIntervals) {
+            if (real) {
+                runReal("Linux", tickInterval, ScriptedLinuxApi::new);
+                runReal("macOS", tickInterval, ScriptedOSXApi::new);
+            } else {
+                runVirtual("Linux", tickInterval, ScriptedLinuxApi::new);
+                runVirtual("macOS", tickInterval, ScriptedOSXApi::new);
+            }
+        }
+    }
+
+    private static void runVirtual(
+            String name,
+            long tickInterval,
+            Function<ScriptedPlayer, AbstractTickSpotifyAPI> factory
+    ) throws Exception {
+        // A cycle of the script takes about 21 ticks
+        int cycles = (int) Math.max(REAL_CYCLES, SIMULATED_DURATION / (tickInterval * 21));
+
+        VirtualScheduler scheduler = new VirtualScheduler();
+        ScriptedPlayer player = new ScriptedPlayer(ScriptedPlayer.createScript(tickInterval, cycles), scheduler);
+        AbstractTickSpotifyAPI api = factory.apply(player);
+        EventRecorder recorder = new EventRecorder(scheduler);
+        TickRecorder ticks = new TickRecorder();
+
+        // All ticks run on this thread while the time is advanced
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long timeRealStart = System.nanoTime();
+        long cpuStart = threads.getCurrentThreadCpuTime();
+
+        api.registerListener(recorder);
+        player.start();
+        long timeStart = scheduler.nanoTime();
+        api.initialize(new SpotifyConfiguration.Builder()
+                .tickInterval(tickInterval)
+                .exceptionReconnectDelay(tickInterval)
+                .scheduler(scheduler)
+                .metrics(ticks)
+                .build());
+
+        // Let the last step be detected
+        while (!player.isFinished()) {
+            scheduler.advance(tickInterval, TimeUnit.MILLISECONDS);
+        }
+        scheduler.advance(tickInterval * 4, TimeUnit.MILLISECONDS);
+
+        long cpu = threads.getCurrentThreadCpuTime() - cpuStart;
+        long elapsed = scheduler.nanoTime() - timeStart;
+        api.shutdown();
+        scheduler.shutdown();
+
+        System.out.printf(
+                "Simulated %ds in %dms%n",
+                TimeUnit.NANOSECONDS.toSeconds(elapsed),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - timeRealStart)
+        );
+        report(name, tickInterval, player, recorder, ticks, cpu, elapsed);
+    }
+
+    private static void runReal(
+            String name,
+            long tickInterval,
+            Function<ScriptedPlayer, AbstractTickSpotifyAPI> factory
+    ) throws Exception {
+        ScriptedPlayer player = new ScriptedPlayer(ScriptedPlayer.createScript(tickInterval, REAL_CYCLES));
+        AbstractTickSpotifyAPI api = factory.apply(player);
+        EventRecorder recorder = new EventRecorder(TimeSource.system());
+        TickRecorder ticks = new TickRecorder();
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long tickThreadId = scheduler.submit(() -> Thread.currentThread().getId()).get();
+
+            api.registerListener(recorder);
+            player.start();
+            long timeStart = System.nanoTime();
+            long cpuStart = threads.getThreadCpuTime(tickThreadId);
+            api.initialize(new SpotifyConfiguration.Builder()
+                    .tickInterval(tickInterval)
+                    .exceptionReconnectDelay(tickInterval)
+                    .scheduler(scheduler)
+                    .metrics(ticks)
+                    .build());
+
+            // Let the last step be detected
+            while (!player.isFinished()) {
+                Thread.sleep(tickInterval);
+            }
+            Thread.sleep(tickInterval * 4);
+
+            long cpu = threads.getThreadCpuTime(tickThreadId) - cpuStart;
+            long elapsed = System.nanoTime() - timeStart;
+            api.shutdown();
+
+            report(name, tickInterval, player, recorder, ticks, cpu, elapsed);
+        } finally {
+            scheduler.shutdownNow();
+            scheduler.awaitTermination(1, TimeUnit.SECONDS);
+        }
+    }
+
+    private static void report(
+            String name,
+            long tickInterval,
+            ScriptedPlayer player,
+            EventRecorder recorder,
+            TickRecorder ticks,
+            long cpu,
+            long elapsed
+    ) {
+        List<Event> events = recorder.getEvents();
+        List<String> errors = new ArrayList<>();
+        Map<ScriptedPlayer.Action, List<Long>> latencies = new EnumMap<>(ScriptedPlayer.Action.class);
+
+        // Match each step of the script with the first fitting event after the change
+        for (ScriptedPlayer.Step step : player.getSteps()) {
+            Event event = match(events, step, tickInterval);
+            if (event == null) {
+                errors.add("No event for " + step.getAction() + " " + step.getTrackId());
+                continue;
+            }
+            event.consumed = true;
+            consumeFollowUps(events, step, event);
+            latencies.computeIfAbsent(step.getAction(), action -> new ArrayList<>()).add(event.time - step.getTimeChange());
+        }
+
+        for (Event event : events) {
+            if (!event.consumed && event.type != EventType.SYNC) {
+                errors.add("Unexpected event " + event);
+            }
+        }
+
+        long[] tickDurations = ticks.getDurations();
+        double cpuPerHour = (double) cpu / elapsed * TimeUnit.HOURS.toNanos(1) / 1_000_000_000D;
+
+        System.out.printf("%s with a tick interval of %dms%n", name, tickInterval);
+        List<Long> allLatencies = new ArrayList<>();
+        latencies.values().forEach(allLatencies::addAll);
+        System.out.printf("  Detection latency: %s%n", percentiles(allLatencies));
+        latencies.forEach((action, values) -> System.out.printf("    %s: %s%n", action, percentiles(values)));
+        System.out.printf("  Tick cost (%d ticks): %s%n", tickDurations.length, percentiles(tickDurations, 1000L, "us"));
+        System.out.printf("    %s%n", histogram(tickDurations));
+        System.out.printf("  CPU time of the tick thread: %.2fs per hour of playback%n", cpuPerHour);
+        System.out.printf("  Events: %d, errors: %d%n", events.size(), errors.size());
+
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException(name + " fired wrong events:\n" + String.join("\n", errors));
+        }
+    }
+
+    private static Event match(List<Event> events, ScriptedPlayer.Step step, long tickInterval) {
+        if (step.getTimeChange() == -1L) {
+            return null;
+        }
+        for (Event event : events) {
+            if (event.consumed || event.time < step.getTimeChange()) {
+                continue;
+            }
+            switch (step.getAction()) {
+                case START:
+                    if (event.type == EventType.CONNECT) {
+                        return event;
+                    }
+                    break;
+                case QUIT:
+                    if (event.type == EventType.DISCONNECT) {
+                        return event;
+                    }
+                    break;
+                case TRACK:
+                    if (event.type == EventType.TRACK && step.getTrackId().equals(event.value)) {
+                        return event;
+                    }
+                    break;
+                case PAUSE:
+                case PLAY:
+                    if (event.type == EventType.PLAYBACK && event.value.equals(step.getAction() == ScriptedPlayer.Action.PLAY)) {
+                        return event;
+                    }
+                    break;
+                case SEEK:
+                    // The reported position includes the time until the seek was detected
+                    int position = (int) event.value;
+                    if (event.type == EventType.POSITION
+                            && position >= step.getPosition()
+                            && position <= step.getPosition() + tickInterval * 2 + 1000) {
+                        return event;
+                    }
+                    break;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Mark the events that are caused by the same change and fired in the same tick.
+     * A track change resets the position and a reconnect fires the whole state again.
+     */
+    private static void consumeFollowUps(List<Event> events, ScriptedPlayer.Step step, Event primary) {
+        for (Event event : events) {
+            if (event.consumed || event.tick != primary.tick) {
+                continue;
+            }
+            switch (step.getAction()) {
+                case TRACK:
+                    event.consumed = event.type == EventType.POSITION && event.value.equals(0);
+                    break;
+                case START:
+                    event.consumed = event.type == EventType.TRACK
+                            || event.type == EventType.PLAYBACK
+                            || event.type == EventType.POSITION;
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private static String percentiles(List<Long> values) {
+        return percentiles(values.stream().mapToLong(Long::longValue).toArray(), 1_000_000L, "ms");
+    }
+
+    private static String percentiles(long[] values, long divisor, String unit) {
+        if (values.length == 0) {
+            return "no samples";
+        }
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return String.format(
+                "p50 %d%s, p90 %d%s, p99 %d%s, max %d%s",
+                sorted[(int) (sorted.length * 0.5D)] / divisor, unit,
+                sorted[(int) (sorted.length * 0.9D)] / divisor, unit,
+                sorted[(int) (sorted.length * 0.99D)] / divisor, unit,
+                sorted[sorted.length - 1] / divisor, unit
+        );
+    }
+
+    private static String histogram(long[] durations) {
+        long[] bounds = {100_000L, 1_000_000L, 10_000_000L, 100_000_000L};
+        String[] labels = {"<0.1ms", "<1ms", "<10ms", "<100ms", ">=100ms"};
+
+        int[] counts = new int[labels.length];
+        for (long duration : durations) {
+            int bucket = 0;
+            while (bucket < bounds.length && duration >= bounds[bucket]) {
+                bucket++;
+            }
+            counts[bucket]++;
+        }
+
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < labels.length; i++) {
+            builder.append(i == 0 ? "" : ", ").append(labels[i]).append(": ").append(counts[i]);
+        }
+        return builder.toString();
+    }
+
+    private enum EventType {
+        CONNECT, DISCONNECT, TRACK, PLAYBACK, POSITION, SYNC
+    }
+
+    private static class Event {
+
+        private final EventType type;
+        private final Object value;
+        private final long time;
+        private final int tick;
+
+        private boolean consumed;
+
+        private Event(EventType type, Object value, long time, int tick) {
+            this.type = type;
+            this.value = value;
+            this.time = time;
+            this.tick = tick;
+        }
+
+        @Override
+        public String toString() {
+            return this.type + " " + this.value + " in tick " + this.tick;
+        }
+    }
+
+    /**
+     * Records all listener callbacks with the time they were called.
+     */
+    private static class EventRecorder implements SpotifyListener {
+
+        private final List<Event> events = new ArrayList<>();
+        private final TimeSource timeSource;
+        private int tick;
+
+        private EventRecorder(TimeSource timeSource) {
+            this.timeSource = timeSource;
+        }
+
+        @Override
+        public void onConnect() {
+            this.record(EventType.CONNECT, null);
+        }
+
+        @Override
+        public void onTrackChanged(Track track) {
+            this.record(EventType.TRACK, track.getId());
+        }
+
+        @Override
+        public void onPositionChanged(int position) {
+            this.record(EventType.POSITION, position);
+        }
+
+        @Override
+        public void onPlayBackChanged(boolean isPlaying) {
+            this.record(EventType.PLAYBACK, isPlaying);
+        }
+
+        @Override
+        public void onSync() {
+            this.record(EventType.SYNC, null);
+            this.tick++;
+        }
+
+        @Override
+        public void onDisconnect(Exception exception) {
+            this.record(EventType.DISCONNECT, exception.getMessage());
+            this.tick++;
+        }
+
+        private synchronized void record(EventType type, Object value) {
+            this.events.add(new Event(type, value, this.timeSource.nanoTime(), this.tick));
+        }
+
+        public synchronized List<Event> getEvents() {
+            return new ArrayList<>(this.events);
+        }
+    }
+
+    /**
+     * Keeps every tick duration instead of the buckets of a registry, stand-in ticks only take microseconds.
+     */
+    private static class TickRecorder implements SpotifyMetrics {
+
+        private long[] durations = new long[1024];
+        private int size;
+
+        @Override
+        public Counter counter(String name, String help) {
+            return Counter.noop();
+        }
+
+        @Override
+        public LatencyHistogram histogram(String name, String help) {
+            return name.equals("spotify_tick_duration_seconds") ? this::record : LatencyHistogram.noop();
+        }
+
+        @Override
+        public void gauge(String name, String help, DoubleSupplier supplier) {
+            // Not needed
+        }
+
+        private synchronized void record(long nanos) {
+            if (this.size == this.durations.length) {
+                this.durations = Arrays.copyOf(this.durations, this.size * 2);
+            }
+            this.durations[this.size++] = nanos;
+        }
+
+        public synchronized long[] getDurations() {
+            return Arrays.copyOf(this.durations, this.size);
+        }
+    }
+
+    private static class ScriptedLinuxApi extends LinuxSpotifyApi {
+
+        private final ScriptedPlayer player;
+
+        ScriptedLinuxApi(ScriptedPlayer player) {
+            super(new MPRISCommunicator(new DBusSend(new Parameter[0], "/org/mpris/MediaPlayer2") {
+                @Override
+                protected String exec(String[] arguments) throws Exception {
+                    return toGetAllReply(player.read());
+                }
+            }));
+            this.player = player;
+        }
+
+        @Override
+        protected PresenceDetector createPresenceDetector() {
+            return this.player::isRunning;
+        }
+
+        private static String toGetAllReply(ScriptedPlayer.State state) {
+            return "   array [\n"
+                    + entry("PlaybackStatus", "string \"" + (state.isPlaying() ? "Playing" : "Paused") + "\"")
+                    + entry("LoopStatus", "string \"None\"")
+                    + entry("Rate", "double 1")
+                    + entry("Shuffle", "boolean false")
+                    + entry("Metadata", "array [\n"
+                    + entry("mpris:trackid", "string \"/com/spotify/track/" + state.getTrackId() + "\"")
+                    + entry("mpris:length", "uint64 " + ScriptedPlayer.TRACK_LENGTH * 1000L)
+                    + entry("mpris:artUrl", "string \"\"")
+                    + entry("xesam:artist", "array [\n               string \"Artist\"\n            ]")
+                    + entry("xesam:title", "string \"Track " + state.getTrackId() + "\"")
+                    + "         ]")
+                    + entry("Volume", "double 0.65")
+                    + entry("Position", "int64 " + state.getPosition() * 1000L)
+                    + "   ]\n";
+        }
+
+        private static String entry(String key, String value) {
+            return "      dict entry(\n"
+                    + "         string \"" + key + "\"\n"
+                    + "         variant             " + value + "\n"
+                    + "      )\n";
+        }
+    }
+
+    private static class ScriptedOSXApi extends OSXSpotifyApi {
+
+        private final ScriptedPlayer player;
+
+        ScriptedOSXApi(ScriptedPlayer player) {
+            super(new SpotifyAppleScript() {
+                @Override
+                protected String run(String action) throws Exception {
+                    ScriptedPlayer.State state = player.read();
+                    if (action.contains("{")) {
+                        return String.format(
+                                Locale.ROOT,
+                                "spotify:track:%s, %s, %.3f, 65, false, false",
+                                state.getTrackId(),
+                                state.isPlaying() ? "playing" : "paused",
+                                state.getPosition() / 1000.0D
+                        );
+                    }
+                    if (action.contains("duration")) {
+                        return String.valueOf(ScriptedPlayer.TRACK_LENGTH);
+                    }
+                    if (action.contains("artist")) {
+                        return "Artist";
+                    }
+                    return "Track " + state.getTrackId();
+                }
+            });
+            this.player = player;
+        }
+
+        @Override
+        protected PresenceDetector createPresenceDetector() {
+            return this.player::isRunning;
+        }
+    }
+}
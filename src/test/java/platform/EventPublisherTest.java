@@ -0,0 +1,135 @@
+package platform;
+
+import de.labystudio.spotifyapi.config.SpotifyConfiguration;
+import de.labystudio.spotifyapi.event.PlaybackEvent;
+import de.labystudio.spotifyapi.event.stream.BufferPolicy;
+import de.labystudio.spotifyapi.event.stream.PlaybackSubscriber;
+import de.labystudio.spotifyapi.event.stream.PlaybackSubscription;
+import de.labystudio.spotifyapi.event.type.SyncEvent;
+import de.labystudio.spotifyapi.model.Track;
+import de.labystudio.spotifyapi.platform.fake.FakePlayer;
+import de.labystudio.spotifyapi.platform.fake.FakeSpotifyAPI;
+import de.labystudio.spotifyapi.time.VirtualScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams the events of the fake backend to slow subscribers in virtual time.
+ * Each tick of a running player publishes one sync event, the subscribers only request one event at a time.
+ * The overflow of each buffer policy has to be counted and the subscribers have to complete on shutdown.
+ */
+public class EventPublisherTest {
+
+    private static final long TICK_INTERVAL = 100L;
+
+    public static void main(String[] args) {
+        VirtualScheduler scheduler = new VirtualScheduler(0L);
+        FakeSpotifyAPI api = new FakeSpotifyAPI(
+                new FakePlayer(new Track("4uLU6hMCjMI75M1A2tKUQC", "Track", "Artist", 180_000, null)),
+                (fakePlayer, tick) -> {
+                    if (tick == 0) {
+                        fakePlayer.start();
+                    }
+                }
+        );
+        api.initialize(new SpotifyConfiguration.Builder()
+                .tickInterval(TICK_INTERVAL)
+                .scheduler(scheduler)
+                .dispatchExecutor(Runnable::run)
+                .build());
+        scheduler.advance(1, TimeUnit.SECONDS);
+
+        // Each subscriber requests the first event and nothing more
+        SlowSubscriber conflate = new SlowSubscriber();
+        SlowSubscriber dropOldest = new SlowSubscriber();
+        SlowSubscriber dropLatest = new SlowSubscriber();
+        api.getEventPublisher().subscribe(conflate, BufferPolicy.conflate());
+        api.getEventPublisher().subscribe(dropOldest, BufferPolicy.dropOldest(2));
+        api.getEventPublisher().subscribe(dropLatest, BufferPolicy.dropLatest(2));
+
+        // Ten ticks publish ten sync events, the first one is delivered and nine are buffered
+        long start = scheduler.nanoTime();
+        scheduler.advance(10 * TICK_INTERVAL, TimeUnit.MILLISECONDS);
+        for (SlowSubscriber subscriber : new SlowSubscriber[]{conflate, dropOldest, dropLatest}) {
+            check(subscriber.events.size() == 1, "Subscriber received " + subscriber.events.size() + " events without demand");
+            check(subscriber.events.get(0) instanceof SyncEvent, "Received " + subscriber.events.get(0) + " instead of a sync");
+            checkTick(subscriber.events.get(0), start, 1);
+        }
+
+        // The conflating buffer replaced eight events and keeps the latest one
+        check(conflate.subscription.getOverflowCount() == 8, "Conflated " + conflate.subscription.getOverflowCount() + " events");
+        conflate.subscription.request(2);
+        check(conflate.events.size() == 2, "Conflating buffer delivered " + conflate.events.size() + " events");
+        checkTick(conflate.events.get(1), start, 10);
+
+        // The bounded buffers dropped seven events, either the oldest or the latest ones
+        check(dropOldest.subscription.getOverflowCount() == 7, "Dropped " + dropOldest.subscription.getOverflowCount() + " oldest events");
+        dropOldest.subscription.request(3);
+        check(dropOldest.events.size() == 3, "Drop oldest buffer delivered " + dropOldest.events.size() + " events");
+        checkTick(dropOldest.events.get(1), start, 9);
+        checkTick(dropOldest.events.get(2), start, 10);
+
+        check(dropLatest.subscription.getOverflowCount() == 7, "Dropped " + dropLatest.subscription.getOverflowCount() + " latest events");
+        dropLatest.subscription.request(3);
+        check(dropLatest.events.size() == 3, "Drop latest buffer delivered " + dropLatest.events.size() + " events");
+        checkTick(dropLatest.events.get(1), start, 2);
+        checkTick(dropLatest.events.get(2), start, 3);
+
+        // The remaining demand is served by the next tick
+        scheduler.advance(TICK_INTERVAL, TimeUnit.MILLISECONDS);
+        check(conflate.events.size() == 3 && dropOldest.events.size() == 4 && dropLatest.events.size() == 4,
+                "Remaining demand was not served");
+
+        // Shutting down the api completes all subscribers and rejects new ones
+        api.shutdown();
+        SlowSubscriber late = new SlowSubscriber();
+        api.getEventPublisher().subscribe(late);
+        for (SlowSubscriber subscriber : new SlowSubscriber[]{conflate, dropOldest, dropLatest, late}) {
+            check(subscriber.completed && subscriber.error == null, "Subscriber didn't complete on shutdown");
+        }
+    }
+
+    private static void checkTick(PlaybackEvent event, long start, int tick) {
+        long expected = start + TimeUnit.MILLISECONDS.toNanos(tick * TICK_INTERVAL);
+        check(event.getTimestamp() == expected, "Received the event of "
+                + TimeUnit.NANOSECONDS.toMillis(event.getTimestamp() - start) + "ms instead of tick " + tick);
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+
+    private static class SlowSubscriber implements PlaybackSubscriber<PlaybackEvent> {
+
+        private final List<PlaybackEvent> events = new ArrayList<>();
+
+        private PlaybackSubscription subscription;
+        private boolean completed;
+        private Throwable error;
+
+        @Override
+        public void onSubscribe(PlaybackSubscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(PlaybackEvent item) {
+            this.events.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            this.error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            this.completed = true;
+        }
+    }
+}
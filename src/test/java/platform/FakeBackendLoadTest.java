@@ -0,0 +1,186 @@
+package platform;
+
+import de.labystudio.spotifyapi.SpotifyListener;
+import de.labystudio.spotifyapi.config.SpotifyConfiguration;
+import de.labystudio.spotifyapi.model.Track;
+import de.labystudio.spotifyapi.platform.fake.FakeSpotifyAPI;
+import de.labystudio.spotifyapi.platform.fake.RandomScenario;
+import de.labystudio.spotifyapi.time.VirtualScheduler;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives the fake backend with a seeded random scenario of track changes, seek storms and a flapping connection.
+ * It checks that the listener receives exactly the events the backend counted,
+ * that the same seed produces the same events and reports the dispatch throughput.
+ */
+public class FakeBackendLoadTest {
+
+    private static final long SEED = 42L;
+    private static final long SIMULATED_SECONDS = 60L;
+
+    public static void main(String[] args) {
+        Result first = run(SEED);
+        Result second = run(SEED);
+        Result other = run(SEED + 1);
+
+        System.out.printf(
+                "%d events in %d ticks (%d track changes, %d position jumps, %d playback changes, %d reconnects)%n",
+                first.events, first.ticks, first.trackChanges, first.positionChanges, first.playbackChanges, first.connects
+        );
+        System.out.printf("Dispatched %.0f events per second%n", first.events / (first.nanos / 1_000_000_000D));
+
+        if (!first.sameEvents(second)) {
+            throw new IllegalStateException("Same seed produced different events: " + first + " and " + second);
+        }
+        if (first.sameEvents(other)) {
+            throw new IllegalStateException("Different seeds produced the same events: " + first);
+        }
+        if (first.trackChanges < first.ticks / 4 || first.connects < 2) {
+            throw new IllegalStateException("Scenario produced too few changes: " + first);
+        }
+    }
+
+    private static Result run(long seed) {
+        VirtualScheduler scheduler = new VirtualScheduler(0L);
+        FakeSpotifyAPI api = new FakeSpotifyAPI(new RandomScenario.Builder()
+                .seed(seed)
+                .trackChanges(0.5D)
+                .seeks(0.2D)
+                .playPauses(0.1D)
+                .optionChanges(0.05D)
+                .flapping(0.001D, 0.1D)
+                .build());
+        CountingListener listener = new CountingListener();
+        api.registerListener(listener);
+
+        long timeStart = System.nanoTime();
+        api.initialize(new SpotifyConfiguration.Builder()
+                .tickInterval(1L)
+                .exceptionReconnectDelay(1L)
+                .maxReconnectDelay(1L)
+                .reconnectJitter(new Random(seed))
+                .scheduler(scheduler)
+                .build());
+        scheduler.advance(SIMULATED_SECONDS, TimeUnit.SECONDS);
+        long nanos = System.nanoTime() - timeStart;
+        api.shutdown();
+
+        // The listener has to see exactly what the backend fired
+        if (listener.trackChanges != api.getTrackChanges()
+                || listener.positionChanges != api.getPositionChanges()
+                || listener.playbackChanges != api.getPlaybackChanges()
+                || listener.connects != api.getConnects()
+                || listener.disconnects != api.getDisconnects()) {
+            throw new IllegalStateException("Listener missed events: " + listener.total() + " of seed " + seed);
+        }
+
+        return new Result(
+                api.getTicks(),
+                listener.total(),
+                api.getTrackChanges(),
+                api.getPositionChanges(),
+                api.getPlaybackChanges(),
+                api.getConnects(),
+                listener.checksum,
+                nanos
+        );
+    }
+
+    private static class CountingListener implements SpotifyListener {
+
+        private long connects;
+        private long disconnects;
+        private long trackChanges;
+        private long positionChanges;
+        private long playbackChanges;
+        private long syncs;
+        private long checksum = 17L;
+
+        @Override
+        public void onConnect() {
+            this.connects++;
+            this.mix(1);
+        }
+
+        @Override
+        public void onTrackChanged(Track track) {
+            this.trackChanges++;
+            this.mix(track.getId().hashCode());
+        }
+
+        @Override
+        public void onPositionChanged(int position) {
+            this.positionChanges++;
+            this.mix(position);
+        }
+
+        @Override
+        public void onPlayBackChanged(boolean isPlaying) {
+            this.playbackChanges++;
+            this.mix(isPlaying ? 2 : 3);
+        }
+
+        @Override
+        public void onSync() {
+            this.syncs++;
+        }
+
+        @Override
+        public void onDisconnect(Exception exception) {
+            this.disconnects++;
+            this.mix(4);
+        }
+
+        private void mix(int value) {
+            this.checksum = this.checksum * 31 + value;
+        }
+
+        private long total() {
+            return this.connects + this.disconnects + this.trackChanges + this.positionChanges
+                    + this.playbackChanges + this.syncs;
+        }
+    }
+
+    private static class Result {
+
+        private final long ticks;
+        private final long events;
+        private final long trackChanges;
+        private final long positionChanges;
+        private final long playbackChanges;
+        private final long connects;
+        private final long checksum;
+        private final long nanos;
+
+        private Result(
+                long ticks,
+                long events,
+                long trackChanges,
+                long positionChanges,
+                long playbackChanges,
+                long connects,
+                long checksum,
+                long nanos
+        ) {
+            this.ticks = ticks;
+            this.events = events;
+            this.trackChanges = trackChanges;
+            this.positionChanges = positionChanges;
+            this.playbackChanges = playbackChanges;
+            this.connects = connects;
+            this.checksum = checksum;
+            this.nanos = nanos;
+        }
+
+        private boolean sameEvents(Result other) {
+            return this.events == other.events && this.checksum == other.checksum;
+        }
+
+        @Override
+        public String toString() {
+            return this.events + " events with checksum " + this.checksum;
+        }
+    }
+}
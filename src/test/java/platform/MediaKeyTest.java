@@ -0,0 +1,129 @@
+package platform;
+
+import de.labystudio.spotifyapi.config.SpotifyConfiguration;
+import de.labystudio.spotifyapi.event.type.PlaybackChangedEvent;
+import de.labystudio.spotifyapi.model.MediaKey;
+import de.labystudio.spotifyapi.model.Track;
+import de.labystudio.spotifyapi.platform.fake.FakePlayer;
+import de.labystudio.spotifyapi.platform.fake.FakeSpotifyAPI;
+import de.labystudio.spotifyapi.time.VirtualScheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Presses media keys on the fake backend in virtual time.
+ * Keys pressed in a burst have to be sent together after the debounce, a play/pause pair must not be sent at all.
+ * The playing state has to toggle immediately and roll back if Spotify doesn't confirm it within the confirmation window.
+ */
+public class MediaKeyTest {
+
+    private static final long TICK_INTERVAL = 100L;
+    private static final long COMMAND_DEBOUNCE = 50L;
+    private static final long CONFIRMATION_WINDOW = 2000L;
+
+    public static void main(String[] args) {
+        VirtualScheduler scheduler = new VirtualScheduler(0L);
+        FakePlayer player = new FakePlayer(
+                new Track("4uLU6hMCjMI75M1A2tKUQC", "First", "Artist", 180_000, null),
+                new Track("7GhIk7Il098yCjg4BQjzvb", "Second", "Artist", 180_000, null),
+                new Track("3n3Ppam7vgaVa1iaRUc9Lp", "Third", "Artist", 180_000, null)
+        );
+
+        // Spotify ignores the keys while the flag is set
+        List<MediaKey> sentKeys = new ArrayList<>();
+        boolean[] ignoreKeys = new boolean[1];
+        FakeSpotifyAPI api = new FakeSpotifyAPI(player, (fakePlayer, tick) -> {
+            if (tick == 0) {
+                fakePlayer.start();
+            }
+        }) {
+            @Override
+            protected void sendMediaKey(MediaKey mediaKey) {
+                sentKeys.add(mediaKey);
+                if (!ignoreKeys[0]) {
+                    super.sendMediaKey(mediaKey);
+                }
+            }
+        };
+        List<Boolean> playbackChanges = new ArrayList<>();
+        api.subscribe(PlaybackChangedEvent.class, event -> playbackChanges.add(event.isPlaying()));
+
+        // Keys can't be queued before the api is initialized
+        try {
+            api.pressMediaKey(MediaKey.NEXT);
+            throw new IllegalStateException("Media key was accepted before the initialization");
+        } catch (IllegalStateException e) {
+            check(e.getMessage().contains("not initialized"), "Unexpected failure: " + e.getMessage());
+        }
+
+        api.initialize(new SpotifyConfiguration.Builder()
+                .tickInterval(TICK_INTERVAL)
+                .scheduler(scheduler)
+                .dispatchExecutor(Runnable::run)
+                .build());
+        scheduler.advance(1, TimeUnit.SECONDS);
+        check(api.isConnected() && api.isPlaying(), "Player didn't start");
+        playbackChanges.clear();
+
+        // Keys pressed in a burst are sent together once the debounce elapsed
+        api.pressMediaKey(MediaKey.NEXT);
+        scheduler.advance(COMMAND_DEBOUNCE / 2, TimeUnit.MILLISECONDS);
+        api.pressMediaKey(MediaKey.NEXT);
+        check(sentKeys.isEmpty(), "Keys were sent before the debounce: " + sentKeys);
+        scheduler.advance(COMMAND_DEBOUNCE / 2, TimeUnit.MILLISECONDS);
+        check(sentKeys.equals(Arrays.asList(MediaKey.NEXT, MediaKey.NEXT)), "Sent keys: " + sentKeys);
+        check(player.getQueueIndex() == 2 && "Third".equals(api.getTrack().getName()), "Skips were not applied");
+        sentKeys.clear();
+
+        // A play/pause pair cancels out, nothing is sent and the playing state doesn't change
+        api.pressMediaKey(MediaKey.PLAY_PAUSE);
+        check(!api.isPlaying(), "First play/pause didn't toggle optimistically");
+        api.pressMediaKey(MediaKey.PLAY_PAUSE);
+        check(api.isPlaying(), "Second play/pause didn't toggle back");
+        scheduler.advance(1, TimeUnit.SECONDS);
+        check(sentKeys.isEmpty() && player.isPlaying(), "Play/pause pair was sent: " + sentKeys);
+        check(playbackChanges.isEmpty(), "Play/pause pair fired playback changes: " + playbackChanges);
+
+        // A single play/pause toggles immediately and is confirmed by Spotify
+        api.pressMediaKey(MediaKey.PLAY_PAUSE);
+        check(!api.isPlaying(), "Play/pause didn't toggle optimistically");
+        scheduler.advance(1, TimeUnit.SECONDS);
+        check(sentKeys.equals(Collections.singletonList(MediaKey.PLAY_PAUSE)) && !player.isPlaying(), "Play/pause was not sent");
+        check(!api.isPlaying() && playbackChanges.equals(Collections.singletonList(false)), "Playback changes: " + playbackChanges);
+        sentKeys.clear();
+
+        // A play/pause that Spotify ignores is kept until the confirmation window expires
+        ignoreKeys[0] = true;
+        long timePressed = scheduler.currentTimeMillis();
+        api.pressMediaKey(MediaKey.PLAY_PAUSE);
+        scheduler.advance(CONFIRMATION_WINDOW - TICK_INTERVAL, TimeUnit.MILLISECONDS);
+        check(sentKeys.equals(Collections.singletonList(MediaKey.PLAY_PAUSE)), "Ignored play/pause was not sent");
+        check(api.isPlaying(), "Optimistic state was rolled back within the confirmation window");
+        check(playbackChanges.equals(Arrays.asList(false, true)), "Playback changes: " + playbackChanges);
+
+        scheduler.advance(timePressed + CONFIRMATION_WINDOW + TICK_INTERVAL - scheduler.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        check(!api.isPlaying() && !player.isPlaying(), "Optimistic state was not rolled back");
+        check(playbackChanges.equals(Arrays.asList(false, true, false)), "Playback changes: " + playbackChanges);
+        ignoreKeys[0] = false;
+
+        // Keys that can't be sent because Spotify is gone are dropped with the optimistic state
+        sentKeys.clear();
+        player.quit();
+        scheduler.advance(1, TimeUnit.SECONDS);
+        api.pressMediaKey(MediaKey.NEXT);
+        scheduler.advance(1, TimeUnit.SECONDS);
+        check(!api.isConnected() && sentKeys.isEmpty(), "Key was sent while disconnected: " + sentKeys);
+
+        api.shutdown();
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+}
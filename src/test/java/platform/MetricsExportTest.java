@@ -0,0 +1,114 @@
+package platform;
+
+import de.labystudio.spotifyapi.config.SpotifyConfiguration;
+import de.labystudio.spotifyapi.metrics.LatencyHistogram;
+import de.labystudio.spotifyapi.metrics.MetricRegistry;
+import de.labystudio.spotifyapi.metrics.export.PrometheusExporter;
+import de.labystudio.spotifyapi.model.Track;
+import de.labystudio.spotifyapi.platform.fake.FakePlayer;
+import de.labystudio.spotifyapi.platform.fake.FakeScenario;
+import de.labystudio.spotifyapi.platform.fake.FakeSpotifyAPI;
+import de.labystudio.spotifyapi.time.VirtualScheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registers two fake backends on one metric registry and checks the Prometheus export.
+ * The counters and gauges have to report the total of both apis and the gauges of an api have to be removed on shutdown.
+ */
+public class MetricsExportTest {
+
+    private static final String HISTOGRAM = "test_latency_seconds";
+
+    public static void main(String[] args) {
+        VirtualScheduler scheduler = new VirtualScheduler(0L);
+        MetricRegistry registry = new MetricRegistry();
+        PrometheusExporter exporter = new PrometheusExporter(registry);
+        SpotifyConfiguration configuration = new SpotifyConfiguration.Builder()
+                .tickInterval(100L)
+                .scheduler(scheduler)
+                .metrics(registry)
+                .build();
+
+        FakeSpotifyAPI first = createApi();
+        FakeSpotifyAPI second = createApi();
+        first.initialize(configuration);
+        second.initialize(configuration);
+        scheduler.advance(1, TimeUnit.SECONDS);
+
+        // The counters and gauges of both apis are summed up
+        List<String> lines = Arrays.asList(exporter.export().split("\n"));
+        checkLine(lines, "# TYPE spotify_connects_total counter");
+        checkLine(lines, "spotify_connects_total 2");
+        checkLine(lines, "# TYPE spotify_connected gauge");
+        checkLine(lines, "spotify_connected 2.0");
+        checkLine(lines, "spotify_reconnect_failures 0.0");
+        checkHistogram(lines, "spotify_tick_duration_seconds", first.getTicks() + second.getTicks());
+
+        // The buckets are cumulative and end with +Inf, the sum is in seconds
+        LatencyHistogram histogram = registry.histogram(HISTOGRAM, "Latency with a \\ backslash\nand a new line");
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(500));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(3));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(3));
+        histogram.record(TimeUnit.SECONDS.toNanos(20));
+        lines = Arrays.asList(exporter.export().split("\n"));
+        checkLine(lines, "# HELP " + HISTOGRAM + " Latency with a \\\\ backslash\\nand a new line");
+        checkLine(lines, "# TYPE " + HISTOGRAM + " histogram");
+        checkLine(lines, HISTOGRAM + "_bucket{le=\"0.001\"} 1");
+        checkLine(lines, HISTOGRAM + "_bucket{le=\"0.0025\"} 1");
+        checkLine(lines, HISTOGRAM + "_bucket{le=\"0.005\"} 3");
+        checkLine(lines, HISTOGRAM + "_bucket{le=\"10\"} 3");
+        checkLine(lines, HISTOGRAM + "_bucket{le=\"+Inf\"} 4");
+        checkLine(lines, HISTOGRAM + "_sum 20.0065");
+        checkLine(lines, HISTOGRAM + "_count 4");
+        checkHistogram(lines, HISTOGRAM, 4);
+
+        // The gauges of an api are removed on shutdown, the last one removes the metric
+        first.shutdown();
+        lines = Arrays.asList(exporter.export().split("\n"));
+        checkLine(lines, "spotify_connected 1.0");
+        second.shutdown();
+        String export = exporter.export();
+        check(!export.contains("spotify_connected") && !export.contains("spotify_reconnect_failures"),
+                "Gauges were not removed on shutdown:\n" + export);
+        check(export.contains("spotify_connects_total 2\n"), "Counters were removed on shutdown:\n" + export);
+    }
+
+    private static FakeSpotifyAPI createApi() {
+        FakePlayer player = new FakePlayer(new Track("4uLU6hMCjMI75M1A2tKUQC", "Track", "Artist", 180_000, null));
+        player.start();
+        return new FakeSpotifyAPI(player, FakeScenario.idle());
+    }
+
+    private static void checkHistogram(List<String> lines, String name, long count) {
+        // The bucket counts never decrease and the +Inf bucket equals the count
+        List<Long> buckets = new ArrayList<>();
+        String lastBound = null;
+        for (String line : lines) {
+            if (line.startsWith(name + "_bucket{le=\"")) {
+                buckets.add(Long.parseLong(line.substring(line.lastIndexOf(' ') + 1)));
+                lastBound = line.substring(line.indexOf('"') + 1, line.lastIndexOf('"'));
+            }
+        }
+        check(buckets.size() == 14 && "+Inf".equals(lastBound), "Histogram " + name + " has the buckets " + buckets + " up to " + lastBound);
+        for (int i = 1; i < buckets.size(); i++) {
+            check(buckets.get(i) >= buckets.get(i - 1), "Buckets of " + name + " are not cumulative: " + buckets);
+        }
+        check(buckets.get(buckets.size() - 1) == count, "Histogram " + name + " counted " + buckets.get(buckets.size() - 1) + " instead of " + count);
+        checkLine(lines, name + "_count " + count);
+        check(lines.stream().anyMatch(line -> line.startsWith(name + "_sum ")), "Histogram " + name + " has no sum");
+    }
+
+    private static void checkLine(List<String> lines, String expected) {
+        check(lines.contains(expected), "Missing line '" + expected + "' in:\n" + String.join("\n", lines));
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package platform;
+
+import de.labystudio.spotifyapi.SpotifyAPI;
+import de.labystudio.spotifyapi.config.SpotifyConfiguration;
+import de.labystudio.spotifyapi.model.ReadinessStage;
+import de.labystudio.spotifyapi.model.Track;
+import de.labystudio.spotifyapi.platform.fake.FakePlayer;
+import de.labystudio.spotifyapi.platform.fake.FakeScenario;
+import de.labystudio.spotifyapi.platform.fake.FakeSpotifyAPI;
+import de.labystudio.spotifyapi.time.VirtualScheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Initializes the fake backend in virtual time and checks the readiness stages.
+ * The initialization must not wait for the backend, the stages have to complete in their order
+ * and a caller must not be able to complete a stage of the api.
+ */
+public class ReadinessTest {
+
+    public static void main(String[] args) {
+        VirtualScheduler scheduler = new VirtualScheduler(0L);
+        List<String> order = new ArrayList<>();
+        FakePlayer player = new FakePlayer(new Track("4uLU6hMCjMI75M1A2tKUQC", "Track", "Artist", 180_000, null));
+        player.start();
+        FakeSpotifyAPI api = new FakeSpotifyAPI(player, FakeScenario.idle()) {
+            @Override
+            protected void onInitialized() {
+                order.add("onInitialized");
+                super.onInitialized();
+            }
+        };
+
+        // Register the stages in reverse order, they have to complete in the order they are reached
+        ReadinessStage[] stages = ReadinessStage.values();
+        for (int i = stages.length - 1; i >= 0; i--) {
+            ReadinessStage stage = stages[i];
+            api.whenReady(stage).thenRun(() -> order.add(stage.name()));
+        }
+
+        // A caller can't complete the stage for everyone else
+        CompletableFuture<SpotifyAPI> stolen = api.whenReady(ReadinessStage.FIRST_STATE);
+        stolen.complete(null);
+        check(!api.whenReady(ReadinessStage.FIRST_STATE).isDone(), "Completing a returned future completed the stage");
+
+        // The initialization returns once the scheduler is started, the backend is prepared on the tick thread
+        api.initialize(new SpotifyConfiguration.Builder()
+                .tickInterval(100L)
+                .scheduler(scheduler)
+                .build());
+        check(order.equals(Arrays.asList("SCHEDULER_STARTED")), "Initialization waited for the backend: " + order);
+        check(api.whenReady(ReadinessStage.SCHEDULER_STARTED).isDone(), "Scheduler stage is not done after the initialization");
+
+        scheduler.advance(100, TimeUnit.MILLISECONDS);
+        check(order.equals(Arrays.asList("SCHEDULER_STARTED", "onInitialized", "BACKEND_CONNECTED", "FIRST_STATE", "ENRICHMENT_READY")),
+                "Stages completed in the wrong order: " + order);
+        check(api.whenReady(ReadinessStage.FIRST_STATE).join() == api, "Stage didn't complete with the api");
+        api.shutdown();
+
+        // The stages that are not reached fail on shutdown
+        FakeSpotifyAPI absent = new FakeSpotifyAPI(new FakePlayer(), FakeScenario.idle());
+        absent.initialize(new SpotifyConfiguration.Builder()
+                .tickInterval(100L)
+                .scheduler(scheduler)
+                .build());
+        scheduler.advance(1, TimeUnit.SECONDS);
+        CompletableFuture<SpotifyAPI> connected = absent.whenReady(ReadinessStage.BACKEND_CONNECTED);
+        check(!connected.isDone(), "Backend without Spotify connected");
+        absent.shutdown();
+        check(connected.isCompletedExceptionally(), "Stage didn't fail on shutdown");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+}
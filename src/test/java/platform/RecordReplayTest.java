@@ -0,0 +1,173 @@
+package platform;
+
+import de.labystudio.spotifyapi.SpotifyListener;
+import de.labystudio.spotifyapi.config.SpotifyConfiguration;
+import de.labystudio.spotifyapi.model.Track;
+import de.labystudio.spotifyapi.platform.AbstractTickSpotifyAPI;
+import de.labystudio.spotifyapi.platform.fake.FakeSpotifyAPI;
+import de.labystudio.spotifyapi.platform.fake.RandomScenario;
+import de.labystudio.spotifyapi.platform.replay.ReplaySpotifyAPI;
+import de.labystudio.spotifyapi.record.BackendSample;
+import de.labystudio.spotifyapi.record.SampleLog;
+import de.labystudio.spotifyapi.record.SampleRecorder;
+import de.labystudio.spotifyapi.time.VirtualScheduler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Records a session of the fake backend to a sample log and replays it.
+ * The replay has to fire exactly the same events as the recorded session.
+ * It also checks that the rotation keeps the log bounded.
+ */
+public class RecordReplayTest {
+
+    private static final long TICK_INTERVAL = 10L;
+    private static final long SIMULATED_SECONDS = 120L;
+
+    public static void main(String[] args) throws Exception {
+        Path directory = Files.createTempDirectory("spotify-samples");
+        try {
+            checkReplay(directory.resolve("session"));
+            checkRotation(directory.resolve("rotation"));
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    private static void checkReplay(Path directory) throws IOException {
+        // Record a session with track changes, seeks, pauses and restarts of Spotify
+        FakeSpotifyAPI fakeApi = new FakeSpotifyAPI(new RandomScenario.Builder()
+                .seed(7L)
+                .trackChanges(0.02D)
+                .seeks(0.02D)
+                .playPauses(0.02D)
+                .flapping(0.002D, 0.05D)
+                .build());
+        EventRecorder recorded = new EventRecorder();
+        VirtualScheduler recordScheduler = new VirtualScheduler(0L);
+        try (SampleRecorder recorder = new SampleRecorder(directory, 16 * 1024, 1000)) {
+            run(fakeApi, recorded, recordScheduler, new SpotifyConfiguration.Builder()
+                    .tickInterval(TICK_INTERVAL)
+                    .sampleRecorder(recorder));
+            recordScheduler.advance(SIMULATED_SECONDS, TimeUnit.SECONDS);
+            fakeApi.shutdown();
+        }
+
+        List<BackendSample> samples = SampleLog.readAll(directory);
+        System.out.printf(
+                "Recorded %d samples in %d files, %d events%n",
+                samples.size(),
+                SampleLog.listFiles(directory).size(),
+                recorded.events.size()
+        );
+
+        // Replay it as fast as possible, the replay follows the recorded time
+        ReplaySpotifyAPI replayApi = new ReplaySpotifyAPI(samples);
+        EventRecorder replayed = new EventRecorder();
+        VirtualScheduler replayScheduler = new VirtualScheduler(0L);
+        run(replayApi, replayed, replayScheduler, new SpotifyConfiguration.Builder().tickInterval(1L));
+        while (!replayApi.isFinished()) {
+            replayScheduler.advance(1L, TimeUnit.SECONDS);
+        }
+        replayApi.shutdown();
+
+        if (!recorded.events.equals(replayed.events)) {
+            int index = 0;
+            while (index < Math.min(recorded.events.size(), replayed.events.size())
+                    && recorded.events.get(index).equals(replayed.events.get(index))) {
+                index++;
+            }
+            throw new IllegalStateException(String.format(
+                    "Replay diverged at event %d of %d: recorded %s, replayed %s",
+                    index,
+                    recorded.events.size(),
+                    index < recorded.events.size() ? recorded.events.get(index) : "nothing",
+                    index < replayed.events.size() ? replayed.events.get(index) : "nothing"
+            ));
+        }
+        if (fakeApi.getConnects() < 2 || fakeApi.getTrackChanges() < 10) {
+            throw new IllegalStateException("Session has too few changes to be meaningful");
+        }
+        System.out.printf("Replayed %d samples with the same events%n", replayApi.getReplayedSamples());
+    }
+
+    private static void checkRotation(Path directory) throws IOException {
+        int maxFiles = 3;
+        int fileSize = 4096;
+        int samples = 10_000;
+        try (SampleRecorder recorder = new SampleRecorder(directory, fileSize, maxFiles)) {
+            for (int i = 0; i < samples; i++) {
+                recorder.recordSample(i, i + 1, "0r1kH7SIkkPP9W7mUknObF", 172_000, 42, i, true);
+            }
+        }
+
+        List<Path> files = SampleLog.listFiles(directory);
+        List<BackendSample> kept = SampleLog.readAll(directory);
+        if (files.size() > maxFiles) {
+            throw new IllegalStateException("Rotation kept " + files.size() + " files, the limit is " + maxFiles);
+        }
+        BackendSample last = kept.get(kept.size() - 1);
+        if (last.getPosition() != samples - 1 || !last.getTrackId().equals("0r1kH7SIkkPP9W7mUknObF")) {
+            throw new IllegalStateException("Last sample was not kept: " + last);
+        }
+        System.out.printf("Rotation kept %d of %d samples in %d files%n", kept.size(), samples, files.size());
+    }
+
+    private static void run(
+            AbstractTickSpotifyAPI api,
+            EventRecorder listener,
+            VirtualScheduler scheduler,
+            SpotifyConfiguration.Builder configuration
+    ) {
+        api.registerListener(listener);
+        api.initialize(configuration
+                .exceptionReconnectDelay(TICK_INTERVAL)
+                .maxReconnectDelay(TICK_INTERVAL * 8)
+                .scheduler(scheduler)
+                .build());
+    }
+
+    private static class EventRecorder implements SpotifyListener {
+
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onConnect() {
+            this.events.add("connect");
+        }
+
+        @Override
+        public void onTrackChanged(Track track) {
+            this.events.add("track " + track.getId() + " " + track.getLength());
+        }
+
+        @Override
+        public void onPositionChanged(int position) {
+            this.events.add("position " + position);
+        }
+
+        @Override
+        public void onPlayBackChanged(boolean isPlaying) {
+            this.events.add("playing " + isPlaying);
+        }
+
+        @Override
+        public void onSync() {
+            this.events.add("sync");
+        }
+
+        @Override
+        public void onDisconnect(Exception exception) {
+            this.events.add("disconnect");
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package platform;
+
+import de.labystudio.spotifyapi.time.TimeSource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Stand-in of the Spotify player that follows a script of state changes in the time of a {@link TimeSource}.
+ * A change happens exactly at its scripted time, the backend only sees it with its next read.
+ *
+ * @author LabyStudio
+ */
+public class ScriptedPlayer {
+
+    private static final String[] TRACK_IDS = {
+            "0r1kH7SIkkPP9W7mUknObF",
+            "38T0tPVZHcPZyhtOcCP7pF",
+            "4cOdK2wGLETKBW3PvgPWqT",
+            "7GhIk7Il098yCjg4BQjzvb"
+    };
+
+    public static final int TRACK_LENGTH = 600_000;
+    public static final int SEEK_POSITION = 60_000;
+
+    private final List<Step> steps;
+    private final TimeSource timeSource;
+    private int nextStep;
+    private long timeStart;
+
+    private boolean running;
+    private String trackId;
+    private boolean playing;
+    private int anchorPosition;
+    private long timeAnchor;
+
+    public ScriptedPlayer(List<Step> steps) {
+        this(steps, TimeSource.system());
+    }
+
+    public ScriptedPlayer(List<Step> steps, TimeSource timeSource) {
+        this.steps = steps;
+        this.timeSource = timeSource;
+    }
+
+    /**
+     * Create a script that repeats a cycle of a track change, pause, play, seek, quit and start.
+     * The steps are spaced a few ticks apart with a varying phase, so the detection latency is sampled across the tick.
+     *
+     * @param tickInterval the tick interval of the api in milliseconds
+     * @param cycles       the amount of cycles
+     * @return the steps of the script
+     */
+    public static List<Step> createScript(long tickInterval, int cycles) {
+        List<Step> steps = new ArrayList<>();
+        steps.add(new Step(0L, Action.START, TRACK_IDS[0], 0));
+
+        long time = 0;
+        for (int cycle = 0; cycle < cycles; cycle++) {
+            Action[] actions = {Action.TRACK, Action.PAUSE, Action.PLAY, Action.SEEK, Action.QUIT, Action.START};
+            for (Action action : actions) {
+                double phase = (steps.size() * 0.37D) % 1.0D;
+                time += (long) (tickInterval * (3 + phase));
+
+                steps.add(new Step(time, action, TRACK_IDS[(cycle + 1) % TRACK_IDS.length], SEEK_POSITION));
+            }
+        }
+        return steps;
+    }
+
+    /**
+     * Start the script, the first step is applied immediately.
+     */
+    public synchronized void start() {
+        this.timeStart = this.timeSource.nanoTime();
+        this.advance();
+    }
+
+    public synchronized boolean isRunning() {
+        this.advance();
+        return this.running;
+    }
+
+    /**
+     * Read the state of the player like the backend would do it.
+     *
+     * @return the current state
+     * @throws Exception if the player is not running
+     */
+    public synchronized State read() throws Exception {
+        this.advance();
+        if (!this.running) {
+            throw new Exception("Spotify is not running");
+        }
+        return new State(this.trackId, this.playing, this.positionAt(this.timeSource.nanoTime()));
+    }
+
+    public synchronized boolean isFinished() {
+        this.advance();
+        return this.nextStep >= this.steps.size();
+    }
+
+    public List<Step> getSteps() {
+        return Collections.unmodifiableList(this.steps);
+    }
+
+    private void advance() {
+        long now = this.timeSource.nanoTime();
+        while (this.nextStep < this.steps.size()) {
+            Step step = this.steps.get(this.nextStep);
+            long timeChange = this.timeStart + step.time * 1_000_000L;
+            if (timeChange > now) {
+                break;
+            }
+            this.apply(step, timeChange);
+            this.nextStep++;
+        }
+    }
+
+    private void apply(Step step, long timeChange) {
+        step.timeChange = timeChange;
+
+        switch (step.action) {
+            case START:
+                this.running = true;
+                if (this.trackId == null) {
+                    this.trackId = step.trackId;
+                    this.playing = true;
+                    this.rebase(0, timeChange);
+                }
+                break;
+            case QUIT:
+                this.running = false;
+                break;
+            case TRACK:
+                this.trackId = step.trackId;
+                this.rebase(0, timeChange);
+                break;
+            case PAUSE:
+                this.rebase(this.positionAt(timeChange), timeChange);
+                this.playing = false;
+                break;
+            case PLAY:
+                this.rebase(this.positionAt(timeChange), timeChange);
+                this.playing = true;
+                break;
+            case SEEK:
+                this.rebase(step.position, timeChange);
+                break;
+        }
+    }
+
+    private void rebase(int position, long time) {
+        this.anchorPosition = position;
+        this.timeAnchor = time;
+    }
+
+    private int positionAt(long time) {
+        if (!this.playing) {
+            return this.anchorPosition;
+        }
+        return this.anchorPosition + (int) ((time - this.timeAnchor) / 1_000_000L);
+    }
+
+    public enum Action {
+        START, QUIT, TRACK, PAUSE, PLAY, SEEK
+    }
+
+    public static class Step {
+
+        private final long time;
+        private final Action action;
+        private final String trackId;
+        private final int position;
+
+        private volatile long timeChange = -1L;
+
+        public Step(long time, Action action, String trackId, int position) {
+            this.time = time;
+            this.action = action;
+            this.trackId = trackId;
+            this.position = position;
+        }
+
+        public Action getAction() {
+            return this.action;
+        }
+
+        public String getTrackId() {
+            return this.trackId;
+        }
+
+        public int getPosition() {
+            return this.position;
+        }
+
+        /**
+         * Returns the time the change happened in the player.
+         *
+         * @return the time in nanoseconds or -1 if the step wasn't reached
+         */
+        public long getTimeChange() {
+            return this.timeChange;
+        }
+    }
+
+    public static class State {
+
+        private final String trackId;
+        private final boolean playing;
+        private final int position;
+
+        public State(String trackId, boolean playing, int position) {
+            this.trackId = trackId;
+            this.playing = playing;
+            this.position = position;
+        }
+
+        public String getTrackId() {
+            return this.trackId;
+        }
+
+        public boolean isPlaying() {
+            return this.playing;
+        }
+
+        public int getPosition() {
+            return this.position;
+        }
+    }
+}
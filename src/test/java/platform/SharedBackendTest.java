@@ -0,0 +1,135 @@
+package platform;
+
+import de.labystudio.spotifyapi.SpotifyAPI;
+import de.labystudio.spotifyapi.config.SpotifyConfiguration;
+import de.labystudio.spotifyapi.event.PlaybackEvent;
+import de.labystudio.spotifyapi.event.type.ConnectedEvent;
+import de.labystudio.spotifyapi.event.type.PlaybackChangedEvent;
+import de.labystudio.spotifyapi.event.type.PositionJumpEvent;
+import de.labystudio.spotifyapi.event.type.TrackChangedEvent;
+import de.labystudio.spotifyapi.model.Track;
+import de.labystudio.spotifyapi.platform.fake.FakePlayer;
+import de.labystudio.spotifyapi.platform.fake.FakeScenario;
+import de.labystudio.spotifyapi.platform.fake.FakeSpotifyAPI;
+import de.labystudio.spotifyapi.platform.shared.SharedBackend;
+import de.labystudio.spotifyapi.platform.shared.SharedSpotifyAPI;
+import de.labystudio.spotifyapi.time.VirtualScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Attaches views to a shared fake backend in virtual time.
+ * The backend has to be created by the first view and shut down with the last one,
+ * a view that attaches to a running backend has to receive the current state.
+ * Views with other backend settings are rejected and the scheduler of a view must not stop the backend.
+ */
+public class SharedBackendTest {
+
+    private static final Track TRACK = new Track("4uLU6hMCjMI75M1A2tKUQC", "Track", "Artist", 180_000, null);
+
+    public static void main(String[] args) {
+        VirtualScheduler scheduler = new VirtualScheduler(0L);
+        List<FakeSpotifyAPI> backends = new ArrayList<>();
+        SharedBackend sharedBackend = new SharedBackend(() -> {
+            FakeSpotifyAPI backend = new FakeSpotifyAPI(new FakePlayer(TRACK), FakeScenario.idle());
+            backends.add(backend);
+            return backend;
+        }, scheduler);
+        SpotifyConfiguration configuration = new SpotifyConfiguration.Builder()
+                .tickInterval(100L)
+                .build();
+
+        // The first view creates the backend
+        SpotifyAPI first = new SharedSpotifyAPI(sharedBackend).initialize(configuration);
+        scheduler.advance(1, TimeUnit.SECONDS);
+        check(backends.size() == 1 && sharedBackend.getReferences() == 1, "First view didn't create the backend");
+        check(first.isConnected() && TRACK.equals(first.getTrack()), "First view is not connected");
+
+        // The second view gets the current state when it attaches
+        SpotifyAPI second = new SharedSpotifyAPI(sharedBackend);
+        List<PlaybackEvent> replayed = new ArrayList<>();
+        second.subscribe(PlaybackEvent.class, replayed::add);
+        second.initialize(configuration);
+        check(backends.size() == 1 && sharedBackend.getReferences() == 2, "Second view didn't share the backend");
+        check(replayed.size() == 4, "Replayed " + replayed.size() + " events: " + replayed);
+        check(replayed.get(0) instanceof ConnectedEvent, "Replay doesn't start with the connect: " + replayed);
+        check(((TrackChangedEvent) replayed.get(1)).getTrack().equals(TRACK), "Replayed the wrong track");
+        check(((PlaybackChangedEvent) replayed.get(2)).isPlaying(), "Replayed a paused playback");
+        check(((PositionJumpEvent) replayed.get(3)).getPosition() >= 900, "Replayed the wrong position");
+
+        // The backend keeps running until the last view is gone
+        first.shutdown();
+        check(sharedBackend.getReferences() == 1, "Backend has " + sharedBackend.getReferences() + " references");
+        long ticks = backends.get(0).getTicks();
+        scheduler.advance(1, TimeUnit.SECONDS);
+        check(backends.get(0).getTicks() > ticks, "Backend stopped before the last view was shut down");
+        check(second.isConnected() && second.getPosition() >= 1900, "Second view lost the backend");
+
+        second.shutdown();
+        check(sharedBackend.getReferences() == 0, "Backend has " + sharedBackend.getReferences() + " references");
+        ticks = backends.get(0).getTicks();
+        scheduler.advance(1, TimeUnit.SECONDS);
+        check(backends.get(0).getTicks() == ticks, "Backend is still running after the last view was shut down");
+
+        // A new view starts a new backend
+        SpotifyAPI third = new SharedSpotifyAPI(sharedBackend).initialize(configuration);
+        scheduler.advance(1, TimeUnit.SECONDS);
+        check(backends.size() == 2 && third.isConnected(), "Third view didn't start a new backend");
+        third.shutdown();
+
+        checkDifferentConfigurations(scheduler, sharedBackend, backends);
+    }
+
+    private static void checkDifferentConfigurations(VirtualScheduler scheduler, SharedBackend sharedBackend, List<FakeSpotifyAPI> backends) {
+        // The first view brings its own scheduler, the backend doesn't use it
+        ScheduledExecutorService firstScheduler = Executors.newSingleThreadScheduledExecutor();
+        SpotifyAPI first = new SharedSpotifyAPI(sharedBackend).initialize(new SpotifyConfiguration.Builder()
+                .tickInterval(100L)
+                .scheduler(firstScheduler)
+                .dispatchExecutor(Runnable::run)
+                .build());
+        scheduler.advance(1, TimeUnit.SECONDS);
+        check(backends.size() == 3 && first.isConnected(), "First view didn't start a new backend");
+
+        // A view with other backend settings is rejected
+        SpotifyAPI rejected = new SharedSpotifyAPI(sharedBackend);
+        try {
+            rejected.initialize(new SpotifyConfiguration.Builder()
+                    .tickInterval(500L)
+                    .build());
+            throw new IllegalStateException("View with a different tick interval was accepted");
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+        check(!rejected.isInitialized() && sharedBackend.getReferences() == 1, "Rejected view holds a reference");
+
+        // The executors may differ per view
+        SpotifyAPI second = new SharedSpotifyAPI(sharedBackend).initialize(new SpotifyConfiguration.Builder()
+                .tickInterval(100L)
+                .dispatchExecutor(Executors.newSingleThreadExecutor())
+                .build());
+        check(sharedBackend.getReferences() == 2, "Second view didn't share the backend");
+
+        // The remaining view keeps ticking after the first view and its scheduler are gone
+        first.shutdown();
+        firstScheduler.shutdownNow();
+        int position = second.getPosition();
+        long ticks = backends.get(2).getTicks();
+        scheduler.advance(1, TimeUnit.SECONDS);
+        check(backends.get(2).getTicks() >= ticks + 10, "Backend stopped with the scheduler of the first view");
+        check(second.getPosition() >= position + 1000, "Second view didn't follow the backend");
+        second.shutdown();
+        ((ExecutorService) second.getConfiguration().getDispatchExecutor()).shutdown();
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+}
@@ -2,12 +2,18 @@ package platform;
 
 import de.labystudio.spotifyapi.SpotifyAPI;
 import de.labystudio.spotifyapi.SpotifyAPIFactory;
+import de.labystudio.spotifyapi.model.ReadinessStage;
+
+import java.util.concurrent.TimeUnit;
 
 public class SpotifyDirectTest {
 
     public static void main(String[] args) throws Exception {
         SpotifyAPI api = SpotifyAPIFactory.createInitialized();
 
+        // Wait for the first state of the backend
+        api.whenReady(ReadinessStage.FIRST_STATE).get(30, TimeUnit.SECONDS);
+
         // It has no track until the song started playing once
         if (api.hasTrack()) {
             System.out.println("Current playing track: " + api.getTrack());
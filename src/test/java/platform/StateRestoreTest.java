@@ -0,0 +1,159 @@
+package platform;
+
+import de.labystudio.spotifyapi.config.SpotifyConfiguration;
+import de.labystudio.spotifyapi.event.type.TrackChangedEvent;
+import de.labystudio.spotifyapi.model.Track;
+import de.labystudio.spotifyapi.platform.fake.FakePlayer;
+import de.labystudio.spotifyapi.platform.fake.FakeSpotifyAPI;
+import de.labystudio.spotifyapi.state.PersistedState;
+import de.labystudio.spotifyapi.state.StateFile;
+import de.labystudio.spotifyapi.time.VirtualScheduler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Restores the state of a previous session on the fake backend in virtual time.
+ * The restored position has to move on with the time the track was playing and stay until the backend knows
+ * the position, the backend confirming the restored track must not fire a second track change.
+ */
+public class StateRestoreTest {
+
+    private static final long EPOCH = 1_700_000_000_000L;
+    private static final Track TRACK = new Track("4uLU6hMCjMI75M1A2tKUQC", "Track", "Artist", 180_000, null);
+    private static final Track OTHER_TRACK = new Track("7GhIk7Il098yCjg4BQjzvb", "Other", "Artist", 180_000, null);
+
+    public static void main(String[] args) throws IOException {
+        Path directory = Files.createTempDirectory("spotify-state");
+        try {
+            checkConfirmedTrack(directory.resolve("confirmed.json"));
+            checkOtherTrack(directory.resolve("other.json"));
+            checkRestoredPosition(directory.resolve("position.json"));
+        } finally {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
+    private static void checkConfirmedTrack(Path path) throws IOException {
+        // The track was playing at 10s when the last session ended 5s ago
+        save(path, TRACK, 10_000, true, EPOCH - 5_000);
+
+        VirtualScheduler scheduler = new VirtualScheduler(EPOCH);
+        FakePlayer player = new FakePlayer(TRACK);
+        player.setPositionReported(false);
+        FakeSpotifyAPI api = new FakeSpotifyAPI(player, (fakePlayer, tick) -> {
+            if (tick == 0) {
+                fakePlayer.start();
+            }
+        });
+        List<Track> trackChanges = new ArrayList<>();
+        api.subscribe(TrackChangedEvent.class, event -> trackChanges.add(event.getTrack()));
+        initialize(api, scheduler, path);
+
+        // The restored state is provisional until the first tick
+        check(!api.isStateConfirmed() && TRACK.equals(api.getTrack()), "Track was not restored");
+        check(api.hasPosition() && api.getPosition() == 15_000, "Restored position is " + api.getPosition());
+        check(trackChanges.size() == 1, "Restore fired " + trackChanges.size() + " track changes");
+
+        // The backend confirms the track but doesn't know the position yet
+        scheduler.advance(1, TimeUnit.SECONDS);
+        check(api.isStateConfirmed(), "Track was not confirmed");
+        check(trackChanges.size() == 1, "Confirmed track fired another track change: " + trackChanges);
+        check(api.hasPosition() && api.getPosition() == 15_000, "Provisional position was dropped: " + api.getPosition());
+
+        // The position of the backend replaces the provisional one
+        player.setPositionReported(true);
+        scheduler.advance(100, TimeUnit.MILLISECONDS);
+        check(Math.abs(api.getPosition() - player.getPosition()) <= 5, "Position " + api.getPosition() + " is not the one of the backend");
+        api.shutdown();
+
+        // The final state was saved
+        PersistedState state = new StateFile(path).load();
+        check(state != null && TRACK.getId().equals(state.trackId) && state.timestamp == scheduler.currentTimeMillis(), "State was not saved");
+    }
+
+    private static void checkOtherTrack(Path path) throws IOException {
+        save(path, TRACK, 10_000, true, EPOCH - 5_000);
+
+        VirtualScheduler scheduler = new VirtualScheduler(EPOCH);
+        FakePlayer player = new FakePlayer(OTHER_TRACK);
+        player.setPositionReported(false);
+        FakeSpotifyAPI api = new FakeSpotifyAPI(player, (fakePlayer, tick) -> {
+            if (tick == 0) {
+                fakePlayer.start();
+            }
+        });
+        List<Track> trackChanges = new ArrayList<>();
+        api.subscribe(TrackChangedEvent.class, event -> trackChanges.add(event.getTrack()));
+        initialize(api, scheduler, path);
+
+        // The restored position belongs to the restored track
+        scheduler.advance(1, TimeUnit.SECONDS);
+        check(trackChanges.size() == 2 && OTHER_TRACK.equals(trackChanges.get(1)), "Other track didn't fire a track change: " + trackChanges);
+        check(api.isStateConfirmed() && !api.hasPosition(), "Position of the restored track was kept");
+        api.shutdown();
+    }
+
+    private static void checkRestoredPosition(Path path) throws IOException {
+        // A playing track doesn't play on after its end
+        save(path, TRACK, 170_000, true, EPOCH - TimeUnit.MINUTES.toMillis(10));
+        check(restorePosition(path) == TRACK.getLength(), "Restored position was not capped at the track length");
+
+        // A paused track keeps its position
+        save(path, TRACK, 10_000, false, EPOCH - TimeUnit.MINUTES.toMillis(10));
+        check(restorePosition(path) == 10_000, "Restored position of a paused track moved");
+
+        // A state from the future or from the last week is not trusted
+        save(path, TRACK, 10_000, true, EPOCH + 5_000);
+        check(restorePosition(path) == -1, "Position from the future was restored");
+        save(path, TRACK, 10_000, false, EPOCH - TimeUnit.DAYS.toMillis(7));
+        check(restorePosition(path) == -1, "Position of an old state was restored");
+    }
+
+    private static int restorePosition(Path path) {
+        VirtualScheduler scheduler = new VirtualScheduler(EPOCH);
+        FakeSpotifyAPI api = new FakeSpotifyAPI(new FakePlayer(TRACK), (fakePlayer, tick) -> {
+        });
+        initialize(api, scheduler, path);
+        int position = api.hasPosition() ? api.getPosition() : -1;
+        api.shutdown();
+        return position;
+    }
+
+    private static void initialize(FakeSpotifyAPI api, VirtualScheduler scheduler, Path path) {
+        api.initialize(new SpotifyConfiguration.Builder()
+                .tickInterval(100L)
+                .scheduler(scheduler)
+                .ioExecutor(Runnable::run)
+                .stateFile(path)
+                .build());
+    }
+
+    private static void save(Path path, Track track, int position, boolean playing, long timestamp) throws IOException {
+        PersistedState state = new PersistedState();
+        state.trackId = track.getId();
+        state.trackName = track.getName();
+        state.trackArtist = track.getArtist();
+        state.trackLength = track.getLength();
+        state.position = position;
+        state.playing = playing;
+        state.timestamp = timestamp;
+        new StateFile(path).save(state);
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+}
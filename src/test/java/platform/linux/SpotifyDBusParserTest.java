@@ -1,6 +1,7 @@
 package platform.linux;
 
 import de.labystudio.spotifyapi.platform.linux.api.model.Metadata;
+import de.labystudio.spotifyapi.platform.linux.api.model.PlayerProperties;
 import de.labystudio.spotifyapi.platform.linux.api.model.Variant;
 
 import java.io.IOException;
@@ -30,6 +31,22 @@ public class SpotifyDBusParserTest {
         if (!response2.<String>getValue().equals("Playing")) {
             throw new IllegalStateException("Invalid value: " + response2.<String>getValue());
         }
+
+        // Test GetAll parsing with nested metadata
+        Variant response3 = Variant.parse(readString("/dbus/getall.variant"));
+        PlayerProperties player = new PlayerProperties(response3.getValue());
+        if (!player.getMetadata().getTrackId().equals("0r1kH7SIkkPP9W7mUknObF")) {
+            throw new IllegalStateException("Invalid track ID: " + player.getMetadata().getTrackId());
+        }
+        if (!player.getMetadata().getArtistsJoined().equals("CRO")) {
+            throw new IllegalStateException("Invalid artist: " + player.getMetadata().getArtistsJoined());
+        }
+        if (!player.isPlaying() || player.getPosition() != 42000 || player.getRate() != 1.0D) {
+            throw new IllegalStateException("Invalid playback: " + player.isPlaying() + " " + player.getPosition());
+        }
+        if (player.getVolume() != 0.65F || !player.isShuffle() || !player.getLoopStatus().equals("Playlist")) {
+            throw new IllegalStateException("Invalid options: " + player.getVolume() + " " + player.isShuffle() + " " + player.getLoopStatus());
+        }
     }
 
     private static String readString(String path) throws IOException {
@@ -0,0 +1,48 @@
+package platform.osx;
+
+import de.labystudio.spotifyapi.platform.osx.api.spotify.PlayerStatus;
+
+public class PlayerStatusParserTest {
+
+    public static void main(String[] args) {
+        // Test a playing track
+        PlayerStatus status = PlayerStatus.parse("spotify:track:0r1kH7SIkkPP9W7mUknObF, playing, 42.125, 65, true, false");
+        if (!status.getTrackId().equals("0r1kH7SIkkPP9W7mUknObF")) {
+            throw new IllegalStateException("Invalid track ID: " + status.getTrackId());
+        }
+        if (!status.isPlaying() || status.getPosition() != 42125) {
+            throw new IllegalStateException("Invalid playback: " + status.isPlaying() + " " + status.getPosition());
+        }
+        if (status.getVolume() != 65 || !status.isShuffling() || status.isRepeating()) {
+            throw new IllegalStateException("Invalid options: " + status.getVolume() + " " + status.isShuffling() + " " + status.isRepeating());
+        }
+
+        // Test a paused ad with upper case flags, the id is not a track
+        PlayerStatus paused = PlayerStatus.parse("spotify:ad:000000012c9a4a5f, paused, 0, 100, FALSE, TRUE");
+        if (!paused.getTrackId().isEmpty() || paused.isPlaying() || paused.getPosition() != 0) {
+            throw new IllegalStateException("Invalid ad: " + paused.getTrackId() + " " + paused.isPlaying() + " " + paused.getPosition());
+        }
+        if (paused.getVolume() != 100 || paused.isShuffling() || !paused.isRepeating()) {
+            throw new IllegalStateException("Invalid options: " + paused.getVolume() + " " + paused.isShuffling() + " " + paused.isRepeating());
+        }
+
+        // A state is only playing if it matches exactly
+        if (PlayerStatus.parse("spotify:track:0r1kH7SIkkPP9W7mUknObF, playingx, 1, 50, false, false").isPlaying()) {
+            throw new IllegalStateException("Invalid player state parsed as playing");
+        }
+
+        // Test responses with the wrong amount of values
+        expectFailure("spotify:track:0r1kH7SIkkPP9W7mUknObF, playing, 42.125, 65, true");
+        expectFailure("spotify:track:0r1kH7SIkkPP9W7mUknObF, playing, 42.125, 65, true, false, true");
+        expectFailure("");
+    }
+
+    private static void expectFailure(String response) {
+        try {
+            PlayerStatus.parse(response);
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        throw new IllegalStateException("Invalid response parsed: " + response);
+    }
+}
@@ -0,0 +1,376 @@
+package platform.windows;
+
+import de.labystudio.spotifyapi.platform.windows.api.MemoryRegion;
+import de.labystudio.spotifyapi.platform.windows.api.MemoryScanner;
+import de.labystudio.spotifyapi.platform.windows.api.MemorySource;
+import de.labystudio.spotifyapi.platform.windows.api.WinProcess;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the memory scanner against a naive search on synthetic memory images.
+ * It covers matches across chunk boundaries, overlapping matches, rejected matches, the range limits,
+ * unreadable gaps between regions and the parallel search of many segments.
+ * Multiple patterns are compared against a search of each pattern on its own.
+ * On Linux, it also scans the memory of the running JVM.
+ */
+public class MemoryScannerTest {
+
+    private static final long BASE_ADDRESS = 0x7FF600000000L;
+
+    public static void main(String[] args) throws IOException {
+        Random random = new Random(42);
+
+        // Random images with a small alphabet, so there are many partial and full matches
+        for (int run = 0; run < 200; run++) {
+            byte[] image = new byte[1 + random.nextInt(MemoryScanner.CHUNK_SIZE * 3)];
+            for (int i = 0; i < image.length; i++) {
+                image[i] = (byte) ('a' + random.nextInt(3));
+            }
+            byte[] pattern = new byte[1 + random.nextInt(8)];
+            for (int i = 0; i < pattern.length; i++) {
+                pattern[i] = (byte) ('a' + random.nextInt(3));
+            }
+            checkAllMatches(image, pattern);
+        }
+
+        // Matches directly at, before and after the chunk boundaries
+        byte[] marker = "spotify:track:".getBytes(StandardCharsets.US_ASCII);
+        for (int boundary = 1; boundary <= 3; boundary++) {
+            for (int shift = -marker.length; shift <= marker.length; shift++) {
+                byte[] image = new byte[MemoryScanner.CHUNK_SIZE * 4];
+                Arrays.fill(image, (byte) ' ');
+                int offset = MemoryScanner.CHUNK_SIZE * boundary + shift;
+                System.arraycopy(marker, 0, image, offset, marker.length);
+                long address = scan(image, marker, BASE_ADDRESS, BASE_ADDRESS + image.length);
+                if (address != BASE_ADDRESS + offset) {
+                    throw new IllegalStateException("Marker at offset " + offset + " found at " + (address - BASE_ADDRESS));
+                }
+            }
+        }
+
+        // Overlapping matches of a repeating pattern
+        byte[] repeating = new byte[100];
+        Arrays.fill(repeating, (byte) 'a');
+        checkAllMatches(repeating, "aaa".getBytes(StandardCharsets.US_ASCII));
+
+        // A match has to start in the range, but may end behind it
+        byte[] image = "xxxxspotify:track:xxxx".getBytes(StandardCharsets.US_ASCII);
+        if (scan(image, marker, BASE_ADDRESS + 4, BASE_ADDRESS + 5) != BASE_ADDRESS + 4) {
+            throw new IllegalStateException("Match at the end of the range not found");
+        }
+        if (scan(image, marker, BASE_ADDRESS + 5, BASE_ADDRESS + image.length) != -1) {
+            throw new IllegalStateException("Match before the range found");
+        }
+
+        // Rejected matches don't restart the scan, every byte is read about once
+        byte[] noise = new byte[MemoryScanner.CHUNK_SIZE * 16];
+        for (int i = 0; i < noise.length; i += 64) {
+            System.arraycopy(marker, 0, noise, i, marker.length);
+        }
+        long[] bytesRead = new long[1];
+        MemorySource source = imageSource(noise);
+        MemorySource countingSource = (address, target, length) -> {
+            bytesRead[0] += length;
+            source.readBytes(address, target, length);
+        };
+        int[] candidates = new int[1];
+        long address = new MemoryScanner(countingSource, marker).find(
+                BASE_ADDRESS,
+                BASE_ADDRESS + noise.length,
+                (match, index) -> {
+                    if (index != candidates[0]++ || match != BASE_ADDRESS + index * 64L) {
+                        throw new IllegalStateException("Unexpected candidate " + index + " at " + match);
+                    }
+                    return false;
+                }
+        );
+        if (address != -1 || candidates[0] != noise.length / 64) {
+            throw new IllegalStateException("Rejected all " + candidates[0] + " candidates but found " + address);
+        }
+        if (bytesRead[0] > noise.length + 16L * marker.length) {
+            throw new IllegalStateException("Scan read " + bytesRead[0] + " bytes of a " + noise.length + " byte image");
+        }
+
+        // Multiple patterns of different lengths in a single pass
+        for (int run = 0; run < 100; run++) {
+            byte[] randomImage = new byte[1 + random.nextInt(MemoryScanner.CHUNK_SIZE * 3)];
+            for (int i = 0; i < randomImage.length; i++) {
+                randomImage[i] = (byte) ('a' + random.nextInt(3));
+            }
+            byte[][] patterns = new byte[1 + random.nextInt(5)][];
+            for (int i = 0; i < patterns.length; i++) {
+                patterns[i] = new byte[1 + random.nextInt(8)];
+                for (int k = 0; k < patterns[i].length; k++) {
+                    patterns[i][k] = (byte) ('a' + random.nextInt(3));
+                }
+            }
+            checkAllMatches(randomImage, patterns);
+        }
+        checkProcessSearches(random);
+
+        // Many segments with unreadable gaps on a pool with several threads
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            checkRegions(random, pool);
+            checkCancellation(marker, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        // The memory of this JVM, the marker is only known to be somewhere on the heap
+        if (Files.isReadable(Paths.get("/proc/self/maps"))) {
+            checkProcessMemory(random);
+        }
+    }
+
+    private static void checkRegions(Random random, ForkJoinPool pool) {
+        byte[] marker = "spotify:track:".getBytes(StandardCharsets.US_ASCII);
+        byte[] image = new byte[MemoryScanner.SEGMENT_SIZE * 6];
+        for (int i = 0; i < 2000; i++) {
+            System.arraycopy(marker, 0, image, random.nextInt(image.length - marker.length), marker.length);
+        }
+
+        // Readable regions with gaps, two of them are adjacent and a match may cross their border
+        List<MemoryRegion> regions = Arrays.asList(
+                new MemoryRegion(BASE_ADDRESS + 4096, BASE_ADDRESS + MemoryScanner.SEGMENT_SIZE + 100),
+                new MemoryRegion(BASE_ADDRESS + MemoryScanner.SEGMENT_SIZE * 2L, BASE_ADDRESS + MemoryScanner.SEGMENT_SIZE * 3L),
+                new MemoryRegion(BASE_ADDRESS + MemoryScanner.SEGMENT_SIZE * 3L, BASE_ADDRESS + MemoryScanner.SEGMENT_SIZE * 5L + 7),
+                new MemoryRegion(BASE_ADDRESS + MemoryScanner.SEGMENT_SIZE * 5L + 4096, BASE_ADDRESS + image.length)
+        );
+        MemorySource source = imageSource(image);
+        MemorySource regionSource = new MemorySource() {
+            @Override
+            public void readBytes(long address, byte[] target, int length) {
+                for (MemoryRegion region : regions) {
+                    if (address >= region.getStart() && address + length <= region.getEnd()) {
+                        source.readBytes(address, target, length);
+                        return;
+                    }
+                }
+                // The adjacent regions are read as one
+                if (address >= regions.get(1).getStart() && address + length <= regions.get(2).getEnd()) {
+                    source.readBytes(address, target, length);
+                    return;
+                }
+                throw new IllegalStateException("Read outside of the regions at " + Long.toHexString(address));
+            }
+
+            @Override
+            public List<MemoryRegion> getReadableRegions(long minAddress, long maxAddress) {
+                return regions;
+            }
+        };
+
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i + marker.length <= image.length; i++) {
+            long start = BASE_ADDRESS + i;
+            boolean readable = false;
+            for (MemoryRegion region : Arrays.asList(
+                    regions.get(0),
+                    new MemoryRegion(regions.get(1).getStart(), regions.get(2).getEnd()),
+                    regions.get(3))) {
+                readable |= start >= region.getStart() && start + marker.length <= region.getEnd();
+            }
+            if (readable && Arrays.equals(Arrays.copyOfRange(image, i, i + marker.length), marker)) {
+                expected.add(start);
+            }
+        }
+
+        // The condition is called in address order with a continuous index
+        List<Long> actual = new ArrayList<>();
+        Thread caller = Thread.currentThread();
+        new MemoryScanner(regionSource, marker).setPool(pool).find(BASE_ADDRESS, BASE_ADDRESS + image.length, (address, index) -> {
+            if (index != actual.size() || Thread.currentThread() != caller) {
+                throw new IllegalStateException("Condition called out of order with index " + index);
+            }
+            actual.add(address);
+            return false;
+        });
+        if (!expected.equals(actual)) {
+            throw new IllegalStateException("Found " + actual.size() + " instead of " + expected.size() + " matches in the regions");
+        }
+
+        // The match at a given index is the same as in a sequential scan
+        long address = new MemoryScanner(regionSource, marker).setPool(pool).find(
+                BASE_ADDRESS,
+                BASE_ADDRESS + image.length,
+                (match, index) -> index == 1500
+        );
+        if (address != expected.get(1500)) {
+            throw new IllegalStateException("Match 1500 found at " + address + " instead of " + expected.get(1500));
+        }
+    }
+
+    private static void checkCancellation(byte[] marker, ForkJoinPool pool) {
+        // An early match in an unbounded range stops the scan of the segments behind it
+        byte[] image = new byte[MemoryScanner.CHUNK_SIZE];
+        System.arraycopy(marker, 0, image, 100, marker.length);
+        AtomicLong bytesRead = new AtomicLong();
+        MemorySource source = imageSource(image);
+        MemorySource countingSource = (address, target, length) -> {
+            bytesRead.addAndGet(length);
+            source.readBytes(address, target, length);
+        };
+        long address = new MemoryScanner(countingSource, marker).setPool(pool).find(BASE_ADDRESS, Long.MAX_VALUE);
+        if (address != BASE_ADDRESS + 100) {
+            throw new IllegalStateException("Early match found at " + address);
+        }
+        pool.awaitQuiescence(10, TimeUnit.SECONDS);
+        long limit = (pool.getParallelism() * 2L + 1) * MemoryScanner.SEGMENT_SIZE;
+        if (bytesRead.get() > limit) {
+            throw new IllegalStateException("Scan read " + bytesRead.get() + " bytes after the match was found");
+        }
+    }
+
+    private static void checkProcessMemory(Random random) throws IOException {
+        byte[] marker = new byte[32];
+        for (int i = 0; i < marker.length; i++) {
+            marker[i] = (byte) ('A' + random.nextInt(26));
+        }
+        byte[] heapCopy = marker.clone();
+
+        try (ProcMemorySource source = new ProcMemorySource("self")) {
+            List<MemoryRegion> regions = source.getReadableRegions(0, Long.MAX_VALUE);
+            if (regions.isEmpty()) {
+                throw new IllegalStateException("No readable regions of the current process");
+            }
+
+            // The marker is at least in the two arrays, every match has to read back as the marker
+            long address = new MemoryScanner(source, marker).find(0, Long.MAX_VALUE);
+            if (address == -1) {
+                throw new IllegalStateException("Marker not found in the memory of the current process");
+            }
+            byte[] bytes = new byte[marker.length];
+            source.readBytes(address, bytes, bytes.length);
+            if (!Arrays.equals(bytes, heapCopy)) {
+                throw new IllegalStateException("Match at " + Long.toHexString(address) + " is not the marker");
+            }
+        }
+    }
+
+    private static void checkAllMatches(byte[] image, byte[]... patterns) {
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < image.length; i++) {
+            for (int pattern = 0; pattern < patterns.length; pattern++) {
+                int end = i + patterns[pattern].length;
+                if (end <= image.length && Arrays.equals(Arrays.copyOfRange(image, i, end), patterns[pattern])) {
+                    expected.add((BASE_ADDRESS + i) + ":" + pattern);
+                }
+            }
+        }
+
+        List<String> actual = new ArrayList<>();
+        new MemoryScanner(imageSource(image), patterns).scan(BASE_ADDRESS, BASE_ADDRESS + image.length, (address, pattern) -> {
+            actual.add(address + ":" + pattern);
+            return false;
+        });
+
+        if (!expected.equals(actual)) {
+            throw new IllegalStateException(String.format(
+                    "Found %d instead of %d matches of %d patterns in an image of %d bytes",
+                    actual.size(),
+                    expected.size(),
+                    patterns.length,
+                    image.length
+            ));
+        }
+
+        // The first match of any pattern
+        long first = new MemoryScanner(imageSource(image), patterns).find(BASE_ADDRESS, BASE_ADDRESS + image.length);
+        long expectedFirst = expected.isEmpty() ? -1 : Long.parseLong(expected.get(0).split(":")[0]);
+        if (first != expectedFirst) {
+            throw new IllegalStateException("First match found at " + first + " instead of " + expectedFirst);
+        }
+    }
+
+    private static void checkProcessSearches(Random random) {
+        // Sparse markers, so the searches for the texts and rules depend on each other
+        String[] texts = {"spotify:track:", "spotify:", "track:", "{\"uri\":", "\"is_playing\":"};
+        byte[] image = new byte[MemoryScanner.CHUNK_SIZE * 8];
+        Arrays.fill(image, (byte) ' ');
+        for (int i = 0; i < 300; i++) {
+            byte[] text = texts[random.nextInt(texts.length)].getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(text, 0, image, random.nextInt(image.length - text.length), text.length);
+        }
+        MemorySource source = imageSource(image);
+        WinProcess process = new WinProcess(-1, null, null) {
+            @Override
+            public void readBytes(long address, byte[] target, int length) {
+                source.readBytes(address, target, length);
+            }
+
+            @Override
+            public List<MemoryRegion> getReadableRegions(long minAddress, long maxAddress) {
+                return Collections.singletonList(new MemoryRegion(BASE_ADDRESS, BASE_ADDRESS + image.length));
+            }
+        };
+        long start = BASE_ADDRESS;
+        long end = BASE_ADDRESS + image.length;
+
+        for (int run = 0; run < 50; run++) {
+            String[] selection = {texts[random.nextInt(texts.length)], texts[random.nextInt(texts.length)], texts[random.nextInt(texts.length)]};
+            int wanted = random.nextInt(20);
+
+            // Each text on its own, one after another
+            long expected = -1;
+            for (String text : selection) {
+                expected = process.findAddressOfText(start, end, text, (address, index) -> index == wanted);
+                if (expected != -1) {
+                    break;
+                }
+            }
+            long actual = process.findAddressOfTexts(start, end, (address, index) -> index == wanted, selection);
+            if (actual != expected) {
+                throw new IllegalStateException("Texts found at " + actual + " instead of " + expected);
+            }
+
+            // Each rule on its own, starting behind the previous match
+            WinProcess.SearchRule[] rules = new WinProcess.SearchRule[selection.length];
+            for (int i = 0; i < rules.length; i++) {
+                int skip = random.nextInt(3);
+                rules[i] = new WinProcess.SearchRule(selection[i], (address, index) -> index == skip);
+            }
+            long cursor = -1;
+            for (WinProcess.SearchRule rule : rules) {
+                cursor = process.findAddressOfText(cursor + 1, end, rule.getText(), rule.getCondition());
+                if (cursor == -1) {
+                    break;
+                }
+            }
+            long rulesAddress = process.findAddressUsingRules(rules);
+            if (rulesAddress != cursor) {
+                throw new IllegalStateException("Rules matched at " + rulesAddress + " instead of " + cursor);
+            }
+        }
+    }
+
+    private static long scan(byte[] image, byte[] pattern, long minAddress, long maxAddress) {
+        return new MemoryScanner(imageSource(image), pattern).find(minAddress, maxAddress);
+    }
+
+    private static MemorySource imageSource(byte[] image) {
+        return (address, target, length) -> {
+            // Bytes outside the image read as zero
+            Arrays.fill(target, 0, length, (byte) 0);
+            long offset = address - BASE_ADDRESS;
+            if (offset >= image.length || offset + length <= 0) {
+                return;
+            }
+            int from = (int) Math.max(offset, 0);
+            int to = (int) Math.min(offset + length, image.length);
+            System.arraycopy(image, from, target, (int) (from - offset), to - from);
+        };
+    }
+}
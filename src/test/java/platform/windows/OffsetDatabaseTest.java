@@ -0,0 +1,127 @@
+package platform.windows;
+
+import de.labystudio.spotifyapi.platform.windows.api.spotify.OffsetDatabase;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Checks the lookup order and the persistence of the offset database.
+ * The offsets of the same build and module have to come first, so a known build costs a single read.
+ * The discovered offsets have to survive a restart, the seed must never be written to the file.
+ */
+public class OffsetDatabaseTest {
+
+    private static final String TRACK_ID = OffsetDatabase.TRACK_ID;
+
+    public static void main(String[] args) throws IOException {
+        Path directory = Files.createTempDirectory("spotify-offsets");
+        try {
+            checkBundledSeed();
+            checkLookupOrder();
+            checkPersistence(directory.resolve("nested").resolve("offsets.json"));
+            checkModuleHash();
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    private static void checkBundledSeed() {
+        // The bundled seed contains the offsets that used to be hardcoded
+        OffsetDatabase database = OffsetDatabase.open(null);
+        long[] offsets = database.lookup(null, null, TRACK_ID);
+        check(offsets.length == 8, "Bundled seed has " + offsets.length + " offsets");
+        check(offsets[0] == 0x18bc90L, "Bundled seed starts with " + Long.toHexString(offsets[0]));
+
+        // A known build comes first, even if it is not the first entry of the seed
+        long[] build = database.lookup("1.2.21.1104", "0123456789abcdef", TRACK_ID);
+        check(build[0] == 0x14FA30L && build[1] == 0x106198L, "Offsets of the known build are not first");
+        check(build.length == 8, "Offsets of the other builds are missing");
+    }
+
+    private static void checkLookupOrder() {
+        OffsetDatabase database = new OffsetDatabase(null);
+        database.seed(new StringReader("{\"entries\": ["
+                + "{\"build\": \"1.0\", \"offsets\": {\"trackIdOffset\": 100}},"
+                + "{\"build\": \"2.0\", \"offsets\": {\"trackIdOffset\": 200}},"
+                + "{\"offsets\": {\"trackIdOffset\": 300, \"other\": 1}},"
+                + "{\"build\": \"broken\"}"
+                + "]}"));
+        checkOffsets(database.lookup("2.0", null, TRACK_ID), 200, 100, 300);
+        checkOffsets(database.lookup("3.0", "aa", TRACK_ID), 100, 200, 300);
+        checkOffsets(database.lookup(null, null, "other"), 1);
+        checkOffsets(database.lookup(null, null, "missing"));
+
+        // The exact module wins over the other modules of the same build and the discovered offsets over the seed
+        check(database.put("2.0", "aa", TRACK_ID, 210), "New offset not reported as change");
+        check(database.put("2.0", "bb", TRACK_ID, 220), "New offset not reported as change");
+        check(!database.put("2.0", "bb", TRACK_ID, 220), "Known offset reported as change");
+        checkOffsets(database.lookup("2.0", "aa", TRACK_ID), 210, 220, 200, 100, 300);
+        checkOffsets(database.lookup("2.0", "bb", TRACK_ID), 220, 210, 200, 100, 300);
+        checkOffsets(database.lookup("1.0", "aa", TRACK_ID), 100, 220, 210, 200, 300);
+
+        // The oldest discoveries are dropped once the database is full
+        for (int i = 0; i < 100; i++) {
+            database.put("build " + i, null, TRACK_ID, 1000 + i);
+        }
+        long[] offsets = database.lookup(null, null, TRACK_ID);
+        check(offsets[0] == 1099, "Most recent discovery is not first");
+        check(offsets.length < 100, "Database keeps " + offsets.length + " offsets");
+    }
+
+    private static void checkPersistence(Path file) throws IOException {
+        OffsetDatabase database = new OffsetDatabase(file);
+        database.load();
+        database.seed(new StringReader("{\"entries\": [{\"build\": \"1.0\", \"offsets\": {\"trackIdOffset\": 100}}]}"));
+
+        // Nothing is written until an offset was discovered
+        database.save();
+        check(!Files.exists(file), "Unchanged database was written");
+
+        database.put("2.0", "aa", TRACK_ID, 0x18bc90L);
+        database.save();
+        check(Files.exists(file), "Database was not written");
+        check(!Files.exists(file.resolveSibling(file.getFileName() + ".tmp")), "Temporary file was left behind");
+
+        // A restart only knows the discovered offsets, the seed comes from the library
+        OffsetDatabase restarted = new OffsetDatabase(file);
+        restarted.load();
+        checkOffsets(restarted.lookup("2.0", "aa", TRACK_ID), 0x18bc90L);
+
+        // A broken file is ignored
+        Files.write(file, "{\"entries\": [".getBytes(StandardCharsets.UTF_8));
+        restarted.load();
+        checkOffsets(restarted.lookup("2.0", "aa", TRACK_ID));
+    }
+
+    private static void checkModuleHash() {
+        byte[] header = new byte[0x400];
+        header[0] = 'M';
+        header[1] = 'Z';
+        String hash = OffsetDatabase.hashModule(header);
+        check(hash.equals(OffsetDatabase.hashModule(header.clone())), "Hash is not stable");
+        check(hash.length() == 16, "Hash has " + hash.length() + " characters");
+
+        // A different link time stamp is a different build
+        header[0x108] = 1;
+        check(!hash.equals(OffsetDatabase.hashModule(header)), "Different header has the same hash");
+    }
+
+    private static void checkOffsets(long[] actual, long... expected) {
+        check(Arrays.equals(actual, expected), "Expected " + Arrays.toString(expected) + " but got " + Arrays.toString(actual));
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new IllegalStateException(message);
+        }
+    }
+}
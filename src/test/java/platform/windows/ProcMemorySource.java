@@ -0,0 +1,92 @@
+package platform.windows;
+
+import de.labystudio.spotifyapi.platform.windows.api.MemoryRegion;
+import de.labystudio.spotifyapi.platform.windows.api.MemorySource;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads the memory of a Linux process through the /proc filesystem.
+ * The readable regions are taken from /proc/[pid]/maps and the memory is read from /proc/[pid]/mem.
+ * <p>
+ * It is used to test the memory scan against real processes.
+ * Reading another process requires the same permissions as attaching a debugger to it.
+ */
+public class ProcMemorySource implements MemorySource, Closeable {
+
+    private final Path maps;
+    private final FileChannel memory;
+
+    /**
+     * Open the memory of the given process.
+     *
+     * @param processId the id of the process or "self" for the current process
+     * @throws IOException if the memory of the process can't be opened
+     */
+    public ProcMemorySource(String processId) throws IOException {
+        Path process = Paths.get("/proc", processId);
+        this.maps = process.resolve("maps");
+        this.memory = FileChannel.open(process.resolve("mem"), StandardOpenOption.READ);
+    }
+
+    @Override
+    public void readBytes(long address, byte[] target, int length) {
+        // Positional reads of a file channel are safe from multiple threads
+        ByteBuffer buffer = ByteBuffer.wrap(target, 0, length);
+        try {
+            while (buffer.hasRemaining()) {
+                if (this.memory.read(buffer, address + buffer.position()) <= 0) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            // Unmapped or unreadable pages
+        }
+        Arrays.fill(target, buffer.position(), length, (byte) 0);
+    }
+
+    @Override
+    public List<MemoryRegion> getReadableRegions(long minAddress, long maxAddress) {
+        List<MemoryRegion> regions = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(this.maps, StandardCharsets.US_ASCII)) {
+            // Each line starts with "start-end perms", e.g. "7f1c2a000000-7f1c2a021000 rw-p"
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int dash = line.indexOf('-');
+                int space = line.indexOf(' ', dash);
+                if (dash == -1 || space == -1 || space + 1 >= line.length() || line.charAt(space + 1) != 'r') {
+                    continue;
+                }
+
+                // The vsyscall page is above the signed range and can't be read anyway
+                long start = Long.parseUnsignedLong(line.substring(0, dash), 16);
+                long end = Long.parseUnsignedLong(line.substring(dash + 1, space), 16);
+                if (start < 0 || end < 0 || end <= minAddress || start >= maxAddress) {
+                    continue;
+                }
+                regions.add(new MemoryRegion(start, end));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + this.maps, e);
+        }
+        return regions;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.memory.close();
+    }
+}
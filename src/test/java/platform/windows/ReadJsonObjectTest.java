@@ -0,0 +1,123 @@
+package platform.windows;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import de.labystudio.spotifyapi.platform.windows.api.MemoryRegion;
+import de.labystudio.spotifyapi.platform.windows.api.WinProcess;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Reads json objects from synthetic memory images and compares them against a direct parse of the json.
+ * It covers brackets and escaped quotes in strings, objects across chunk boundaries,
+ * multibyte characters, the byte limit and unreadable memory behind an unterminated object.
+ */
+public class ReadJsonObjectTest {
+
+    private static final long BASE_ADDRESS = 0x7FF600000000L;
+
+    public static void main(String[] args) {
+        // Brackets and quotes in strings don't end the object, the garbage behind it is not read
+        checkObject("{\"a\": \"}]\\\"{\", \"b\": [1, {\"c\": \"\\\\\"}], \"d\": \"\\u00e4\"}");
+        checkObject("{\"title\": \"Caf\u00e9 \u266B\", \"artist\": \"\u30C8\u30E9\u30C3\u30AF\"}");
+        checkObject("{}");
+
+        // Objects of random size, so the end lies anywhere in the chunks
+        Random random = new Random(7);
+        for (int run = 0; run < 100; run++) {
+            StringBuilder json = new StringBuilder("{\"items\": [");
+            int items = random.nextInt(200);
+            for (int i = 0; i < items; i++) {
+                if (i > 0) {
+                    json.append(", ");
+                }
+                json.append("{\"id\": ").append(i).append(", \"name\": \"");
+                int length = random.nextInt(20);
+                for (int j = 0; j < length; j++) {
+                    char value = "{}[]\"\\ab".charAt(random.nextInt(8));
+                    if (value == '"' || value == '\\') {
+                        json.append('\\');
+                    }
+                    json.append(value);
+                }
+                json.append("\"}");
+            }
+            checkObject(json.append("]}").toString());
+        }
+
+        // An object that doesn't fit into the limit is rejected
+        String large = "{\"a\": \"" + repeat('x', 5000) + "\"}";
+        Image image = new Image(large + "garbage");
+        if (!image.readJsonObject(BASE_ADDRESS, large.length()).equals(JsonParser.parseString(large))) {
+            throw new IllegalStateException("Object of exactly the limit not read");
+        }
+        expectFailure(image, large.length() - 1);
+
+        // An unterminated object runs into unreadable memory instead of looping forever
+        expectFailure(new Image("{\"a\": [1, 2, 3"), WinProcess.MAX_JSON_SIZE);
+
+        // Only an object is accepted at the address
+        expectFailure(new Image("[1, 2, 3]"), WinProcess.MAX_JSON_SIZE);
+        expectFailure(new Image("spotify:track:"), WinProcess.MAX_JSON_SIZE);
+    }
+
+    private static void checkObject(String json) {
+        // The object is followed by brackets that must not be part of it
+        Image image = new Image("  \n" + json + "}]}garbage{\"");
+        JsonObject actual = image.readJsonObject(BASE_ADDRESS);
+        if (!actual.equals(JsonParser.parseString(json))) {
+            throw new IllegalStateException("Read " + actual + " instead of " + json);
+        }
+    }
+
+    private static void expectFailure(Image image, int maxBytes) {
+        try {
+            JsonObject object = image.readJsonObject(BASE_ADDRESS, maxBytes);
+            throw new IllegalStateException("Read " + object + " from invalid json");
+        } catch (JsonParseException e) {
+            // Expected
+        }
+    }
+
+    private static String repeat(char value, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, value);
+        return new String(chars);
+    }
+
+    /**
+     * Memory image with the given text at the base address, everything else reads as zero.
+     */
+    private static class Image extends WinProcess {
+
+        private final byte[] image;
+
+        private Image(String text) {
+            super(-1, null, null);
+            this.image = text.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void readBytes(long address, byte[] target, int length) {
+            Arrays.fill(target, 0, length, (byte) 0);
+
+            long offset = address - BASE_ADDRESS;
+            if (offset >= this.image.length || offset + length <= 0) {
+                return;
+            }
+            int from = (int) Math.max(offset, 0);
+            int to = (int) Math.min(offset + length, this.image.length);
+            System.arraycopy(this.image, from, target, (int) (from - offset), to - from);
+        }
+
+        @Override
+        public List<MemoryRegion> getReadableRegions(long minAddress, long maxAddress) {
+            return Collections.singletonList(new MemoryRegion(BASE_ADDRESS, BASE_ADDRESS + this.image.length));
+        }
+    }
+}